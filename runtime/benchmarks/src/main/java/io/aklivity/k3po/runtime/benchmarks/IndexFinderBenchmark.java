@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jboss.netty.buffer.ChannelBuffers.directBuffer;
+import static org.jboss.netty.buffer.ChannelBuffers.wrappedBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.aklivity.k3po.runtime.driver.internal.buffer.BytesIndexFinder;
+import io.aklivity.k3po.runtime.driver.internal.buffer.FastIndexFinder;
+
+/**
+ * Searches for a delimiter at the end of a buffer with {@link FastIndexFinder} and {@link BytesIndexFinder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("deprecation")
+public class IndexFinderBenchmark {
+
+    @Param({ "\n", "\r\n\r\n", "--boundary-7d8a9f" })
+    public String delimiter;
+
+    @Param({ "1024", "65536" })
+    public int bufferSize;
+
+    @Param({ "false", "true" })
+    public boolean direct;
+
+    private ChannelBuffer buffer;
+    private FastIndexFinder fastIndexFinder;
+    private BytesIndexFinder bytesIndexFinder;
+
+    @Setup
+    public void setup() {
+        byte[] pattern = delimiter.getBytes(UTF_8);
+        byte[] text = new byte[bufferSize];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = (byte) ('a' + i % 26);
+        }
+        System.arraycopy(pattern, 0, text, text.length - pattern.length, pattern.length);
+
+        if (direct) {
+            buffer = directBuffer(text.length);
+            buffer.writeBytes(text);
+        }
+        else {
+            buffer = wrappedBuffer(text);
+        }
+
+        fastIndexFinder = new FastIndexFinder(pattern);
+        bytesIndexFinder = new BytesIndexFinder(pattern);
+    }
+
+    @Benchmark
+    public int fastIndexFinder() {
+        return buffer.bytesBefore(fastIndexFinder);
+    }
+
+    @Benchmark
+    public int bytesIndexFinder() {
+        return bytesIndexFinder.indexOf(buffer);
+    }
+}
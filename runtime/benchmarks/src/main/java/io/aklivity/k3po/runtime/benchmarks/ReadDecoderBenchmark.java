@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.benchmarks;
+
+import static io.aklivity.k3po.runtime.lang.internal.RegionInfo.newSequential;
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionRuntime.getExpressionRuntime;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jboss.netty.buffer.ChannelBuffers.wrappedBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.el.ExpressionFactory;
+import javax.el.ValueExpression;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.MessageDecoder;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.ReadExactBytesDecoder;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.ReadExpressionDecoder;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.ReadRegexDecoder;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.ReadVariableLengthBytesDecoder;
+import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
+import io.aklivity.k3po.runtime.lang.internal.el.ExpressionContext;
+import io.aklivity.k3po.runtime.lang.internal.regex.NamedGroupPattern;
+
+/**
+ * Decodes a complete HTTP/1.1 style header block with each read decoder, delivered in fragments
+ * of the given size to exercise accumulation of partial input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadDecoderBenchmark {
+
+    private static final RegionInfo REGION_INFO = newSequential(0, 0);
+
+    @Param({ "16", "256", "65536" })
+    public int fragmentSize;
+
+    @Param({ "1024", "16384" })
+    public int messageSize;
+
+    private byte[] message;
+    private ExpressionContext environment;
+    private ValueExpression bytesExpression;
+    private ValueExpression lengthExpression;
+    private NamedGroupPattern pattern;
+
+    @Setup
+    public void setup() {
+        StringBuilder headers = new StringBuilder("HTTP/1.1 200 OK\r\n");
+        for (int i = 0; headers.length() < messageSize - 4; i++) {
+            headers.append("X-Header-").append(i).append(": value-").append(i).append("\r\n");
+        }
+        headers.setLength(messageSize - 4);
+        headers.append("\r\n\r\n");
+        message = headers.toString().getBytes(UTF_8);
+
+        ExpressionFactory factory = getExpressionRuntime().getExpressionFactory();
+        environment = new ExpressionContext();
+        environment.getELResolver().setValue(environment, null, "expected", message);
+        environment.getELResolver().setValue(environment, null, "length", message.length);
+        bytesExpression = factory.createValueExpression(environment, "${expected}", byte[].class);
+        lengthExpression = factory.createValueExpression(environment, "${length}", Integer.class);
+        pattern = NamedGroupPattern.compile("(?<headers>(?:[^\\r\\n]*\\r\\n)*?)\\r\\n");
+    }
+
+    @Benchmark
+    public ChannelBuffer readExactBytes() throws Exception {
+        return decode(new ReadExactBytesDecoder(REGION_INFO, message));
+    }
+
+    @Benchmark
+    public ChannelBuffer readExpression() throws Exception {
+        return decode(new ReadExpressionDecoder(REGION_INFO, bytesExpression, environment));
+    }
+
+    @Benchmark
+    public ChannelBuffer readVariableLengthBytes() throws Exception {
+        return decode(new ReadVariableLengthBytesDecoder(REGION_INFO, lengthExpression, environment));
+    }
+
+    @Benchmark
+    public ChannelBuffer readRegex() throws Exception {
+        return decode(new ReadRegexDecoder(REGION_INFO, pattern, UTF_8, environment));
+    }
+
+    private ChannelBuffer decode(MessageDecoder decoder) throws Exception {
+        ChannelBuffer remaining = null;
+        for (int offset = 0; offset < message.length && remaining == null; offset += fragmentSize) {
+            int length = Math.min(fragmentSize, message.length - offset);
+            remaining = decoder.decode(wrappedBuffer(message, offset, length));
+        }
+
+        if (remaining == null) {
+            throw new IllegalStateException("incomplete decode");
+        }
+
+        return remaining;
+    }
+}
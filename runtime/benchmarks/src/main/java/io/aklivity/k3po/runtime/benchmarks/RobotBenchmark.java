@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.aklivity.k3po.runtime.driver.internal.Robot;
+
+/**
+ * Runs a full prepare, start and finish cycle of a Robot for a script that both accepts and connects
+ * over the TCP loopback, exchanging a request and response on each connection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RobotBenchmark {
+
+    @Param({ "1", "16" })
+    public int connections;
+
+    @Param({ "64", "16384" })
+    public int payloadSize;
+
+    private String script;
+
+    @Setup
+    public void setup() {
+        StringBuilder payload = new StringBuilder();
+        for (int i = 0; i < payloadSize; i++) {
+            payload.append((char) ('a' + i % 26));
+        }
+
+        StringBuilder script = new StringBuilder();
+        script.append("accept \"tcp://localhost:8080\"\n\n");
+        for (int i = 0; i < connections; i++) {
+            script.append("accepted\n")
+                  .append("connected\n")
+                  .append("read \"").append(payload).append("\"\n")
+                  .append("write \"").append(payload).append("\"\n")
+                  .append("closed\n\n");
+        }
+        for (int i = 0; i < connections; i++) {
+            script.append("connect \"tcp://localhost:8080\"\n")
+                  .append("connected\n")
+                  .append("write \"").append(payload).append("\"\n")
+                  .append("read \"").append(payload).append("\"\n")
+                  .append("close\n")
+                  .append("closed\n\n");
+        }
+        this.script = script.toString();
+    }
+
+    @Benchmark
+    public String cycle() throws Exception {
+        Robot robot = new Robot();
+        try {
+            robot.prepare(script).await();
+            robot.start().await();
+            robot.finish().await();
+            return robot.getObservedScript();
+        }
+        finally {
+            robot.dispose().await();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.benchmarks;
+
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionRuntime.getExpressionRuntime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.aklivity.k3po.runtime.lang.internal.ast.AstScriptNode;
+import io.aklivity.k3po.runtime.lang.internal.el.ExpressionContext;
+import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParserImpl;
+
+/**
+ * Parses a generated script with the given number of accepted and connected stream pairs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScriptParserBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int streams;
+
+    private String script;
+
+    @Setup
+    public void setup() {
+        script = newScript(streams);
+    }
+
+    @Benchmark
+    public AstScriptNode parse() throws Exception {
+        ScriptParserImpl parser = new ScriptParserImpl(getExpressionRuntime().getExpressionFactory(),
+                new ExpressionContext());
+        return parser.parse(script);
+    }
+
+    static String newScript(int streams) {
+        StringBuilder script = new StringBuilder();
+        script.append("property greeting \"Hello, world\"\n");
+        script.append("property key [0x0a 0x0b 0x0c 0x0d]\n\n");
+
+        for (int i = 0; i < streams; i++) {
+            int port = 8000 + i % 1000;
+
+            script.append("accept \"tcp://localhost:").append(port).append("\"\n")
+                  .append("accepted\n")
+                  .append("connected\n")
+                  .append("read \"GET /stream/").append(i).append(" HTTP/1.1\\r\\n\"\n")
+                  .append("read /(?<host>Host: [^\\r\\n]*)\\r\\n/\n")
+                  .append("read [0x01 0x02 0x03 0x04]\n")
+                  .append("read ([0..4]:length").append(i).append(")\n")
+                  .append("read ${key}\n")
+                  .append("write \"HTTP/1.1 200 OK\\r\\n\"\n")
+                  .append("write ${greeting}\n")
+                  .append("write notify STREAM_").append(i).append("\n")
+                  .append("close\n")
+                  .append("closed\n\n");
+
+            script.append("connect await STREAM_").append(i).append("\n")
+                  .append("        \"tcp://localhost:").append(port).append("\"\n")
+                  .append("connected\n")
+                  .append("write \"GET /stream/").append(i).append(" HTTP/1.1\\r\\n\"\n")
+                  .append("write \"Host: localhost\\r\\n\"\n")
+                  .append("write [0x01 0x02 0x03 0x04]\n")
+                  .append("write [0x00 0x00 0x00 0x10]\n")
+                  .append("write ${key}\n")
+                  .append("read \"HTTP/1.1 200 OK\\r\\n\"\n")
+                  .append("read ${greeting}\n")
+                  .append("closed\n\n");
+        }
+
+        return script.toString();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.benchmarks;
+
+import static io.aklivity.k3po.runtime.benchmarks.ScriptParserBenchmark.newScript;
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionRuntime.getExpressionRuntime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.aklivity.k3po.runtime.driver.internal.behavior.parser.Parser;
+import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.AssociateStreamsVisitor;
+import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.InjectBarriersVisitor;
+import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.InjectEventsVisitor;
+import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.InjectFlushVisitor;
+import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.TransformStreamsVisitor;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstScriptNode;
+import io.aklivity.k3po.runtime.lang.internal.el.ExpressionContext;
+import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParserImpl;
+
+/**
+ * Transforms a parsed script with the given number of accepted and connected stream pairs, comparing
+ * the sequential rewrite visitors with the single traversal used by the driver parser.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScriptTransformBenchmark {
+
+    @Param({ "100", "1000", "5000" })
+    public int streams;
+
+    private String script;
+    private AstScriptNode scriptAST;
+
+    @Setup
+    public void setup() throws Exception {
+        script = newScript(streams);
+        scriptAST = new ScriptParserImpl(getExpressionRuntime().getExpressionFactory(), new ExpressionContext())
+                .parse(script);
+    }
+
+    @Benchmark
+    public AstScriptNode sequential() {
+        AstScriptNode script = scriptAST;
+        script = script.accept(new InjectEventsVisitor(), new InjectEventsVisitor.State());
+        script = script.accept(new InjectBarriersVisitor(), new InjectBarriersVisitor.State());
+        script = script.accept(new InjectFlushVisitor(), new InjectFlushVisitor.State());
+        script = script.accept(new AssociateStreamsVisitor(), new AssociateStreamsVisitor.State());
+        return script;
+    }
+
+    @Benchmark
+    public AstScriptNode fused() {
+        return scriptAST.accept(new TransformStreamsVisitor(), new TransformStreamsVisitor.State());
+    }
+
+    @Benchmark
+    public AstScriptNode parseAndTransform() throws Exception {
+        Parser parser = new Parser(new ScriptParserImpl(getExpressionRuntime().getExpressionFactory(),
+                new ExpressionContext()));
+        return parser.parse(script);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.benchmarks;
+
+import static io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.Maskers.newMasker;
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionFactoryUtils.valueSupplier;
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionRuntime.getExpressionRuntime;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jboss.netty.channel.Channels.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.el.ValueExpression;
+
+import org.jboss.netty.channel.ChannelFactory;
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.ExceptionEvent;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.channel.SimpleChannelHandler;
+import org.jboss.netty.channel.local.DefaultLocalClientChannelFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.ExecutionHandler;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.Masker;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.MessageEncoder;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.WriteBytesEncoder;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.WriteExpressionEncoder;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.WriteTextEncoder;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.command.WriteHandler;
+import io.aklivity.k3po.runtime.lang.internal.el.ExpressionContext;
+
+/**
+ * Executes a write of literal bytes, text and an expression value through a pipeline, with and without masking.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteHandlerBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean masked;
+
+    @Param({ "64", "8192" })
+    public int payloadSize;
+
+    private ChannelFactory channelFactory;
+    private ExpressionContext environment;
+    private ValueExpression expression;
+    private byte[] maskingKey;
+
+    @Setup
+    public void setup() {
+        channelFactory = new DefaultLocalClientChannelFactory();
+        environment = new ExpressionContext();
+        expression = getExpressionRuntime().getExpressionFactory()
+                .createValueExpression(environment, "${payload}", byte[].class);
+        expression.setValue(environment, new byte[payloadSize]);
+        maskingKey = masked ? new byte[] { 0x01, 0x02, 0x03, 0x04 } : new byte[] { 0x00, 0x00, 0x00, 0x00 };
+    }
+
+    @TearDown
+    public void teardown() {
+        channelFactory.releaseExternalResources();
+    }
+
+    @Benchmark
+    public ChannelFuture write(final Blackhole blackhole) throws Exception {
+        List<MessageEncoder> encoders = new ArrayList<>();
+        encoders.add(new WriteBytesEncoder(new byte[] { 0x01, 0x02, 0x03 }));
+        encoders.add(new WriteTextEncoder("Hello, world", UTF_8));
+        encoders.add(new WriteExpressionEncoder(valueSupplier(expression, environment, Object.class), expression));
+
+        Masker masker = newMasker(maskingKey);
+        ExecutionHandler execution = new ExecutionHandler();
+        WriteHandler handler = new WriteHandler(encoders, masker);
+
+        ChannelPipeline pipeline = pipeline(new SimpleChannelHandler() {
+            @Override
+            public void writeRequested(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
+                blackhole.consume(e.getMessage());
+                e.getFuture().setSuccess();
+            }
+        }, execution, handler, new SimpleChannelHandler() {
+            @Override
+            public void exceptionCaught(ChannelHandlerContext ctx, ExceptionEvent e) throws Exception {
+                blackhole.consume(e.getCause());
+            }
+        });
+
+        channelFactory.newChannel(pipeline);
+        execution.getHandlerFuture().setSuccess();
+
+        return handler.getHandlerFuture();
+    }
+}
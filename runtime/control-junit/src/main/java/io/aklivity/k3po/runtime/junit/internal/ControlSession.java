@@ -0,0 +1,297 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.junit.internal;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import io.aklivity.k3po.runtime.control.internal.Control;
+import io.aklivity.k3po.runtime.control.internal.command.AbortCommand;
+import io.aklivity.k3po.runtime.control.internal.command.CloseCommand;
+import io.aklivity.k3po.runtime.control.internal.command.Command;
+import io.aklivity.k3po.runtime.control.internal.command.PrepareCommand;
+import io.aklivity.k3po.runtime.control.internal.event.CommandEvent;
+
+/**
+ * Control connection to the k3po driver, reused by the specifications in the JVM with the same control URL.
+ *
+ * Scripts are prepared on the same connection using the compact control protocol, which has the driver
+ * run pipelined scripts one after another. A single reader thread blocks on the connection and dispatches
+ * each event to the listener of the script it belongs to, in the order the scripts were prepared, so the
+ * listener is notified as soon as an event arrives instead of polling for it.
+ *
+ * A script that fails, or whose specification is disposed before it has finished, only affects its own
+ * listener. The connection is closed only if it fails, so the scripts pipelined after it still run.
+ *
+ * Idle connections are pooled, and a new connection is opened only when every pooled connection is running
+ * a script. Specifications executing concurrently therefore each prepare on their own connection, and a
+ * driver started in concurrent mode runs their scripts in parallel.
+ */
+final class ControlSession {
+
+    private static final Map<String, Queue<ControlSession>> IDLE_SESSIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Receives the events of a prepared script.
+     */
+    interface Listener {
+
+        void onEvent(CommandEvent event);
+
+        /**
+         * Notified if the connection is closed before the script has finished.
+         */
+        void onClosed();
+    }
+
+    private static final class Script {
+
+        private final Listener listener;
+
+        private boolean prepared;
+        private boolean aborted;
+        private boolean failed;
+        private boolean abandoned;
+
+        private Script(Listener listener) {
+            this.listener = listener;
+        }
+    }
+
+    private final String location;
+    private final Control control;
+
+    // guarded by this, in the order the driver runs the scripts
+    private final Queue<Script> scripts;
+
+    private volatile boolean closed;
+
+    private ControlSession(URL controlURL) {
+        this.location = controlURL.toString();
+        this.control = new Control(controlURL, Control.COMPACT_VERSION);
+        this.scripts = new ArrayDeque<>();
+    }
+
+    /**
+     * Leases an idle session for the control URL, connecting to the driver if no session is idle.
+     */
+    static ControlSession lease(URL controlURL) throws Exception {
+        Queue<ControlSession> idleSessions = idleSessions(controlURL.toString());
+
+        ControlSession session;
+        while ((session = idleSessions.poll()) != null) {
+            if (!session.closed) {
+                return session;
+            }
+        }
+
+        session = new ControlSession(controlURL);
+        session.connect();
+        return session;
+    }
+
+    /**
+     * Returns the session to the pool, so that the next script is pipelined on the same connection.
+     */
+    void release() {
+        if (!closed) {
+            idleSessions(location).offer(this);
+        }
+    }
+
+    /**
+     * Prepares the script, registering the listener to receive its events.
+     */
+    synchronized void prepare(PrepareCommand prepare, Listener listener) throws Exception {
+        if (closed) {
+            throw new IllegalStateException("Control session closed");
+        }
+
+        // registered before the command is written, so that the listener sees the first event
+        scripts.offer(new Script(listener));
+        control.writeCommand(prepare);
+    }
+
+    synchronized void writeCommand(Command command) throws Exception {
+        if (closed) {
+            throw new IllegalStateException("Control session closed");
+        }
+
+        control.writeCommand(command);
+    }
+
+    /**
+     * Aborts the script of the listener, if the driver is running it and it has not been aborted already.
+     *
+     * An ABORT written before the script is PREPARED, or after it has FINISHED, would apply to another script
+     * pipelined on the connection, so it is only written while the script is the one the driver is running.
+     */
+    synchronized void abort(Listener listener) throws Exception {
+        Script script = scripts.peek();
+        if (script != null && script.listener == listener) {
+            abort(script);
+        }
+    }
+
+    /**
+     * Stops notifying the listener, aborting its script if it has not finished.
+     *
+     * A script not yet prepared is aborted as soon as the driver has prepared it, so that the scripts
+     * pipelined after it on the connection still run.
+     */
+    synchronized void abandon(Listener listener) {
+        for (Script script : scripts) {
+            if (script.listener == listener) {
+                script.abandoned = true;
+                try {
+                    abort(script);
+                } catch (Exception e) {
+                    // connection failed, closed by the reader
+                }
+            }
+        }
+    }
+
+    private void connect() throws Exception {
+        control.connect();
+
+        Thread reader = new Thread(this::read, "k3po-control");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private void read() {
+        try {
+            CommandEvent event;
+            while ((event = control.readEvent()) != null) {
+                Listener listener = dispatch(event);
+                if (listener != null) {
+                    listener.onEvent(event);
+                }
+            }
+        } catch (Exception e) {
+            // connection failed, or was closed
+        } finally {
+            close();
+
+            List<Listener> listeners = new ArrayList<>();
+            synchronized (this) {
+                Script script;
+                while ((script = scripts.poll()) != null) {
+                    if (!script.abandoned) {
+                        listeners.add(script.listener);
+                    }
+                }
+            }
+
+            for (Listener listener : listeners) {
+                listener.onClosed();
+            }
+        }
+    }
+
+    /**
+     * Tracks the event against the script the driver is running, returning the listener to notify, if any.
+     */
+    private synchronized Listener dispatch(CommandEvent event) throws Exception {
+        Script script = scripts.peek();
+
+        if (script != null && script.failed) {
+            // the driver may still finish a failed script, otherwise it moves on to prepare the next one
+            switch (event.getKind()) {
+            case PREPARED:
+                scripts.poll();
+                script = scripts.peek();
+                break;
+            case FINISHED:
+                scripts.poll();
+                return null;
+            default:
+                return null;
+            }
+        }
+
+        if (script == null) {
+            return null;
+        }
+
+        switch (event.getKind()) {
+        case PREPARED:
+            script.prepared = true;
+            if (script.abandoned) {
+                abort(script);
+            }
+            break;
+        case ERROR:
+            script.failed = true;
+            break;
+        case FINISHED:
+            scripts.poll();
+            break;
+        default:
+            break;
+        }
+
+        return script.abandoned ? null : script.listener;
+    }
+
+    private void abort(Script script) throws Exception {
+        assert Thread.holdsLock(this);
+
+        if (script.prepared && !script.aborted && !script.failed && !closed) {
+            script.aborted = true;
+            control.writeCommand(new AbortCommand());
+        }
+    }
+
+    /**
+     * Closes the connection, so that it is not leased again.
+     */
+    private void close() {
+        idleSessions(location).remove(this);
+
+        synchronized (this) {
+            if (!closed) {
+                closed = true;
+                try {
+                    control.writeCommand(new CloseCommand());
+                } catch (Exception e) {
+                    // ignore, disconnecting anyway
+                } finally {
+                    disconnect();
+                }
+            }
+        }
+    }
+
+    private static Queue<ControlSession> idleSessions(String location) {
+        return IDLE_SESSIONS.computeIfAbsent(location, l -> new ConcurrentLinkedQueue<>());
+    }
+
+    private void disconnect() {
+        try {
+            control.disconnect();
+        } catch (Exception e) {
+            // ignore
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.junit.internal;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ephemeral ports allocated to specifications executing concurrently in the same JVM.
+ *
+ * A port is chosen by binding to port zero, and is not allocated again until released, even if the operating
+ * system offers it again while the specification that leased it is still executing.
+ */
+public final class EphemeralPorts {
+
+    private static final Set<Integer> LEASED_PORTS = ConcurrentHashMap.newKeySet();
+
+    private EphemeralPorts() {
+        // utility
+    }
+
+    public static int lease() {
+        while (true) {
+            int port;
+            try (ServerSocket socket = new ServerSocket()) {
+                // set before binding, so that the script can bind the port while this socket is in TIME_WAIT
+                socket.setReuseAddress(true);
+                socket.bind(new InetSocketAddress(0));
+                port = socket.getLocalPort();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to allocate ephemeral port", e);
+            }
+
+            if (LEASED_PORTS.add(port)) {
+                return port;
+            }
+        }
+    }
+
+    public static void release(int port) {
+        LEASED_PORTS.remove(port);
+    }
+
+    public static boolean isLeased(int port) {
+        return LEASED_PORTS.contains(port);
+    }
+}
@@ -16,21 +16,20 @@
 package io.aklivity.k3po.runtime.junit.internal;
 
 import static java.lang.String.format;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static java.util.concurrent.TimeUnit.SECONDS;
 
 import java.net.ConnectException;
-import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Logger;
 
-import io.aklivity.k3po.runtime.control.internal.Control;
-import io.aklivity.k3po.runtime.control.internal.command.AbortCommand;
-import io.aklivity.k3po.runtime.control.internal.command.CloseCommand;
+import io.aklivity.k3po.runtime.control.internal.command.AwaitCommand;
+import io.aklivity.k3po.runtime.control.internal.command.NotifyCommand;
 import io.aklivity.k3po.runtime.control.internal.command.PrepareCommand;
 import io.aklivity.k3po.runtime.control.internal.command.StartCommand;
 import io.aklivity.k3po.runtime.control.internal.event.CommandEvent;
@@ -38,14 +37,30 @@ import io.aklivity.k3po.runtime.control.internal.event.ErrorEvent;
 import io.aklivity.k3po.runtime.control.internal.event.FinishedEvent;
 import io.aklivity.k3po.runtime.control.internal.event.NotifiedEvent;
 import io.aklivity.k3po.runtime.control.internal.event.PreparedEvent;
+import io.aklivity.k3po.runtime.control.internal.event.StepTiming;
 
-public final class ScriptRunner implements Callable<ScriptPair> {
+public final class ScriptRunner implements Callable<ScriptPair>, ControlSession.Listener {
 
-    private final Control controller;
+    /**
+     * System property requesting the timings of each script, reported when the script has finished.
+     */
+    public static final String TIMINGS_PROPERTY = "k3po.timings";
+
+    // reported through java.util.logging, as JUnit has no logger of its own
+    private static final Logger LOGGER = Logger.getLogger(ScriptRunner.class.getName());
+
+    // signals queued with the control events, so the runner wakes as soon as either arrives
+    private static final Object ABORT_SIGNAL = new Object();
+    private static final Object CLOSED_SIGNAL = new Object();
+
+    private final URL controlURL;
     private final List<String> names;
     private final Latch latch;
+    private final BlockingQueue<Object> signals;
 
+    private volatile ControlSession session;
     private volatile boolean abortScheduled;
+    private volatile boolean finished;
     private volatile Map<String, CountDownLatch> barriers;
     private final List<String> overridenScriptProperties;
 
@@ -59,9 +74,10 @@ public final class ScriptRunner implements Callable<ScriptPair> {
             throw new NullPointerException("latch");
         }
 
-        this.controller = new Control(controlURL);
+        this.controlURL = controlURL;
         this.names = names;
         this.latch = latch;
+        this.signals = new LinkedBlockingQueue<>();
         this.barriers = new HashMap<String, CountDownLatch>();
         this.overridenScriptProperties = overridenScriptProperties;
     }
@@ -71,6 +87,17 @@ public final class ScriptRunner implements Callable<ScriptPair> {
         // we will send this on the wire to appear in the diff (https://github.com/k3po/k3po/issues/332)
         this.abortScheduled = true;
         latch.notifyAbort();
+        signals.offer(ABORT_SIGNAL);
+    }
+
+    @Override
+    public void onEvent(CommandEvent event) {
+        signals.offer(event);
+    }
+
+    @Override
+    public void onClosed() {
+        signals.offer(CLOSED_SIGNAL);
     }
 
     @Override
@@ -82,82 +109,87 @@ public final class ScriptRunner implements Callable<ScriptPair> {
                 return new ScriptPair();
             }
 
-            controller.connect();
+            session = ControlSession.lease(controlURL);
 
             // send PREPARE command
             PrepareCommand prepare = new PrepareCommand();
             prepare.setNames(names);
             prepare.setOverriddenScriptProperties(overridenScriptProperties);
+            prepare.setTimings(Boolean.getBoolean(TIMINGS_PROPERTY));
 
-            controller.writeCommand(prepare);
+            session.prepare(prepare, this);
 
-            boolean abortWritten = false;
+            boolean prepared = false;
             String expectedScript = null;
             while (true) {
-                try {
-                    // validate event name matches command name
-                    CommandEvent event = controller.readEvent(200, MILLISECONDS);
-                    if (event == null)
-                    {
-                        // connection closed
-                        return new ScriptPair(expectedScript, "");
-                    }
+                Object signal = signals.take();
 
-                    // process event
-                    switch (event.getKind()) {
-                    case PREPARED:
-                        PreparedEvent prepared = (PreparedEvent) event;
-                        expectedScript = prepared.getScript();
-                        for (String barrier : prepared.getBarriers()) {
-                            barriers.put(barrier, new CountDownLatch(1));
-                        }
+                if (signal == CLOSED_SIGNAL) {
+                    // connection closed
+                    return new ScriptPair(expectedScript, "");
+                }
 
-                        // notify script is prepared
-                        latch.notifyPrepared();
+                if (signal == ABORT_SIGNAL) {
+                    // commands before PREPARED would apply to the script pipelined ahead of this one
+                    if (prepared) {
+                        session.abort(this);
+                    }
+                    continue;
+                }
 
-                        latch.awaitStartable();
-
-                        // Send ABORT if we were asked to abort otherwise send start command
-                        if (abortScheduled && !abortWritten) {
-                            sendAbortCommand();
-                            abortWritten = true;
-                        } else {
-                            // send START command
-                            StartCommand start = new StartCommand();
-                            controller.writeCommand(start);
-                        }
-                        break;
-                    case STARTED:
-                        break;
-                    case NOTIFIED:
-                        NotifiedEvent notifiedEvent = (NotifiedEvent) event;
-                        String barrier = notifiedEvent.getBarrier();
-                        CountDownLatch notifiedLatch = barriers.get(barrier);
-                        notifiedLatch.countDown();
-                        break;
-                    case ERROR:
-                        ErrorEvent error = (ErrorEvent) event;
-                        throw new SpecificationException(format("%s:%s", error.getSummary(), error.getDescription()));
-                    case FINISHED:
-                        FinishedEvent finished = (FinishedEvent) event;
-                        // notify all barriers
-                        notifyBarriers(finished);
-                        // note: observed script is possibly incomplete
-                        String observedScript = finished.getScript();
-                        return new ScriptPair(expectedScript, observedScript);
-                    default:
-                        throw new IllegalArgumentException("Unrecognized event kind: " + event.getKind());
+                // validate event name matches command name
+                CommandEvent event = (CommandEvent) signal;
+
+                // process event
+                switch (event.getKind()) {
+                case PREPARED:
+                    PreparedEvent preparedEvent = (PreparedEvent) event;
+                    expectedScript = preparedEvent.getScript();
+                    for (String barrier : preparedEvent.getBarriers()) {
+                        barriers.put(barrier, new CountDownLatch(1));
                     }
-                } catch (SocketTimeoutException e) {
-                    if (abortScheduled && !abortWritten) {
-                        sendAbortCommand();
-                        abortWritten = true;
+                    prepared = true;
+
+                    // notify script is prepared, unless already released by abort
+                    if (latch.isInInitState()) {
+                        latch.notifyPrepared();
                     }
 
-                    // defensive clean-up in case Robot control server stalls during response to ABORT
-                    if (Thread.interrupted()) {
-                        throw new InterruptedException();
+                    latch.awaitStartable();
+
+                    // Send ABORT if we were asked to abort otherwise send start command
+                    if (abortScheduled) {
+                        session.abort(this);
+                    } else {
+                        // send START command
+                        StartCommand start = new StartCommand();
+                        session.writeCommand(start);
+                    }
+                    break;
+                case STARTED:
+                    break;
+                case NOTIFIED:
+                    NotifiedEvent notifiedEvent = (NotifiedEvent) event;
+                    String barrier = notifiedEvent.getBarrier();
+                    CountDownLatch notifiedLatch = barriers.get(barrier);
+                    notifiedLatch.countDown();
+                    break;
+                case ERROR:
+                    ErrorEvent error = (ErrorEvent) event;
+                    throw new SpecificationException(format("%s:%s", error.getSummary(), error.getDescription()));
+                case FINISHED:
+                    FinishedEvent finishedEvent = (FinishedEvent) event;
+                    finished = true;
+                    // notify all barriers
+                    notifyBarriers(finishedEvent);
+                    // note: observed script is possibly incomplete
+                    String observedScript = finishedEvent.getScript();
+                    if (!finishedEvent.getTimings().isEmpty()) {
+                        reportTimings(expectedScript, finishedEvent.getTimings());
                     }
+                    return new ScriptPair(expectedScript, observedScript);
+                default:
+                    throw new IllegalArgumentException("Unrecognized event kind: " + event.getKind());
                 }
             }
         } catch (ConnectException e) {
@@ -182,9 +214,19 @@ public final class ScriptRunner implements Callable<ScriptPair> {
         }
     }
 
-    private void sendAbortCommand() throws Exception {
-        AbortCommand abort = new AbortCommand();
-        controller.writeCommand(abort);
+    private void reportTimings(String expectedScript, List<StepTiming> timings) {
+        StringBuilder report = new StringBuilder(format("Timings of %s:\n", names));
+        for (StepTiming timing : timings) {
+            String region = "";
+            if (expectedScript != null && timing.getEnd() <= expectedScript.length()) {
+                region = expectedScript.substring(timing.getStart(), timing.getEnd()).trim();
+                int newlineAt = region.indexOf('\n');
+                region = (newlineAt != -1) ? region.substring(0, newlineAt) : region;
+            }
+            report.append(format("%12d ns %12d ns %-12s %s%s\n", timing.getStartNanos(), timing.getDurationNanos(),
+                    timing.getStep(), region, timing.isSuccess() ? "" : " (failed)"));
+        }
+        LOGGER.info(report.toString());
     }
 
     public void awaitBarrier(String barrierName) throws Exception {
@@ -192,7 +234,9 @@ public final class ScriptRunner implements Callable<ScriptPair> {
             throw new IllegalArgumentException(String.format(
                     "Barrier with %s is not present in the script and thus can't be waited upon", barrierName));
         }
-        controller.sendAwaitBarrier(barrierName);
+        AwaitCommand await = new AwaitCommand();
+        await.setBarrier(barrierName);
+        session.writeCommand(await);
         final CountDownLatch notifiedLatch = barriers.get(barrierName);
         notifiedLatch.await();
     }
@@ -204,17 +248,21 @@ public final class ScriptRunner implements Callable<ScriptPair> {
         }
         final CountDownLatch notifiedLatch = barriers.get(barrierName);
         if (notifiedLatch.getCount() > 0) {
-            controller.notifyBarrier(barrierName);
+            NotifyCommand notify = new NotifyCommand();
+            notify.setBarrier(barrierName);
+            session.writeCommand(notify);
         }
         notifiedLatch.await();
     }
 
     public void dispose() throws Exception {
-        if (controller.isConnected()) {
-            controller.writeCommand(new CloseCommand());
-            while (controller.readEvent(0, SECONDS) != null) {
-                Thread.sleep(20);
+        ControlSession session = this.session;
+        if (session != null) {
+            if (!finished) {
+                // aborted once prepared, so that the next script pipelined on the connection still runs
+                session.abandon(this);
             }
+            session.release();
         }
     }
 }
@@ -24,6 +24,8 @@ import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
 
 import org.junit.AssumptionViolatedException;
@@ -35,6 +37,13 @@ import io.aklivity.k3po.runtime.junit.rules.K3poRule;
 
 public final class SpecificationStatement extends Statement {
 
+    // shared across specifications, so that a thread is not started per test method
+    private static final ExecutorService SCRIPT_RUNNERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "k3po-script-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final Statement statement;
     private final Latch latch;
     private final ScriptRunner scriptRunner;
@@ -55,7 +64,7 @@ public final class SpecificationStatement extends Statement {
 
         try {
             // start the script execution
-            new Thread(scriptFuture).start();
+            SCRIPT_RUNNERS.execute(scriptFuture);
 
             try {
                 // wait for script to be prepared (all binds ready for incoming connections from statement)
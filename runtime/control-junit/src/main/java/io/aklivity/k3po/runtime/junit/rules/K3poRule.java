@@ -23,6 +23,7 @@ import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,7 @@ import org.kaazing.net.URLFactory;
 
 import io.aklivity.k3po.runtime.junit.annotation.ScriptProperty;
 import io.aklivity.k3po.runtime.junit.annotation.Specification;
+import io.aklivity.k3po.runtime.junit.internal.EphemeralPorts;
 import io.aklivity.k3po.runtime.junit.internal.Latch;
 import io.aklivity.k3po.runtime.junit.internal.SpecificationStatement;
 
@@ -78,6 +80,8 @@ public class K3poRule extends Verifier {
     private SpecificationStatement statement;
     private List<String> classOverriddenProperties;
     private Map<String, String> packagePathsByName;
+    private Map<String, String> portFormatsByProperty;
+    private Map<String, Integer> portsByProperty;
 
     /**
      * Allocates a new K3poRule.
@@ -86,6 +90,8 @@ public class K3poRule extends Verifier {
         latch = new Latch();
         classOverriddenProperties = new ArrayList<>();
         packagePathsByName = new HashMap<>();
+        portFormatsByProperty = new LinkedHashMap<>();
+        portsByProperty = new HashMap<>();
         
         // There were situations where the interrupted status was set to true from the previous test.
         // Check and clear the interrupted status from the thread
@@ -129,6 +135,49 @@ public class K3poRule extends Verifier {
         return this;
     }
 
+    /**
+     * Overrides a script property with an ephemeral port, allocated for each test method.
+     *
+     * Test methods executing concurrently, such as with JUnit's {@code ParallelComputer} and a k3po driver started
+     * in concurrent mode, are allocated different ports, so their scripts do not clash on the same address.
+     * The property must be declared by the scripts of each {@link Specification}, such as
+     * {@code property location "tcp://localhost:8080"} overridden by
+     * {@code addEphemeralPort("location", "\"tcp://localhost:%d\"")}.
+     *
+     * @param propertyName the name of the script property to override
+     * @param valueFormat the property value, formatted with the allocated port
+     * @return an instance of K3poRule for convenience
+     */
+    public K3poRule addEphemeralPort(String propertyName, String valueFormat) {
+        portFormatsByProperty.put(propertyName, valueFormat);
+        return this;
+    }
+
+    /**
+     * Overrides a script property with an ephemeral port number, allocated for each test method.
+     *
+     * @param propertyName the name of the script property to override, such as {@code property port 8080}
+     * @return an instance of K3poRule for convenience
+     * @see #addEphemeralPort(String, String)
+     */
+    public K3poRule addEphemeralPort(String propertyName) {
+        return addEphemeralPort(propertyName, "%d");
+    }
+
+    /**
+     * Gets the ephemeral port allocated to the current test method, so the test can connect to or accept on it.
+     *
+     * @param propertyName the name of the script property overridden with the port
+     * @return the allocated port
+     */
+    public int getEphemeralPort(String propertyName) {
+        Integer port = portsByProperty.get(propertyName);
+        if (port == null) {
+            throw new IllegalStateException(format("No ephemeral port allocated for property: %s", propertyName));
+        }
+        return port;
+    }
+
     @Override
     public Statement apply(Statement statement, final Description description) {
 
@@ -181,9 +230,16 @@ public class K3poRule extends Verifier {
             }
 
             methodOverridenScriptProperties.addAll(classOverriddenProperties);
+            for (Map.Entry<String, String> entry : portFormatsByProperty.entrySet()) {
+                String propertyName = entry.getKey();
+                int port = EphemeralPorts.lease();
+                portsByProperty.put(propertyName, port);
+                methodOverridenScriptProperties.add(format("%s %s", propertyName, format(entry.getValue(), port)));
+            }
+
             this.statement =
                     new SpecificationStatement(statement, controlURL, scriptNames, latch, methodOverridenScriptProperties);
-            statement = this.statement;
+            statement = releasePortsAfter(this.statement);
         }
 
         return super.apply(statement, description);
@@ -244,9 +300,28 @@ public class K3poRule extends Verifier {
         latch.awaitFinished();
     }
 
+    private Statement releasePortsAfter(final Statement statement) {
+        if (portsByProperty.isEmpty()) {
+            return statement;
+        }
+
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    statement.evaluate();
+                } finally {
+                    for (int port : portsByProperty.values()) {
+                        EphemeralPorts.release(port);
+                    }
+                }
+            }
+        };
+    }
+
     private static URL createURL(String location) {
         try {
-            return URLFactory.createURL("tcp://localhost:11642");
+            return URLFactory.createURL(location);
         } catch (MalformedURLException e) {
             throw new RuntimeException(e);
         }
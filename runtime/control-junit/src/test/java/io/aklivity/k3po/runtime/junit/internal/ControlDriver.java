@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.junit.internal;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.kaazing.net.URLFactory;
+
+/**
+ * Accepts control connections in place of the k3po driver, so that tests write its events.
+ */
+public final class ControlDriver implements AutoCloseable {
+
+    private static final int TIMEOUT_MILLIS = 5000;
+
+    private final ServerSocket server;
+    private final List<Connection> connections;
+
+    public ControlDriver() throws IOException {
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.server.setSoTimeout(TIMEOUT_MILLIS);
+        this.connections = new CopyOnWriteArrayList<>();
+    }
+
+    public URL getControlURL() throws Exception {
+        return URLFactory.createURL(format("tcp://127.0.0.1:%d", server.getLocalPort()));
+    }
+
+    public Connection accept() throws IOException {
+        Socket socket = server.accept();
+        socket.setSoTimeout(TIMEOUT_MILLIS);
+        Connection connection = new Connection(socket);
+        connections.add(connection);
+        return connection;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        server.close();
+    }
+
+    public static final class Connection implements AutoCloseable {
+
+        private static final Pattern CONTENT_LENGTH_PATTERN = Pattern.compile("content-length:(\\d+)");
+
+        private final Socket socket;
+        private final InputStream input;
+        private final OutputStream output;
+
+        private String content;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.input = socket.getInputStream();
+            this.output = socket.getOutputStream();
+        }
+
+        /**
+         * Reads the next command, returning its name.
+         */
+        public String readCommand() throws IOException {
+            String command = readLine();
+            int length = 0;
+            for (String header = readLine(); !header.isEmpty(); header = readLine()) {
+                Matcher matcher = CONTENT_LENGTH_PATTERN.matcher(header);
+                if (matcher.matches()) {
+                    length = Integer.parseInt(matcher.group(1));
+                }
+            }
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            for (int i = 0; i < length; i++) {
+                content.write(input.read());
+            }
+            this.content = content.toString("UTF-8");
+            return command;
+        }
+
+        /**
+         * Returns the content of the last command read, such as the property overrides of PREPARE.
+         */
+        public String getContent() {
+            return content;
+        }
+
+        /**
+         * Returns true if no command is received within the given time.
+         */
+        public boolean isIdle(int millis) throws IOException {
+            socket.setSoTimeout(millis);
+            try {
+                return input.read() == -1;
+            } catch (SocketTimeoutException e) {
+                return true;
+            } finally {
+                socket.setSoTimeout(TIMEOUT_MILLIS);
+            }
+        }
+
+        public void writePrepared(String script) throws IOException {
+            write(format("PREPARED\ncontent-length:%d\n\n%s", script.length(), script));
+        }
+
+        public void writeStarted() throws IOException {
+            write("STARTED\n\n");
+        }
+
+        public void writeFinished(String... headers) throws IOException {
+            // no regions, so the observed script is the prepared script
+            StringBuilder finished = new StringBuilder("FINISHED\ncontent-length:0\n");
+            for (String header : headers) {
+                finished.append(header).append('\n');
+            }
+            write(finished.append('\n').toString());
+        }
+
+        public void writeError(String summary) throws IOException {
+            write(format("ERROR\nsummary:%s\n\n", summary));
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+
+        private void write(String event) throws IOException {
+            output.write(event.getBytes(UTF_8));
+            output.flush();
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            for (int b = input.read(); b != '\n'; b = input.read()) {
+                if (b == -1) {
+                    throw new IOException("Connection closed");
+                }
+                line.write(b);
+            }
+            return line.toString("UTF-8");
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.junit.internal;
+
+import static io.aklivity.k3po.runtime.control.internal.event.CommandEvent.Kind.ERROR;
+import static io.aklivity.k3po.runtime.control.internal.event.CommandEvent.Kind.FINISHED;
+import static io.aklivity.k3po.runtime.control.internal.event.CommandEvent.Kind.PREPARED;
+import static io.aklivity.k3po.runtime.control.internal.event.CommandEvent.Kind.STARTED;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.aklivity.k3po.runtime.control.internal.command.PrepareCommand;
+import io.aklivity.k3po.runtime.control.internal.command.StartCommand;
+import io.aklivity.k3po.runtime.control.internal.event.CommandEvent;
+import io.aklivity.k3po.runtime.junit.internal.ControlDriver.Connection;
+
+public class ControlSessionTest {
+
+    private static final String CLOSED = "CLOSED";
+
+    private ControlDriver driver;
+
+    @Before
+    public void startDriver() throws Exception {
+        driver = new ControlDriver();
+    }
+
+    @After
+    public void stopDriver() throws Exception {
+        driver.close();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldDispatchPipelinedEventsInPrepareOrder() throws Exception {
+        ControlSession session = ControlSession.lease(driver.getControlURL());
+        Connection connection = driver.accept();
+
+        EventQueue first = new EventQueue();
+        EventQueue second = new EventQueue();
+        session.prepare(prepare("first"), first);
+        session.prepare(prepare("second"), second);
+        assertEquals("PREPARE", connection.readCommand());
+        assertEquals("PREPARE", connection.readCommand());
+
+        connection.writePrepared("first");
+        connection.writeStarted();
+        connection.writeFinished();
+        connection.writePrepared("second");
+        connection.writeFinished();
+
+        assertEquals(PREPARED, first.next());
+        assertEquals(STARTED, first.next());
+        assertEquals(FINISHED, first.next());
+        assertEquals(PREPARED, second.next());
+        assertEquals(FINISHED, second.next());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldNotAffectPipelinedScriptsOnError() throws Exception {
+        ControlSession session = ControlSession.lease(driver.getControlURL());
+        Connection connection = driver.accept();
+
+        EventQueue first = new EventQueue();
+        EventQueue second = new EventQueue();
+        session.prepare(prepare("first"), first);
+        session.prepare(prepare("second"), second);
+        assertEquals("PREPARE", connection.readCommand());
+        assertEquals("PREPARE", connection.readCommand());
+
+        connection.writePrepared("first");
+        connection.writeError("Internal error");
+        connection.writeFinished();
+        connection.writePrepared("second");
+
+        assertEquals(PREPARED, first.next());
+        assertEquals(ERROR, first.next());
+        assertEquals(PREPARED, second.next());
+        assertNull(first.poll());
+
+        // the connection remains open for the next script
+        EventQueue third = new EventQueue();
+        session.prepare(prepare("third"), third);
+        assertEquals("PREPARE", connection.readCommand());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldPrepareNextScriptAfterFailedPrepare() throws Exception {
+        ControlSession session = ControlSession.lease(driver.getControlURL());
+        Connection connection = driver.accept();
+
+        EventQueue first = new EventQueue();
+        EventQueue second = new EventQueue();
+        session.prepare(prepare("first"), first);
+        session.prepare(prepare("second"), second);
+        assertEquals("PREPARE", connection.readCommand());
+        assertEquals("PREPARE", connection.readCommand());
+
+        connection.writeError("Parse Error");
+        connection.writePrepared("second");
+        connection.writeFinished();
+
+        assertEquals(ERROR, first.next());
+        assertEquals(PREPARED, second.next());
+        assertEquals(FINISHED, second.next());
+        assertNull(first.poll());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldAbortAbandonedScriptOncePrepared() throws Exception {
+        ControlSession session = ControlSession.lease(driver.getControlURL());
+        Connection connection = driver.accept();
+
+        EventQueue first = new EventQueue();
+        EventQueue second = new EventQueue();
+        session.prepare(prepare("first"), first);
+        session.prepare(prepare("second"), second);
+        assertEquals("PREPARE", connection.readCommand());
+        assertEquals("PREPARE", connection.readCommand());
+
+        session.abandon(first);
+        assertTrue(connection.isIdle(200));
+
+        connection.writePrepared("first");
+        assertEquals("ABORT", connection.readCommand());
+
+        connection.writeFinished();
+        connection.writePrepared("second");
+
+        assertEquals(PREPARED, second.next());
+        assertNull(first.poll());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldAbortOnlyWhilePrepared() throws Exception {
+        ControlSession session = ControlSession.lease(driver.getControlURL());
+        Connection connection = driver.accept();
+
+        EventQueue listener = new EventQueue();
+        session.prepare(prepare("script"), listener);
+        assertEquals("PREPARE", connection.readCommand());
+
+        // an abort before PREPARED would apply to the script pipelined ahead
+        session.abort(listener);
+        assertTrue(connection.isIdle(200));
+
+        connection.writePrepared("script");
+        assertEquals(PREPARED, listener.next());
+
+        session.abort(listener);
+        session.abort(listener);
+        assertEquals("ABORT", connection.readCommand());
+
+        connection.writeFinished();
+        assertEquals(FINISHED, listener.next());
+
+        // an abort after FINISHED would apply to the script pipelined next
+        session.abort(listener);
+        session.writeCommand(new StartCommand());
+        assertEquals("START", connection.readCommand());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldNotifyClosedWhenConnectionFails() throws Exception {
+        ControlSession session = ControlSession.lease(driver.getControlURL());
+        Connection connection = driver.accept();
+
+        EventQueue first = new EventQueue();
+        EventQueue second = new EventQueue();
+        session.prepare(prepare("first"), first);
+        session.prepare(prepare("second"), second);
+        assertEquals("PREPARE", connection.readCommand());
+        assertEquals("PREPARE", connection.readCommand());
+
+        connection.close();
+
+        assertEquals(CLOSED, first.next());
+        assertEquals(CLOSED, second.next());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldLeaseReleasedSession() throws Exception {
+        ControlSession session = ControlSession.lease(driver.getControlURL());
+        driver.accept();
+
+        session.release();
+
+        assertSame(session, ControlSession.lease(driver.getControlURL()));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldConnectWhenNoSessionIdle() throws Exception {
+        ControlSession first = ControlSession.lease(driver.getControlURL());
+        Connection firstConnection = driver.accept();
+        ControlSession second = ControlSession.lease(driver.getControlURL());
+        Connection secondConnection = driver.accept();
+
+        assertNotSame(first, second);
+
+        first.prepare(prepare("first"), new EventQueue());
+        second.prepare(prepare("second"), new EventQueue());
+        assertEquals("PREPARE", firstConnection.readCommand());
+        assertEquals("PREPARE", secondConnection.readCommand());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldNotLeaseClosedSession() throws Exception {
+        ControlSession session = ControlSession.lease(driver.getControlURL());
+        Connection connection = driver.accept();
+
+        EventQueue listener = new EventQueue();
+        session.prepare(prepare("script"), listener);
+        session.release();
+
+        connection.close();
+        assertEquals(CLOSED, listener.next());
+
+        assertNotSame(session, ControlSession.lease(driver.getControlURL()));
+        driver.accept();
+    }
+
+    private static PrepareCommand prepare(String name) {
+        PrepareCommand prepare = new PrepareCommand();
+        prepare.setNames(singletonList(name));
+        return prepare;
+    }
+
+    private static final class EventQueue implements ControlSession.Listener {
+
+        private final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onEvent(CommandEvent event) {
+            events.offer(event.getKind());
+        }
+
+        @Override
+        public void onClosed() {
+            events.offer(CLOSED);
+        }
+
+        Object next() throws InterruptedException {
+            return events.poll(5, SECONDS);
+        }
+
+        Object poll() throws InterruptedException {
+            return events.poll(100, MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.junit.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+
+import org.junit.Test;
+
+public class EphemeralPortsTest {
+
+    @Test
+    public void shouldLeaseDistinctPorts() throws Exception {
+        int first = EphemeralPorts.lease();
+        int second = EphemeralPorts.lease();
+        try {
+            assertNotEquals(first, second);
+            assertTrue(EphemeralPorts.isLeased(first));
+            assertTrue(EphemeralPorts.isLeased(second));
+        } finally {
+            EphemeralPorts.release(first);
+            EphemeralPorts.release(second);
+        }
+
+        assertFalse(EphemeralPorts.isLeased(first));
+        assertFalse(EphemeralPorts.isLeased(second));
+    }
+
+    @Test
+    public void shouldBindLeasedPort() throws Exception {
+        int port = EphemeralPorts.lease();
+        try (ServerSocket socket = new ServerSocket()) {
+            socket.setReuseAddress(true);
+            socket.bind(new InetSocketAddress(port));
+            assertEquals(port, socket.getLocalPort());
+        } finally {
+            EphemeralPorts.release(port);
+        }
+    }
+}
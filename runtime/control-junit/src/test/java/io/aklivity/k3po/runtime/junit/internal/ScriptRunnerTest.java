@@ -0,0 +1,246 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.junit.internal;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.aklivity.k3po.runtime.junit.internal.ControlDriver.Connection;
+
+public class ScriptRunnerTest {
+
+    private ControlDriver driver;
+
+    @Before
+    public void startDriver() throws Exception {
+        driver = new ControlDriver();
+    }
+
+    @After
+    public void stopDriver() throws Exception {
+        driver.close();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldStartPreparedScript() throws Exception {
+        Latch latch = new Latch();
+        ScriptRunner runner = new ScriptRunner(driver.getControlURL(), singletonList("script"), latch, emptyList());
+        FutureTask<ScriptPair> future = start(runner);
+
+        Connection connection = driver.accept();
+        assertEquals("PREPARE", connection.readCommand());
+        connection.writePrepared("connect \"tcp://localhost:8080\"\n");
+
+        latch.awaitPrepared();
+        latch.notifyStartable();
+        assertEquals("START", connection.readCommand());
+        connection.writeStarted();
+        connection.writeFinished();
+
+        ScriptPair scripts = future.get(5, SECONDS);
+        assertEquals("connect \"tcp://localhost:8080\"\n", scripts.getExpectedScript());
+        assertEquals("connect \"tcp://localhost:8080\"\n", scripts.getObservedScript());
+        assertTrue(latch.isFinished());
+
+        runner.dispose();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldLogTimings() throws Exception {
+        List<LogRecord> records = new CopyOnWriteArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        Logger logger = Logger.getLogger(ScriptRunner.class.getName());
+        logger.addHandler(handler);
+        try {
+            Latch latch = new Latch();
+            ScriptRunner runner = new ScriptRunner(driver.getControlURL(), singletonList("script"), latch, emptyList());
+            FutureTask<ScriptPair> future = start(runner);
+
+            Connection connection = driver.accept();
+            assertEquals("PREPARE", connection.readCommand());
+            connection.writePrepared("connect \"tcp://localhost:8080\"\n");
+
+            latch.awaitPrepared();
+            latch.notifyStartable();
+            assertEquals("START", connection.readCommand());
+            connection.writeFinished("timing:0,30,1000,2000,ok,connect");
+
+            future.get(5, SECONDS);
+            runner.dispose();
+        } finally {
+            logger.removeHandler(handler);
+        }
+
+        assertEquals(1, records.size());
+        assertEquals(Level.INFO, records.get(0).getLevel());
+        assertTrue(records.get(0).getMessage().contains("connect \"tcp://localhost:8080\""));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldAbortStartedScript() throws Exception {
+        Latch latch = new Latch();
+        ScriptRunner runner = new ScriptRunner(driver.getControlURL(), singletonList("script"), latch, emptyList());
+        FutureTask<ScriptPair> future = start(runner);
+
+        Connection connection = driver.accept();
+        assertEquals("PREPARE", connection.readCommand());
+        connection.writePrepared("script");
+
+        latch.awaitPrepared();
+        latch.notifyStartable();
+        assertEquals("START", connection.readCommand());
+        connection.writeStarted();
+
+        // the runner wakes on the abort signal, without waiting for an event
+        runner.abort();
+        assertEquals("ABORT", connection.readCommand());
+        connection.writeFinished();
+
+        future.get(5, SECONDS);
+        runner.dispose();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldAbortBeforePrepared() throws Exception {
+        Latch latch = new Latch();
+        ScriptRunner runner = new ScriptRunner(driver.getControlURL(), singletonList("script"), latch, emptyList());
+        FutureTask<ScriptPair> future = start(runner);
+
+        Connection connection = driver.accept();
+        assertEquals("PREPARE", connection.readCommand());
+
+        runner.abort();
+        assertTrue(connection.isIdle(200));
+
+        connection.writePrepared("script");
+        assertEquals("ABORT", connection.readCommand());
+        connection.writeFinished();
+
+        ScriptPair scripts = future.get(5, SECONDS);
+        assertEquals("script", scripts.getObservedScript());
+        assertTrue(latch.isFinished());
+        assertFalse(latch.hasException());
+
+        runner.dispose();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldNotPrepareWhenAbortedBeforeCall() throws Exception {
+        Latch latch = new Latch();
+        ScriptRunner runner = new ScriptRunner(driver.getControlURL(), singletonList("script"), latch, emptyList());
+
+        runner.abort();
+        ScriptPair scripts = runner.call();
+
+        assertEquals("", scripts.getExpectedScript());
+        assertEquals("", scripts.getObservedScript());
+        assertTrue(latch.isFinished());
+
+        runner.dispose();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldFinishWhenConnectionClosed() throws Exception {
+        Latch latch = new Latch();
+        ScriptRunner runner = new ScriptRunner(driver.getControlURL(), singletonList("script"), latch, emptyList());
+        FutureTask<ScriptPair> future = start(runner);
+
+        Connection connection = driver.accept();
+        assertEquals("PREPARE", connection.readCommand());
+        connection.close();
+
+        ScriptPair scripts = future.get(5, SECONDS);
+        assertEquals("", scripts.getObservedScript());
+
+        runner.dispose();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldPipelineNextScriptAfterDisposedRunner() throws Exception {
+        Latch latch = new Latch();
+        ScriptRunner runner = new ScriptRunner(driver.getControlURL(), singletonList("first"), latch, emptyList());
+        FutureTask<ScriptPair> future = start(runner);
+
+        Connection connection = driver.accept();
+        assertEquals("PREPARE", connection.readCommand());
+        connection.writePrepared("first");
+
+        latch.awaitPrepared();
+        latch.notifyStartable();
+        assertEquals("START", connection.readCommand());
+        connection.writeStarted();
+
+        // disposed before the script has finished, such as after a test timeout
+        future.cancel(true);
+        runner.dispose();
+        assertEquals("ABORT", connection.readCommand());
+
+        Latch nextLatch = new Latch();
+        ScriptRunner next = new ScriptRunner(driver.getControlURL(), singletonList("second"), nextLatch, emptyList());
+        FutureTask<ScriptPair> nextFuture = start(next);
+
+        // prepared on the same connection, behind the aborted script
+        assertEquals("PREPARE", connection.readCommand());
+        connection.writeFinished();
+        connection.writePrepared("second");
+
+        nextLatch.awaitPrepared();
+        nextLatch.notifyStartable();
+        assertEquals("START", connection.readCommand());
+        connection.writeFinished();
+
+        assertEquals("second", nextFuture.get(5, SECONDS).getObservedScript());
+        next.dispose();
+    }
+
+    private static FutureTask<ScriptPair> start(ScriptRunner runner) {
+        FutureTask<ScriptPair> future = new FutureTask<>(runner);
+        Thread thread = new Thread(future, "script-runner");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+}
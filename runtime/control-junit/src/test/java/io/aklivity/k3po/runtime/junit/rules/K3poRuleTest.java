@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.junit.rules;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.URI;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import io.aklivity.k3po.runtime.junit.annotation.Specification;
+import io.aklivity.k3po.runtime.junit.internal.ControlDriver;
+import io.aklivity.k3po.runtime.junit.internal.ControlDriver.Connection;
+import io.aklivity.k3po.runtime.junit.internal.EphemeralPorts;
+
+public class K3poRuleTest {
+
+    private ControlDriver driver;
+    private K3poRule k3po;
+
+    @Before
+    public void startDriver() throws Exception {
+        driver = new ControlDriver();
+        k3po = new K3poRule()
+                .setControlURI(URI.create(driver.getControlURL().toString()))
+                .addEphemeralPort("port")
+                .addEphemeralPort("location", "\"tcp://localhost:%d\"");
+    }
+
+    @After
+    public void stopDriver() throws Exception {
+        driver.close();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldOverrideScriptPropertiesWithEphemeralPorts() throws Throwable {
+        FutureTask<String> prepared = new FutureTask<>(() -> {
+            // connects to the control URI
+            Connection connection = driver.accept();
+            assertEquals("PREPARE", connection.readCommand());
+            String properties = connection.getContent();
+            connection.writePrepared("script");
+            assertEquals("START", connection.readCommand());
+            connection.writeFinished();
+            return properties;
+        });
+        new Thread(prepared).start();
+
+        AtomicInteger port = new AtomicInteger();
+        AtomicInteger location = new AtomicInteger();
+        Statement statement = k3po.apply(new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                port.set(k3po.getEphemeralPort("port"));
+                location.set(k3po.getEphemeralPort("location"));
+                assertTrue(EphemeralPorts.isLeased(port.get()));
+                assertTrue(EphemeralPorts.isLeased(location.get()));
+                k3po.finish();
+            }
+        }, specification());
+
+        statement.evaluate();
+
+        assertEquals(String.format("property port %d\nproperty location \"tcp://localhost:%d\"\n",
+                port.get(), location.get()), prepared.get(5, SECONDS));
+        assertFalse(EphemeralPorts.isLeased(port.get()));
+        assertFalse(EphemeralPorts.isLeased(location.get()));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldReleaseEphemeralPortsWhenSpecificationFails() throws Throwable {
+        FutureTask<Void> aborted = new FutureTask<>(() -> {
+            Connection connection = driver.accept();
+            assertEquals("PREPARE", connection.readCommand());
+            connection.writePrepared("script");
+            assertEquals("ABORT", connection.readCommand());
+            connection.writeFinished();
+            return null;
+        });
+        new Thread(aborted).start();
+
+        AtomicInteger port = new AtomicInteger();
+        Statement statement = k3po.apply(new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                port.set(k3po.getEphemeralPort("port"));
+                throw new Exception("failed");
+            }
+        }, specification());
+
+        try {
+            statement.evaluate();
+            fail("Specification should have failed");
+        } catch (Exception e) {
+            assertEquals("failed", e.getMessage());
+        }
+
+        aborted.get(5, SECONDS);
+        assertFalse(EphemeralPorts.isLeased(port.get()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectUnknownEphemeralPort() throws Exception {
+        k3po.getEphemeralPort("unknown");
+    }
+
+    @Specification("script")
+    public void specified() {
+    }
+
+    private Description specification() throws Exception {
+        return Description.createTestDescription(K3poRuleTest.class, "specified",
+                K3poRuleTest.class.getMethod("specified").getAnnotations());
+    }
+}
@@ -16,6 +16,7 @@
 package io.aklivity.k3po.runtime.control.internal;
 
 import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
@@ -32,6 +33,9 @@ import java.net.URLConnection;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
@@ -50,6 +54,7 @@ import io.aklivity.k3po.runtime.control.internal.event.FinishedEvent;
 import io.aklivity.k3po.runtime.control.internal.event.NotifiedEvent;
 import io.aklivity.k3po.runtime.control.internal.event.PreparedEvent;
 import io.aklivity.k3po.runtime.control.internal.event.StartedEvent;
+import io.aklivity.k3po.runtime.control.internal.event.StepTiming;
 
 /**
  * Control class for controlling the robot.
@@ -57,6 +62,14 @@ import io.aklivity.k3po.runtime.control.internal.event.StartedEvent;
  */
 public final class Control {
 
+    public static final String VERSION = "2.0";
+
+    /**
+     * Pipelines PREPARE commands on the same connection, and sends only the regions of the prepared
+     * script that differ from the observed behavior in FINISHED events.
+     */
+    public static final String COMPACT_VERSION = "2.1";
+
     private static final int END_OF_STREAM = -1;
     private static final char END_OF_LINE = '\n';
     private static final String FINISHED_EVENT = "FINISHED";
@@ -68,7 +81,12 @@ public final class Control {
     private static final Pattern HEADER_PATTERN = Pattern.compile("([a-z\\-]+):([^\n]+)");
     private static final Charset UTF_8 = Charset.forName("UTF-8");
 
+    private static final Pattern REGION_PATTERN = Pattern.compile("(\\d+),(\\d+),(\\d+)");
+    private static final Pattern TIMING_PATTERN = Pattern.compile("(\\d+),(\\d+),(-?\\d+),(-?\\d+),(ok|failed),(.+)");
+
     private final URL location;
+    private final String version;
+    private final Deque<String> preparedScripts;
     private URLConnection connection;
     private InputStream bytesIn;
     private ByteArrayOutputStream lineBuf;
@@ -77,7 +95,17 @@ public final class Control {
      * @param location of k3po server to connect to.
      */
     public Control(URL location) {
+        this(location, VERSION);
+    }
+
+    /**
+     * @param location of k3po server to connect to.
+     * @param version of the control protocol, either {@link #VERSION} or {@link #COMPACT_VERSION}.
+     */
+    public Control(URL location, String version) {
         this.location = location;
+        this.version = version;
+        this.preparedScripts = new ArrayDeque<>();
     }
 
     /**
@@ -240,11 +268,17 @@ public final class Control {
         }
 
         textOut.append("PREPARE\n");
-        textOut.append("version:2.0\n");
+        textOut.append(format("version:%s\n", version));
         textOut.append(String.format("content-length:%s\n", contentLength));
         for (String name : names) {
             textOut.append(format("name:%s\n", name));
         }
+        if (prepare.isTimings()) {
+            textOut.append("timings:true\n");
+        }
+        if (prepare.isAcceptDeferred()) {
+            textOut.append("accept-deferred:true\n");
+        }
         textOut.append("\n");
         textOut.append(content.toString());
         textOut.flush();
@@ -334,6 +368,12 @@ public final class Control {
             prepared.setScript(readContent(length));
         }
 
+        if (COMPACT_VERSION.equals(version)) {
+            // retained to apply the regions of the matching FINISHED event
+            String script = prepared.getScript();
+            preparedScripts.offer(script != null ? script : "");
+        }
+
         return prepared;
     }
 
@@ -360,6 +400,7 @@ public final class Control {
 
     private FinishedEvent readFinishedEvent() throws IOException {
         FinishedEvent finished = new FinishedEvent();
+        List<int[]> regions = new ArrayList<>();
         String line;
         int length = END_OF_STREAM;
         do {
@@ -381,6 +422,22 @@ public final class Control {
                 case "awaiting":
                     finished.getIncompleteBarriers().add(headerValue);
                     break;
+                case "region":
+                    Matcher region = REGION_PATTERN.matcher(headerValue);
+                    if (!region.matches()) {
+                        throw new IllegalStateException("Invalid region header: " + headerValue);
+                    }
+                    regions.add(new int[] { parseInt(region.group(1)), parseInt(region.group(2)), parseInt(region.group(3)) });
+                    break;
+                case "timing":
+                    Matcher timing = TIMING_PATTERN.matcher(headerValue);
+                    if (!timing.matches()) {
+                        throw new IllegalStateException("Invalid timing header: " + headerValue);
+                    }
+                    finished.getTimings().add(new StepTiming(timing.group(6), parseInt(timing.group(1)),
+                            parseInt(timing.group(2)), parseLong(timing.group(3)), parseLong(timing.group(4)),
+                            "ok".equals(timing.group(5))));
+                    break;
                 default:
                     // NOP allow unrecognized headers for future compatibility
                 }
@@ -392,9 +449,32 @@ public final class Control {
             finished.setScript(readContent(length));
         }
 
+        if (COMPACT_VERSION.equals(version)) {
+            String preparedScript = preparedScripts.poll();
+            String observedText = finished.getScript() != null ? finished.getScript() : "";
+            finished.setScript(applyRegions(preparedScript != null ? preparedScript : "", regions, observedText));
+        }
+
         return finished;
     }
 
+    private static String applyRegions(String preparedScript, List<int[]> regions, String observedText) {
+        StringBuilder observedScript = new StringBuilder(preparedScript.length() + observedText.length());
+        int preparedIndex = 0;
+        int observedIndex = 0;
+        for (int[] region : regions) {
+            int start = region[0];
+            int end = region[1];
+            int observedLength = region[2];
+            observedScript.append(preparedScript, preparedIndex, start);
+            observedScript.append(observedText, observedIndex, observedIndex + observedLength);
+            preparedIndex = end;
+            observedIndex += observedLength;
+        }
+        observedScript.append(preparedScript, preparedIndex, preparedScript.length());
+        return observedScript.toString();
+    }
+
     private NotifiedEvent readNotifiedEvent() throws IOException {
         NotifiedEvent notified = new NotifiedEvent();
         String line;
@@ -27,6 +27,8 @@ public final class PrepareCommand extends Command {
 
     private final List<String> names;
     private List<String> overriddenScriptProperties;
+    private boolean timings;
+    private boolean acceptDeferred;
 
     /**
      * Constructs the Prepare Command.
@@ -87,4 +89,35 @@ public final class PrepareCommand extends Command {
         this.overriddenScriptProperties = overriddenScriptProperties;
     }
 
+    /**
+     * @return true if the timings of the script are requested in the finished event
+     */
+    public boolean isTimings() {
+        return timings;
+    }
+
+    /**
+     * Requests the timings of each phase, stream and step of the script in the finished event.
+     * @param timings true to request timings
+     */
+    public void setTimings(boolean timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * @return true if the pipeline of each accepted stream is requested to be built only as its child channel opens
+     */
+    public boolean isAcceptDeferred() {
+        return acceptDeferred;
+    }
+
+    /**
+     * Requests the pipeline of each accepted stream to be built only as its child channel opens,
+     * instead of when the script is prepared.
+     * @param acceptDeferred true to defer building accepted stream pipelines
+     */
+    public void setAcceptDeferred(boolean acceptDeferred) {
+        this.acceptDeferred = acceptDeferred;
+    }
+
 }
@@ -28,11 +28,13 @@ public final class FinishedEvent extends CommandEvent {
     private String script;
     private final List<String> completedBarriers;
     private final List<String> incompleteBarriers;
+    private final List<StepTiming> timings;
 
     public FinishedEvent() {
         super();
         this.completedBarriers = new ArrayList<>();
         this.incompleteBarriers = new ArrayList<>();
+        this.timings = new ArrayList<>();
     }
 
     @Override
@@ -64,9 +66,17 @@ public final class FinishedEvent extends CommandEvent {
         return incompleteBarriers;
     }
 
+    /**
+     * Gets the timings of the script, in order of start, which are only reported when requested by the prepare command.
+     * @return the timings of the script, or an empty list if not requested
+     */
+    public List<StepTiming> getTimings() {
+        return timings;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(getKind(), script);
+        return Objects.hash(getKind(), script, timings);
     }
 
     @Override
@@ -75,6 +85,7 @@ public final class FinishedEvent extends CommandEvent {
     }
 
     protected boolean equalTo(FinishedEvent that) {
-        return super.equalTo(that) && Objects.equals(this.script, that.script);
+        return super.equalTo(that) && Objects.equals(this.script, that.script) &&
+                Objects.equals(this.timings, that.timings);
     }
 }
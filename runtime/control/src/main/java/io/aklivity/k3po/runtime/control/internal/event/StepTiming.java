@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.control.internal.event;
+
+import java.util.Objects;
+
+/**
+ * Timing of a phase, stream or step of a script, reported in the FINISHED event when timings are requested.
+ *
+ */
+public final class StepTiming {
+
+    private final String step;
+    private final int start;
+    private final int end;
+    private final long startNanos;
+    private final long durationNanos;
+    private final boolean success;
+
+    public StepTiming(String step, int start, int end, long startNanos, long durationNanos, boolean success) {
+        this.step = Objects.requireNonNull(step);
+        this.start = start;
+        this.end = end;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+        this.success = success;
+    }
+
+    /**
+     * @return the kind of step, such as connect, read or read await
+     */
+    public String getStep() {
+        return step;
+    }
+
+    /**
+     * @return the start of the region of the prepared script covered by the step
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * @return the end of the region of the prepared script covered by the step
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return when the step started, in nanoseconds after the script began preparing
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(step, start, end, startNanos, durationNanos, success);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || o instanceof StepTiming && equalTo((StepTiming) o);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%d,%d) +%dns %dns%s", step, start, end, startNanos, durationNanos,
+                success ? "" : " (failed)");
+    }
+
+    private boolean equalTo(StepTiming that) {
+        return this.step.equals(that.step) && this.start == that.start && this.end == that.end &&
+                this.startNanos == that.startNanos && this.durationNanos == that.durationNanos &&
+                this.success == that.success;
+    }
+}
@@ -47,11 +47,14 @@ import io.aklivity.k3po.runtime.control.internal.event.ErrorEvent;
 import io.aklivity.k3po.runtime.control.internal.event.FinishedEvent;
 import io.aklivity.k3po.runtime.control.internal.event.PreparedEvent;
 import io.aklivity.k3po.runtime.control.internal.event.StartedEvent;
+import io.aklivity.k3po.runtime.control.internal.event.StepTiming;
 
 public class ControlTest {
 
     private static final Charset UTF_8 = Charset.forName("UTF-8");
 
+    private URL location;
+
     private Control control;
 
     @Rule
@@ -69,7 +72,7 @@ public class ControlTest {
     public void setupControl() throws Exception {
         input = mockery.mock(InputStream.class);
         output = mockery.mock(OutputStream.class);
-        control = new Control(new URL(null, "test://internal", new URLStreamHandler() {
+        location = new URL(null, "test://internal", new URLStreamHandler() {
             @Override
             protected URLConnection openConnection(URL location) throws IOException {
                 return new URLConnection(location) {
@@ -90,7 +93,8 @@ public class ControlTest {
                     }
                 };
             }
-        }));
+        });
+        control = new Control(location);
 
     }
 
@@ -274,6 +278,62 @@ public class ControlTest {
         assertEquals(expectedFinished, finished);
     }
 
+    @Test
+    public void shouldReadCompactFinishedEvent() throws Exception {
+        FinishedEvent expectedFinished = new FinishedEvent();
+        expectedFinished.setScript("# observed\nclosed\n");
+
+        mockery.checking(new Expectations() {
+            {
+                atLeast(1).of(input).read();
+                will(readBytes(("PREPARED\n" +
+                                "content-length:18\n" +
+                                "\n" +
+                                "FINISHED\n" +
+                                "region:2,10,8\n" +
+                                "content-length:8\n" +
+                                "\n").getBytes(UTF_8)));
+                oneOf(input).read(with(any(byte[].class)), with(equal(0)), with(any(int.class)));
+                will(readBytes(0, "# expected\nclosed\n".getBytes(UTF_8)));
+                oneOf(input).read(with(any(byte[].class)), with(equal(0)), with(any(int.class)));
+                will(readBytes(0, "observed".getBytes(UTF_8)));
+            }
+        });
+
+        control = new Control(location, Control.COMPACT_VERSION);
+        control.connect();
+        control.readEvent();
+        CommandEvent finished = control.readEvent();
+
+        assertEquals(expectedFinished, finished);
+    }
+
+    @Test
+    public void shouldReadFinishedEventWithTimings() throws Exception {
+        FinishedEvent expectedFinished = new FinishedEvent();
+        expectedFinished.setScript("connect tcp://localhost:8000\n");
+        expectedFinished.getTimings().add(new StepTiming("connect", 0, 29, 1000L, 2000L, true));
+        expectedFinished.getTimings().add(new StepTiming("read await", 29, 46, 3000L, 4000L, false));
+
+        mockery.checking(new Expectations() {
+            {
+                atLeast(1).of(input).read();
+                will(readBytes(("FINISHED\n" +
+                                "timing:0,29,1000,2000,ok,connect\n" +
+                                "timing:29,46,3000,4000,failed,read await\n" +
+                                "content-length:29\n" +
+                                "\n").getBytes(UTF_8)));
+                oneOf(input).read(with(any(byte[].class)), with(equal(0)), with(any(int.class)));
+                will(readBytes(0, "connect tcp://localhost:8000\n".getBytes(UTF_8)));
+            }
+        });
+
+        control.connect();
+        CommandEvent finished = control.readEvent();
+
+        assertEquals(expectedFinished, finished);
+    }
+
     @Test
     public void shouldReadErrorEvent() throws Exception {
         ErrorEvent expectedError = new ErrorEvent();
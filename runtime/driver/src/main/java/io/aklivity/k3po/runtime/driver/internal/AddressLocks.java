@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal;
+
+import static org.jboss.netty.channel.Channels.future;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelFutureListener;
+import org.jboss.netty.logging.InternalLogger;
+import org.jboss.netty.logging.InternalLoggerFactory;
+
+import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
+
+/**
+ * Coordinates concurrently executing {@link Robot}s that bind to local addresses.
+ *
+ * Each Robot locks the set of addresses it intends to bind before binding, and holds the lock until its
+ * release future completes. A Robot that needs an address currently held by another Robot is queued behind
+ * that holder only, so Robots with disjoint addresses never wait for each other.
+ */
+public final class AddressLocks {
+
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(AddressLocks.class);
+
+    private final Map<URI, ChannelFuture> releaseFuturesByAddress = new HashMap<>();
+
+    /**
+     * Locks all of the given addresses, waiting for any current holders to release them first.
+     *
+     * @param addresses the addresses to lock
+     * @param releaseFuture completes when the addresses should be released, typically when the Robot is disposed
+     * @return a future that succeeds once all addresses are locked, or is cancelled if released before locking
+     */
+    public ChannelFuture lock(Collection<URI> addresses, final ChannelFuture releaseFuture) {
+        final ChannelFuture lockFuture = future(null, true);
+        final Collection<URI> lockAddresses = new ArrayList<>(addresses);
+
+        releaseFuture.addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                lockFuture.cancel();
+            }
+        });
+
+        tryLock(lockAddresses, releaseFuture, lockFuture);
+
+        return lockFuture;
+    }
+
+    /**
+     * Returns the location of the innermost transport for the given address, which is the resource actually bound.
+     */
+    public static URI lockAddress(ChannelAddress address) {
+        while (address.getTransport() != null) {
+            address = address.getTransport();
+        }
+        return address.getLocation();
+    }
+
+    private void tryLock(final Collection<URI> addresses, final ChannelFuture releaseFuture, final ChannelFuture lockFuture) {
+        ChannelFuture blockingFuture = null;
+
+        synchronized (releaseFuturesByAddress) {
+            if (lockFuture.isDone()) {
+                return;
+            }
+
+            for (URI address : addresses) {
+                ChannelFuture holderFuture = releaseFuturesByAddress.get(address);
+                if (holderFuture != null && holderFuture != releaseFuture && !holderFuture.isDone()) {
+                    blockingFuture = holderFuture;
+                    break;
+                }
+            }
+
+            if (blockingFuture == null) {
+                for (URI address : addresses) {
+                    releaseFuturesByAddress.put(address, releaseFuture);
+                }
+            }
+        }
+
+        if (blockingFuture != null) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Waiting for addresses " + addresses);
+            }
+
+            blockingFuture.addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(ChannelFuture future) throws Exception {
+                    tryLock(addresses, releaseFuture, lockFuture);
+                }
+            });
+        } else {
+            releaseFuture.addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(ChannelFuture future) throws Exception {
+                    unlock(addresses, releaseFuture);
+                }
+            });
+
+            if (!lockFuture.setSuccess()) {
+                // cancelled concurrently
+                unlock(addresses, releaseFuture);
+            }
+        }
+    }
+
+    private void unlock(Collection<URI> addresses, ChannelFuture releaseFuture) {
+        synchronized (releaseFuturesByAddress) {
+            for (URI address : addresses) {
+                releaseFuturesByAddress.remove(address, releaseFuture);
+            }
+        }
+    }
+}
@@ -20,17 +20,31 @@ import static io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddr
 import static io.aklivity.k3po.runtime.lang.internal.RegionInfo.newSequential;
 import static java.lang.Boolean.TRUE;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.jboss.netty.channel.Channels.pipeline;
 import static org.jboss.netty.channel.Channels.pipelineFactory;
 
 import java.net.SocketAddress;
+import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFuture;
@@ -51,16 +65,26 @@ import org.jboss.netty.logging.InternalLoggerFactory;
 
 import io.aklivity.k3po.runtime.driver.internal.behavior.Barrier;
 import io.aklivity.k3po.runtime.driver.internal.behavior.Configuration;
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptDiff;
 import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptProgress;
 import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptProgressException;
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings;
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings.StepTiming;
+import io.aklivity.k3po.runtime.driver.internal.behavior.StreamPlan;
+import io.aklivity.k3po.runtime.driver.internal.behavior.StreamTemplate;
 import io.aklivity.k3po.runtime.driver.internal.behavior.handler.CompletionHandler;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.ExecutionHandler;
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.FirstByteTimingHandler;
 import io.aklivity.k3po.runtime.driver.internal.behavior.parser.Parser;
+import io.aklivity.k3po.runtime.driver.internal.behavior.parser.PropertyOverrides;
 import io.aklivity.k3po.runtime.driver.internal.behavior.parser.ScriptValidator;
 import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.GenerateConfigurationVisitor;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.BootstrapFactory;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.ClientBootstrap;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.ServerBootstrap;
+import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.TransportRuntime;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.udp.UdpServerChannel;
+import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddressFactory;
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.CompositeChannelFuture;
 import io.aklivity.k3po.runtime.driver.internal.resolver.ClientBootstrapResolver;
@@ -68,19 +92,31 @@ import io.aklivity.k3po.runtime.driver.internal.resolver.ServerBootstrapResolver
 import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
 import io.aklivity.k3po.runtime.lang.internal.ast.AstScriptNode;
 import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParser;
+import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParserImpl;
 
 public class Robot {
 
+    /**
+     * System property with the time in milliseconds allowed for channels left open by a script to close gracefully
+     * when the Robot is disposed, before they are closed abortively.
+     */
+    public static final String DISPOSE_LINGER_PROPERTY = "k3po.dispose.linger";
+
+    private static final long DEFAULT_DISPOSE_LINGER = SECONDS.toMillis(30);
+
     private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(Robot.class);
 
-    private final List<ChannelFuture> bindFutures = new ArrayList<>();
-    private final List<ChannelFuture> connectFutures = new ArrayList<>();
+    private final List<ChannelFuture> bindFutures = new CopyOnWriteArrayList<>();
+    // in flight only, so that completed connects of stream template instances are not retained
+    private final Set<ChannelFuture> connectFutures = ConcurrentHashMap.newKeySet();
 
     private final Channel channel = new DefaultLocalClientChannelFactory().newChannel(pipeline(new SimpleChannelHandler()));
     private final ChannelFuture startedFuture = Channels.future(channel);
     private final ChannelFuture abortedFuture = Channels.future(channel);
     private final ChannelFuture finishedFuture = Channels.future(channel);
     private final ChannelFuture disposedFuture = Channels.future(channel);
+    private final ChannelFuture releasedFuture = Channels.future(channel);
+    private final AtomicBoolean disposing = new AtomicBoolean();
 
     private final DefaultChannelGroup closeableChannels = new DefaultChannelGroup();
 
@@ -89,17 +125,49 @@ public class Robot {
 
     private final ChannelAddressFactory addressFactory;
     private final BootstrapFactory bootstrapFactory;
+    private final AddressLocks addressLocks;
+    private final TransportRuntime transportRuntime;
 
     private ScriptProgress progress;
+    private ScriptTimings timings;
+    private ScheduledExecutorService rampUpExecutor;
+    private boolean acceptDeferred;
 
     private final ChannelHandler closeOnExceptionHandler = new CloseOnExceptionHandler();
 
     private final ConcurrentMap<String, Barrier> barriersByName = new ConcurrentHashMap<String, Barrier>();
 
     public Robot() {
+        this(null);
+    }
+
+    /**
+     * Creates a Robot that can execute concurrently with other Robots sharing the same address locks.
+     *
+     * @param addressLocks the address locks used to queue binds to addresses held by other Robots, or null
+     */
+    public Robot(AddressLocks addressLocks) {
+        this(addressLocks, null);
+    }
+
+    /**
+     * Creates a Robot that leases its transport resources from a long-lived runtime, so that disposing
+     * the Robot only closes the channels opened by its script.
+     *
+     * @param addressLocks the address locks used to queue binds to addresses held by other Robots, or null
+     * @param transportRuntime the shared transport runtime, or null to create unshared transport resources
+     */
+    public Robot(AddressLocks addressLocks, TransportRuntime transportRuntime) {
+        this.addressLocks = addressLocks;
+        this.transportRuntime = transportRuntime;
         this.addressFactory = newChannelAddressFactory();
-        this.bootstrapFactory =
-                newBootstrapFactory(Collections.<Class<?>, Object>singletonMap(ChannelAddressFactory.class, addressFactory));
+
+        Map<Class<?>, Object> injectables = new HashMap<>();
+        injectables.put(ChannelAddressFactory.class, addressFactory);
+        if (transportRuntime != null) {
+            injectables.put(TransportRuntime.class, transportRuntime);
+        }
+        this.bootstrapFactory = newBootstrapFactory(injectables);
 
         ChannelFutureListener stopConfigurationListener = createStopConfigurationListener();
         this.abortedFuture.addListener(stopConfigurationListener);
@@ -118,34 +186,140 @@ public class Robot {
         return disposedFuture;
     }
 
+    /**
+     * Returns a future that completes once the addresses bound by this Robot have been released while disposing,
+     * which may be before channels left open by the script have finished closing.
+     */
+    public ChannelFuture getReleasedFuture() {
+        return releasedFuture;
+    }
+
+    /**
+     * Returns the timings recorded for the script, or null if timings were not requested.
+     */
+    public ScriptTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Returns the timings recorded for the script, with regions in the expected script as returned by
+     * {@link #getExpectedScript()}, or null if timings were not requested.
+     */
+    public List<StepTiming> getExpectedTimings() {
+        if (timings == null) {
+            return null;
+        }
+
+        List<StepTiming> recorded = timings.getTimings();
+        return (progress != null) ? progress.getExpectedTimings(recorded) : recorded;
+    }
+
+    /**
+     * Requests timings of each phase, stream and step of the script, which must be set before preparing.
+     */
+    public void setTimings(ScriptTimings timings) {
+        if (preparedFuture != null) {
+            throw new IllegalStateException("Script already prepared");
+        }
+        this.timings = timings;
+    }
+
+    /**
+     * Builds the pipeline of each accepted stream only as its child channel opens, instead of when the script
+     * is prepared, which must be set before preparing.
+     */
+    public void setAcceptDeferred(boolean acceptDeferred) {
+        if (preparedFuture != null) {
+            throw new IllegalStateException("Script already prepared");
+        }
+        this.acceptDeferred = acceptDeferred;
+    }
+
     public ChannelFuture prepare(String expectedScript) throws Exception {
+        return prepare(expectedScript, emptyList());
+    }
+
+    /**
+     * Parses and prepares a script, overriding script properties.
+     *
+     * @param script the script text
+     * @param propertyOverrides the property overrides, each in script syntax
+     */
+    public ChannelFuture prepare(String script, List<String> propertyOverrides) throws Exception {
 
         if (preparedFuture != null) {
             throw new IllegalStateException("Script already prepared");
         }
 
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Expected script:\n" + expectedScript);
+            LOGGER.debug("Expected script:\n" + script);
         }
 
-        final ScriptParser parser = new Parser();
-        AstScriptNode scriptAST = parser.parse(expectedScript);
+        long parseStartNanos = System.nanoTime();
+
+        final ScriptParserImpl scriptParser = new ScriptParserImpl();
+        final ScriptParser parser = new Parser(scriptParser);
+        AstScriptNode scriptAST = parser.parse(script);
+
+        PropertyOverrides overrides = PropertyOverrides.apply(scriptParser, scriptAST, propertyOverrides);
 
         final ScriptValidator validator = new ScriptValidator();
         validator.validate(scriptAST);
 
+        if (timings != null) {
+            timings.record("parse", scriptAST.getRegionInfo(), parseStartNanos, true);
+        }
+
+        return prepare(script, scriptAST, overrides);
+    }
+
+    /**
+     * Prepares an already parsed and validated script.
+     *
+     * @param expectedScript the script text, used to report the observed script
+     * @param scriptAST the parsed and validated script
+     */
+    public ChannelFuture prepare(String expectedScript, AstScriptNode scriptAST) throws Exception {
+        return prepare(expectedScript, scriptAST, PropertyOverrides.NONE);
+    }
+
+    /**
+     * Prepares an already parsed and validated script, with property overrides already applied.
+     *
+     * @param script the script text, used with the property overrides to report the observed script
+     * @param scriptAST the parsed and validated script
+     * @param overrides the property overrides applied to the parsed script
+     */
+    public ChannelFuture prepare(String script, AstScriptNode scriptAST, PropertyOverrides overrides)
+            throws Exception {
+
+        if (preparedFuture != null) {
+            throw new IllegalStateException("Script already prepared");
+        }
+
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Parsed script:\n" + scriptAST);
         }
 
         RegionInfo scriptInfo = scriptAST.getRegionInfo();
-        progress = new ScriptProgress(scriptInfo, expectedScript);
+        progress = new ScriptProgress(scriptInfo, script, overrides);
+
+        ChannelFutureListener prepareTiming = (timings != null) ? timings.recorder("prepare", scriptInfo) : null;
 
-        final GenerateConfigurationVisitor visitor = new GenerateConfigurationVisitor(bootstrapFactory, addressFactory);
+        final GenerateConfigurationVisitor visitor =
+                new GenerateConfigurationVisitor(bootstrapFactory, addressFactory, acceptDeferred);
         configuration = scriptAST.accept(visitor, new GenerateConfigurationVisitor.State(barriersByName));
 
+        if (timings != null) {
+            prepareTimings();
+        }
+
         preparedFuture = prepareConfiguration();
 
+        if (prepareTiming != null) {
+            preparedFuture.addListener(prepareTiming);
+        }
+
         return preparedFuture;
     }
 
@@ -169,6 +343,10 @@ public class Robot {
             throw new IllegalStateException("Script has already been started");
         }
 
+        if (timings != null) {
+            finishedFuture.addListener(timings.recorder("script", progress.getScriptInfo()));
+        }
+
         // ensure prepare has completed before start can progress
         preparedFuture.addListener(new ChannelFutureListener() {
             @Override
@@ -197,10 +375,30 @@ public class Robot {
         return finishedFuture;
     }
 
+    /**
+     * Returns the prepared script text, with any property overrides applied.
+     */
+    public String getExpectedScript() {
+        return (progress != null) ? progress.getExpectedScript() : null;
+    }
+
     public String getObservedScript() {
         return (progress != null) ? progress.getObservedScript() : null;
     }
 
+    /**
+     * Returns the differences between the given expected script and the observed script, in script order.
+     */
+    public List<ScriptDiff> getObservedDiffs(String expectedScript) {
+        if (progress != null && progress.getExpectedScript().equals(expectedScript)) {
+            return progress.getObservedDiffs();
+        }
+
+        // observed script not derived from the expected script, so replace it entirely
+        String observedScript = getObservedScript();
+        return singletonList(new ScriptDiff(0, expectedScript.length(), observedScript != null ? observedScript : ""));
+    }
+
     public ChannelFuture dispose() {
         if (preparedFuture == null) {
             // no need to clean up if never started
@@ -209,43 +407,140 @@ public class Robot {
             bootstrapFactory.shutdown();
             bootstrapFactory.releaseExternalResources();
 
+            releasedFuture.setSuccess();
             disposedFuture.setSuccess();
-        } else if (!disposedFuture.isDone()) {
+        } else if (disposing.compareAndSet(false, true)) {
             ChannelFuture future = abort();
             future.addListener(new ChannelFutureListener() {
 
                 @Override
                 public void operationComplete(ChannelFuture future) throws Exception {
+                    closeChannels();
+                }
+            });
+        }
+        return disposedFuture;
+    }
 
-                    // avoid I/O deadlock checker
-                    new Thread(new Runnable() {
-                        public void run() {
-                            closeableChannels.close().awaitUninterruptibly(30, SECONDS);
-                            try {
-                                bootstrapFactory.shutdown();
-                                bootstrapFactory.releaseExternalResources();
-
-                                for (AutoCloseable resource : configuration.getResources()) {
-                                    try {
-                                        resource.close();
-                                    } catch (Exception e) {
-                                        // ignore
-                                    }
-                                }
-
-                                disposedFuture.setSuccess();
-                            } catch (Exception e) {
-                                if (LOGGER.isDebugEnabled()) {
-                                    LOGGER.error("Caught exception releasing resources", e);
-                                }
-                                disposedFuture.setFailure(e);
-                            }
+    private void closeChannels() {
+        List<ChannelFuture> unbindFutures = new ArrayList<>();
+        for (ChannelFuture bindFuture : bindFutures) {
+            unbindFutures.add(bindFuture.getChannel().getCloseFuture());
+        }
+        new CompositeChannelFuture<>(channel, unbindFutures).addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                releasedFuture.setSuccess();
+            }
+        });
+
+        // releases resources off the I/O threads to avoid the I/O deadlock checker
+        final ScheduledExecutorService disposeExecutor = newDisposeExecutor();
+        final AtomicBoolean released = new AtomicBoolean();
+        final Runnable releaseResources = () -> {
+            if (released.compareAndSet(false, true)) {
+                try {
+                    disposeExecutor.execute(() -> {
+                        releaseResources();
+                        if (transportRuntime == null) {
+                            disposeExecutor.shutdown();
                         }
-                    }).start();
+                    });
+                } catch (RejectedExecutionException e) {
+                    // transport runtime already released
+                    releaseResources();
                 }
+            }
+        };
+
+        long linger = Long.getLong(DISPOSE_LINGER_PROPERTY, DEFAULT_DISPOSE_LINGER);
+        if (linger <= 0L) {
+            closeChannelsAbortively();
+            releaseResources.run();
+        } else {
+            // bounded, so that channels waiting on an unresponsive peer do not delay disposal indefinitely
+            final ScheduledFuture<?> lingerTimeout = disposeExecutor.schedule(() -> {
+                closeChannelsAbortively();
+                releaseResources.run();
+            }, linger, MILLISECONDS);
+
+            closeableChannels.close().addListener(future -> {
+                lingerTimeout.cancel(false);
+                releaseResources.run();
             });
         }
-        return disposedFuture;
+    }
+
+    private ScheduledExecutorService newDisposeExecutor() {
+        if (transportRuntime != null) {
+            return transportRuntime.getDisposeExecutor();
+        }
+
+        // unshared, shut down once the resources of this Robot have been released
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "k3po-robot-dispose");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private ScheduledExecutorService newRampUpExecutor() {
+        if (transportRuntime != null) {
+            return transportRuntime.getRampUpExecutor();
+        }
+
+        // unshared, shut down once the resources of this Robot have been released
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "k3po-stream-template");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void closeChannelsAbortively() {
+        for (Channel channel : closeableChannels) {
+            if (channel.isOpen()) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Closing channel abortively " + channel);
+                }
+
+                try {
+                    // reset the connection instead of waiting for the peer, where supported by the transport
+                    channel.getConfig().setOption("soLinger", 0);
+                } catch (RuntimeException e) {
+                    // ignore, channel already closing
+                }
+                channel.close();
+            }
+        }
+    }
+
+    private void releaseResources() {
+        try {
+            bootstrapFactory.shutdown();
+            bootstrapFactory.releaseExternalResources();
+
+            if (transportRuntime == null && rampUpExecutor != null) {
+                rampUpExecutor.shutdownNow();
+            }
+
+            for (AutoCloseable resource : configuration.getResources()) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    // ignore
+                }
+            }
+
+            releasedFuture.setSuccess();
+            disposedFuture.setSuccess();
+        } catch (Exception e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.error("Caught exception releasing resources", e);
+            }
+            releasedFuture.setSuccess();
+            disposedFuture.setFailure(e);
+        }
     }
 
     private ChannelFuture prepareConfiguration() throws Exception {
@@ -259,6 +554,25 @@ public class Robot {
             completionFuture.addListener(streamCompletionListener);
         }
 
+        Consumer<ChannelPipeline> pipelineInitializer = (timings != null) ? this::prepareTimings : null;
+        for (StreamPlan streamPlan : configuration.getStreamPlans()) {
+            ChannelFuture completionFuture = streamPlan.prepare(channel, pipelineInitializer);
+            completionFutures.add(completionFuture);
+            completionFuture.addListener(streamCompletionListener);
+        }
+
+        Collection<StreamTemplate> streamTemplates = configuration.getStreamTemplates().values();
+        if (!streamTemplates.isEmpty()) {
+            rampUpExecutor = newRampUpExecutor();
+        }
+
+        for (StreamTemplate streamTemplate : streamTemplates) {
+            ChannelFuture completionFuture =
+                    streamTemplate.prepare(channel, streamCompletionListener, pipelineInitializer, rampUpExecutor);
+            completionFutures.add(completionFuture);
+            completionFuture.addListener(streamCompletionListener);
+        }
+
         ChannelFuture executionFuture = new CompositeChannelFuture<>(channel, completionFutures);
         ChannelFutureListener executionListener = createScriptCompletionListener();
         executionFuture.addListener(executionListener);
@@ -266,8 +580,65 @@ public class Robot {
         return prepareServers();
     }
 
+    private void prepareTimings() {
+        for (ChannelPipeline pipeline : configuration.getClientAndServerPipelines()) {
+            prepareTimings(pipeline);
+        }
+    }
+
+    private void prepareTimings(ChannelPipeline pipeline) {
+        for (ChannelHandler handler : pipeline.toMap().values()) {
+            if (handler instanceof ExecutionHandler) {
+                ((ExecutionHandler) handler).setScriptTimings(timings);
+            }
+        }
+
+        RegionInfo streamInfo = pipeline.get(CompletionHandler.class).getRegionInfo();
+        pipeline.addFirst("timings#first-byte", new FirstByteTimingHandler(timings, streamInfo));
+    }
+
     private ChannelFuture prepareServers() throws Exception {
 
+        if (addressLocks == null) {
+            return bindServers();
+        }
+
+        // defer binding until no other Robot holds any of the same addresses
+        Collection<URI> addresses = new LinkedHashSet<>();
+        for (ServerBootstrapResolver serverResolver : configuration.getServerResolvers()) {
+            ServerBootstrap server = serverResolver.resolve();
+            ChannelAddress localAddress = (ChannelAddress) server.getOption("localAddress");
+            addresses.add(AddressLocks.lockAddress(localAddress));
+        }
+
+        final ChannelFuture serversFuture = Channels.future(channel);
+        ChannelFuture lockFuture = addressLocks.lock(addresses, releasedFuture);
+        lockFuture.addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                if (!future.isSuccess() || abortedFuture.isDone()) {
+                    serversFuture.setFailure(new IllegalStateException("Script aborted before binding"));
+                    return;
+                }
+
+                bindServers().addListener(new ChannelFutureListener() {
+                    @Override
+                    public void operationComplete(ChannelFuture bindFuture) throws Exception {
+                        if (bindFuture.isSuccess()) {
+                            serversFuture.setSuccess();
+                        } else {
+                            serversFuture.setFailure(bindFuture.getCause());
+                        }
+                    }
+                });
+            }
+        });
+
+        return serversFuture;
+    }
+
+    private ChannelFuture bindServers() throws Exception {
+
         /* Accept's ... Robot acting as a server */
         for (ServerBootstrapResolver serverResolver : configuration.getServerResolvers()) {
             ServerBootstrap server = serverResolver.resolve();
@@ -307,6 +678,9 @@ public class Robot {
                 }
             });
 
+            RegionInfo regionInfo = (RegionInfo) server.getOption("regionInfo");
+            ChannelFutureListener bindTiming = (timings != null) ? timings.recorder("bind", regionInfo) : null;
+
             // Bind Asynchronously
             ChannelFuture bindFuture = server.bindAsync();
 
@@ -317,8 +691,11 @@ public class Robot {
             bindFutures.add(bindFuture);
 
             // Listen for the bindFuture.
-            RegionInfo regionInfo = (RegionInfo) server.getOption("regionInfo");
             bindFuture.addListener(createBindCompleteListener(regionInfo, serverResolver.getNotifyBarrier()));
+
+            if (bindTiming != null) {
+                bindFuture.addListener(bindTiming);
+            }
         }
 
         return new CompositeChannelFuture<>(channel, bindFutures);
@@ -333,15 +710,24 @@ public class Robot {
 
                     @Override
                     public void operationComplete(ChannelFuture future) throws Exception {
-                        connectClient(clientResolver);
+                        startClient(clientResolver);
                     }
                 });
             } else {
-                connectClient(clientResolver);
+                startClient(clientResolver);
             }
         }
     }
 
+    private void startClient(ClientBootstrapResolver clientResolver) throws Exception {
+        StreamTemplate streamTemplate = configuration.getStreamTemplates().get(clientResolver);
+        if (streamTemplate != null) {
+            streamTemplate.start(() -> connectClient(clientResolver));
+        } else {
+            connectClient(clientResolver);
+        }
+    }
+
     private void connectClient(ClientBootstrapResolver clientResolver) throws Exception {
         ClientBootstrap client = clientResolver.resolve();
 
@@ -349,8 +735,16 @@ public class Robot {
             LOGGER.debug("[id:           ] connect " + client.getOption("remoteAddress"));
         }
 
+        ChannelFutureListener connectTiming = (timings != null)
+                ? timings.recorder("connect", clientResolver.getRegionInfo()) : null;
+
         ChannelFuture connectFuture = client.connect();
         connectFutures.add(connectFuture);
+        connectFuture.addListener(connectFutures::remove);
+
+        if (connectTiming != null) {
+            connectFuture.addListener(connectTiming);
+        }
         connectFuture.addListener(new ChannelFutureListener() {
             @Override
             public void operationComplete(ChannelFuture future) throws Exception {
@@ -399,6 +793,18 @@ public class Robot {
                 stopStream(pipeline);
             }
 
+            // stream plans not yet built are built now, to fail their incomplete streams by region
+            for (StreamPlan streamPlan : configuration.getStreamPlans()) {
+                stopStream(streamPlan.get());
+            }
+
+            // stop starting instances of stream templates, and stop the instances in flight
+            for (StreamTemplate streamTemplate : configuration.getStreamTemplates().values()) {
+                for (ChannelPipeline pipeline : streamTemplate.stop()) {
+                    stopStream(pipeline);
+                }
+            }
+
             // cancel any pending binds and connects
             for (ChannelFuture bindFuture : bindFutures) {
                 bindFuture.cancel();
@@ -479,6 +885,10 @@ public class Robot {
                     for (ChannelPipeline acceptedPipeline : acceptedPipelines) {
                         stopStream(acceptedPipeline);
                     }
+
+                    for (StreamPlan acceptedPlan : configuration.getServerStreamPlans(regionInfo)) {
+                        stopStream(acceptedPlan.get());
+                    }
                 }
 
             }
@@ -15,9 +15,10 @@
  */
 package io.aklivity.k3po.runtime.driver.internal;
 
-import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.lang.String.format;
 import static org.jboss.netty.channel.Channels.pipeline;
 
+import java.lang.management.ManagementFactory;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
@@ -26,6 +27,9 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelFutureListener;
@@ -51,8 +55,11 @@ import org.jboss.netty.logging.InternalLoggerFactory;
 import io.aklivity.k3po.runtime.driver.internal.control.handler.ControlDecoder;
 import io.aklivity.k3po.runtime.driver.internal.control.handler.ControlEncoder;
 import io.aklivity.k3po.runtime.driver.internal.control.handler.ControlServerHandler;
+import io.aklivity.k3po.runtime.driver.internal.control.handler.ScriptCache;
+import io.aklivity.k3po.runtime.driver.internal.executor.ExecutorServiceFactory;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.BootstrapFactory;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.ServerBootstrap;
+import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.TransportRuntime;
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddressFactory;
 
@@ -71,13 +78,29 @@ public class RobotServer {
     private ShareableWorkerPool<NioWorker> sharedWorkerPool;
     private NioClientSocketChannelFactory clientChannelFactory;
     private NioServerSocketChannelFactory serverChannelFactory;
+    private TransportRuntime transportRuntime;
 
     private AtomicReference<Robot> activeRobotRef  = new AtomicReference<Robot>(null);
+    private final AddressLocks addressLocks;
+    private final ScriptCache scriptCache;
+    private final ScriptTimingsStatistics timingsStatistics;
+    private ObjectName timingsName;
 
     public RobotServer(URI controlURI, boolean verbose, ClassLoader scriptLoader) {
+        this(controlURI, verbose, scriptLoader, false);
+    }
+
+    /**
+     * @param concurrent when true, each control connection runs its own Robot concurrently,
+     *                   queueing only behind other Robots bound to the same addresses
+     */
+    public RobotServer(URI controlURI, boolean verbose, ClassLoader scriptLoader, boolean concurrent) {
         this.controlURI = controlURI;
         this.verbose = verbose;
         this.scriptLoader = scriptLoader;
+        this.addressLocks = concurrent ? new AddressLocks() : null;
+        this.scriptCache = new ScriptCache();
+        this.timingsStatistics = new ScriptTimingsStatistics();
         this.channelGroup = new DefaultChannelGroup("robot-server");
         this.controlHandlers = new CopyOnWriteArrayList<>();
     }
@@ -93,9 +116,16 @@ public class RobotServer {
         final ChannelAddressFactory addressFactory = ChannelAddressFactory.newChannelAddressFactory();
         ChannelAddress localAddress = addressFactory.newChannelAddress(controlURI, options);
 
-        NioClientBossPool clientBossPool = new NioClientBossPool(newCachedThreadPool(), 1);
-        NioServerBossPool serverBossPool = new NioServerBossPool(newCachedThreadPool(), 1);
-        NioWorkerPool workerPool = new NioWorkerPool(newCachedThreadPool(), 1);
+        ExecutorServiceFactory executorServiceFactory = ExecutorServiceFactory.newInstance();
+        NioClientBossPool clientBossPool = new NioClientBossPool(
+                executorServiceFactory.newExecutorService("boss.control.client"),
+                executorServiceFactory.getThreadCount("boss.control.client"));
+        NioServerBossPool serverBossPool = new NioServerBossPool(
+                executorServiceFactory.newExecutorService("boss.control.server"),
+                executorServiceFactory.getThreadCount("boss.control.server"));
+        NioWorkerPool workerPool = new NioWorkerPool(
+                executorServiceFactory.newExecutorService("worker.control"),
+                executorServiceFactory.getThreadCount("worker.control"));
         sharedWorkerPool = new ShareableWorkerPool<>(workerPool);
         clientChannelFactory = new NioClientSocketChannelFactory(clientBossPool, sharedWorkerPool);
         serverChannelFactory = new NioServerSocketChannelFactory(serverBossPool, sharedWorkerPool);
@@ -107,6 +137,9 @@ public class RobotServer {
 
         bootstrapFactory = BootstrapFactory.newBootstrapFactory(injectables);
 
+        // shared by every Robot, so per-script setup and teardown only involves the channels each script opens
+        transportRuntime = new TransportRuntime();
+
         String transportName = controlURI.getScheme();
         ServerBootstrap server = bootstrapFactory.newServerBootstrap(transportName);
 
@@ -128,8 +161,11 @@ public class RobotServer {
                     pipeline.addLast("control.logging", logging);
                 }
 
-                ControlServerHandler controller = new ControlServerHandler(activeRobotRef);
+                ControlServerHandler controller = new ControlServerHandler(activeRobotRef, addressLocks);
                 controller.setScriptLoader(scriptLoader);
+                controller.setScriptCache(scriptCache);
+                controller.setTransportRuntime(transportRuntime);
+                controller.setTimingsStatistics(timingsStatistics);
                 pipeline.addLast("control.handler", controller);
 
                 return pipeline;
@@ -162,10 +198,14 @@ public class RobotServer {
         });
 
         serverChannel = server.bind(localAddress);
+
+        registerTimingsStatistics();
     }
 
     public void stop() throws TimeoutException {
         boolean isDebugEnabled = LOGGER.isDebugEnabled();
+
+        unregisterTimingsStatistics();
         if (serverChannel != null) {
 
             serverChannel.close().awaitUninterruptibly(2000);
@@ -188,6 +228,12 @@ public class RobotServer {
             // controller.completeShutDown(2000);
         }
 
+        if (transportRuntime != null) {
+            LOGGER.debug("Releasing transport runtime");
+            transportRuntime.releaseExternalResources();
+            LOGGER.debug("Released transport runtime");
+        }
+
         if (clientChannelFactory != null) {
             LOGGER.debug("Releasing tcp client channel factory");
             clientChannelFactory.shutdown();
@@ -215,6 +261,37 @@ public class RobotServer {
         }
     }
 
+    public ScriptCache getScriptCache() {
+        return scriptCache;
+    }
+
+    public ScriptTimingsStatistics getTimingsStatistics() {
+        return timingsStatistics;
+    }
+
+    private void registerTimingsStatistics() {
+        try {
+            ObjectName name = new ObjectName(format("io.aklivity.k3po:type=ScriptTimings,name=%s",
+                    ObjectName.quote(controlURI.toString())));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(timingsStatistics, name);
+            timingsName = name;
+        } catch (JMException e) {
+            // timings remain available to control connections, such as when another server uses the same control URI
+            LOGGER.debug("Unable to register script timings MXBean", e);
+        }
+    }
+
+    private void unregisterTimingsStatistics() {
+        if (timingsName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(timingsName);
+            } catch (JMException e) {
+                LOGGER.debug("Unable to unregister script timings MXBean", e);
+            }
+            timingsName = null;
+        }
+    }
+
     public void join() throws InterruptedException {
         if (serverChannel != null) {
             serverChannel.getCloseFuture().await();
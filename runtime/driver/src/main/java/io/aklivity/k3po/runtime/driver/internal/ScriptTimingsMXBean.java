@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Management interface of the script timings aggregated by a {@link RobotServer}.
+ */
+public interface ScriptTimingsMXBean {
+
+    /**
+     * Returns true if timings are recorded for every script, rather than only for scripts that request them.
+     */
+    boolean isTimingsEnabled();
+
+    void setTimingsEnabled(boolean timingsEnabled);
+
+    long getScriptCount();
+
+    /**
+     * Returns the total nanoseconds spent in each kind of step, such as read or bind, across every timed script.
+     */
+    Map<String, Long> getTotalNanosByStep();
+
+    Map<String, Long> getCountByStep();
+
+    String getLastScriptNames();
+
+    List<String> getLastScriptTimings();
+
+    void reset();
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings.StepTiming;
+
+/**
+ * Aggregates the timings of each timed script run by a {@link RobotServer}, to find the steps that dominate.
+ */
+public final class ScriptTimingsStatistics implements ScriptTimingsMXBean {
+
+    private final Map<String, Long> totalNanosByStep;
+    private final Map<String, Long> countByStep;
+
+    private volatile boolean timingsEnabled;
+    private long scriptCount;
+    private String lastScriptNames;
+    private List<StepTiming> lastScriptTimings;
+
+    public ScriptTimingsStatistics() {
+        this.totalNanosByStep = new TreeMap<>();
+        this.countByStep = new TreeMap<>();
+        this.lastScriptTimings = emptyList();
+    }
+
+    @Override
+    public boolean isTimingsEnabled() {
+        return timingsEnabled;
+    }
+
+    @Override
+    public void setTimingsEnabled(boolean timingsEnabled) {
+        this.timingsEnabled = timingsEnabled;
+    }
+
+    public synchronized void record(List<String> scriptNames, List<StepTiming> timings) {
+        for (StepTiming timing : timings) {
+            String step = timing.getStep();
+            totalNanosByStep.merge(step, timing.getDurationNanos(), Long::sum);
+            countByStep.merge(step, 1L, Long::sum);
+        }
+        scriptCount++;
+        lastScriptNames = String.join(",", scriptNames);
+        lastScriptTimings = timings;
+    }
+
+    @Override
+    public synchronized long getScriptCount() {
+        return scriptCount;
+    }
+
+    @Override
+    public synchronized Map<String, Long> getTotalNanosByStep() {
+        return new TreeMap<>(totalNanosByStep);
+    }
+
+    @Override
+    public synchronized Map<String, Long> getCountByStep() {
+        return new TreeMap<>(countByStep);
+    }
+
+    @Override
+    public synchronized String getLastScriptNames() {
+        return lastScriptNames;
+    }
+
+    @Override
+    public synchronized List<String> getLastScriptTimings() {
+        List<String> timings = new ArrayList<>(lastScriptTimings.size());
+        for (StepTiming timing : lastScriptTimings) {
+            timings.add(timing.toString());
+        }
+        return timings;
+    }
+
+    @Override
+    public synchronized void reset() {
+        totalNanosByStep.clear();
+        countByStep.clear();
+        scriptCount = 0L;
+        lastScriptNames = null;
+        lastScriptTimings = emptyList();
+    }
+}
@@ -15,9 +15,12 @@
  */
 package io.aklivity.k3po.runtime.driver.internal.behavior;
 
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionRuntime.getExpressionRuntime;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -39,6 +42,9 @@ public class Configuration {
     private ExpressionFactory factory;
     private Map<RegionInfo, List<ChannelPipeline>> serverPipelinesByRegion;
     private List<AutoCloseable> resources;
+    private Map<ClientBootstrapResolver, StreamTemplate> streamTemplates;
+    private List<StreamPlan> streamPlans;
+    private Map<RegionInfo, List<StreamPlan>> serverStreamPlansByRegion;
 
     public List<ChannelPipeline> getClientAndServerPipelines() {
         if (pipelines == null) {
@@ -60,9 +66,29 @@ public class Configuration {
         return serverPipelines;
     }
 
+    public List<StreamPlan> getStreamPlans() {
+        if (streamPlans == null) {
+            streamPlans = new ArrayList<>();
+        }
+        return streamPlans;
+    }
+
+    public List<StreamPlan> getServerStreamPlans(RegionInfo regionInfo) {
+        if (serverStreamPlansByRegion == null) {
+            serverStreamPlansByRegion = new HashMap<>();
+        }
+
+        List<StreamPlan> serverStreamPlans = serverStreamPlansByRegion.get(regionInfo);
+        if (serverStreamPlans == null) {
+            serverStreamPlans = new ArrayList<>();
+            serverStreamPlansByRegion.put(regionInfo, serverStreamPlans);
+        }
+        return serverStreamPlans;
+    }
+
     public ExpressionFactory getExpressionFactory() {
         if (factory == null) {
-            factory = ExpressionFactory.newInstance();
+            factory = getExpressionRuntime().getExpressionFactory();
         }
 
         return factory;
@@ -91,6 +117,13 @@ public class Configuration {
         return barriers;
     }
 
+    public Map<ClientBootstrapResolver, StreamTemplate> getStreamTemplates() {
+        if (streamTemplates == null) {
+            streamTemplates = new LinkedHashMap<>();
+        }
+        return streamTemplates;
+    }
+
     public List<AutoCloseable> getResources() {
         if (resources == null) {
             resources = new ArrayList<>();
@@ -158,7 +158,7 @@ public class FileBehaviorSystem implements BehaviorSystemSpi {
         AstReadOptionNode node)
     {
         AstLiteralTextValue offsetValue = (AstLiteralTextValue) node.getOptionValue();
-        int offset = Integer.parseInt(offsetValue.getValue());
+        long offset = Long.parseLong(offsetValue.getValue());
         ReadOptionFileOffsetHandler handler = new ReadOptionFileOffsetHandler(offset);
         handler.setRegionInfo(node.getRegionInfo());
         return handler;
@@ -168,7 +168,7 @@ public class FileBehaviorSystem implements BehaviorSystemSpi {
         AstWriteOptionNode node)
     {
         AstLiteralTextValue offsetValue = (AstLiteralTextValue) node.getOptionValue();
-        int offset = Integer.parseInt(offsetValue.getValue());
+        long offset = Long.parseLong(offsetValue.getValue());
         WriteOptionFileOffsetHandler handler = new WriteOptionFileOffsetHandler(offset);
         handler.setRegionInfo(node.getRegionInfo());
         return handler;
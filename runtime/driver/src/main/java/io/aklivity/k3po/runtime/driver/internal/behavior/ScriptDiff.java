@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.behavior;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A region of the expected script replaced by observed text, such as a failed region and what was observed instead.
+ *
+ * Applying the differences of a {@link ScriptProgress} to its expected script, in order, produces its observed script.
+ */
+public final class ScriptDiff {
+
+    private final int start;
+    private final int end;
+    private final String observed;
+
+    public ScriptDiff(int start, int end, String observed) {
+        this.start = start;
+        this.end = end;
+        this.observed = Objects.requireNonNull(observed);
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public String getObserved() {
+        return observed;
+    }
+
+    public static String apply(String expectedScript, List<ScriptDiff> diffs) {
+        StringBuilder observedScript = new StringBuilder(expectedScript.length());
+        int previousEnd = 0;
+        for (ScriptDiff diff : diffs) {
+            observedScript.append(expectedScript, previousEnd, diff.start);
+            observedScript.append(diff.observed);
+            previousEnd = diff.end;
+        }
+        observedScript.append(expectedScript, previousEnd, expectedScript.length());
+        return observedScript.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end, observed);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof ScriptDiff)) {
+            return false;
+        }
+
+        ScriptDiff that = (ScriptDiff) obj;
+        return this.start == that.start &&
+                this.end == that.end &&
+                Objects.equals(this.observed, that.observed);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%d, %d) -> \"%s\"", start, end, observed);
+    }
+}
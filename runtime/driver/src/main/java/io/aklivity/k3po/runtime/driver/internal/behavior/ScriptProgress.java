@@ -18,23 +18,39 @@ package io.aklivity.k3po.runtime.driver.internal.behavior;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings.StepTiming;
+import io.aklivity.k3po.runtime.driver.internal.behavior.parser.PropertyOverrides;
 import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
 
 
 public class ScriptProgress {
 
+    private final String script;
+    private final PropertyOverrides overrides;
     private final String expectedScript;
     private final RegionInfo scriptInfo;
     private final Map<RegionInfo, String> failureInfos;
     private String observeredScript;
+    private List<ScriptDiff> observedDiffs;
 
     public ScriptProgress(RegionInfo scriptInfo, String expectedScript) {
-        this.expectedScript = expectedScript;
+        this(scriptInfo, expectedScript, PropertyOverrides.NONE);
+    }
+
+    /**
+     * Creates the progress of a script with property overrides, where the expected script is the script text
+     * with the overridden properties replaced.
+     */
+    public ScriptProgress(RegionInfo scriptInfo, String script, PropertyOverrides overrides) {
+        this.script = script;
+        this.overrides = overrides;
+        this.expectedScript = overrides.override(script);
         this.scriptInfo = requireNonNull(scriptInfo);
         this.failureInfos = new ConcurrentHashMap<>();
     }
@@ -51,6 +67,23 @@ public class ScriptProgress {
         return expectedScript;
     }
 
+    /**
+     * Returns the given timings with their regions moved from the script to the expected script.
+     */
+    public List<StepTiming> getExpectedTimings(List<StepTiming> timings) {
+        if (overrides.isEmpty()) {
+            return timings;
+        }
+
+        List<StepTiming> expectedTimings = new ArrayList<>(timings.size());
+        for (StepTiming timing : timings) {
+            expectedTimings.add(new StepTiming(timing.getStep(), overrides.offset(timing.getStart()),
+                    overrides.offset(timing.getEnd()), timing.getStartNanos(), timing.getDurationNanos(),
+                    timing.isSuccess()));
+        }
+        return expectedTimings;
+    }
+
     public RegionInfo getScriptInfo() {
         return scriptInfo;
     }
@@ -61,8 +94,9 @@ public class ScriptProgress {
             if (numberOfFailures == 0) {
                 // no failures
                 observeredScript = expectedScript;
+                observedDiffs = new ArrayList<>();
             } else {
-                StringBuilder builder = new StringBuilder();
+                ObservedScriptBuilder builder = new ObservedScriptBuilder();
                 processRegion(builder, scriptInfo, failureInfos);
                 // Failures to unexpected events (e.g. channel close) are artificially added
                 // potentially resulting in multiple failures on the same line with only one
@@ -71,12 +105,21 @@ public class ScriptProgress {
                     throw new RuntimeException("Script failure detected but not located");
                 }
                 observeredScript = builder.toString();
+                observedDiffs = builder.diffs();
             }
         }
         return observeredScript;
     }
 
-    private boolean processRegion(StringBuilder builder, RegionInfo regionInfo, Map<RegionInfo, String> failureInfos) {
+    /**
+     * Returns the differences between the expected and observed scripts, in script order.
+     */
+    public List<ScriptDiff> getObservedDiffs() {
+        getObservedScript();
+        return observedDiffs;
+    }
+
+    private boolean processRegion(ObservedScriptBuilder builder, RegionInfo regionInfo, Map<RegionInfo, String> failureInfos) {
 
         String failure = failureInfos.remove(regionInfo);
         if (failure != null) {
@@ -87,12 +130,17 @@ public class ScriptProgress {
             return false;
         }
 
+        if (overrides.isOverridden(regionInfo)) {
+            builder.copy(regionInfo.start, regionInfo.end);
+            return true;
+        }
+
         List<RegionInfo> childInfos = regionInfo.children;
         int previousEnd = regionInfo.start;
         for (Iterator<RegionInfo> $i = childInfos.iterator(); $i.hasNext();) {
             RegionInfo childInfo = $i.next();
 
-            builder.append(expectedScript.substring(previousEnd, childInfo.start));
+            builder.copy(previousEnd, childInfo.start);
             previousEnd = childInfo.end;
 
             boolean status = processRegion(builder, childInfo, failureInfos);
@@ -107,7 +155,51 @@ public class ScriptProgress {
                 return false;
             }
         }
-        builder.append(expectedScript.substring(previousEnd, regionInfo.end));
+        builder.copy(previousEnd, regionInfo.end);
         return true;
     }
+
+    // builds the observed script, tracking where it departs from the expected script
+    private final class ObservedScriptBuilder {
+
+        private final StringBuilder observed = new StringBuilder();
+        private final List<ScriptDiff> diffs = new ArrayList<>();
+        private int expectedIndex;
+        private StringBuilder replacement;
+
+        void copy(int start, int end) {
+            int expectedStart = overrides.offset(start);
+            if (expectedStart != expectedIndex || replacement != null) {
+                addDiff(expectedStart);
+            }
+            overrides.copy(observed, script, start, end);
+            expectedIndex = overrides.offset(end);
+        }
+
+        void append(String failure) {
+            if (replacement == null) {
+                replacement = new StringBuilder();
+            }
+            replacement.append(failure);
+            observed.append(failure);
+        }
+
+        List<ScriptDiff> diffs() {
+            if (expectedIndex != expectedScript.length() || replacement != null) {
+                addDiff(expectedScript.length());
+            }
+            return diffs;
+        }
+
+        @Override
+        public String toString() {
+            return observed.toString();
+        }
+
+        private void addDiff(int end) {
+            String text = replacement != null ? replacement.toString() : "";
+            diffs.add(new ScriptDiff(expectedIndex, end, text));
+            replacement = null;
+        }
+    }
 }
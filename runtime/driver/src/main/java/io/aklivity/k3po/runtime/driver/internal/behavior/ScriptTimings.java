@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.behavior;
+
+import static java.util.Comparator.comparingLong;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelFutureListener;
+
+import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
+
+/**
+ * Nanosecond timings of the phases and steps of a single script, recorded only when requested while preparing.
+ *
+ * Each timing identifies the region of the script it covers, and starts relative to when the script began preparing,
+ * so timings of steps on different streams can be compared directly.
+ */
+public final class ScriptTimings {
+
+    private final long originNanos;
+    private final Queue<StepTiming> timings;
+
+    public ScriptTimings() {
+        this.originNanos = System.nanoTime();
+        this.timings = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Records a step that started at the given {@link System#nanoTime()} and ends now.
+     */
+    public void record(String step, RegionInfo regionInfo, long startNanos, boolean success) {
+        long endNanos = System.nanoTime();
+        timings.add(new StepTiming(step, regionInfo.start, regionInfo.end, startNanos - originNanos,
+                endNanos - startNanos, success));
+    }
+
+    /**
+     * Returns a listener recording a step that starts now and ends when the listened future completes.
+     */
+    public ChannelFutureListener recorder(final String step, final RegionInfo regionInfo) {
+        final long startNanos = System.nanoTime();
+        return new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                record(step, regionInfo, startNanos, future.isSuccess());
+            }
+        };
+    }
+
+    /**
+     * Returns the timings recorded so far, in order of start.
+     */
+    public List<StepTiming> getTimings() {
+        List<StepTiming> sorted = new ArrayList<>(timings);
+        sorted.sort(comparingLong(StepTiming::getStartNanos));
+        return sorted;
+    }
+
+    public static final class StepTiming {
+
+        private final String step;
+        private final int start;
+        private final int end;
+        private final long startNanos;
+        private final long durationNanos;
+        private final boolean success;
+
+        public StepTiming(String step, int start, int end, long startNanos, long durationNanos, boolean success) {
+            this.step = Objects.requireNonNull(step);
+            this.start = start;
+            this.end = end;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.success = success;
+        }
+
+        public String getStep() {
+            return step;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(step, start, end, startNanos, durationNanos, success);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (this == obj) || (obj instanceof StepTiming) && equalTo((StepTiming) obj);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s [%d,%d) +%dns %dns%s", step, start, end, startNanos, durationNanos,
+                    success ? "" : " (failed)");
+        }
+
+        private boolean equalTo(StepTiming that) {
+            return this.step.equals(that.step) && this.start == that.start && this.end == that.end &&
+                    this.startNanos == that.startNanos && this.durationNanos == that.durationNanos &&
+                    this.success == that.success;
+        }
+    }
+}
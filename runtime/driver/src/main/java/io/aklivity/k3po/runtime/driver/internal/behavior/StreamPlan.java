@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.behavior;
+
+import static io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelFutureListeners.chainedFuture;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.Channels;
+
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.CompletionHandler;
+import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
+
+/**
+ * An accepted stream whose pipeline is built only when it is first needed, typically as its child channel opens.
+ *
+ * The stream completion future is available before the pipeline is built, and completes as the completion handler
+ * of the built pipeline does, so failures are still reported by region.
+ */
+public final class StreamPlan implements Supplier<ChannelPipeline> {
+
+    private final RegionInfo regionInfo;
+    private final Supplier<ChannelPipeline> pipelineFactory;
+
+    private ChannelFuture completionFuture;
+    private Consumer<ChannelPipeline> pipelineInitializer;
+    private ChannelPipeline pipeline;
+
+    public StreamPlan(RegionInfo regionInfo, Supplier<ChannelPipeline> pipelineFactory) {
+        this.regionInfo = regionInfo;
+        this.pipelineFactory = pipelineFactory;
+    }
+
+    public RegionInfo getRegionInfo() {
+        return regionInfo;
+    }
+
+    /**
+     * Prepares the stream completion future, before the pipeline is built.
+     *
+     * @param channel the channel of the completion future
+     * @param pipelineInitializer applied to the pipeline once built, or null
+     * @return the future completed when the stream completes
+     */
+    public synchronized ChannelFuture prepare(Channel channel, Consumer<ChannelPipeline> pipelineInitializer) {
+        this.completionFuture = Channels.future(channel);
+        this.pipelineInitializer = pipelineInitializer;
+        return completionFuture;
+    }
+
+    /**
+     * Returns the pipeline of this stream, building it on first use.
+     */
+    @Override
+    public synchronized ChannelPipeline get() {
+        if (pipeline == null) {
+            ChannelPipeline newPipeline = pipelineFactory.get();
+
+            if (pipelineInitializer != null) {
+                pipelineInitializer.accept(newPipeline);
+            }
+
+            if (completionFuture != null) {
+                ChannelFuture handlerFuture = newPipeline.get(CompletionHandler.class).getHandlerFuture();
+                handlerFuture.addListener(chainedFuture(completionFuture));
+            }
+
+            pipeline = newPipeline;
+        }
+
+        return pipeline;
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.behavior;
+
+import static io.aklivity.k3po.runtime.lang.internal.parser.types.DefaultTypeSystem.OPTION_CONCURRENCY;
+import static io.aklivity.k3po.runtime.lang.internal.parser.types.DefaultTypeSystem.OPTION_RATE;
+import static io.aklivity.k3po.runtime.lang.internal.parser.types.DefaultTypeSystem.OPTION_REPEAT;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelFutureListener;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.ChannelPipelineFactory;
+import org.jboss.netty.channel.Channels;
+import org.jboss.netty.logging.InternalLogger;
+import org.jboss.netty.logging.InternalLoggerFactory;
+
+import io.aklivity.k3po.runtime.driver.internal.behavior.handler.CompletionHandler;
+import io.aklivity.k3po.runtime.driver.internal.resolver.OptionsResolver;
+import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
+import io.aklivity.k3po.runtime.lang.types.TypeInfo;
+
+/**
+ * A connect stream instantiated a number of times, as specified by {@code option repeat}.
+ *
+ * At most {@code option concurrency} instances are in flight at once, and new instances are started no faster than
+ * {@code option rate} per second. The pipeline of each instance is created as its connection is attempted, so only
+ * in flight instances hold a pipeline. The template completes once every instance has completed, or once it is
+ * stopped and its in flight instances have completed.
+ */
+public final class StreamTemplate implements ChannelPipelineFactory {
+
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(StreamTemplate.class);
+
+    private final RegionInfo regionInfo;
+    private final Supplier<ChannelPipeline> pipelineFactory;
+    private final OptionsResolver optionsResolver;
+    private final Set<ChannelPipeline> pipelines;
+
+    private ChannelPipeline nextPipeline;
+    private ChannelFuture completionFuture;
+    private ChannelFutureListener instanceCompletionListener;
+    private Consumer<ChannelPipeline> pipelineInitializer;
+    private ScheduledExecutorService rampUpExecutor;
+    private Connector connector;
+
+    private int repeat;
+    private int concurrency;
+    private long interval;
+
+    private int started;
+    private int inFlight;
+    private long nextStartAt;
+    private boolean stopped;
+    private boolean starting;
+    private boolean restart;
+    private boolean scheduled;
+    private boolean claimed;
+
+    /**
+     * @param regionInfo the region of the connect stream
+     * @param firstPipeline the pipeline of the first instance, already built to validate the stream
+     * @param pipelineFactory creates the pipeline for each later instance
+     * @param optionsResolver resolves the repeat, concurrency and rate options
+     */
+    public StreamTemplate(RegionInfo regionInfo, ChannelPipeline firstPipeline, Supplier<ChannelPipeline> pipelineFactory,
+            OptionsResolver optionsResolver) {
+        this.regionInfo = regionInfo;
+        this.nextPipeline = firstPipeline;
+        this.pipelineFactory = pipelineFactory;
+        this.optionsResolver = optionsResolver;
+        this.pipelines = new LinkedHashSet<>();
+    }
+
+    public RegionInfo getRegionInfo() {
+        return regionInfo;
+    }
+
+    /**
+     * Prepares the template to report the completion of each instance.
+     *
+     * @param channel the channel of the completion future
+     * @param instanceCompletionListener notified as each instance completes
+     * @param pipelineInitializer applied to the pipeline of each instance before it connects
+     * @param rampUpExecutor starts paced instances off the I/O threads
+     * @return the future completed when the template completes
+     */
+    public synchronized ChannelFuture prepare(Channel channel, ChannelFutureListener instanceCompletionListener,
+            Consumer<ChannelPipeline> pipelineInitializer, ScheduledExecutorService rampUpExecutor) {
+        this.completionFuture = Channels.future(channel);
+        this.instanceCompletionListener = instanceCompletionListener;
+        this.pipelineInitializer = pipelineInitializer;
+        this.rampUpExecutor = rampUpExecutor;
+        return completionFuture;
+    }
+
+    /**
+     * Starts connecting instances, with the connector attempting a single connection each time it is called.
+     *
+     * If the resolved options are invalid, no instance is started and the template fails its stream.
+     */
+    public void start(Connector connector) throws Exception {
+        Map<String, Object> options = optionsResolver.resolve();
+
+        synchronized (this) {
+            this.connector = connector;
+            this.repeat = intOption(options, OPTION_REPEAT, 1);
+            this.concurrency = intOption(options, OPTION_CONCURRENCY, defaultConcurrency(repeat));
+            int rate = intOption(options, OPTION_RATE, 0);
+            this.interval = rate > 0 ? SECONDS.toNanos(1) / rate : 0L;
+            this.nextStartAt = System.nanoTime();
+
+            try {
+                validateOptions(options);
+            } catch (IllegalArgumentException e) {
+                // fail the stream, rather than leave the template incomplete
+                stopped = true;
+                if (completionFuture != null) {
+                    completionFuture.setFailure(new ScriptProgressException(regionInfo, e.getMessage()));
+                }
+                return;
+            }
+        }
+
+        // completes without starting any instance when repeated zero times
+        startInstances();
+    }
+
+    /**
+     * Validates the repeat, concurrency and rate options, such as the literal options of a connect stream when the
+     * script is prepared.
+     *
+     * @throws IllegalArgumentException if the options are invalid
+     */
+    public static void validateOptions(Map<String, Object> options) {
+        int repeat = intOption(options, OPTION_REPEAT, 1);
+        int concurrency = intOption(options, OPTION_CONCURRENCY, defaultConcurrency(repeat));
+        int rate = intOption(options, OPTION_RATE, 0);
+
+        if (repeat < 0 || concurrency <= 0 || rate < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid stream template: repeat %d, concurrency %d, rate %d", repeat, concurrency, rate));
+        }
+    }
+
+    /**
+     * Stops starting new instances, returning the pipelines of the in flight instances to be stopped.
+     */
+    public synchronized Collection<ChannelPipeline> stop() {
+        stopped = true;
+        nextPipeline = null;
+        Collection<ChannelPipeline> stopping = new ArrayList<>(pipelines);
+        completeIfDone();
+        return stopping;
+    }
+
+    @Override
+    public ChannelPipeline getPipeline() {
+        ChannelPipeline pipeline;
+        synchronized (this) {
+            pipeline = nextPipeline;
+            nextPipeline = null;
+        }
+
+        if (pipeline == null) {
+            pipeline = pipelineFactory.get();
+        }
+
+        if (pipelineInitializer != null) {
+            pipelineInitializer.accept(pipeline);
+        }
+
+        final ChannelPipeline instancePipeline = pipeline;
+        synchronized (this) {
+            pipelines.add(instancePipeline);
+            claimed = true;
+        }
+
+        ChannelFuture instanceFuture = pipeline.get(CompletionHandler.class).getHandlerFuture();
+        instanceFuture.addListener(instanceCompletionListener);
+        instanceFuture.addListener(future -> onInstanceComplete(instancePipeline));
+
+        return pipeline;
+    }
+
+    private void onInstanceComplete(ChannelPipeline pipeline) {
+        synchronized (this) {
+            pipelines.remove(pipeline);
+            inFlight--;
+            if (completeIfDone()) {
+                return;
+            }
+        }
+
+        startInstancesQuietly();
+    }
+
+    private void startInstances() throws Exception {
+        synchronized (this) {
+            // avoid nested starts when an instance completes while connecting
+            if (starting) {
+                restart = true;
+                return;
+            }
+            starting = true;
+        }
+
+        for (;;) {
+            synchronized (this) {
+                if (!reserveInstance()) {
+                    if (!restart) {
+                        starting = false;
+                        completeIfDone();
+                        return;
+                    }
+                    restart = false;
+                    continue;
+                }
+                claimed = false;
+            }
+
+            try {
+                connector.connect();
+            } catch (Exception e) {
+                synchronized (this) {
+                    stopped = true;
+                    starting = false;
+                }
+                unclaimed();
+                throw e;
+            }
+
+            unclaimed();
+        }
+    }
+
+    private synchronized void unclaimed() {
+        // connection attempted without an instance pipeline, such as when the template is stopped meanwhile
+        if (!claimed) {
+            claimed = true;
+            inFlight--;
+            completeIfDone();
+        }
+    }
+
+    private void startInstancesQuietly() {
+        try {
+            startInstances();
+        } catch (Exception e) {
+            LOGGER.warn("Exception caught while starting stream template instance", e);
+        }
+    }
+
+    private boolean reserveInstance() {
+        if (stopped || started == repeat || inFlight == concurrency) {
+            return false;
+        }
+
+        if (interval != 0L) {
+            long now = System.nanoTime();
+            if (now - nextStartAt < 0L) {
+                if (!scheduled) {
+                    try {
+                        rampUpExecutor.schedule(this::onRampUp, nextStartAt - now, NANOSECONDS);
+                        scheduled = true;
+                    } catch (RejectedExecutionException e) {
+                        // transport runtime released, so no further instances can be started
+                        stopped = true;
+                    }
+                }
+                return false;
+            }
+
+            // paced from now when behind schedule, such as after waiting for concurrency, rather than catching up
+            nextStartAt = (now - nextStartAt > 0L ? now : nextStartAt) + interval;
+        }
+
+        started++;
+        inFlight++;
+        return true;
+    }
+
+    private void onRampUp() {
+        synchronized (this) {
+            scheduled = false;
+        }
+
+        startInstancesQuietly();
+    }
+
+    private boolean completeIfDone() {
+        boolean done = (stopped || started == repeat) && inFlight == 0 && !starting;
+        if (done && completionFuture != null) {
+            completionFuture.setSuccess();
+        }
+        return done;
+    }
+
+    private static int defaultConcurrency(int repeat) {
+        // all instances at once, but at least one so that a template repeated zero times is still valid
+        return Math.max(repeat, 1);
+    }
+
+    private static int intOption(Map<String, Object> options, TypeInfo<Integer> option, int defaultValue) {
+        Object value = options.get(option.getName());
+        return (value != null) ? ((Number) value).intValue() : defaultValue;
+    }
+
+    @FunctionalInterface
+    public interface Connector {
+        void connect() throws Exception;
+    }
+}
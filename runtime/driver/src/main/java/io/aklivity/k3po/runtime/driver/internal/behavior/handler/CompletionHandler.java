@@ -47,6 +47,16 @@ public class CompletionHandler extends ExecutionHandler {
         ctx.sendDownstream(new DownstreamPreparationEvent(channel, succeededFuture(channel)));
     }
 
+    @Override
+    protected void startTiming(ChannelFuture pipelineFuture) {
+        // timed as the whole stream, from when it was prepared until its last step completes
+    }
+
+    @Override
+    protected String describeStep() {
+        return "stream";
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, ExceptionEvent e) throws Exception {
         // ignore (already tracking completion status via completion future cause)
@@ -19,26 +19,35 @@ import static io.aklivity.k3po.runtime.driver.internal.channel.Channels.prepare;
 import static io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelFutures.describeFuture;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelEvent;
 import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelFutureListener;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.channel.DefaultChannelFuture;
 import org.jboss.netty.channel.LifeCycleAwareChannelHandler;
 
 import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptProgressException;
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings;
 import io.aklivity.k3po.runtime.driver.internal.behavior.handler.prepare.PreparationEvent;
 import io.aklivity.k3po.runtime.driver.internal.behavior.handler.prepare.SimplePrepareUpstreamHandler;
 import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
 
 public class ExecutionHandler extends SimplePrepareUpstreamHandler implements LifeCycleAwareChannelHandler {
 
+    private static final Pattern STEP_KEYWORDS = Pattern.compile("[a-z|]+(?: [a-z]+)?");
+
     private ChannelFuture handlerFuture;
     private ChannelFuture pipelineFuture;
 
     private RegionInfo regionInfo;
 
+    private ScriptTimings scriptTimings;
+    private volatile long startNanos;
+
     private final AtomicBoolean preparationLatch = new AtomicBoolean();
 
     private Channel channel;
@@ -51,6 +60,31 @@ public class ExecutionHandler extends SimplePrepareUpstreamHandler implements Li
         this.regionInfo = regionInfo;
     }
 
+    public ScriptTimings getScriptTimings() {
+        return scriptTimings;
+    }
+
+    /**
+     * Records the timing of this step with the script timings, once added to the pipeline.
+     *
+     * The timing is recorded before any later step or the stream can observe that this step has completed,
+     * so the timings are complete once the script has finished.
+     */
+    public void setScriptTimings(final ScriptTimings scriptTimings) {
+        this.scriptTimings = scriptTimings;
+
+        final String step = describeStep();
+        getHandlerFuture().addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                long startNanos = ExecutionHandler.this.startNanos;
+                if (startNanos != 0L) {
+                    scriptTimings.record(step, regionInfo, startNanos, future.isSuccess());
+                }
+            }
+        });
+    }
+
     public Channel getChannel() {
         return channel;
     }
@@ -67,9 +101,35 @@ public class ExecutionHandler extends SimplePrepareUpstreamHandler implements Li
 
         pipelineFuture = evt.checkpoint(handlerFuture);
 
+        if (scriptTimings != null) {
+            startNanos = System.nanoTime();
+            startTiming(pipelineFuture);
+        }
+
         super.prepareRequested(ctx, evt);
     }
 
+    /**
+     * Times this step from when the steps before it in the pipeline have completed, rather than from when prepared.
+     */
+    protected void startTiming(ChannelFuture pipelineFuture) {
+        pipelineFuture.addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                startNanos = System.nanoTime();
+            }
+        });
+    }
+
+    /**
+     * Names this step by its leading keywords only, such as read, write or read await, as the region identifies
+     * its detail, so that timings of the same kind of step can be aggregated across scripts.
+     */
+    protected String describeStep() {
+        Matcher keywords = STEP_KEYWORDS.matcher(describe(new StringBuilder()));
+        return keywords.lookingAt() ? keywords.group() : "execution";
+    }
+
     @Override
     public void beforeAdd(final ChannelHandlerContext ctx) throws Exception {
         assert handlerFuture == null;
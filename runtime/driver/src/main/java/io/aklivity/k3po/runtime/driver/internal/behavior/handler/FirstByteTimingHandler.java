@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.behavior.handler;
+
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelStateEvent;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.channel.SimpleChannelUpstreamHandler;
+
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings;
+import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
+
+/**
+ * Records the time from when a stream is connected, or opened if never connected, until its first message
+ * is received, when timings are requested for the script.
+ */
+public class FirstByteTimingHandler extends SimpleChannelUpstreamHandler {
+
+    private final ScriptTimings scriptTimings;
+    private final RegionInfo regionInfo;
+
+    private volatile long startNanos;
+    private volatile boolean received;
+
+    public FirstByteTimingHandler(ScriptTimings scriptTimings, RegionInfo regionInfo) {
+        this.scriptTimings = scriptTimings;
+        this.regionInfo = regionInfo;
+    }
+
+    @Override
+    public void channelOpen(ChannelHandlerContext ctx, ChannelStateEvent e) throws Exception {
+        startNanos = System.nanoTime();
+        super.channelOpen(ctx, e);
+    }
+
+    @Override
+    public void channelConnected(ChannelHandlerContext ctx, ChannelStateEvent e) throws Exception {
+        startNanos = System.nanoTime();
+        super.channelConnected(ctx, e);
+    }
+
+    @Override
+    public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
+        if (!received && startNanos != 0L) {
+            received = true;
+            scriptTimings.record("first byte", regionInfo, startNanos, true);
+        }
+        super.messageReceived(ctx, e);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec;
+
+import static java.nio.charset.CodingErrorAction.REPLACE;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.util.Arrays;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+
+/**
+ * Character view of the readable bytes of a growing {@link ChannelBuffer}.
+ *
+ * Each call to {@link #decode(ChannelBuffer, boolean)} only decodes the bytes appended since the previous call,
+ * remembering the byte offset of every character so that a match can be mapped back to the bytes it consumed.
+ * ISO-8859-1 is read directly from the buffer without decoding.
+ */
+final class ChannelBufferCharSequence implements CharSequence {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final CharsetDecoder decoder;
+    private final CharBuffer decodedChar;
+
+    private ChannelBuffer buffer;
+    private char[] chars;
+    private int[] byteOffsets;
+    private int length;
+    private int decodedBytes;
+
+    ChannelBufferCharSequence(Charset charset) {
+        this.decoder = ISO_8859_1.equals(charset) ? null : charset.newDecoder()
+                .onMalformedInput(REPLACE)
+                .onUnmappableCharacter(REPLACE);
+        this.decodedChar = CharBuffer.allocate(2);
+    }
+
+    /**
+     * Decodes any readable bytes not yet decoded.
+     *
+     * @param buffer the buffer, containing at least the bytes already decoded
+     * @param isLast true if no more bytes will be appended, so incomplete characters are replaced
+     * @return true if more characters are available
+     */
+    boolean decode(ChannelBuffer buffer, boolean isLast) {
+        if (buffer.readableBytes() < decodedBytes) {
+            reset();
+        }
+
+        this.buffer = buffer;
+
+        int oldLength = length;
+        if (decoder == null) {
+            length = decodedBytes = buffer.readableBytes();
+        }
+        else {
+            decode0(buffer, isLast);
+        }
+
+        return length > oldLength;
+    }
+
+    /**
+     * Returns the number of bytes consumed by the first {@code charCount} characters.
+     */
+    int byteCount(int charCount) {
+        if (decoder == null || charCount == 0) {
+            return charCount;
+        }
+        return byteOffsets[charCount - 1];
+    }
+
+    void reset() {
+        buffer = null;
+        length = 0;
+        decodedBytes = 0;
+        if (decoder != null) {
+            decoder.reset();
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+
+        if (decoder == null) {
+            return (char) (buffer.getByte(buffer.readerIndex() + index) & 0xff);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException(String.format("[%d, %d)", start, end));
+        }
+
+        if (decoder == null) {
+            return buffer.toString(buffer.readerIndex() + start, end - start, ISO_8859_1);
+        }
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return subSequence(0, length).toString();
+    }
+
+    private void decode0(ChannelBuffer buffer, boolean isLast) {
+        int readableBytes = buffer.readableBytes();
+        ByteBuffer in = buffer.toByteBuffer(buffer.readerIndex() + decodedBytes, readableBytes - decodedBytes);
+        CharBuffer out = decodedChar;
+        int offset = decodedBytes - in.position();
+
+        // decode one character at a time to track the byte offset of each character
+        while (in.hasRemaining()) {
+            out.clear().limit(1);
+            CoderResult result = decoder.decode(in, out, isLast);
+            if (result.isOverflow() && out.position() == 0) {
+                // surrogate pair
+                out.limit(2);
+                decoder.decode(in, out, isLast);
+            }
+
+            if (out.position() == 0) {
+                break;
+            }
+
+            out.flip();
+            while (out.hasRemaining()) {
+                append(out.get(), offset + in.position());
+            }
+        }
+
+        if (isLast && !in.hasRemaining()) {
+            out.clear();
+            decoder.flush(out);
+            out.flip();
+            while (out.hasRemaining()) {
+                append(out.get(), offset + in.position());
+            }
+        }
+
+        decodedBytes = offset + in.position();
+    }
+
+    private void append(char ch, int byteOffset) {
+        if (chars == null) {
+            chars = new char[INITIAL_CAPACITY];
+            byteOffsets = new int[INITIAL_CAPACITY];
+        }
+        else if (length == chars.length) {
+            chars = Arrays.copyOf(chars, length << 1);
+            byteOffsets = Arrays.copyOf(byteOffsets, length << 1);
+        }
+
+        chars[length] = ch;
+        byteOffsets[length] = byteOffset;
+        length++;
+    }
+}
@@ -17,6 +17,8 @@ package io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec;
 
 import static java.util.Objects.requireNonNull;
 import static org.jboss.netty.buffer.ChannelBuffers.EMPTY_BUFFER;
+import static org.jboss.netty.buffer.ChannelBuffers.dynamicBuffer;
+import static org.jboss.netty.buffer.ChannelBuffers.wrappedBuffer;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -27,8 +29,14 @@ import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
 
 public abstract class MessageDecoder {
 
+    // bounds the cost of indexing into a composite cumulation before merging into one buffer
+    private static final int MAX_CUMULATION_COMPONENTS = 16;
+
     private final RegionInfo regionInfo;
     private ChannelBuffer cumulation;
+    private int cumulationComponents;
+    private boolean cumulationMerged;
+    private long bytesCopied;
 
     protected MessageDecoder(RegionInfo regionInfo) {
         this.regionInfo = requireNonNull(regionInfo);
@@ -49,15 +57,18 @@ public abstract class MessageDecoder {
         return regionInfo;
     }
 
+    /**
+     * Returns the number of input bytes copied while accumulating input across multiple buffers.
+     */
+    public long getBytesCopied() {
+        return bytesCopied;
+    }
+
     private ChannelBuffer decode0(ChannelBuffer buffer, boolean isLast) throws Exception {
         try {
-            // If we don't have a cumulation buffer yet, create it
-            if (cumulation == null) {
-                cumulation = ChannelBuffers.dynamicBuffer(buffer.order(), 256);
-            }
-
-            // Write the input bytes in the cumulation buffer
-            cumulation.writeBytes(buffer);
+            // Take ownership of the input bytes without copying
+            cumulate(buffer.slice());
+            buffer.skipBytes(buffer.readableBytes());
 
             Object decoded;
             if (isLast) {
@@ -74,9 +85,9 @@ public abstract class MessageDecoder {
             ChannelBuffer remaining = EMPTY_BUFFER;
 
             if (cumulation.readable()) {
-                // The decoder did not consume all of our accumulated bytes; create
+                // The decoder did not consume all of our accumulated bytes; slice
                 // the ChannelBuffer to pass on.
-                remaining = cumulation.readBytes(cumulation.readableBytes());
+                remaining = cumulation.slice();
             }
 
             // Let the VM know we're done with the cumulation buffer
@@ -91,6 +102,37 @@ public abstract class MessageDecoder {
         }
     }
 
+    private void cumulate(ChannelBuffer buffer) {
+        if (cumulation == null) {
+            cumulation = buffer;
+            cumulationComponents = 1;
+            cumulationMerged = false;
+        }
+        else if (!buffer.readable()) {
+            // nothing to add
+        }
+        else if (!cumulationMerged && cumulationComponents < MAX_CUMULATION_COMPONENTS &&
+                cumulation.order() == buffer.order()) {
+            cumulation = wrappedBuffer(cumulation, buffer);
+            cumulationComponents++;
+        }
+        else {
+            if (!cumulationMerged) {
+                // merge into one buffer, then keep appending to it
+                int readableBytes = cumulation.readableBytes();
+                int capacity = Math.max(256, (readableBytes + buffer.readableBytes()) << 1);
+                ChannelBuffer merged = dynamicBuffer(cumulation.order(), capacity);
+                merged.writeBytes(cumulation);
+                bytesCopied += readableBytes;
+                cumulation = merged;
+                cumulationMerged = true;
+            }
+
+            bytesCopied += buffer.readableBytes();
+            cumulation.writeBytes(buffer);
+        }
+    }
+
     protected ChannelBuffer createCumulationBuffer(ChannelHandlerContext ctx) {
         return ChannelBuffers.dynamicBuffer();
     }
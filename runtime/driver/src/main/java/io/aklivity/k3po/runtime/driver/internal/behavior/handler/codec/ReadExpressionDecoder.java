@@ -52,11 +52,7 @@ public class ReadExpressionDecoder extends MessageDecoder {
     @Override
     protected Object decodeBuffer(ChannelBuffer buffer) throws Exception {
 
-        final Object expected;
-        // TODO: Remove when JUEL sync bug is fixed https://github.com/k3po/k3po/issues/147
-        synchronized (environment) {
-            expected = expression.getValue(environment);
-        }
+        final Object expected = expression.getValue(environment.newEvaluationContext());
 
         Object read;
 
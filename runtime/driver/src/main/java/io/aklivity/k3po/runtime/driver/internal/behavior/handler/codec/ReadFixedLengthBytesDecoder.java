@@ -17,6 +17,8 @@ package io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec;
 
 import static java.lang.String.format;
 
+import javax.el.ELContext;
+
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.logging.InternalLogger;
 import org.jboss.netty.logging.InternalLoggerFactory;
@@ -62,10 +64,8 @@ public abstract class ReadFixedLengthBytesDecoder<T> extends MessageDecoder {
             buffer.readSlice(length);
         } else {
             T value = readBuffer(buffer);
-            // TODO: Remove when JUEL sync bug is fixed https://github.com/k3po/k3po/issues/147
-            synchronized (environment) {
-                environment.getELResolver().setValue(environment, null, captureName, value);
-            }
+            ELContext context = environment.newEvaluationContext();
+            context.getELResolver().setValue(context, null, captureName, value);
 
             if (LOGGER.isDebugEnabled()) {
                 Object formatValue = (value instanceof byte[]) ? AstLiteralBytesValue.toString((byte[]) value) : value;
@@ -85,10 +85,8 @@ public abstract class ReadFixedLengthBytesDecoder<T> extends MessageDecoder {
             buffer.readSlice(length);
         } else {
             T value = readBuffer(buffer);
-            // TODO: Remove when JUEL sync bug is fixed https://github.com/k3po/k3po/issues/147
-            synchronized (environment) {
-                environment.getELResolver().setValue(environment, null, captureName, value);
-            }
+            ELContext context = environment.newEvaluationContext();
+            context.getELResolver().setValue(context, null, captureName, value);
 
             if (LOGGER.isDebugEnabled()) {
                 Object formatValue = (value instanceof byte[]) ? AstLiteralBytesValue.toString((byte[]) value) : value;
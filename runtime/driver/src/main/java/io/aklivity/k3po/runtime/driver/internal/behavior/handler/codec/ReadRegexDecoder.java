@@ -20,6 +20,8 @@ import static java.lang.String.format;
 
 import java.nio.charset.Charset;
 
+import javax.el.ELContext;
+
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.logging.InternalLogger;
 import org.jboss.netty.logging.InternalLoggerFactory;
@@ -27,22 +29,26 @@ import org.jboss.netty.logging.InternalLoggerFactory;
 import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptProgressException;
 import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
 import io.aklivity.k3po.runtime.lang.internal.el.ExpressionContext;
+import io.aklivity.k3po.runtime.lang.internal.regex.NamedGroupMatchResult;
 import io.aklivity.k3po.runtime.lang.internal.regex.NamedGroupMatcher;
 import io.aklivity.k3po.runtime.lang.internal.regex.NamedGroupPattern;
+import io.aklivity.k3po.runtime.lang.internal.regex.NamedGroupStreamMatcher;
 
 public class ReadRegexDecoder extends MessageDecoder {
 
     private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(ReadRegexDecoder.class);
 
     private final NamedGroupPattern pattern;
-    private final Charset charset;
     private final ExpressionContext environment;
+    private final ChannelBufferCharSequence observed;
+    private final NamedGroupStreamMatcher streamMatcher;
 
     public ReadRegexDecoder(RegionInfo regionInfo, NamedGroupPattern pattern, Charset charset, ExpressionContext environment) {
         super(regionInfo);
         this.pattern = pattern;
         this.environment = environment;
-        this.charset = charset;
+        this.observed = new ChannelBufferCharSequence(charset);
+        this.streamMatcher = pattern.streamMatcher();
     }
 
     @Override
@@ -67,41 +73,64 @@ public class ReadRegexDecoder extends MessageDecoder {
 
     private Object decodeBuffer(final ChannelBuffer buffer, boolean isLast) throws Exception {
 
-        final ChannelBuffer observedBytes = buffer.slice();
-        final String observed = observedBytes.toString(charset);
+        // only decode the newly arrived bytes, and only match again once they complete more characters
+        if (!observed.decode(buffer, isLast) && !isLast && observed.length() != 0) {
+            return null;
+        }
 
-        final NamedGroupMatcher matcher = pattern.matcher(observed);
+        final NamedGroupMatchResult match;
+        final boolean prefixMatched;
+        final boolean noMatchMayMatchLater;
 
-        // TODO: Need to deal with anchoring
-        boolean allInputMatched = matcher.matches();
-        boolean prefixMatched = allInputMatched || matcher.lookingAt();
-        boolean noMatchMayMatchLater = !prefixMatched && matcher.hitEnd();
+        if (streamMatcher != null && streamMatcher.advance(observed)) {
+            // only the newly decoded characters are matched, resuming from the previous attempt
+            match = streamMatcher;
+            prefixMatched = streamMatcher.matched();
+            noMatchMayMatchLater = !prefixMatched && streamMatcher.hitEnd();
+        }
+        else {
+            final NamedGroupMatcher matcher = pattern.matcher(observed);
+
+            // TODO: Need to deal with anchoring
+            boolean allInputMatched = matcher.matches();
+            prefixMatched = allInputMatched || matcher.lookingAt();
+            noMatchMayMatchLater = !prefixMatched && matcher.hitEnd();
+            match = matcher;
+        }
 
-        // We keep looking while we match or while we don't match but it is still possible to match
-        if ((allInputMatched || !isLast) && noMatchMayMatchLater) {
+        // We keep looking while we don't match but it is still possible to match
+        if (!isLast && noMatchMayMatchLater) {
             return null;
         }
 
         // If we never matched we fail.
         if (!prefixMatched) {
-            throw new ScriptProgressException(getRegionInfo(), format("\"%s\"", observed));
+            String unmatched = observed.toString();
+            reset();
+            throw new ScriptProgressException(getRegionInfo(), format("\"%s\"", unmatched));
         }
 
-        captureGroups(matcher);
+        captureGroups(match);
 
         // skip the bytes we actually matched
-        buffer.skipBytes(matcher.end());
+        buffer.skipBytes(observed.byteCount(match.end()));
+        reset();
 
         return buffer;
     }
 
-    private void captureGroups(NamedGroupMatcher matcher) {
+    private void reset() {
+        observed.reset();
+        if (streamMatcher != null) {
+            streamMatcher.reset();
+        }
+    }
+
+    private void captureGroups(NamedGroupMatchResult matcher) {
         for (String captureName : matcher.groupNames()) {
             String captured = matcher.group(captureName);
-            // TODO: Remove when JUEL sync bug is fixed https://github.com/k3po/k3po/issues/147
-            synchronized (environment) {
-                environment.getELResolver().setValue(environment, null, captureName, captured);
-            }
+            ELContext context = environment.newEvaluationContext();
+            context.getELResolver().setValue(context, null, captureName, captured);
 
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(format("Setting value for ${%s} to %s", captureName, captured));
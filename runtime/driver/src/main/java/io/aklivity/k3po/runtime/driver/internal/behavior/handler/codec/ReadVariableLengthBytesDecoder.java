@@ -18,6 +18,7 @@ package io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec;
 import static io.aklivity.k3po.runtime.lang.internal.RegionInfo.newSequential;
 import static java.lang.String.format;
 
+import javax.el.ELContext;
 import javax.el.ValueExpression;
 
 import org.jboss.netty.buffer.ChannelBuffer;
@@ -55,11 +56,7 @@ public class ReadVariableLengthBytesDecoder extends MessageDecoder {
 
     @Override
     protected Object decodeBuffer(ChannelBuffer buffer) throws Exception {
-        final int resolvedLength;
-        // TODO: Remove when JUEL sync bug is fixed https://github.com/k3po/k3po/issues/147
-        synchronized (environment) {
-            resolvedLength = (Integer) length.getValue(environment);
-        }
+        final int resolvedLength = (Integer) length.getValue(environment.newEvaluationContext());
 
         if (buffer.readableBytes() < resolvedLength) {
             return null;
@@ -70,10 +67,8 @@ public class ReadVariableLengthBytesDecoder extends MessageDecoder {
         } else {
             byte[] bytes = new byte[resolvedLength];
             buffer.readBytes(bytes, 0, resolvedLength);
-            // TODO: Remove when JUEL sync bug is fixed https://github.com/k3po/k3po/issues/147
-            synchronized (environment) {
-                environment.getELResolver().setValue(environment, null, captureName, bytes);
-            }
+            ELContext context = environment.newEvaluationContext();
+            context.getELResolver().setValue(context, null, captureName, bytes);
 
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(format("Setting value for ${%s} to %s", captureName, AstLiteralBytesValue.toString(bytes)));
@@ -22,11 +22,22 @@ import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.http.HttpChannel
 
 public class HttpContentLengthEncoder implements ChannelEncoder {
 
+    /**
+     * System property limiting how many bytes of content are buffered to calculate the content length.
+     */
+    public static final String MAXIMUM_BUFFERED_CONTENT_LENGTH_PROPERTY = "k3po.http.maximumBufferedContentLength";
+
     private final int maximumBufferedContentLength;
 
     public HttpContentLengthEncoder() {
-        // TODO: configure?
-        this.maximumBufferedContentLength = Integer.MAX_VALUE;
+        this(Integer.getInteger(MAXIMUM_BUFFERED_CONTENT_LENGTH_PROPERTY, Integer.MAX_VALUE));
+    }
+
+    public HttpContentLengthEncoder(int maximumBufferedContentLength) {
+        if (maximumBufferedContentLength < 0) {
+            throw new IllegalArgumentException("maximumBufferedContentLength: " + maximumBufferedContentLength);
+        }
+        this.maximumBufferedContentLength = maximumBufferedContentLength;
     }
 
     @Override
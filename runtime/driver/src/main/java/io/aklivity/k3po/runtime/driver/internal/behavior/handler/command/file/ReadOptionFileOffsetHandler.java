@@ -29,9 +29,9 @@ import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.file.FileChannel
 public class ReadOptionFileOffsetHandler extends AbstractCommandHandler {
 
     private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(ReadOptionFileOffsetHandler.class);
-    private final int offset;
+    private final long offset;
 
-    public ReadOptionFileOffsetHandler(int offset) {
+    public ReadOptionFileOffsetHandler(long offset) {
         this.offset = offset;
     }
 
@@ -39,7 +39,8 @@ public class ReadOptionFileOffsetHandler extends AbstractCommandHandler {
     protected void handleUpstream1(ChannelHandlerContext ctx, ChannelEvent e) throws Exception {
         // Do not propagate remaining data to next handler(s) as the offset change make them invalid
         // This handler would fire message received event below when offset is changed
-        if (!(e instanceof MessageEvent)) {
+        // When tailing, data produced after the offset change is still propagated
+        if (!(e instanceof MessageEvent) || isTailingFromOffset(ctx)) {
             super.handleUpstream1(ctx, e);
         }
     }
@@ -51,14 +52,22 @@ public class ReadOptionFileOffsetHandler extends AbstractCommandHandler {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(String.format("Adjusting the file %s channel for read option offset %d", channel, offset));
         }
-        try {
-            channel.setReadOffset(offset);
-            getHandlerFuture().setSuccess();
-        } catch (Throwable t) {
-            getHandlerFuture().setFailure(t);
+        // prevent the channel from tailing concurrently, so no data produced after the offset change is dropped
+        synchronized (channel) {
+            try {
+                channel.setReadOffset(offset);
+                getHandlerFuture().setSuccess();
+            } catch (Throwable t) {
+                getHandlerFuture().setFailure(t);
+            }
+
+            channel.fireMessageReceived(ctx);
         }
+    }
 
-        channel.fireMessageReceived(ctx);
+    private boolean isTailingFromOffset(ChannelHandlerContext ctx) {
+        FileChannel channel = (FileChannel) ctx.getChannel();
+        return channel.isTailing() && getHandlerFuture().isSuccess();
     }
 
     @Override
@@ -23,6 +23,7 @@ import static org.jboss.netty.util.CharsetUtil.UTF_8;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.el.ELException;
 
@@ -32,6 +33,7 @@ import org.jboss.netty.channel.ChannelConfig;
 import org.jboss.netty.channel.ChannelEvent;
 import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelLocal;
 import org.jboss.netty.channel.MessageEvent;
 import org.jboss.netty.channel.UpstreamMessageEvent;
 
@@ -41,6 +43,13 @@ import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.MessageDe
 
 public class ReadHandler extends AbstractEventHandler {
 
+    private static final ChannelLocal<AtomicLong> BYTES_COPIED = new ChannelLocal<AtomicLong>(true) {
+        @Override
+        protected AtomicLong initialValue(Channel channel) {
+            return new AtomicLong();
+        }
+    };
+
     private final List<MessageDecoder> decoders;
     private final Masker unmasker;
 
@@ -58,6 +67,13 @@ public class ReadHandler extends AbstractEventHandler {
         this.consumedDecoders = new ArrayList<>(decoders);
     }
 
+    /**
+     * Returns the number of bytes copied by read decoders while accumulating input for the given stream.
+     */
+    public static long getBytesCopied(Channel channel) {
+        return BYTES_COPIED.get(channel).get();
+    }
+
     @Override
     public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
         messageReceived(ctx, e, false);
@@ -107,6 +123,7 @@ public class ReadHandler extends AbstractEventHandler {
         Iterator<MessageDecoder> iterator = consumedDecoders.iterator();
         while (iterator.hasNext()) {
             MessageDecoder decoder = iterator.next();
+            long bytesCopied = decoder.getBytesCopied();
 
             try {
                 if (isLast) {
@@ -126,6 +143,10 @@ public class ReadHandler extends AbstractEventHandler {
                 return;
             }
 
+            if (decoder.getBytesCopied() != bytesCopied) {
+                BYTES_COPIED.get(channel).addAndGet(decoder.getBytesCopied() - bytesCopied);
+            }
+
             if (buf == null) {
                 // need more data to complete the decode, must not detect message boundary when message oriented
                 if (messageAligned && markedWriterIndex != 0)
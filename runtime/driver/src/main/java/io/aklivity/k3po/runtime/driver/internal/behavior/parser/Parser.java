@@ -15,10 +15,7 @@
  */
 package io.aklivity.k3po.runtime.driver.internal.behavior.parser;
 
-import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.AssociateStreamsVisitor;
-import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.InjectBarriersVisitor;
-import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.InjectEventsVisitor;
-import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.InjectFlushVisitor;
+import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.TransformStreamsVisitor;
 import io.aklivity.k3po.runtime.lang.internal.ast.AstScriptNode;
 import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParseException;
 import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParser;
@@ -29,7 +26,11 @@ public class Parser implements ScriptParser {
     private final ScriptParser parser;
 
     public Parser() {
-        parser = new ScriptParserImpl();
+        this(new ScriptParserImpl());
+    }
+
+    public Parser(ScriptParser parser) {
+        this.parser = parser;
     }
 
     @Override
@@ -38,18 +39,8 @@ public class Parser implements ScriptParser {
         try {
             AstScriptNode script = parser.parse(input);
 
-            InjectEventsVisitor injectEvents = new InjectEventsVisitor();
-            InjectEventsVisitor.State injectEventsState = new InjectEventsVisitor.State();
-            script = script.accept(injectEvents, injectEventsState);
-
-            InjectBarriersVisitor injectBarriers = new InjectBarriersVisitor();
-            script = script.accept(injectBarriers, new InjectBarriersVisitor.State());
-
-            InjectFlushVisitor injectFlush = new InjectFlushVisitor();
-            script = script.accept(injectFlush, new InjectFlushVisitor.State());
-
-            AssociateStreamsVisitor associateStreams = new AssociateStreamsVisitor();
-            script = script.accept(associateStreams, new AssociateStreamsVisitor.State());
+            TransformStreamsVisitor transformStreams = new TransformStreamsVisitor();
+            script = script.accept(transformStreams, new TransformStreamsVisitor.State());
 
             return script;
 
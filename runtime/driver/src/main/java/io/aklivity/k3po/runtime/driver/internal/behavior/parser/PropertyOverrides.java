@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.behavior.parser;
+
+import static io.aklivity.k3po.runtime.lang.internal.parser.ScriptParseStrategy.PROPERTY_NODE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstPropertyNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstScriptNode;
+import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParserImpl;
+
+/**
+ * Property overrides applied to a parsed script.
+ *
+ * Each override is parsed once and substituted as the value of every script property with the same name,
+ * so the script itself is parsed only once. The script text is not rewritten, instead the override text
+ * replaces the region of each overridden property whenever the script text is reported.
+ */
+public final class PropertyOverrides {
+
+    public static final PropertyOverrides NONE = new PropertyOverrides(Collections.<RegionInfo>emptyList(),
+            Collections.<String>emptyList());
+
+    private final List<RegionInfo> regions;
+    private final List<String> overrides;
+
+    private PropertyOverrides(List<RegionInfo> regions, List<String> overrides) {
+        this.regions = regions;
+        this.overrides = overrides;
+    }
+
+    /**
+     * Substitutes the property overrides in the parsed script.
+     *
+     * @param parser the parser of the script, so that override values share the script expression context
+     * @param script the parsed script
+     * @param properties the property overrides, each in script syntax
+     * @return the applied property overrides
+     * @throws Exception if an override cannot be parsed, or there is no script property to override
+     */
+    public static PropertyOverrides apply(ScriptParserImpl parser, AstScriptNode script, List<String> properties)
+            throws Exception {
+
+        if (properties.isEmpty()) {
+            return NONE;
+        }
+
+        // later overrides of the same property take precedence
+        Map<String, String> overridesByName = new LinkedHashMap<>();
+        Map<String, AstPropertyNode> nodesByName = new LinkedHashMap<>();
+        for (String property : properties) {
+            AstPropertyNode overrideNode = parser.parseWithStrategy(property, PROPERTY_NODE);
+            String propertyName = overrideNode.getPropertyName();
+            overridesByName.put(propertyName, property);
+            nodesByName.put(propertyName, overrideNode);
+        }
+
+        List<RegionInfo> regions = new ArrayList<>();
+        List<String> overrides = new ArrayList<>();
+        Map<String, String> unmatchedByName = new LinkedHashMap<>(overridesByName);
+        for (AstPropertyNode propertyNode : script.getProperties()) {
+            String propertyName = propertyNode.getPropertyName();
+            AstPropertyNode overrideNode = nodesByName.get(propertyName);
+            if (overrideNode != null) {
+                propertyNode.setPropertyValue(overrideNode.getPropertyValue());
+                regions.add(propertyNode.getRegionInfo());
+                overrides.add(overridesByName.get(propertyName));
+                unmatchedByName.remove(propertyName);
+            }
+        }
+
+        if (!unmatchedByName.isEmpty()) {
+            String property = unmatchedByName.values().iterator().next();
+            throw new Exception("Received " + property + " in PREPARE but found no where to substitute it");
+        }
+
+        return new PropertyOverrides(regions, overrides);
+    }
+
+    public boolean isEmpty() {
+        return regions.isEmpty();
+    }
+
+    /**
+     * Returns true if the region is an overridden property region.
+     */
+    public boolean isOverridden(RegionInfo region) {
+        return regions.contains(region);
+    }
+
+    /**
+     * Returns the script text with the overridden property regions replaced.
+     */
+    public String override(String script) {
+        if (regions.isEmpty()) {
+            return script;
+        }
+
+        StringBuilder overridden = new StringBuilder(script.length());
+        copy(overridden, script, 0, script.length());
+        return overridden.toString();
+    }
+
+    /**
+     * Appends a range of the script text, replacing the overridden property regions within the range.
+     */
+    public void copy(StringBuilder target, String script, int start, int end) {
+        int index = start;
+        for (int i = 0; i < regions.size(); i++) {
+            RegionInfo region = regions.get(i);
+            if (region.start >= index && region.end <= end) {
+                target.append(script, index, region.start);
+                target.append(overrides.get(i));
+                index = region.end;
+            }
+        }
+        target.append(script, index, end);
+    }
+
+    /**
+     * Returns the index in the overridden script text corresponding to an index in the script text.
+     */
+    public int offset(int index) {
+        int offset = index;
+        for (int i = 0; i < regions.size(); i++) {
+            RegionInfo region = regions.get(i);
+            if (region.end <= index) {
+                offset += overrides.get(i).length() - region.size();
+            }
+        }
+        return offset;
+    }
+}
@@ -24,6 +24,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -44,6 +45,8 @@ import io.aklivity.k3po.runtime.driver.internal.RobotException;
 import io.aklivity.k3po.runtime.driver.internal.behavior.Barrier;
 import io.aklivity.k3po.runtime.driver.internal.behavior.BehaviorSystem;
 import io.aklivity.k3po.runtime.driver.internal.behavior.Configuration;
+import io.aklivity.k3po.runtime.driver.internal.behavior.StreamPlan;
+import io.aklivity.k3po.runtime.driver.internal.behavior.StreamTemplate;
 import io.aklivity.k3po.runtime.driver.internal.behavior.handler.CompletionHandler;
 import io.aklivity.k3po.runtime.driver.internal.behavior.handler.RejectedHandler;
 import io.aklivity.k3po.runtime.driver.internal.behavior.handler.barrier.AwaitBarrierDownstreamHandler;
@@ -103,6 +106,7 @@ import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
 import io.aklivity.k3po.runtime.lang.internal.ast.AstAcceptNode;
 import io.aklivity.k3po.runtime.lang.internal.ast.AstAcceptableNode;
 import io.aklivity.k3po.runtime.lang.internal.ast.AstAcceptedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstBarrierNode;
 import io.aklivity.k3po.runtime.lang.internal.ast.AstBoundNode;
 import io.aklivity.k3po.runtime.lang.internal.ast.AstChildClosedNode;
 import io.aklivity.k3po.runtime.lang.internal.ast.AstChildOpenedNode;
@@ -176,8 +180,12 @@ public class GenerateConfigurationVisitor implements AstNode.Visitor<Configurati
 
     private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(GenerateConfigurationVisitor.class);
 
+    private static final List<TypeInfo<?>> TEMPLATE_OPTIONS = Arrays.asList(
+            DefaultTypeSystem.OPTION_REPEAT, DefaultTypeSystem.OPTION_CONCURRENCY, DefaultTypeSystem.OPTION_RATE);
+
     private final ChannelAddressFactory addressFactory;
     private final BootstrapFactory bootstrapFactory;
+    private final boolean deferAccepted;
 
     public static final class State {
         private final ConcurrentMap<String, Barrier> barriersByName;
@@ -227,8 +235,17 @@ public class GenerateConfigurationVisitor implements AstNode.Visitor<Configurati
     }
 
     public GenerateConfigurationVisitor(BootstrapFactory bootstrapFactory, ChannelAddressFactory addressFactory) {
+        this(bootstrapFactory, addressFactory, false);
+    }
+
+    /**
+     * @param deferAccepted true to build the pipeline of each accepted stream only as its child channel opens
+     */
+    public GenerateConfigurationVisitor(BootstrapFactory bootstrapFactory, ChannelAddressFactory addressFactory,
+            boolean deferAccepted) {
         this.bootstrapFactory = bootstrapFactory;
         this.addressFactory = addressFactory;
+        this.deferAccepted = deferAccepted;
     }
 
     @Override
@@ -318,29 +335,45 @@ public class GenerateConfigurationVisitor implements AstNode.Visitor<Configurati
     public Configuration visit(AstAcceptNode acceptNode, State state) {
 
         Map<String, ChannelHandler> savedPipelineAsMap = state.pipelineAsMap;
+        RegionInfo acceptInfo = acceptNode.getRegionInfo();
 
-        // masking is a no-op by default for each stream
-        state.readUnmasker = Masker.IDENTITY_MASKER;
-        state.writeMasker = Masker.IDENTITY_MASKER;
-
-        /* Create a list of pipelines, for each acceptable */
-        final List<ChannelPipeline> pipelines = new ArrayList<>();
-        state.pipelineAsMap = new LinkedHashMap<>();
+        /* Create a pipeline, or a plan to create it, for each acceptable */
+        final List<Supplier<ChannelPipeline>> streams = new ArrayList<>();
+        if (deferAccepted) {
+            for (AstAcceptableNode acceptableNode : acceptNode.getAcceptables()) {
+                // barriers are known when prepared, before any pipeline is built
+                for (AstStreamableNode streamable : acceptableNode.getStreamables()) {
+                    if (streamable instanceof AstBarrierNode) {
+                        String barrierName = ((AstBarrierNode) streamable).getBarrierName();
+                        state.configuration.getBarriers().add(state.lookupBarrier(barrierName));
+                    }
+                }
 
-        for (AstAcceptableNode acceptableNode : acceptNode.getAcceptables()) {
+                StreamPlan streamPlan = new StreamPlan(acceptableNode.getRegionInfo(), () -> {
+                    State streamState = new State(state.barriersByName);
+                    streamState.configuration = new Configuration();
+                    return acceptablePipeline(acceptableNode, streamState);
+                });
+                streams.add(streamPlan);
 
-            acceptableNode.accept(this, state);
+                // retain plans for tear down
+                state.configuration.getServerStreamPlans(acceptInfo).add(streamPlan);
+                state.configuration.getStreamPlans().add(streamPlan);
+            }
+        } else {
+            final List<ChannelPipeline> pipelines = new ArrayList<>();
+            for (AstAcceptableNode acceptableNode : acceptNode.getAcceptables()) {
+                ChannelPipeline pipeline = acceptablePipeline(acceptableNode, state);
+                pipelines.add(pipeline);
+                streams.add(() -> pipeline);
+            }
 
-            ChannelPipeline pipeline = pipelineFromMap(state.pipelineAsMap);
-            pipelines.add(pipeline);
+            // retain pipelines for tear down
+            state.configuration.getServerPipelines(acceptInfo).addAll(pipelines);
+            state.configuration.getClientAndServerPipelines().addAll(pipelines);
         }
         state.pipelineAsMap = savedPipelineAsMap;
 
-        // retain pipelines for tear down
-        RegionInfo acceptInfo = acceptNode.getRegionInfo();
-        state.configuration.getServerPipelines(acceptInfo).addAll(pipelines);
-        state.configuration.getClientAndServerPipelines().addAll(pipelines);
-
         Map<String, Object> acceptOptions = new HashMap<>();
         acceptOptions.put("regionInfo", acceptInfo);
         acceptOptions.putAll(acceptNode.getOptions());
@@ -358,13 +391,21 @@ public class GenerateConfigurationVisitor implements AstNode.Visitor<Configurati
         // accept uri is available.
         Supplier<URI> locationResolver = acceptNode.getLocation()::getValue;
         ServerBootstrapResolver serverResolver = new ServerBootstrapResolver(bootstrapFactory, addressFactory,
-                pipelines, locationResolver, optionsResolver, notifyBarrier);
+                streams, locationResolver, optionsResolver, notifyBarrier);
 
         state.configuration.getServerResolvers().add(serverResolver);
 
         return state.configuration;
     }
 
+    private ChannelPipeline acceptablePipeline(AstAcceptableNode acceptableNode, State state) {
+
+        // each acceptable resets the masking and the pipeline map for its stream
+        acceptableNode.accept(this, state);
+
+        return pipelineFromMap(state.pipelineAsMap);
+    }
+
     /**
      * Creates the pipeline, visits all streamable nodes and the creates the ClientBootstrap with the pipeline and
      * remote address,
@@ -372,21 +413,7 @@ public class GenerateConfigurationVisitor implements AstNode.Visitor<Configurati
     @Override
     public Configuration visit(AstConnectNode connectNode, State state) {
 
-        // masking is a no-op by default for each stream
-        state.readUnmasker = Masker.IDENTITY_MASKER;
-        state.writeMasker = Masker.IDENTITY_MASKER;
-
-        state.pipelineAsMap = new LinkedHashMap<>();
-
-        for (AstStreamableNode streamable : connectNode.getStreamables()) {
-            streamable.accept(this, state);
-        }
-
-        /* Add the completion handler */
-        String handlerName = String.format("completion#%d", state.pipelineAsMap.size() + 1);
-        CompletionHandler completionHandler = new CompletionHandler();
-        completionHandler.setRegionInfo(connectNode.getRegionInfo());
-        state.pipelineAsMap.put(handlerName, completionHandler);
+        final ChannelPipeline pipeline = connectPipeline(connectNode, state);
 
         String awaitName = connectNode.getAwaitName();
         Barrier awaitBarrier = null;
@@ -394,43 +421,103 @@ public class GenerateConfigurationVisitor implements AstNode.Visitor<Configurati
             awaitBarrier = state.lookupBarrier(awaitName);
         }
 
-        final ChannelPipeline pipeline = pipelineFromMap(state.pipelineAsMap);
-
-        /*
-         * TODO. This is weird. I will only have one pipeline per connect. But if I don't set a factory When a connect
-         * occurs it will create a shallow copy of the pipeline I set. This doesn't work due to the beforeAdd methods in
-         * ExecutionHandler. Namely when the pipeline is cloned it uses the same handler objects so the handler future
-         * is not null and we fail with an assertion error.
-         */
-        ChannelPipelineFactory pipelineFactory = new ChannelPipelineFactory() {
-            private int numCalled;
+        // the repeat, concurrency and rate options describe a stream template, not the connection
+        Map<String, Object> connectOptions = new LinkedHashMap<>(connectNode.getOptions());
+        Map<String, Object> templateOptions = new HashMap<>();
+        for (TypeInfo<?> templateOption : TEMPLATE_OPTIONS) {
+            String optionName = templateOption.getName();
+            Object optionValue = connectOptions.remove(optionName);
+            if (optionValue != null) {
+                templateOptions.put(optionName, optionValue);
+            }
+        }
 
-            @Override
-            public ChannelPipeline getPipeline() {
-                if (numCalled++ != 0) {
-                    throw new RobotException("getPipeline called more than once");
+        ChannelPipelineFactory pipelineFactory;
+        StreamTemplate streamTemplate = null;
+        if (templateOptions.isEmpty()) {
+            /*
+             * TODO. This is weird. I will only have one pipeline per connect. But if I don't set a factory When a
+             * connect occurs it will create a shallow copy of the pipeline I set. This doesn't work due to the
+             * beforeAdd methods in ExecutionHandler. Namely when the pipeline is cloned it uses the same handler
+             * objects so the handler future is not null and we fail with an assertion error.
+             */
+            pipelineFactory = new ChannelPipelineFactory() {
+                private int numCalled;
+
+                @Override
+                public ChannelPipeline getPipeline() {
+                    if (numCalled++ != 0) {
+                        throw new RobotException("getPipeline called more than once");
+                    }
+                    return pipeline;
+                }
+            };
+
+            // retain pipelines for tear down
+            state.configuration.getClientAndServerPipelines().add(pipeline);
+        } else {
+            // literal options are invalid for every instance, so fail when preparing rather than when starting
+            Map<String, Object> literalOptions = new HashMap<>();
+            for (Map.Entry<String, Object> entry : templateOptions.entrySet()) {
+                Object optionValue = entry.getValue();
+                if (!(optionValue instanceof AstExpressionValue)) {
+                    literalOptions.put(entry.getKey(),
+                            (optionValue instanceof AstValue) ? ((AstValue<?>) optionValue).getValue() : optionValue);
                 }
-                return pipeline;
             }
-        };
+            StreamTemplate.validateOptions(literalOptions);
+
+            // each later instance builds its own pipeline as it connects, leaving the configuration unchanged
+            Supplier<ChannelPipeline> instancePipelineFactory = () -> {
+                State instanceState = new State(state.barriersByName);
+                instanceState.configuration = new Configuration();
+                return connectPipeline(connectNode, instanceState);
+            };
+
+            streamTemplate = new StreamTemplate(connectNode.getRegionInfo(), pipeline, instancePipelineFactory,
+                    new OptionsResolver(templateOptions));
+            pipelineFactory = streamTemplate;
+        }
 
         // Now that connect supports barrier and expression value, connect uri may not be available at this point.
         // To defer the evaluation of connect uri and initialization of ClientBootstrap, LocationResolver and
         // ClientResolver are created with information necessary to create ClientBootstrap when the connect uri
         // is available.
         Supplier<URI> locationResolver = connectNode.getLocation()::getValue;
-        OptionsResolver optionsResolver = new OptionsResolver(connectNode.getOptions());
+        OptionsResolver optionsResolver = new OptionsResolver(connectOptions);
 
         ClientBootstrapResolver clientResolver = new ClientBootstrapResolver(bootstrapFactory, addressFactory,
-                pipelineFactory, locationResolver, optionsResolver, awaitBarrier);
+                pipelineFactory, locationResolver, optionsResolver, awaitBarrier, connectNode.getRegionInfo());
 
-        // retain pipelines for tear down
-        state.configuration.getClientAndServerPipelines().add(pipeline);
+        if (streamTemplate != null) {
+            state.configuration.getStreamTemplates().put(clientResolver, streamTemplate);
+        }
 
         state.configuration.getClientResolvers().add(clientResolver);
         return state.configuration;
     }
 
+    private ChannelPipeline connectPipeline(AstConnectNode connectNode, State state) {
+
+        // masking is a no-op by default for each stream
+        state.readUnmasker = Masker.IDENTITY_MASKER;
+        state.writeMasker = Masker.IDENTITY_MASKER;
+
+        state.pipelineAsMap = new LinkedHashMap<>();
+
+        for (AstStreamableNode streamable : connectNode.getStreamables()) {
+            streamable.accept(this, state);
+        }
+
+        /* Add the completion handler */
+        String handlerName = String.format("completion#%d", state.pipelineAsMap.size() + 1);
+        CompletionHandler completionHandler = new CompletionHandler();
+        completionHandler.setRegionInfo(connectNode.getRegionInfo());
+        state.pipelineAsMap.put(handlerName, completionHandler);
+
+        return pipelineFromMap(state.pipelineAsMap);
+    }
+
     @Override
     public Configuration visit(AstReadAwaitNode node, State state) {
 
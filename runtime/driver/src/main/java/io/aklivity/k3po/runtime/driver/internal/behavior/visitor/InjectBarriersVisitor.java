@@ -75,6 +75,11 @@ public class InjectBarriersVisitor implements AstNode.Visitor<AstScriptNode, Sta
         private List<AstStreamableNode> streamables;
         private ReadWriteState readWriteState;
         private int readWriteBarrierCount;
+
+        void startStream(List<AstStreamableNode> streamables) {
+            this.streamables = streamables;
+            this.readWriteState = ReadWriteState.NONE;
+        }
     }
 
     @Override
@@ -101,11 +106,9 @@ public class InjectBarriersVisitor implements AstNode.Visitor<AstScriptNode, Sta
     @Override
     public AstScriptNode visit(AstAcceptNode acceptNode, State state) {
 
-        state.readWriteState = ReadWriteState.NONE;
-
         AstAcceptNode newAcceptNode = new AstAcceptNode(acceptNode);
 
-        state.streamables = newAcceptNode.getStreamables();
+        state.startStream(newAcceptNode.getStreamables());
         for (AstStreamableNode streamable : acceptNode.getStreamables()) {
             streamable.accept(this, state);
         }
@@ -122,13 +125,11 @@ public class InjectBarriersVisitor implements AstNode.Visitor<AstScriptNode, Sta
     @Override
     public AstScriptNode visit(AstAcceptedNode acceptedNode, State state) {
 
-        state.readWriteState = ReadWriteState.NONE;
-
         AstAcceptedNode newAcceptedNode = new AstAcceptedNode();
         newAcceptedNode.setRegionInfo(acceptedNode.getRegionInfo());
         newAcceptedNode.setAcceptName(acceptedNode.getAcceptName());
 
-        state.streamables = newAcceptedNode.getStreamables();
+        state.startStream(newAcceptedNode.getStreamables());
         for (AstStreamableNode streamable : acceptedNode.getStreamables()) {
             streamable.accept(this, state);
         }
@@ -141,13 +142,11 @@ public class InjectBarriersVisitor implements AstNode.Visitor<AstScriptNode, Sta
     @Override
     public AstScriptNode visit(AstRejectedNode rejectedNode, State state) {
 
-        state.readWriteState = ReadWriteState.NONE;
-
         AstRejectedNode newRejectedNode = new AstRejectedNode();
         newRejectedNode.setRegionInfo(rejectedNode.getRegionInfo());
         newRejectedNode.setAcceptName(rejectedNode.getAcceptName());
 
-        state.streamables = newRejectedNode.getStreamables();
+        state.startStream(newRejectedNode.getStreamables());
         for (AstStreamableNode streamable : rejectedNode.getStreamables()) {
             streamable.accept(this, state);
         }
@@ -160,11 +159,9 @@ public class InjectBarriersVisitor implements AstNode.Visitor<AstScriptNode, Sta
     @Override
     public AstScriptNode visit(AstConnectNode connectNode, State state) {
 
-        state.readWriteState = ReadWriteState.NONE;
-
         AstConnectNode newConnectNode = new AstConnectNode(connectNode);
 
-        state.streamables = newConnectNode.getStreamables();
+        state.startStream(newConnectNode.getStreamables());
         for (AstStreamableNode streamable : connectNode.getStreamables()) {
             streamable.accept(this, state);
         }
@@ -73,6 +73,11 @@ public class InjectEventsVisitor implements AstNode.Visitor<AstScriptNode, State
         private List<AstStreamNode> streams;
         private List<AstStreamableNode> streamables;
         private ConnectivityState connectivityState;
+
+        void startStream(List<AstStreamableNode> streamables) {
+            this.streamables = streamables;
+            this.connectivityState = ConnectivityState.NONE;
+        }
     }
 
     @Override
@@ -99,11 +104,9 @@ public class InjectEventsVisitor implements AstNode.Visitor<AstScriptNode, State
     @Override
     public AstScriptNode visit(AstAcceptNode acceptNode, State state) {
 
-        state.connectivityState = ConnectivityState.NONE;
-
         AstAcceptNode newAcceptNode = new AstAcceptNode(acceptNode);
 
-        state.streamables = newAcceptNode.getStreamables();
+        state.startStream(newAcceptNode.getStreamables());
         for (AstStreamableNode streamable : acceptNode.getStreamables()) {
             streamable.accept(this, state);
         }
@@ -120,13 +123,11 @@ public class InjectEventsVisitor implements AstNode.Visitor<AstScriptNode, State
     @Override
     public AstScriptNode visit(AstAcceptedNode acceptedNode, State state) {
 
-        state.connectivityState = ConnectivityState.NONE;
-
         AstAcceptedNode newAcceptedNode = new AstAcceptedNode();
         newAcceptedNode.setRegionInfo(acceptedNode.getRegionInfo());
         newAcceptedNode.setAcceptName(acceptedNode.getAcceptName());
 
-        state.streamables = newAcceptedNode.getStreamables();
+        state.startStream(newAcceptedNode.getStreamables());
         for (AstStreamableNode streamable : acceptedNode.getStreamables()) {
             streamable.accept(this, state);
         }
@@ -139,13 +140,11 @@ public class InjectEventsVisitor implements AstNode.Visitor<AstScriptNode, State
     @Override
     public AstScriptNode visit(AstRejectedNode rejectedNode, State state) {
 
-        state.connectivityState = ConnectivityState.NONE;
-
         AstRejectedNode newRejectedNode = new AstRejectedNode();
         newRejectedNode.setRegionInfo(rejectedNode.getRegionInfo());
         newRejectedNode.setAcceptName(rejectedNode.getAcceptName());
 
-        state.streamables = newRejectedNode.getStreamables();
+        state.startStream(newRejectedNode.getStreamables());
         for (AstStreamableNode streamable : rejectedNode.getStreamables()) {
             streamable.accept(this, state);
         }
@@ -158,11 +157,9 @@ public class InjectEventsVisitor implements AstNode.Visitor<AstScriptNode, State
     @Override
     public AstScriptNode visit(AstConnectNode connectNode, State state) {
 
-        state.connectivityState = ConnectivityState.NONE;
-
         AstConnectNode newConnectNode = new AstConnectNode(connectNode);
 
-        state.streamables = newConnectNode.getStreamables();
+        state.startStream(newConnectNode.getStreamables());
         for (AstStreamableNode streamable : connectNode.getStreamables()) {
             streamable.accept(this, state);
         }
@@ -74,6 +74,12 @@ public class InjectFlushVisitor implements AstNode.Visitor<AstScriptNode, State>
         private List<AstStreamableNode> streamables;
         private ReadWriteState readState;
         private ReadWriteState writeState;
+
+        void startStream(List<AstStreamableNode> streamables) {
+            this.streamables = streamables;
+            this.readState = ReadWriteState.NONE;
+            this.writeState = ReadWriteState.NONE;
+        }
     }
 
     @Override
@@ -100,12 +106,9 @@ public class InjectFlushVisitor implements AstNode.Visitor<AstScriptNode, State>
     @Override
     public AstScriptNode visit(AstAcceptNode acceptNode, State state) {
 
-        state.readState = ReadWriteState.NONE;
-        state.writeState = ReadWriteState.NONE;
-
         AstAcceptNode newAcceptNode = new AstAcceptNode(acceptNode);
 
-        state.streamables = newAcceptNode.getStreamables();
+        state.startStream(newAcceptNode.getStreamables());
         for (AstStreamableNode streamable : acceptNode.getStreamables()) {
             streamable.accept(this, state);
         }
@@ -122,14 +125,11 @@ public class InjectFlushVisitor implements AstNode.Visitor<AstScriptNode, State>
     @Override
     public AstScriptNode visit(AstAcceptedNode acceptedNode, State state) {
 
-        state.readState = ReadWriteState.NONE;
-        state.writeState = ReadWriteState.NONE;
-
         AstAcceptedNode newAcceptedNode = new AstAcceptedNode();
         newAcceptedNode.setRegionInfo(acceptedNode.getRegionInfo());
         newAcceptedNode.setAcceptName(acceptedNode.getAcceptName());
 
-        state.streamables = newAcceptedNode.getStreamables();
+        state.startStream(newAcceptedNode.getStreamables());
         for (AstStreamableNode streamable : acceptedNode.getStreamables()) {
             streamable.accept(this, state);
         }
@@ -142,14 +142,11 @@ public class InjectFlushVisitor implements AstNode.Visitor<AstScriptNode, State>
     @Override
     public AstScriptNode visit(AstRejectedNode rejectedNode, State state) {
 
-        state.readState = ReadWriteState.NONE;
-        state.writeState = ReadWriteState.NONE;
-
         AstRejectedNode newRejectedNode = new AstRejectedNode();
         newRejectedNode.setRegionInfo(rejectedNode.getRegionInfo());
         newRejectedNode.setAcceptName(rejectedNode.getAcceptName());
 
-        state.streamables = newRejectedNode.getStreamables();
+        state.startStream(newRejectedNode.getStreamables());
         for (AstStreamableNode streamable : rejectedNode.getStreamables()) {
             streamable.accept(this, state);
         }
@@ -162,12 +159,9 @@ public class InjectFlushVisitor implements AstNode.Visitor<AstScriptNode, State>
     @Override
     public AstScriptNode visit(AstConnectNode connectNode, State state) {
 
-        state.readState = ReadWriteState.NONE;
-        state.writeState = ReadWriteState.NONE;
-
         AstConnectNode newConnectNode = new AstConnectNode(connectNode);
 
-        state.streamables = newConnectNode.getStreamables();
+        state.startStream(newConnectNode.getStreamables());
         for (AstStreamableNode streamable : connectNode.getStreamables()) {
             streamable.accept(this, state);
         }
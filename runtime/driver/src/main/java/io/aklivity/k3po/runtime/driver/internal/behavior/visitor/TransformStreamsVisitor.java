@@ -0,0 +1,425 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.behavior.visitor;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.aklivity.k3po.runtime.driver.internal.behavior.visitor.TransformStreamsVisitor.State;
+import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstAcceptNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstAcceptableNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstAcceptedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstBoundNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstChildClosedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstChildOpenedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstCloseNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstClosedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstConnectAbortNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstConnectAbortedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstConnectNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstConnectedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstDisconnectNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstDisconnectedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstOpenedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstPropertyNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstReadAbortNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstReadAbortedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstReadAdviseNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstReadAdvisedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstReadAwaitNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstReadClosedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstReadConfigNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstReadNotifyNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstReadOptionNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstReadValueNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstRegionException;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstRejectedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstScriptNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstStreamNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstStreamableNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstUnbindNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstUnboundNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstWriteAbortNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstWriteAbortedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstWriteAdviseNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstWriteAdvisedNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstWriteAwaitNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstWriteCloseNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstWriteConfigNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstWriteFlushNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstWriteNotifyNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstWriteOptionNode;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstWriteValueNode;
+
+/**
+ * Applies the rewrites of {@link InjectEventsVisitor}, {@link InjectBarriersVisitor}, {@link InjectFlushVisitor}
+ * and {@link AssociateStreamsVisitor} in a single traversal of the script.
+ *
+ * Each streamable node emitted by one rewrite is visited by the next rewrite immediately, so the rewritten
+ * streams are built directly, without an intermediate script for each rewrite.
+ */
+public class TransformStreamsVisitor implements AstNode.Visitor<AstScriptNode, State> {
+
+    private static final InjectEventsVisitor INJECT_EVENTS = new InjectEventsVisitor();
+    private static final InjectBarriersVisitor INJECT_BARRIERS = new InjectBarriersVisitor();
+    private static final InjectFlushVisitor INJECT_FLUSH = new InjectFlushVisitor();
+
+    public static final class State {
+        private final InjectEventsVisitor.State injectEvents;
+        private final InjectBarriersVisitor.State injectBarriers;
+        private final InjectFlushVisitor.State injectFlush;
+        private final List<AstStreamableNode> injectBarriersStage;
+        private final List<AstStreamableNode> injectFlushStage;
+        private final Map<String, AstAcceptNode> accepts = new HashMap<>();
+        private List<AstStreamNode> streams;
+        private String implicitAcceptName;
+        private int implicitAcceptCount;
+
+        public State() {
+            this.injectEvents = new InjectEventsVisitor.State();
+            this.injectBarriers = new InjectBarriersVisitor.State();
+            this.injectFlush = new InjectFlushVisitor.State();
+            this.injectBarriersStage = new Stage<>(INJECT_BARRIERS, injectBarriers);
+            this.injectFlushStage = new Stage<>(INJECT_FLUSH, injectFlush);
+        }
+
+        private void startStream(List<AstStreamableNode> streamables) {
+            injectEvents.startStream(injectBarriersStage);
+            injectBarriers.startStream(injectFlushStage);
+            injectFlush.startStream(streamables);
+        }
+    }
+
+    @Override
+    public AstScriptNode visit(AstScriptNode script, State state) {
+
+        AstScriptNode newScript = new AstScriptNode();
+        newScript.setRegionInfo(script.getRegionInfo());
+        newScript.getProperties().addAll(script.getProperties());
+
+        state.streams = newScript.getStreams();
+
+        for (AstStreamNode stream : script.getStreams()) {
+            stream.accept(this, state);
+        }
+
+        return newScript;
+    }
+
+    @Override
+    public AstScriptNode visit(AstPropertyNode propertyNode, State state) {
+        return null;
+    }
+
+    @Override
+    public AstScriptNode visit(AstAcceptNode acceptNode, State state) {
+
+        AstAcceptNode newAcceptNode = new AstAcceptNode(acceptNode);
+
+        String acceptName = acceptNode.getAcceptName();
+        String newAcceptName = acceptName != null ? acceptName : String.format("~accept~%d", ++state.implicitAcceptCount);
+
+        state.accepts.put(newAcceptName, newAcceptNode);
+        state.implicitAcceptName = newAcceptName;
+
+        state.startStream(newAcceptNode.getStreamables());
+        for (AstStreamableNode streamable : acceptNode.getStreamables()) {
+            streamable.accept(this, state);
+        }
+
+        state.streams.add(newAcceptNode);
+
+        for (AstAcceptableNode acceptable : acceptNode.getAcceptables()) {
+            acceptable.accept(this, state);
+        }
+
+        return null;
+    }
+
+    @Override
+    public AstScriptNode visit(AstAcceptedNode acceptedNode, State state) {
+
+        AstAcceptNode acceptNode = lookupAccept(acceptedNode, state);
+
+        AstAcceptedNode newAcceptedNode = new AstAcceptedNode();
+        newAcceptedNode.setRegionInfo(acceptedNode.getRegionInfo());
+
+        state.startStream(newAcceptedNode.getStreamables());
+        for (AstStreamableNode streamable : acceptedNode.getStreamables()) {
+            streamable.accept(this, state);
+        }
+
+        // associate accepted stream to corresponding accept
+        acceptNode.getAcceptables().add(newAcceptedNode);
+
+        return null;
+    }
+
+    @Override
+    public AstScriptNode visit(AstRejectedNode rejectedNode, State state) {
+
+        AstAcceptNode acceptNode = lookupAccept(rejectedNode, state);
+
+        AstRejectedNode newRejectedNode = new AstRejectedNode();
+        newRejectedNode.setRegionInfo(rejectedNode.getRegionInfo());
+
+        state.startStream(newRejectedNode.getStreamables());
+        for (AstStreamableNode streamable : rejectedNode.getStreamables()) {
+            streamable.accept(this, state);
+        }
+
+        // associate rejected stream to corresponding accept
+        acceptNode.getAcceptables().add(newRejectedNode);
+
+        return null;
+    }
+
+    @Override
+    public AstScriptNode visit(AstConnectNode connectNode, State state) {
+
+        AstConnectNode newConnectNode = new AstConnectNode(connectNode);
+
+        state.startStream(newConnectNode.getStreamables());
+        for (AstStreamableNode streamable : connectNode.getStreamables()) {
+            streamable.accept(this, state);
+        }
+
+        state.streams.add(newConnectNode);
+
+        return null;
+    }
+
+    @Override
+    public AstScriptNode visit(AstConnectAbortNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstConnectAbortedNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstWriteFlushNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstWriteValueNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstWriteCloseNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstDisconnectNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstUnbindNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstCloseNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstWriteAbortNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstReadAbortedNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstReadAbortNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstWriteAbortedNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstChildOpenedNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstChildClosedNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstOpenedNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstBoundNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstConnectedNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstReadValueNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstDisconnectedNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstUnboundNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstReadClosedNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstClosedNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstReadAwaitNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstWriteAwaitNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstReadNotifyNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstWriteNotifyNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstReadConfigNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstWriteConfigNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstReadOptionNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstWriteOptionNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstReadAdviseNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstWriteAdviseNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstReadAdvisedNode node, State state) {
+        return transform(node, state);
+    }
+
+    @Override
+    public AstScriptNode visit(AstWriteAdvisedNode node, State state) {
+        return transform(node, state);
+    }
+
+    private AstScriptNode transform(AstStreamableNode node, State state) {
+        return node.accept(INJECT_EVENTS, state.injectEvents);
+    }
+
+    private AstAcceptNode lookupAccept(AstAcceptableNode acceptableNode, State state) {
+
+        String acceptName = acceptableNode.getAcceptName();
+        if (acceptName == null) {
+            acceptName = state.implicitAcceptName;
+        }
+
+        AstAcceptNode acceptNode = state.accepts.get(acceptName);
+        if (acceptNode == null) {
+            RegionInfo regionInfo = acceptableNode.getRegionInfo();
+            throw new AstRegionException("Accept not found for accepted").initRegionInfo(regionInfo);
+        }
+
+        return acceptNode;
+    }
+
+    private static final class Stage<S> extends AbstractList<AstStreamableNode> {
+
+        private final AstNode.Visitor<AstScriptNode, S> visitor;
+        private final S state;
+
+        Stage(AstNode.Visitor<AstScriptNode, S> visitor, S state) {
+            this.visitor = visitor;
+            this.state = state;
+        }
+
+        @Override
+        public boolean add(AstStreamableNode node) {
+            node.accept(visitor, state);
+            return true;
+        }
+
+        @Override
+        public AstStreamableNode get(int index) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
+}
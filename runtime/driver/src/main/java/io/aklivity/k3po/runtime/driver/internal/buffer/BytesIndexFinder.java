@@ -0,0 +1,248 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.buffer;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBufferIndexFinder;
+
+/**
+ * Finds the index of a byte sequence within a buffer.
+ *
+ * Multi-byte patterns use the Boyer-Moore-Horspool algorithm, skipping ahead by up to the pattern length
+ * on each mismatch. Single byte patterns, such as delimiters, are found eight bytes at a time by reading
+ * each word and testing all of its bytes at once.
+ *
+ * Array-backed buffers are searched directly on the backing array, direct buffers are searched with
+ * absolute {@link ByteBuffer} reads, and composite buffers fall back to per-byte access.
+ *
+ * Instances are immutable and may be shared across threads.
+ */
+public final class BytesIndexFinder implements ChannelBufferIndexFinder {
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private final byte[] pattern;
+    private final int[] shifts;
+
+    public BytesIndexFinder(byte[] pattern) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("empty pattern");
+        }
+
+        this.pattern = pattern.clone();
+        this.shifts = new int[256];
+
+        int last = pattern.length - 1;
+        Arrays.fill(shifts, pattern.length);
+        for (int i = 0; i < last; i++) {
+            shifts[pattern[i] & 0xff] = last - i;
+        }
+    }
+
+    public BytesIndexFinder(ChannelBuffer pattern) {
+        this(toByteArray(pattern));
+    }
+
+    public int length() {
+        return pattern.length;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the pattern within the readable bytes of the buffer.
+     *
+     * @return the absolute index of the match, or -1 if not found
+     */
+    public int indexOf(ChannelBuffer buffer) {
+        return indexOf(buffer, buffer.readerIndex(), buffer.writerIndex());
+    }
+
+    /**
+     * Returns the index of the first occurrence of the pattern that lies entirely within
+     * {@code [fromIndex, toIndex)} of the buffer.
+     *
+     * @return the absolute index of the match, or -1 if not found
+     */
+    public int indexOf(ChannelBuffer buffer, int fromIndex, int toIndex) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            int index = indexOf(buffer.array(), offset + fromIndex, offset + toIndex);
+            return index != -1 ? index - offset : -1;
+        }
+
+        ByteBuffer[] byteBuffers = buffer.toByteBuffers(fromIndex, toIndex - fromIndex);
+        if (byteBuffers.length == 1) {
+            ByteBuffer byteBuffer = byteBuffers[0];
+            int offset = byteBuffer.position();
+            int index = indexOf(byteBuffer, offset, byteBuffer.limit());
+            return index != -1 ? index - offset + fromIndex : -1;
+        }
+
+        return indexOfBytes(buffer, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the index of the first occurrence of the pattern within {@code [fromIndex, toIndex)} of the array.
+     *
+     * @return the index of the match, or -1 if not found
+     */
+    public int indexOf(byte[] array, int fromIndex, int toIndex) {
+        if (pattern.length == 1) {
+            return indexOfByte(array, fromIndex, toIndex, pattern[0]);
+        }
+
+        final int last = pattern.length - 1;
+        for (int index = fromIndex; index + last < toIndex; index += shifts[array[index + last] & 0xff]) {
+            int i = last;
+            while (array[index + i] == pattern[i]) {
+                if (i == 0) {
+                    return index;
+                }
+                i--;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the pattern within {@code [fromIndex, toIndex)} of the buffer,
+     * using absolute reads so the buffer position and limit are not modified.
+     *
+     * @return the index of the match, or -1 if not found
+     */
+    public int indexOf(ByteBuffer buffer, int fromIndex, int toIndex) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            int index = indexOf(buffer.array(), offset + fromIndex, offset + toIndex);
+            return index != -1 ? index - offset : -1;
+        }
+
+        if (pattern.length == 1) {
+            return indexOfByte(buffer, fromIndex, toIndex, pattern[0]);
+        }
+
+        final int last = pattern.length - 1;
+        for (int index = fromIndex; index + last < toIndex; index += shifts[buffer.get(index + last) & 0xff]) {
+            int i = last;
+            while (buffer.get(index + i) == pattern[i]) {
+                if (i == 0) {
+                    return index;
+                }
+                i--;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns true if the pattern occurs at exactly the given index, for use with
+     * {@link ChannelBuffer#indexOf(int, int, ChannelBufferIndexFinder)}.
+     */
+    @Override
+    public boolean find(ChannelBuffer buffer, int guessedIndex) {
+        if (guessedIndex + pattern.length > buffer.writerIndex()) {
+            return false;
+        }
+
+        for (int i = 0; i < pattern.length; i++) {
+            if (buffer.getByte(guessedIndex + i) != pattern[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int indexOfBytes(ChannelBuffer buffer, int fromIndex, int toIndex) {
+        final int last = pattern.length - 1;
+        for (int index = fromIndex; index + last < toIndex; index += shifts[buffer.getByte(index + last) & 0xff]) {
+            int i = last;
+            while (buffer.getByte(index + i) == pattern[i]) {
+                if (i == 0) {
+                    return index;
+                }
+                i--;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int indexOfByte(byte[] array, int fromIndex, int toIndex, byte value) {
+        int index = fromIndex;
+
+        if (toIndex - fromIndex >= Long.BYTES) {
+            ByteBuffer words = ByteBuffer.wrap(array).order(LITTLE_ENDIAN);
+            long pattern = (value & 0xffL) * ONES;
+            for (; index + Long.BYTES <= toIndex; index += Long.BYTES) {
+                int found = indexOfZeroByte(words.getLong(index) ^ pattern);
+                if (found != -1) {
+                    return index + found;
+                }
+            }
+        }
+
+        for (; index < toIndex; index++) {
+            if (array[index] == value) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int indexOfByte(ByteBuffer buffer, int fromIndex, int toIndex, byte value) {
+        int index = fromIndex;
+
+        if (toIndex - fromIndex >= Long.BYTES) {
+            ByteBuffer words = buffer.duplicate().order(LITTLE_ENDIAN);
+            long pattern = (value & 0xffL) * ONES;
+            for (; index + Long.BYTES <= toIndex; index += Long.BYTES) {
+                int found = indexOfZeroByte(words.getLong(index) ^ pattern);
+                if (found != -1) {
+                    return index + found;
+                }
+            }
+        }
+
+        for (; index < toIndex; index++) {
+            if (buffer.get(index) == value) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    // index of the lowest zero byte in a little endian word, or -1
+    private static int indexOfZeroByte(long word) {
+        long zeros = (word - ONES) & ~word & HIGHS;
+        return zeros != 0L ? Long.numberOfTrailingZeros(zeros) >>> 3 : -1;
+    }
+
+    private static byte[] toByteArray(ChannelBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), bytes);
+        return bytes;
+    }
+}
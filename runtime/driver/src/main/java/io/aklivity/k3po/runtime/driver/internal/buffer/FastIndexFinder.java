@@ -30,7 +30,10 @@ import org.jboss.netty.buffer.ChannelBufferIndexFinder;
  * This particular implementation was found at:
  *
  * http://helpdesk.objects.com.au/java/search-a-byte-array-for-a-byte-sequence
+ *
+ * @deprecated use {@link BytesIndexFinder}, which returns the match index directly
  */
+@Deprecated
 public class FastIndexFinder implements ChannelBufferIndexFinder {
 
     private byte[] pattern;
@@ -19,11 +19,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptDiff;
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings.StepTiming;
+
 public class FinishedMessage extends ControlMessage {
 
     private String script = "";
     private final List<String> completedBarriers;
     private final List<String> incompleteBarriers;
+    private List<ScriptDiff> scriptDiffs;
+    private List<StepTiming> timings;
     
     public FinishedMessage() {
         super();
@@ -39,9 +44,32 @@ public class FinishedMessage extends ControlMessage {
         this.script = script;
     }
 
+    /**
+     * Returns the differences from the prepared script, sent instead of the observed script
+     * by the compact control protocol, or null if the observed script is sent in full.
+     */
+    public List<ScriptDiff> getScriptDiffs() {
+        return scriptDiffs;
+    }
+
+    public void setScriptDiffs(List<ScriptDiff> scriptDiffs) {
+        this.scriptDiffs = scriptDiffs;
+    }
+
+    /**
+     * Returns the timings recorded for the script, or null if timings were not requested.
+     */
+    public List<StepTiming> getTimings() {
+        return timings;
+    }
+
+    public void setTimings(List<StepTiming> timings) {
+        this.timings = timings;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(getKind(), script);
+        return Objects.hash(getKind(), script, scriptDiffs, timings);
     }
 
     @Override
@@ -55,7 +83,9 @@ public class FinishedMessage extends ControlMessage {
     }
 
     protected final boolean equals(FinishedMessage that) {
-        return super.equalTo(that) && Objects.equals(this.script, that.script);
+        return super.equalTo(that) && Objects.equals(this.script, that.script) &&
+                Objects.equals(this.scriptDiffs, that.scriptDiffs) &&
+                Objects.equals(this.timings, that.timings);
     }
 
     public List<String> getCompletedBarriers() {
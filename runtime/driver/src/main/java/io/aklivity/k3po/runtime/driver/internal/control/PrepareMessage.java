@@ -25,6 +25,8 @@ public class PrepareMessage extends ControlMessage {
     private String version;
     private String origin;
     private List<String> properties = new ArrayList<>();
+    private boolean timings;
+    private boolean acceptDeferred;
 
     public PrepareMessage() {
         this.names = new ArrayList<>(5);
@@ -49,7 +51,7 @@ public class PrepareMessage extends ControlMessage {
 
     @Override
     public int hashCode() {
-        return Objects.hash(getKind(), names);
+        return Objects.hash(getKind(), names, timings, acceptDeferred);
     }
 
     @Override
@@ -63,7 +65,8 @@ public class PrepareMessage extends ControlMessage {
     }
 
     protected final boolean equals(PrepareMessage that) {
-        return super.equalTo(that) && Objects.equals(this.names, that.names);
+        return super.equalTo(that) && Objects.equals(this.names, that.names) && this.timings == that.timings &&
+                this.acceptDeferred == that.acceptDeferred;
     }
 
     public String getOrigin() {
@@ -82,4 +85,26 @@ public class PrepareMessage extends ControlMessage {
         return properties;
     }
 
+    /**
+     * Returns true if the timings of the script should be recorded and sent with the FINISHED event.
+     */
+    public boolean isTimings() {
+        return timings;
+    }
+
+    public void setTimings(boolean timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * Returns true if the pipeline of each accepted stream should be built only as its child channel opens.
+     */
+    public boolean isAcceptDeferred() {
+        return acceptDeferred;
+    }
+
+    public void setAcceptDeferred(boolean acceptDeferred) {
+        this.acceptDeferred = acceptDeferred;
+    }
+
 }
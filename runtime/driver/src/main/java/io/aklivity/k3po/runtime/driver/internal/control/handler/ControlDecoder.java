@@ -27,6 +27,7 @@ import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.handler.codec.replay.ReplayingDecoder;
 
+import io.aklivity.k3po.runtime.driver.internal.buffer.BytesIndexFinder;
 import io.aklivity.k3po.runtime.driver.internal.control.AbortMessage;
 import io.aklivity.k3po.runtime.driver.internal.control.AwaitMessage;
 import io.aklivity.k3po.runtime.driver.internal.control.CloseMessage;
@@ -40,6 +41,9 @@ import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParserImpl;
 
 public class ControlDecoder extends ReplayingDecoder<ControlDecoder.State> {
 
+    private static final byte LF = (byte) 0x0a;
+    private static final BytesIndexFinder LINE_FEED = new BytesIndexFinder(new byte[] { LF });
+
     enum State {
         READ_INITIAL, READ_HEADER, READ_CONTENT
     }
@@ -100,17 +104,26 @@ public class ControlDecoder extends ReplayingDecoder<ControlDecoder.State> {
     }
 
     private String readLine(ChannelBuffer buffer, int maxLength, String errorMessage) {
-        StringBuilder sb = new StringBuilder();
-        byte b = buffer.readByte();
-        while (b != (byte) 0x0a && sb.length() < maxLength) {
-            sb.append((char) b);
-            b = buffer.readByte();
+        // searches the received bytes directly, as the replaying buffer would only probe them one at a time
+        ChannelBuffer received = internalBuffer();
+        int readerIndex = buffer.readerIndex();
+        int toIndex = Math.min(received.writerIndex(), readerIndex + maxLength);
+        int lineFeedAt = LINE_FEED.indexOf(received, readerIndex, toIndex);
+
+        if (lineFeedAt == -1) {
+            if (toIndex - readerIndex >= maxLength) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+
+            // replays once more bytes are received
+            buffer.getByte(toIndex);
         }
 
-        if (sb.length() >= maxLength)
-            throw new IllegalArgumentException(errorMessage);
+        int length = lineFeedAt - readerIndex;
 
-        return sb.toString();
+        String line = buffer.toString(readerIndex, length, UTF_8);
+        buffer.skipBytes(length + 1);
+        return line;
     }
 
     private ControlMessage createMessage(String initialLine) {
@@ -171,6 +184,12 @@ public class ControlDecoder extends ReplayingDecoder<ControlDecoder.State> {
             case "origin":
                 prepareMessage.setOrigin(headerValue);
                 break;
+            case "timings":
+                prepareMessage.setTimings(Boolean.parseBoolean(headerValue));
+                break;
+            case "accept-deferred":
+                prepareMessage.setAcceptDeferred(Boolean.parseBoolean(headerValue));
+                break;
             case "content-length":
                 contentLength = Integer.parseInt(headerValue);
                 if (contentLength > maxContentLength) {
@@ -21,11 +21,15 @@ import static org.jboss.netty.buffer.ChannelBuffers.dynamicBuffer;
 import static org.jboss.netty.buffer.ChannelBuffers.wrappedBuffer;
 import static org.jboss.netty.util.CharsetUtil.UTF_8;
 
+import java.util.List;
+
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.handler.codec.oneone.OneToOneEncoder;
 
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptDiff;
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings.StepTiming;
 import io.aklivity.k3po.runtime.driver.internal.control.ControlMessage;
 import io.aklivity.k3po.runtime.driver.internal.control.ErrorMessage;
 import io.aklivity.k3po.runtime.driver.internal.control.FinishedMessage;
@@ -121,6 +125,29 @@ public class ControlEncoder extends OneToOneEncoder {
                 encodeHeader("awaiting", barrier, buf);
             }
         }
+
+        List<StepTiming> timings = finishedMessage.getTimings();
+        if (timings != null) {
+            // one header per step, named last as the only variable length field
+            for (StepTiming timing : timings) {
+                encodeHeader("timing", format("%d,%d,%d,%d,%s,%s", timing.getStart(), timing.getEnd(),
+                        timing.getStartNanos(), timing.getDurationNanos(), timing.isSuccess() ? "ok" : "failed",
+                        timing.getStep()), buf);
+            }
+        }
+
+        List<ScriptDiff> scriptDiffs = finishedMessage.getScriptDiffs();
+        if (scriptDiffs != null) {
+            // compact, only the regions of the prepared script that differ, followed by their observed text
+            StringBuilder observed = new StringBuilder();
+            for (ScriptDiff scriptDiff : scriptDiffs) {
+                String observedText = scriptDiff.getObserved();
+                encodeHeader("region", format("%d,%d,%d", scriptDiff.getStart(), scriptDiff.getEnd(), observedText.length()), buf);
+                observed.append(observedText);
+            }
+            return encodeContent(observed.toString(), buf);
+        }
+
         return encodeContent(script, buf);
     }
 
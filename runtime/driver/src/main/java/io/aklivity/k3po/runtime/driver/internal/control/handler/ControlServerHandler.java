@@ -15,7 +15,6 @@
  */
 package io.aklivity.k3po.runtime.driver.internal.control.handler;
 
-import static io.aklivity.k3po.runtime.lang.internal.parser.ScriptParseStrategy.PROPERTY_NODE;
 import static java.lang.String.format;
 import static java.lang.Thread.currentThread;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -29,12 +28,15 @@ import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.regex.Pattern;
 
 import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelFutureListener;
@@ -46,8 +48,11 @@ import org.jboss.netty.channel.socket.nio.NioSocketChannel;
 import org.jboss.netty.logging.InternalLogger;
 import org.jboss.netty.logging.InternalLoggerFactory;
 
+import io.aklivity.k3po.runtime.driver.internal.AddressLocks;
 import io.aklivity.k3po.runtime.driver.internal.Robot;
+import io.aklivity.k3po.runtime.driver.internal.ScriptTimingsStatistics;
 import io.aklivity.k3po.runtime.driver.internal.behavior.Barrier;
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings;
 import io.aklivity.k3po.runtime.driver.internal.control.AwaitMessage;
 import io.aklivity.k3po.runtime.driver.internal.control.ErrorMessage;
 import io.aklivity.k3po.runtime.driver.internal.control.FinishedMessage;
@@ -56,8 +61,8 @@ import io.aklivity.k3po.runtime.driver.internal.control.NotifyMessage;
 import io.aklivity.k3po.runtime.driver.internal.control.PrepareMessage;
 import io.aklivity.k3po.runtime.driver.internal.control.PreparedMessage;
 import io.aklivity.k3po.runtime.driver.internal.control.StartedMessage;
-import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParseException;
-import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParserImpl;
+import io.aklivity.k3po.runtime.driver.internal.control.handler.ScriptCache.CompiledScript;
+import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.TransportRuntime;
 
 public class ControlServerHandler extends ControlUpstreamHandler {
 
@@ -68,27 +73,63 @@ public class ControlServerHandler extends ControlUpstreamHandler {
     private static final String ERROR_MSG_ALREADY_PREPARED = "Script already prepared\n";
     private static final String ERROR_MSG_ALREADY_STARTED = "Script has already been started\n";
 
-    // the dispose future of the robot that is executing the current test. Will be used to check when it is disposed 
-    // in order to start this test
+    private static final String VERSION = "2.0";
+    private static final String COMPACT_VERSION = "2.1";
+
+    // the robot that is executing the current test. Its released future is used to check when it has released
+    // its addresses in order to start this test
     private AtomicReference<Robot> activeRobotRef;
-    
+
+    // when present, robots execute concurrently and only wait for each other to release bound addresses
+    private final AddressLocks addressLocks;
+
     private Robot robot;
     private ChannelFutureListener whenAbortedOrFinished;
     
     private volatile boolean isFinishedSent = false;
 
+    // negotiated by the first PREPARE, the compact version pipelines PREPAREs and sends FINISHED as diffs
+    private boolean compact;
+    private String preparedScript;
+    private List<String> preparedScriptNames;
+    private boolean timingsRequested;
+    private final Deque<MessageEvent> pendingPrepares = new ArrayDeque<>();
+
     private final ChannelFuture channelClosedFuture = Channels.future(null);
 
     private ClassLoader scriptLoader;
-    
+
+    private ScriptCache scriptCache;
+
+    private TransportRuntime transportRuntime;
+
+    private ScriptTimingsStatistics timingsStatistics;
+
     public ControlServerHandler(AtomicReference<Robot> activeRobotRef) {
+        this(activeRobotRef, null);
+    }
+
+    public ControlServerHandler(AtomicReference<Robot> activeRobotRef, AddressLocks addressLocks) {
         this.activeRobotRef = activeRobotRef;
+        this.addressLocks = addressLocks;
     }
     
     public void setScriptLoader(ClassLoader scriptLoader) {
         this.scriptLoader = scriptLoader;
     }
 
+    public void setScriptCache(ScriptCache scriptCache) {
+        this.scriptCache = scriptCache;
+    }
+
+    public void setTransportRuntime(TransportRuntime transportRuntime) {
+        this.transportRuntime = transportRuntime;
+    }
+
+    public void setTimingsStatistics(ScriptTimingsStatistics timingsStatistics) {
+        this.timingsStatistics = timingsStatistics;
+    }
+
     // Note that this is more than just the channel close future. It's a future that means not only
     // that this channel has closed but it is a future that tells us when this obj has processed the closed event.
     public ChannelFuture getChannelClosedFuture() {
@@ -106,6 +147,9 @@ public class ControlServerHandler extends ControlUpstreamHandler {
                     activeRobotRef.compareAndSet(robot, null);
                 }
             });
+        } else {
+            channelClosedFuture.setSuccess();
+            ctx.sendUpstream(e);
         }
     }
 
@@ -118,36 +162,39 @@ public class ControlServerHandler extends ControlUpstreamHandler {
                     ctx.getChannel().close();
                 }
             });
+        } else {
+            ctx.getChannel().close();
         }
     }
 
     @Override
     public void prepareReceived(final ChannelHandlerContext ctx, MessageEvent evt) throws Exception {
         if (robot != null && robot.getPreparedFuture() != null) {
-            sendErrorMessage(ctx, ERROR_MSG_ALREADY_PREPARED);
+            if (compact) {
+                // pipelined, prepared when the current script has finished and released its addresses
+                pendingPrepares.offer(evt);
+            } else {
+                sendErrorMessage(ctx, ERROR_MSG_ALREADY_PREPARED);
+            }
             return;
         }
 
         if (robot == null) {
-            robot = new Robot();
+            robot = new Robot(addressLocks, transportRuntime);
         }
 
-        if (activeRobotRef.get() != robot && ! activeRobotRef.compareAndSet(null, robot)) {
+        if (addressLocks == null && activeRobotRef.get() != robot && ! activeRobotRef.compareAndSet(null, robot)) {
             Robot activeRobot = activeRobotRef.get();
             if (activeRobot == null) {
                 // it seems the active robot finished in the mean time, so we will try again
                 prepareReceived(ctx, evt);
             } else {
-                activeRobot.getDisposedFuture().addListener(new ChannelFutureListener() {
+                // start as soon as the active robot has released its addresses, while its channels may still be closing
+                activeRobot.getReleasedFuture().addListener(new ChannelFutureListener() {
                     @Override
                     public void operationComplete(ChannelFuture future) throws Exception {
-                        ((NioSocketChannel) ctx.getChannel()).getWorker().executeInIoThread(() -> {
-                            try {
-                                prepareReceived(ctx, evt);
-                            } catch (Exception e) {
-                                sendErrorMessage(ctx, e);
-                            }
-                        }, true);
+                        activeRobotRef.compareAndSet(activeRobot, null);
+                        executeInIoThread(ctx, () -> prepareReceived(ctx, evt));
                     }
                 });
                 return;
@@ -163,10 +210,11 @@ public class ControlServerHandler extends ControlUpstreamHandler {
 
         // enforce control protocol version
         String version = prepare.getVersion();
-        if (!"2.0".equals(version)) {
+        if (!VERSION.equals(version) && !COMPACT_VERSION.equals(version)) {
             sendVersionError(ctx);
             return;
         }
+        compact = COMPACT_VERSION.equals(version);
 
         List<String> scriptNames = prepare.getNames();
         if (LOGGER.isDebugEnabled()) {
@@ -175,42 +223,50 @@ public class ControlServerHandler extends ControlUpstreamHandler {
 
         whenAbortedOrFinished = whenAbortedOrFinished(ctx);
 
-        String originScript = "";
-        String origin = prepare.getOrigin();
-        if (origin != null) {
-            try {
-                originScript = OriginScript.get(origin);
-            } catch (URISyntaxException e) {
-                throw new Exception("Could not find origin: ", e);
-            }
+        preparedScriptNames = scriptNames;
+        timingsRequested = prepare.isTimings();
+        if (timingsRequested || timingsStatistics != null && timingsStatistics.isTimingsEnabled()) {
+            robot.setTimings(new ScriptTimings());
         }
+        robot.setAcceptDeferred(prepare.isAcceptDeferred());
 
-        ChannelFuture prepareFuture;
-
-        String aggregatedScript = originScript + aggregateScript(scriptNames, scriptLoader);
+        String origin = prepare.getOrigin();
         List<String> properyOverrides = prepare.getProperties();
-        // consider hard fail in the future, when test frameworks support
-        // override per test method
+        List<URL> scriptResources = scriptResources(scriptNames, scriptLoader);
 
-        aggregatedScript = injectOverridenProperties(aggregatedScript, properyOverrides);
+        ChannelFuture prepareFuture;
 
-        if (scriptLoader != null) {
-            Thread currentThread = currentThread();
-            ClassLoader contextClassLoader = currentThread.getContextClassLoader();
-            try {
-                currentThread.setContextClassLoader(scriptLoader);
-                prepareFuture = robot.prepare(aggregatedScript);
-            } finally {
-                currentThread.setContextClassLoader(contextClassLoader);
+        if (scriptCache != null) {
+            ScriptCache.Key scriptKey = new ScriptCache.Key(scriptNames, origin, properyOverrides);
+            CompiledScript leased = scriptCache.lease(scriptKey, scriptResources);
+            if (leased == null) {
+                String aggregatedScript = aggregateScript(origin, scriptResources);
+                ScriptTimings timings = robot.getTimings();
+                leased = withScriptLoader(
+                        () -> scriptCache.compile(scriptKey, scriptResources, aggregatedScript, timings));
             }
+
+            final CompiledScript compiled = leased;
+            robot.getDisposedFuture().addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(ChannelFuture future) throws Exception {
+                    scriptCache.release(compiled);
+                }
+            });
+
+            prepareFuture = withScriptLoader(() -> robot.prepare(compiled.getScript(), compiled.getScriptAST(),
+                    compiled.getPropertyOverrides()));
         } else {
-            prepareFuture = robot.prepare(aggregatedScript);
+            String aggregatedScript = aggregateScript(origin, scriptResources);
+            prepareFuture = withScriptLoader(() -> robot.prepare(aggregatedScript, properyOverrides));
         }
 
-        final String scriptToRun = aggregatedScript;
+        final String scriptToRun = robot.getExpectedScript();
+
         prepareFuture.addListener(new ChannelFutureListener() {
             @Override
             public void operationComplete(final ChannelFuture f) {
+                preparedScript = scriptToRun;
                 PreparedMessage prepared = new PreparedMessage();
                 prepared.setScript(scriptToRun);
                 prepared.getBarriers().addAll(robot.getBarriersByName().keySet());
@@ -219,32 +275,33 @@ public class ControlServerHandler extends ControlUpstreamHandler {
         });
     }
 
-    private String injectOverridenProperties(String aggregatedScript, List<String> scriptProperties)
-            throws Exception, ScriptParseException {
+    private String aggregateScript(String origin, List<URL> scriptResources)
+            throws Exception {
+        String originScript = "";
+        if (origin != null) {
+            try {
+                originScript = OriginScript.get(origin);
+            } catch (URISyntaxException e) {
+                throw new Exception("Could not find origin: ", e);
+            }
+        }
 
-        ScriptParserImpl parser = new ScriptParserImpl();
+        return originScript + aggregateScript(scriptResources);
+    }
 
-        for (String propertyToInject : scriptProperties) {
-            String propertyName = parser.parseWithStrategy(propertyToInject, PROPERTY_NODE).getPropertyName();
-            StringBuilder replacementScript = new StringBuilder();
-            Pattern pattern = Pattern.compile("property\\s+" + propertyName + "\\s+.+");
-            boolean matchFound = false;
-            for (String scriptLine : aggregatedScript.split("\\r?\\n")) {
-                if (pattern.matcher(scriptLine).matches()) {
-                    matchFound = true;
-                    replacementScript.append(propertyToInject + "\n");
-                } else {
-                    replacementScript.append(scriptLine + "\n");
-                }
-            }
-            if (!matchFound) {
-                String errorMsg = "Received " + propertyToInject + " in PREPARE but found no where to substitute it";
-                LOGGER.error(errorMsg);
-                throw new Exception(errorMsg);
+    private <T> T withScriptLoader(Callable<T> task) throws Exception {
+        if (scriptLoader != null) {
+            Thread currentThread = currentThread();
+            ClassLoader contextClassLoader = currentThread.getContextClassLoader();
+            try {
+                currentThread.setContextClassLoader(scriptLoader);
+                return task.call();
+            } finally {
+                currentThread.setContextClassLoader(contextClassLoader);
             }
-            aggregatedScript = replacementScript.toString();
+        } else {
+            return task.call();
         }
-        return aggregatedScript;
     }
 
     /*
@@ -252,12 +309,36 @@ public class ControlServerHandler extends ControlUpstreamHandler {
      */
     public static String aggregateScript(List<String> scriptNames, ClassLoader scriptLoader)
             throws URISyntaxException, IOException {
+        return aggregateScript(scriptResources(scriptNames, scriptLoader));
+    }
+
+    private static String aggregateScript(List<URL> scriptResources) throws URISyntaxException, IOException {
         final StringBuilder aggregatedScript = new StringBuilder();
+        for (URL resource : scriptResources) {
+            String script;
+            URI resourceURI = resource.toURI();
+            if ("file".equals(resourceURI.getScheme())) {
+                Path resourcePath = Paths.get(resourceURI);
+                script = readScript(resourcePath);
+            } else {
+                try (FileSystem fileSystem = newFileSystem(resourceURI, EMPTY_ENVIRONMENT)) {
+                    Path resourcePath = Paths.get(resourceURI);
+                    script = readScript(resourcePath);
+                }
+            }
+
+            aggregatedScript.append(script);
+        }
+        return aggregatedScript.toString();
+    }
+
+    private static List<URL> scriptResources(List<String> scriptNames, ClassLoader scriptLoader) {
+        final List<URL> scriptResources = new ArrayList<>(scriptNames.size());
         for (String scriptName : scriptNames) {
             String scriptNameWithExtension = format("%s.rpt", scriptName);
             Path scriptPath = Paths.get(scriptNameWithExtension);
             scriptNameWithExtension = URI.create(scriptNameWithExtension).normalize().getPath();
-            String script = null;
+            URL resource = null;
 
             assert !scriptPath.isAbsolute();
 
@@ -265,28 +346,16 @@ public class ControlServerHandler extends ControlUpstreamHandler {
             if (scriptLoader != null) {
                 // resolve relative scripts from class loader to support
                 // separated specification projects that include Robot scripts only
-                URL resource = scriptLoader.getResource(scriptNameWithExtension);
-                if (resource != null) {
-                    URI resourceURI = resource.toURI();
-                    if ("file".equals(resourceURI.getScheme())) {
-                        Path resourcePath = Paths.get(resourceURI);
-                        script = readScript(resourcePath);
-                    } else {
-                        try (FileSystem fileSystem = newFileSystem(resourceURI, EMPTY_ENVIRONMENT)) {
-                            Path resourcePath = Paths.get(resourceURI);
-                            script = readScript(resourcePath);
-                        }
-                    }
-                }
+                resource = scriptLoader.getResource(scriptNameWithExtension);
             }
 
-            if (script == null) {
+            if (resource == null) {
                 throw new RuntimeException("Script not found: " + scriptPath);
             }
 
-            aggregatedScript.append(script);
+            scriptResources.add(resource);
         }
-        return aggregatedScript.toString();
+        return scriptResources;
     }
 
     private static String readScript(Path scriptPath) throws IOException {
@@ -409,6 +478,22 @@ public class ControlServerHandler extends ControlUpstreamHandler {
 
         FinishedMessage finishedMessage = new FinishedMessage();
         finishedMessage.setScript(observedScript);
+        if (compact) {
+            // the client already has the prepared script, so only the regions that differ are sent
+            String expectedScript = preparedScript != null ? preparedScript : "";
+            finishedMessage.setScriptDiffs(robot.getObservedDiffs(expectedScript));
+        }
+
+        // timing regions are sent relative to the prepared script, with any property overrides applied
+        List<ScriptTimings.StepTiming> stepTimings = robot.getExpectedTimings();
+        if (stepTimings != null) {
+            if (timingsRequested) {
+                finishedMessage.setTimings(stepTimings);
+            }
+            if (timingsStatistics != null) {
+                timingsStatistics.record(preparedScriptNames, stepTimings);
+            }
+        }
         Map<String, Barrier> barriers = robot.getBarriersByName();
         
         for (String name : barriers.keySet()) {
@@ -418,12 +503,55 @@ public class ControlServerHandler extends ControlUpstreamHandler {
                 finishedMessage.getIncompleteBarriers().add(name);
         }
         writeEvent(ctx, finishedMessage);
+
+        if (compact) {
+            prepareNext(ctx);
+        }
+    }
+
+    private void prepareNext(final ChannelHandlerContext ctx) {
+        final Robot finished = robot;
+        finished.dispose();
+
+        // prepare as soon as the finished robot has released its addresses, while its channels may still be closing
+        finished.getReleasedFuture().addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                executeInIoThread(ctx, () -> {
+                    if (robot == finished) {
+                        robot = null;
+                        whenAbortedOrFinished = null;
+                        preparedScript = null;
+                        preparedScriptNames = null;
+                        timingsRequested = false;
+                        isFinishedSent = false;
+                        activeRobotRef.compareAndSet(finished, null);
+                    }
+
+                    MessageEvent pendingPrepare = pendingPrepares.poll();
+                    if (pendingPrepare != null) {
+                        prepareReceived(ctx, pendingPrepare);
+                    }
+                });
+            }
+        });
+    }
+
+    private void executeInIoThread(final ChannelHandlerContext ctx, final IoTask task) {
+        ((NioSocketChannel) ctx.getChannel()).getWorker().executeInIoThread(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                sendErrorMessage(ctx, e);
+            }
+        }, true);
     }
 
     private void sendVersionError(ChannelHandlerContext ctx) {
         ErrorMessage errorMessage = new ErrorMessage();
         errorMessage.setSummary("Bad control protocol version");
-        errorMessage.setDescription("Robot requires control protocol version 2.0");
+        errorMessage.setDescription(
+                format("Robot requires control protocol version %s or %s", VERSION, COMPACT_VERSION));
         writeEvent(ctx, errorMessage);
     }
 
@@ -437,4 +565,9 @@ public class ControlServerHandler extends ControlUpstreamHandler {
 
         Channels.write(ctx, Channels.future(null), message);
     }
+
+    @FunctionalInterface
+    private interface IoTask {
+        void run() throws Exception;
+    }
 }
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.control.handler;
+
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionRuntime.getExpressionRuntime;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.netty.logging.InternalLogger;
+import org.jboss.netty.logging.InternalLoggerFactory;
+
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings;
+import io.aklivity.k3po.runtime.driver.internal.behavior.parser.Parser;
+import io.aklivity.k3po.runtime.driver.internal.behavior.parser.PropertyOverrides;
+import io.aklivity.k3po.runtime.driver.internal.behavior.parser.ScriptValidator;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstScriptNode;
+import io.aklivity.k3po.runtime.lang.internal.el.ExpressionContext;
+import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParserImpl;
+
+/**
+ * Bounded, least-recently-used cache of parsed and validated scripts.
+ *
+ * Scripts are keyed by script names, origin and property overrides, and each entry remembers the content hash
+ * and last modified time of the script resources it was compiled from, so that a modified script is recompiled.
+ *
+ * A parsed script carries the expression context that properties and captured values are resolved against,
+ * so each compiled script is leased by at most one Robot at a time and its context is reset when released.
+ */
+public final class ScriptCache {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(ScriptCache.class);
+
+    private final Map<Key, CompiledScript> scriptsByKey;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ScriptCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ScriptCache(final int capacity) {
+        this.scriptsByKey = new LinkedHashMap<Key, CompiledScript>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompiledScript> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (scriptsByKey) {
+            return scriptsByKey.size();
+        }
+    }
+
+    /**
+     * Leases the cached script for the given key, if present, unmodified and not already leased.
+     *
+     * @return the leased compiled script, or null if the script needs to be compiled
+     */
+    public CompiledScript lease(Key key, List<URL> resources) throws IOException, URISyntaxException {
+        long[] lastModified = lastModified(resources);
+
+        CompiledScript compiled;
+        synchronized (scriptsByKey) {
+            compiled = scriptsByKey.get(key);
+        }
+
+        if (compiled != null && Arrays.equals(compiled.lastModified, lastModified) && compiled.lease()) {
+            hits.incrementAndGet();
+            return compiled;
+        }
+
+        return null;
+    }
+
+    /**
+     * Leases a compiled script for the given key and script content, reusing the cached script when
+     * the content is unchanged, otherwise parsing the script, overriding its properties and validating it.
+     */
+    public CompiledScript compile(Key key, List<URL> resources, String script) throws Exception {
+        return compile(key, resources, script, null);
+    }
+
+    /**
+     * Leases a compiled script as for {@link #compile(Key, List, String)}, recording the time taken to parse and
+     * validate the script as the "parse" step of the given timings, if the script is not already cached.
+     *
+     * @param timings the timings of the Robot preparing the script, or null
+     */
+    public CompiledScript compile(Key key, List<URL> resources, String script, ScriptTimings timings)
+            throws Exception {
+        long[] lastModified = lastModified(resources);
+        int contentHash = script.hashCode();
+
+        CompiledScript cached;
+        synchronized (scriptsByKey) {
+            cached = scriptsByKey.get(key);
+        }
+
+        if (cached != null && cached.contentHash == contentHash && cached.script.equals(script) && cached.lease()) {
+            // touched but unchanged
+            cached.lastModified = lastModified;
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        misses.incrementAndGet();
+
+        long parseStartNanos = System.nanoTime();
+
+        ExpressionContext environment = new ExpressionContext();
+        ScriptParserImpl scriptParser =
+                new ScriptParserImpl(getExpressionRuntime().getExpressionFactory(), environment);
+        Parser parser = new Parser(scriptParser);
+        AstScriptNode scriptAST = parser.parse(script);
+
+        PropertyOverrides overrides = PropertyOverrides.apply(scriptParser, scriptAST, key.properties);
+
+        ScriptValidator validator = new ScriptValidator();
+        validator.validate(scriptAST);
+
+        if (timings != null) {
+            timings.record("parse", scriptAST.getRegionInfo(), parseStartNanos, true);
+        }
+
+        CompiledScript compiled =
+                new CompiledScript(script, contentHash, lastModified, scriptAST, overrides, environment);
+        compiled.lease();
+
+        synchronized (scriptsByKey) {
+            CompiledScript current = scriptsByKey.get(key);
+            if (current == null || !current.leased.get()) {
+                scriptsByKey.put(key, compiled);
+            }
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Compiled script " + key);
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Releases a leased script, discarding any values resolved while it was leased.
+     */
+    public void release(CompiledScript compiled) {
+        compiled.environment.reset();
+        compiled.leased.set(false);
+    }
+
+    private static long[] lastModified(List<URL> resources) throws IOException, URISyntaxException {
+        long[] lastModified = new long[resources.size()];
+        for (int i = 0; i < lastModified.length; i++) {
+            lastModified[i] = lastModified(resources.get(i));
+        }
+        return lastModified;
+    }
+
+    private static long lastModified(URL resource) throws IOException, URISyntaxException {
+        if ("jar".equals(resource.getProtocol())) {
+            URLConnection connection = resource.openConnection();
+            resource = ((JarURLConnection) connection).getJarFileURL();
+        }
+
+        if ("file".equals(resource.getProtocol())) {
+            return Files.getLastModifiedTime(Paths.get(resource.toURI())).toMillis();
+        }
+
+        return resource.openConnection().getLastModified();
+    }
+
+    public static final class Key {
+
+        private final List<String> names;
+        private final String origin;
+        private final List<String> properties;
+
+        public Key(List<String> names, String origin, List<String> properties) {
+            this.names = new ArrayList<>(names);
+            this.origin = origin;
+            this.properties = new ArrayList<>(properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(names, origin, properties);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key that = (Key) o;
+            return Objects.equals(this.names, that.names) &&
+                    Objects.equals(this.origin, that.origin) &&
+                    Objects.equals(this.properties, that.properties);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s origin=%s properties=%s", names, origin, properties);
+        }
+    }
+
+    public static final class CompiledScript {
+
+        private final String script;
+        private final int contentHash;
+        private final AstScriptNode scriptAST;
+        private final PropertyOverrides overrides;
+        private final ExpressionContext environment;
+        private final AtomicBoolean leased;
+
+        private volatile long[] lastModified;
+
+        private CompiledScript(String script, int contentHash, long[] lastModified, AstScriptNode scriptAST,
+                PropertyOverrides overrides, ExpressionContext environment) {
+            this.script = script;
+            this.contentHash = contentHash;
+            this.lastModified = lastModified;
+            this.scriptAST = scriptAST;
+            this.overrides = overrides;
+            this.environment = environment;
+            this.leased = new AtomicBoolean();
+        }
+
+        public String getScript() {
+            return script;
+        }
+
+        public AstScriptNode getScriptAST() {
+            return scriptAST;
+        }
+
+        public PropertyOverrides getPropertyOverrides() {
+            return overrides;
+        }
+
+        private boolean lease() {
+            return leased.compareAndSet(false, true);
+        }
+    }
+}
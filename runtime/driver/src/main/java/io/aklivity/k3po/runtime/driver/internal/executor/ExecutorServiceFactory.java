@@ -15,6 +15,8 @@
  */
 package io.aklivity.k3po.runtime.driver.internal.executor;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.SortedMap;
@@ -24,8 +26,34 @@ import java.util.concurrent.Executors;
 
 import io.aklivity.k3po.runtime.driver.internal.executor.spi.ExecutorServiceFactorySpi;
 
+/**
+ * Creates executors by name, delegating to the {@link ExecutorServiceFactorySpi} registered for the longest
+ * matching dotted prefix of the name, such as {@code worker} for {@code worker.tcp.client}.
+ *
+ * Transports name their executors {@code <role>.<transport>.<side>}, where role is {@code boss} or {@code worker},
+ * and size their pools with {@link #getThreadCount(String)}, which can be configured per executor name prefix
+ * with system properties, for example {@code -Dk3po.threads.worker=8} or {@code -Dk3po.threads.worker.tcp.client=4}.
+ *
+ * The earlier transport executor names without the transport segment, such as {@code worker.client}, are still
+ * honored as aliases, so a service provider registered for one of those names keeps selecting the matching executors.
+ */
 public final class ExecutorServiceFactory {
 
+    public static final String THREADS_PROPERTY_PREFIX = "k3po.threads.";
+
+    private static final String BOSS_ROLE = "boss";
+
+    private static final Map<String, String> LEGACY_EXECUTOR_NAMES = new HashMap<>();
+
+    static {
+        LEGACY_EXECUTOR_NAMES.put("boss.tcp.client", "boss.client");
+        LEGACY_EXECUTOR_NAMES.put("worker.tcp.client", "worker.client");
+        LEGACY_EXECUTOR_NAMES.put("boss.tcp.server", "boss.server");
+        LEGACY_EXECUTOR_NAMES.put("worker.tcp.server", "worker.server");
+        LEGACY_EXECUTOR_NAMES.put("worker.udp.client", "worker.client");
+        LEGACY_EXECUTOR_NAMES.put("worker.udp.server", "worker.server");
+    }
+
     private final SortedMap<String, ExecutorServiceFactorySpi> executorServiceFactories;
 
     public static ExecutorServiceFactory newInstance(ClassLoader loader) {
@@ -85,11 +113,53 @@ public final class ExecutorServiceFactory {
         return executorServiceFactorySpi.newExecutorService(executorName);
     }
 
+    /**
+     * Returns the number of threads to use for the named executor pool.
+     *
+     * The {@code k3po.threads.<name>} system property is consulted for the executor name and then each
+     * shorter dotted prefix. Otherwise boss pools default to a single thread, and worker pools to the number
+     * of available processors.
+     */
+    public int getThreadCount(String executorName) {
+        for (String path = executorName; !path.isEmpty(); path = parentPath(path)) {
+            String threadCount = System.getProperty(THREADS_PROPERTY_PREFIX + path);
+            if (threadCount != null) {
+                int count;
+                try {
+                    count = Integer.parseInt(threadCount.trim());
+                }
+                catch (NumberFormatException e) {
+                    count = 0;
+                }
+
+                if (count <= 0) {
+                    throw new IllegalArgumentException(String.format("Invalid thread count for executor %s: %s",
+                            path, threadCount));
+                }
+
+                return count;
+            }
+        }
+
+        return executorName.equals(BOSS_ROLE) || executorName.startsWith(BOSS_ROLE + ".")
+                ? 1 : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static String parentPath(String executorPath) {
+        int lastDotAt = executorPath.lastIndexOf('.');
+        return (lastDotAt != -1) ? executorPath.substring(0, lastDotAt) : "";
+    }
+
     private static String findExecutorPath(String executorName, Set<String> executorPaths) {
         if (executorPaths.contains(executorName)) {
             return executorName;
         }
 
+        String legacyExecutorName = LEGACY_EXECUTOR_NAMES.get(executorName);
+        if (legacyExecutorName != null && executorPaths.contains(legacyExecutorName)) {
+            return legacyExecutorName;
+        }
+
         int lastDotAt = executorName.lastIndexOf('.');
         if (lastDotAt != -1) {
             executorName = executorName.substring(0, lastDotAt);
@@ -26,16 +26,18 @@ import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.ServerBootstrap;
 
 public class TlsBootstrapFactorySpi extends BootstrapFactorySpi {
 
+    // shared across scripts, so repeated streams reuse key stores and resume sessions
+    private static final TlsContextCache CONTEXT_CACHE = new TlsContextCache(new SecureRandom());
+
     private final TlsServerChannelSink serverChannelSink;
     private final TlsServerChannelFactory serverChannelFactory;
     private final TlsClientChannelSinkFactory clientChannelSinkFactory;
     private final TlsClientChannelFactory clientChannelFactory;
 
     public TlsBootstrapFactorySpi() {
-        SecureRandom random = new SecureRandom();
-        this.serverChannelSink = new TlsServerChannelSink(random);
+        this.serverChannelSink = new TlsServerChannelSink(CONTEXT_CACHE);
         this.serverChannelFactory = new TlsServerChannelFactory(serverChannelSink);
-        this.clientChannelSinkFactory = new TlsClientChannelSinkFactory(random);
+        this.clientChannelSinkFactory = new TlsClientChannelSinkFactory(CONTEXT_CACHE);
         this.clientChannelFactory = new TlsClientChannelFactory(clientChannelSinkFactory);
     }
 
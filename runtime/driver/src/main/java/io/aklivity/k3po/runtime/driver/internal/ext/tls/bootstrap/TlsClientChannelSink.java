@@ -33,21 +33,14 @@ import static org.jboss.netty.channel.Channels.future;
 import static org.jboss.netty.channel.Channels.pipeline;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.lang.reflect.Method;
 import java.net.URI;
-import java.security.KeyStore;
-import java.security.SecureRandom;
 import java.util.Objects;
 
-import javax.net.ssl.KeyManager;
-import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SNIHostName;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLParameters;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.TrustManagerFactory;
 
 import org.jboss.netty.bootstrap.ClientBootstrap;
 import org.jboss.netty.buffer.ChannelBuffer;
@@ -71,13 +64,13 @@ import io.aklivity.k3po.runtime.driver.internal.netty.channel.WriteAbortEvent;
 
 public class TlsClientChannelSink extends AbstractChannelSink {
 
-    private final SecureRandom random;
+    private final TlsContextCache contextCache;
     private final BootstrapFactory bootstrapFactory;
 
     private Channel transport;
 
-    public TlsClientChannelSink(SecureRandom random, BootstrapFactory bootstrapFactory) {
-        this.random = random;
+    public TlsClientChannelSink(TlsContextCache contextCache, BootstrapFactory bootstrapFactory) {
+        this.contextCache = contextCache;
         this.bootstrapFactory = bootstrapFactory;
     }
 
@@ -138,30 +131,8 @@ public class TlsClientChannelSink extends AbstractChannelSink {
             @Override
             public ChannelPipeline getPipeline() throws Exception {
 
-                KeyManager[] keyManagers = null;
-                if (keyStoreFile != null)
-                {
-                    KeyStore keys = KeyStore.getInstance("JKS");
-                    keys.load(new FileInputStream(keyStoreFile), keyStorePassword);
-
-                    KeyManagerFactory kmf = KeyManagerFactory.getInstance("PKIX");
-                    kmf.init(keys, keyStorePassword);
-                    keyManagers = kmf.getKeyManagers();
-                }
-
-                TrustManager[] trustManagers = null;
-                if (trustStoreFile != null)
-                {
-                    KeyStore trusts = KeyStore.getInstance("JKS");
-                    trusts.load(new FileInputStream(trustStoreFile), trustStorePassword);
-
-                    TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-                    tmf.init(trusts);
-                    trustManagers = tmf.getTrustManagers();
-                }
-
-                SSLContext tlsContext = SSLContext.getInstance("TLS");
-                tlsContext.init(keyManagers, trustManagers, random);
+                SSLContext tlsContext = contextCache.getContext(keyStoreFile, keyStorePassword,
+                        trustStoreFile, trustStorePassword);
 
                 String tlsHostname = tlsLocation.getHost();
                 int tlsPort = tlsLocation.getPort();
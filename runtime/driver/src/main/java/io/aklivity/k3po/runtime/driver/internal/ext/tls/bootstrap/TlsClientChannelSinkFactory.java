@@ -15,18 +15,16 @@
  */
 package io.aklivity.k3po.runtime.driver.internal.ext.tls.bootstrap;
 
-import java.security.SecureRandom;
-
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.BootstrapFactory;
 
 public class TlsClientChannelSinkFactory {
 
-    private final SecureRandom random;
+    private final TlsContextCache contextCache;
     private BootstrapFactory bootstrapFactory;
 
-    public TlsClientChannelSinkFactory(SecureRandom random)
+    public TlsClientChannelSinkFactory(TlsContextCache contextCache)
     {
-        this.random = random;
+        this.contextCache = contextCache;
     }
 
     public void setBootstrapFactory(BootstrapFactory bootstrapFactory) {
@@ -34,6 +32,6 @@ public class TlsClientChannelSinkFactory {
     }
 
     public TlsClientChannelSink newChannelSink() {
-        return new TlsClientChannelSink(random, bootstrapFactory);
+        return new TlsClientChannelSink(contextCache, bootstrapFactory);
     }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.ext.tls.bootstrap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+
+/**
+ * Bounded, least-recently-used cache of initialized {@link SSLContext}s.
+ *
+ * Contexts are keyed by the canonical path, last modified time and length of the key store and trust store,
+ * and a digest of their passwords, so that a modified store is reloaded. Reusing a context also reuses its
+ * client and server session caches, allowing repeated connections to the same peer to resume sessions
+ * instead of performing a full handshake.
+ */
+public final class TlsContextCache {
+
+    public static final int DEFAULT_CAPACITY = 64;
+    public static final int DEFAULT_SESSION_CACHE_SIZE = 1024;
+
+    private final SecureRandom random;
+    private final Map<Key, SSLContext> contextsByKey;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TlsContextCache(SecureRandom random) {
+        this(random, DEFAULT_CAPACITY);
+    }
+
+    public TlsContextCache(SecureRandom random, final int capacity) {
+        this.random = random;
+        this.contextsByKey = new LinkedHashMap<Key, SSLContext>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, SSLContext> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns an initialized context for the given key store and trust store, either of which may be null.
+     */
+    public SSLContext getContext(File keyStoreFile, char[] keyStorePassword, File trustStoreFile, char[] trustStorePassword)
+            throws IOException, GeneralSecurityException {
+        Key key = new Key(keyStoreFile, keyStorePassword, trustStoreFile, trustStorePassword);
+
+        SSLContext context;
+        synchronized (contextsByKey) {
+            context = contextsByKey.get(key);
+        }
+
+        if (context != null) {
+            hits.incrementAndGet();
+            return context;
+        }
+
+        misses.incrementAndGet();
+        context = newContext(keyStoreFile, keyStorePassword, trustStoreFile, trustStorePassword);
+
+        synchronized (contextsByKey) {
+            SSLContext existing = contextsByKey.putIfAbsent(key, context);
+            return existing != null ? existing : context;
+        }
+    }
+
+    private SSLContext newContext(File keyStoreFile, char[] keyStorePassword, File trustStoreFile, char[] trustStorePassword)
+            throws IOException, GeneralSecurityException {
+        KeyManager[] keyManagers = null;
+        if (keyStoreFile != null) {
+            KeyStore keys = loadKeyStore(keyStoreFile, keyStorePassword);
+
+            KeyManagerFactory kmf = KeyManagerFactory.getInstance("PKIX");
+            kmf.init(keys, keyStorePassword);
+            keyManagers = kmf.getKeyManagers();
+        }
+
+        TrustManager[] trustManagers = null;
+        if (trustStoreFile != null) {
+            KeyStore trusts = loadKeyStore(trustStoreFile, trustStorePassword);
+
+            TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            tmf.init(trusts);
+            trustManagers = tmf.getTrustManagers();
+        }
+
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers, trustManagers, random);
+        context.getClientSessionContext().setSessionCacheSize(DEFAULT_SESSION_CACHE_SIZE);
+        context.getServerSessionContext().setSessionCacheSize(DEFAULT_SESSION_CACHE_SIZE);
+
+        return context;
+    }
+
+    private static KeyStore loadKeyStore(File file, char[] password) throws IOException, GeneralSecurityException {
+        KeyStore store = KeyStore.getInstance("JKS");
+        try (InputStream input = new FileInputStream(file)) {
+            store.load(input, password);
+        }
+        return store;
+    }
+
+    private static final class Key {
+
+        private final Store keyStore;
+        private final Store trustStore;
+
+        Key(File keyStoreFile, char[] keyStorePassword, File trustStoreFile, char[] trustStorePassword)
+                throws IOException, GeneralSecurityException {
+            this.keyStore = keyStoreFile != null ? new Store(keyStoreFile, keyStorePassword) : null;
+            this.trustStore = trustStoreFile != null ? new Store(trustStoreFile, trustStorePassword) : null;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyStore, trustStore);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key that = (Key) o;
+            return Objects.equals(this.keyStore, that.keyStore) &&
+                    Objects.equals(this.trustStore, that.trustStore);
+        }
+    }
+
+    private static final class Store {
+
+        private final String path;
+        private final long lastModified;
+        private final long length;
+        private final byte[] passwordDigest;
+
+        Store(File file, char[] password) throws IOException, GeneralSecurityException {
+            this.path = file.getCanonicalPath();
+            this.lastModified = file.lastModified();
+            this.length = file.length();
+            this.passwordDigest = digest(password);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, lastModified, length, Arrays.hashCode(passwordDigest));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Store)) {
+                return false;
+            }
+
+            Store that = (Store) o;
+            return this.lastModified == that.lastModified &&
+                    this.length == that.length &&
+                    Objects.equals(this.path, that.path) &&
+                    Arrays.equals(this.passwordDigest, that.passwordDigest);
+        }
+
+        private static byte[] digest(char[] password) throws GeneralSecurityException {
+            if (password == null) {
+                return null;
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer bytes = UTF_8.encode(CharBuffer.wrap(password));
+            digest.update(bytes);
+            if (bytes.hasArray()) {
+                Arrays.fill(bytes.array(), (byte) 0);
+            }
+            return digest.digest();
+        }
+    }
+}
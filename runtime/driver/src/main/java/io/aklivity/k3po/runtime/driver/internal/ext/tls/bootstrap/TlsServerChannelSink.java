@@ -24,25 +24,18 @@ import static org.jboss.netty.channel.Channels.fireChannelUnbound;
 import static org.jboss.netty.channel.Channels.pipeline;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URI;
-import java.security.KeyStore;
-import java.security.SecureRandom;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
-import javax.net.ssl.KeyManager;
-import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLParameters;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.TrustManagerFactory;
 
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelException;
@@ -64,16 +57,16 @@ import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
 
 public class TlsServerChannelSink extends AbstractServerChannelSink<TlsServerChannel> {
 
-    private final SecureRandom random;
+    private final TlsContextCache contextCache;
     private final ConcurrentNavigableMap<ChannelAddress, TlsServerChannel> tlsBindings;
     private final ConcurrentMap<ChannelAddress, TlsTransport> tlsTransports;
 
-    public TlsServerChannelSink(SecureRandom random) {
-        this(random, new ConcurrentSkipListMap<ChannelAddress, TlsServerChannel>(ChannelAddress.ADDRESS_COMPARATOR));
+    public TlsServerChannelSink(TlsContextCache contextCache) {
+        this(contextCache, new ConcurrentSkipListMap<ChannelAddress, TlsServerChannel>(ChannelAddress.ADDRESS_COMPARATOR));
     }
 
-    private TlsServerChannelSink(SecureRandom random, ConcurrentNavigableMap<ChannelAddress, TlsServerChannel> tlsBindings) {
-        this.random = random;
+    private TlsServerChannelSink(TlsContextCache contextCache, ConcurrentNavigableMap<ChannelAddress, TlsServerChannel> tlsBindings) {
+        this.contextCache = contextCache;
         this.tlsBindings = tlsBindings;
         this.tlsTransports = new ConcurrentHashMap<>();
     }
@@ -107,30 +100,8 @@ public class TlsServerChannelSink extends AbstractServerChannelSink<TlsServerCha
                 @Override
                 public ChannelPipeline getPipeline() throws Exception {
 
-                    KeyManager[] keyManagers = null;
-                    if (keyStoreFile != null)
-                    {
-                        KeyStore keys = KeyStore.getInstance("JKS");
-                        keys.load(new FileInputStream(keyStoreFile), keyStorePassword);
-
-                        KeyManagerFactory kmf = KeyManagerFactory.getInstance("PKIX");
-                        kmf.init(keys, keyStorePassword);
-                        keyManagers = kmf.getKeyManagers();
-                    }
-
-                    TrustManager[] trustManagers = null;
-                    if (trustStoreFile != null)
-                    {
-                        KeyStore trusts = KeyStore.getInstance("JKS");
-                        trusts.load(new FileInputStream(trustStoreFile), trustStorePassword);
-
-                        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-                        tmf.init(trusts);
-                        trustManagers = tmf.getTrustManagers();
-                    }
-
-                    SSLContext tlsContext = SSLContext.getInstance("TLS");
-                    tlsContext.init(keyManagers, trustManagers, random);
+                    SSLContext tlsContext = contextCache.getContext(keyStoreFile, keyStorePassword,
+                            trustStoreFile, trustStorePassword);
 
                     SSLEngine tlsEngine = tlsContext.createSSLEngine();
                     tlsEngine.setUseClientMode(false);
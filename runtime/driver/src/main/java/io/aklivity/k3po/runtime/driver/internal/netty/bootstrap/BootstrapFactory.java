@@ -39,12 +39,21 @@ public final class BootstrapFactory implements ExternalResourceReleasable {
         return newBootstrapFactory(injectables);
     }
 
+    /**
+     * Creates a bootstrap factory with fresh instances of each transport, injected with the given resources.
+     *
+     * When a {@link TransportRuntime} is injected, the transports are instantiated from the service providers
+     * it already discovered and lease their I/O resources from it, instead of creating their own.
+     */
     public static BootstrapFactory newBootstrapFactory(Map<Class<?>, Object> injectables) {
-        ServiceLoader<BootstrapFactorySpi> loader = loadBootstrapFactorySpi();
+        TransportRuntime transportRuntime = (TransportRuntime) injectables.get(TransportRuntime.class);
+        Iterable<BootstrapFactorySpi> bootstrapFactorySpis = (transportRuntime != null)
+                ? transportRuntime.newBootstrapFactorySpis()
+                : loadBootstrapFactorySpi();
 
         // load BootstrapFactorySpi instances
         Map<String, BootstrapFactorySpi> bootstrapFactories = new HashMap<>();
-        for (BootstrapFactorySpi bootstrapFactorySpi : loader) {
+        for (BootstrapFactorySpi bootstrapFactorySpi : bootstrapFactorySpis) {
             String transportName = bootstrapFactorySpi.getTransportName();
             BootstrapFactorySpi oldBootstrapFactorySpi = bootstrapFactories.put(transportName,
                     bootstrapFactorySpi);
@@ -53,7 +62,9 @@ public final class BootstrapFactory implements ExternalResourceReleasable {
             }
         }
 
-        ExecutorServiceFactory executorServiceFactory = ExecutorServiceFactory.newInstance();
+        ExecutorServiceFactory executorServiceFactory = (transportRuntime != null)
+                ? transportRuntime.getExecutorServiceFactory()
+                : ExecutorServiceFactory.newInstance();
 
         // inject resources into BootstrapFactorySpi instances
         BootstrapFactory bootstrapFactory = new BootstrapFactory(bootstrapFactories);
@@ -90,7 +101,7 @@ public final class BootstrapFactory implements ExternalResourceReleasable {
         return bootstrapFactory.newClientBootstrap();
     }
 
-    private static ServiceLoader<BootstrapFactorySpi> loadBootstrapFactorySpi() {
+    static ServiceLoader<BootstrapFactorySpi> loadBootstrapFactorySpi() {
         ClassLoader loader = Thread.currentThread().getContextClassLoader();
         return (loader != null) ? ServiceLoader.load(BootstrapFactorySpi.class, loader) : ServiceLoader.load(BootstrapFactorySpi.class);
     }
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.netty.bootstrap;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.jboss.netty.channel.ChannelFactory;
+import org.jboss.netty.channel.socket.nio.NioClientBossPool;
+import org.jboss.netty.channel.socket.nio.NioClientSocketChannelFactory;
+import org.jboss.netty.channel.socket.nio.NioDatagramWorkerPool;
+import org.jboss.netty.channel.socket.nio.NioServerBossPool;
+import org.jboss.netty.channel.socket.nio.NioServerSocketChannelFactory;
+import org.jboss.netty.channel.socket.nio.NioWorkerPool;
+import org.jboss.netty.util.ExternalResourceReleasable;
+import org.jboss.netty.util.HashedWheelTimer;
+import org.jboss.netty.util.Timer;
+
+import io.aklivity.k3po.runtime.driver.internal.executor.ExecutorServiceFactory;
+
+/**
+ * Long-lived transport resources shared by every Robot created by the same owner.
+ *
+ * The bootstrap factory service providers are discovered once, and the NIO boss and worker pools and the timer
+ * are created on first use, then reused by each {@link BootstrapFactory} created with this runtime as an injectable.
+ * Disposing a Robot therefore only closes the channels opened by its script, while the shared resources are released
+ * together with the runtime.
+ *
+ * Robots also share an executor releasing their resources after they are disposed, shut down together with
+ * the runtime.
+ *
+ * Transports used without an injected runtime create an unshared runtime of their own, so that the NIO resources
+ * are always constructed here.
+ */
+public final class TransportRuntime implements ExternalResourceReleasable {
+
+    private final List<Constructor<? extends BootstrapFactorySpi>> bootstrapFactoryConstructors;
+    private final ExecutorServiceFactory executorServiceFactory;
+    private final Collection<ExternalResourceReleasable> releasables;
+
+    private NioClientSocketChannelFactory tcpClientChannelFactory;
+    private NioServerSocketChannelFactory tcpServerChannelFactory;
+    private NioDatagramWorkerPool udpClientWorkerPool;
+    private NioDatagramWorkerPool udpServerWorkerPool;
+    private Timer timer;
+    private ScheduledExecutorService disposeExecutor;
+    private ScheduledExecutorService rampUpExecutor;
+
+    public TransportRuntime() {
+        this(loadBootstrapFactoryConstructors(), ExecutorServiceFactory.newInstance());
+    }
+
+    /**
+     * Creates an unshared runtime for a single transport, which leases NIO resources created with the given
+     * executor service factory but does not discover the bootstrap factory service providers.
+     */
+    public TransportRuntime(ExecutorServiceFactory executorServiceFactory) {
+        this(Collections.<Constructor<? extends BootstrapFactorySpi>>emptyList(), executorServiceFactory);
+    }
+
+    private TransportRuntime(
+            List<Constructor<? extends BootstrapFactorySpi>> bootstrapFactoryConstructors,
+            ExecutorServiceFactory executorServiceFactory) {
+        this.bootstrapFactoryConstructors = bootstrapFactoryConstructors;
+        this.executorServiceFactory = executorServiceFactory;
+        this.releasables = new ConcurrentLinkedDeque<>();
+    }
+
+    public ExecutorServiceFactory getExecutorServiceFactory() {
+        return executorServiceFactory;
+    }
+
+    public synchronized NioClientSocketChannelFactory getTcpClientChannelFactory() {
+        if (tcpClientChannelFactory == null) {
+            NioClientBossPool bossPool = new NioClientBossPool(
+                    executorServiceFactory.newExecutorService("boss.tcp.client"),
+                    executorServiceFactory.getThreadCount("boss.tcp.client"));
+            NioWorkerPool workerPool = new NioWorkerPool(
+                    executorServiceFactory.newExecutorService("worker.tcp.client"),
+                    executorServiceFactory.getThreadCount("worker.tcp.client"));
+            tcpClientChannelFactory = new NioClientSocketChannelFactory(bossPool, workerPool);
+            releasables.add(tcpClientChannelFactory);
+        }
+        return tcpClientChannelFactory;
+    }
+
+    public synchronized NioServerSocketChannelFactory getTcpServerChannelFactory() {
+        if (tcpServerChannelFactory == null) {
+            NioServerBossPool bossPool = new NioServerBossPool(
+                    executorServiceFactory.newExecutorService("boss.tcp.server"),
+                    executorServiceFactory.getThreadCount("boss.tcp.server"));
+            NioWorkerPool workerPool = new NioWorkerPool(
+                    executorServiceFactory.newExecutorService("worker.tcp.server"),
+                    executorServiceFactory.getThreadCount("worker.tcp.server"));
+            tcpServerChannelFactory = new NioServerSocketChannelFactory(bossPool, workerPool);
+            releasables.add(tcpServerChannelFactory);
+        }
+        return tcpServerChannelFactory;
+    }
+
+    public synchronized NioDatagramWorkerPool getUdpClientWorkerPool() {
+        if (udpClientWorkerPool == null) {
+            udpClientWorkerPool = new NioDatagramWorkerPool(
+                    executorServiceFactory.newExecutorService("worker.udp.client"),
+                    executorServiceFactory.getThreadCount("worker.udp.client"));
+            releasables.add(udpClientWorkerPool);
+        }
+        return udpClientWorkerPool;
+    }
+
+    public synchronized NioDatagramWorkerPool getUdpServerWorkerPool() {
+        if (udpServerWorkerPool == null) {
+            udpServerWorkerPool = new NioDatagramWorkerPool(
+                    executorServiceFactory.newExecutorService("worker.udp.server"),
+                    executorServiceFactory.getThreadCount("worker.udp.server"));
+            releasables.add(udpServerWorkerPool);
+        }
+        return udpServerWorkerPool;
+    }
+
+    public synchronized Timer getTimer() {
+        if (timer == null) {
+            timer = new HashedWheelTimer();
+        }
+        return timer;
+    }
+
+    /**
+     * Returns the executor used by Robots to release their resources off the I/O threads once disposed.
+     */
+    public synchronized ScheduledExecutorService getDisposeExecutor() {
+        if (disposeExecutor == null) {
+            disposeExecutor = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "k3po-robot-dispose");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return disposeExecutor;
+    }
+
+    /**
+     * Returns the executor used by stream templates to start paced instances off the I/O threads.
+     */
+    public synchronized ScheduledExecutorService getRampUpExecutor() {
+        if (rampUpExecutor == null) {
+            rampUpExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "k3po-stream-template");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return rampUpExecutor;
+    }
+
+    /**
+     * Returns new, uninjected instances of each bootstrap factory service provider.
+     */
+    List<BootstrapFactorySpi> newBootstrapFactorySpis() {
+        List<BootstrapFactorySpi> bootstrapFactorySpis = new ArrayList<>(bootstrapFactoryConstructors.size());
+        for (Constructor<? extends BootstrapFactorySpi> constructor : bootstrapFactoryConstructors) {
+            try {
+                bootstrapFactorySpis.add(constructor.newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new BootstrapException(String.format("Unable to create transport bootstrap factory: %s",
+                        constructor.getDeclaringClass().getName()), e);
+            }
+        }
+        return bootstrapFactorySpis;
+    }
+
+    /**
+     * Shuts down the NIO boss and worker pools created so far, without releasing their executors.
+     */
+    public synchronized void shutdown() {
+        for (ExternalResourceReleasable releasable : releasables) {
+            if (releasable instanceof ChannelFactory) {
+                ((ChannelFactory) releasable).shutdown();
+            } else if (releasable instanceof NioDatagramWorkerPool) {
+                ((NioDatagramWorkerPool) releasable).shutdown();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void releaseExternalResources() {
+        for (ExternalResourceReleasable releasable : releasables) {
+            releasable.releaseExternalResources();
+        }
+        releasables.clear();
+
+        if (timer != null) {
+            timer.stop();
+        }
+
+        if (disposeExecutor != null) {
+            // cancels pending linger timeouts, as the channels are closed with the channel factories
+            disposeExecutor.shutdownNow();
+        }
+
+        if (rampUpExecutor != null) {
+            rampUpExecutor.shutdownNow();
+        }
+
+        tcpClientChannelFactory = null;
+        tcpServerChannelFactory = null;
+        udpClientWorkerPool = null;
+        udpServerWorkerPool = null;
+        timer = null;
+        disposeExecutor = null;
+        rampUpExecutor = null;
+    }
+
+    private static List<Constructor<? extends BootstrapFactorySpi>> loadBootstrapFactoryConstructors() {
+        List<Constructor<? extends BootstrapFactorySpi>> constructors = new ArrayList<>();
+        for (BootstrapFactorySpi bootstrapFactorySpi : BootstrapFactory.loadBootstrapFactorySpi()) {
+            try {
+                constructors.add(bootstrapFactorySpi.getClass().getConstructor());
+            } catch (NoSuchMethodException e) {
+                throw new BootstrapException(String.format("Unable to create transport bootstrap factory: %s",
+                        bootstrapFactorySpi.getClass().getName()), e);
+            }
+        }
+        return constructors;
+    }
+}
@@ -56,11 +56,11 @@ public final class FileBootstrapFactorySpi extends BootstrapFactorySpi implement
 
     @Override
     public void shutdown() {
-        // ignore
+        channelFactory.shutdown();
     }
 
     @Override
     public void releaseExternalResources() {
-        // ignore
+        channelFactory.releaseExternalResources();
     }
 }
@@ -17,10 +17,10 @@ package io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.file;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.ChannelException;
 import org.jboss.netty.channel.ChannelFactory;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.channel.ChannelPipeline;
-import org.jboss.netty.channel.ChannelSink;
 import org.jboss.netty.channel.Channels;
 import org.jboss.netty.channel.MessageEvent;
 import org.jboss.netty.channel.UpstreamMessageEvent;
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.net.URI;
 import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel.MapMode;
 
 import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
@@ -48,8 +49,33 @@ public final class FileChannel extends AbstractChannel<FileChannelConfig> {
     private ChannelBuffer readBuffer;
     private ChannelBuffer writeBuffer;
 
-    FileChannel(ChannelFactory factory, ChannelPipeline pipeline, ChannelSink sink) {
+    // Each buffer is a window onto the file, mapped from its base offset, so that files larger than
+    // a single mapping can be read and written; windows are shared when their base offsets are equal.
+    // Writes continue into the next window, and reads continue into the next window once the read window
+    // has been received. Windows only ever written are unmapped as soon as they are replaced, but slices of
+    // read windows may still be referenced by received messages and decoders, so read windows are retired
+    // to the sink and unmapped when it shuts down, after the script pipelines have been torn down
+    private final FileChannelSink sink;
+    private java.nio.channels.FileChannel file;
+    private MapMode mapMode;
+    private long fileSize;
+    private long windowSize;
+    private boolean force;
+    private MappedByteBuffer readWindow;
+    private long readBase;
+    private MappedByteBuffer writeWindow;
+    private long writeBase;
+    private boolean writeWindowRead;
+
+    // When tailing, the read buffer is only readable up to the position advanced by the producer,
+    // and its reader index marks the bytes already received by the script. The producer must store the
+    // position with release semantics after writing the bytes it covers, such as an ordered or volatile
+    // store, at an 8-byte aligned offset, since the position is read with volatile semantics before the bytes are read
+    private MappedByteBuffer positionWindow;
+
+    FileChannel(ChannelFactory factory, ChannelPipeline pipeline, FileChannelSink sink) {
         super(null, factory, pipeline, sink, new DefaultFileChannelConfig());
+        this.sink = sink;
 
         fireChannelOpen(this);
     }
@@ -66,8 +92,7 @@ public final class FileChannel extends AbstractChannel<FileChannelConfig> {
 
     @Override
     protected boolean setClosed() {
-        // Do we need to call MappedByteBuffer#force() ?
-        // Also unmap the memory mapper buffer without waiting for GC ??
+        closeFile();
         return super.setClosed();
     }
 
@@ -82,43 +107,137 @@ public final class FileChannel extends AbstractChannel<FileChannelConfig> {
         return localAddress != null ? localAddress.toString() : super.toString();
     }
 
-    void write(ChannelBuffer channelBuffer) {
-        writeBuffer.writeBytes(channelBuffer);
+    synchronized void write(ChannelBuffer channelBuffer) throws IOException {
+        ensureOpen();
+
+        long writeOffset = writeBase + writeBuffer.writerIndex();
+        if (channelBuffer.readableBytes() > fileSize - writeOffset) {
+            String msg = String.format("Writing %d bytes at offset = %d exceeds file = %s size = %d",
+                    channelBuffer.readableBytes(), writeOffset, getLocalAddress(), fileSize);
+            throw new IndexOutOfBoundsException(msg);
+        }
+
+        while (channelBuffer.readable()) {
+            if (!writeBuffer.writable()) {
+                mapWriteWindow(writeBase + writeBuffer.writerIndex());
+            }
+            int length = Math.min(channelBuffer.readableBytes(), writeBuffer.writableBytes());
+            writeBuffer.writeBytes(channelBuffer, length);
+        }
     }
 
-    public void setWriteOffset(int offset) {
-        writeBuffer.writerIndex(offset);
+    public synchronized void setWriteOffset(long offset) throws IOException {
+        ensureOpen();
+
+        if (offset >= writeBase && offset - writeBase < writeBuffer.capacity()) {
+            writeBuffer.writerIndex((int) (offset - writeBase));
+        } else {
+            mapWriteWindow(offset);
+        }
     }
 
-    public void setReadOffset(int offset) {
-        readBuffer.readerIndex(offset);
+    public synchronized void setReadOffset(long offset) throws IOException {
+        ensureOpen();
+
+        if (offset < readBase || offset - readBase >= readBuffer.capacity()) {
+            mapReadWindow(offset);
+        }
+
+        int readIndex = (int) (offset - readBase);
+        if (isTailing()) {
+            readBuffer.setIndex(readIndex, Math.max(readIndex, readBuffer.writerIndex()));
+        } else {
+            readBuffer.readerIndex(readIndex);
+        }
     }
 
-    public void fireMessageReceived(ChannelHandlerContext ctx) {
-        Channels.fireMessageReceived(ctx, readBuffer, ctx.getChannel().getRemoteAddress());
+    public synchronized void fireMessageReceived(ChannelHandlerContext ctx) {
+        if (isTailing()) {
+            ChannelBuffer message = readBuffer.readSlice(readBuffer.readableBytes());
+            Channels.fireMessageReceived(ctx, message, ctx.getChannel().getRemoteAddress());
+        } else {
+            try {
+                do {
+                    Channels.fireMessageReceived(ctx, readBuffer, ctx.getChannel().getRemoteAddress());
+                } while (nextReadWindow());
+            } catch (IOException e) {
+                Channels.fireExceptionCaught(ctx, e);
+            }
+        }
     }
 
-    void fireMessageReceived(FileChannel fileChannel, ChannelAddress fileAddress) {
-        MessageEvent msg = new UpstreamMessageEvent(fileChannel, fileChannel.readBuffer, fileAddress);
-        fileChannel.getPipeline().sendUpstream(msg);
+    public boolean isTailing() {
+        return positionWindow != null;
     }
 
-    void mapFile() throws IOException {
-        FileChannelAddress address = (FileChannelAddress) getLocalAddress();
-        MappedByteBuffer mappedBuffer = mapFile(address.getLocation(), address.mode(), address.size());
-        readBuffer = ChannelBuffers.wrappedBuffer(mappedBuffer);
-        setReadOffset(0);
-        writeBuffer = ChannelBuffers.wrappedBuffer(mappedBuffer);
-        setWriteOffset(0);
+    /**
+     * Makes readable any bytes up to the position most recently advanced by the producer,
+     * and fires them as a message without copying.
+     *
+     * Called by the {@link FileTailer} thread, so unlike other file channel events, which are fired on the thread
+     * requesting the operation, tailed messages are received on the tailer thread.
+     *
+     * @return true if the producer advanced
+     */
+    boolean tail() {
+        ChannelBuffer message;
+        synchronized (this) {
+            if (readWindow == null) {
+                // closed
+                return false;
+            }
+
+            try {
+                if (readBuffer.writerIndex() == readBuffer.capacity() && !nextReadWindow()) {
+                    return false;
+                }
+            } catch (IOException e) {
+                throw new ChannelException(e.getMessage(), e);
+            }
+
+            long producerPosition = FileMappings.getLongVolatile(positionWindow, 0);
+            int readLimit = (int) Math.max(0L, Math.min(producerPosition - readBase, readBuffer.capacity()));
+            if (readLimit <= readBuffer.writerIndex()) {
+                return false;
+            }
+
+            readBuffer.writerIndex(readLimit);
+            message = readBuffer.readable() ? readBuffer.readSlice(readBuffer.readableBytes()) : null;
+        }
+
+        if (message != null) {
+            Channels.fireMessageReceived(this, message, getLocalAddress());
+        }
+        return true;
     }
 
-    private static MappedByteBuffer mapFile(URI fileAddress, String mode, long size) throws IOException {
-        if (fileAddress.isOpaque()) {
-            // robot scripts specify relative file uri as opaque !
-            URI currentDir = new File(".").toURI();
-            fileAddress = currentDir.resolve(fileAddress.getSchemeSpecificPart());
+    synchronized void fireMessageReceived(FileChannel fileChannel, ChannelAddress fileAddress) {
+        try {
+            do {
+                MessageEvent msg = new UpstreamMessageEvent(fileChannel, fileChannel.readBuffer, fileAddress);
+                fileChannel.getPipeline().sendUpstream(msg);
+            } while (fileChannel.nextReadWindow());
+        } catch (IOException e) {
+            Channels.fireExceptionCaught(fileChannel, e);
         }
-        File location = new File(fileAddress);
+    }
+
+    // Maps the next read window once the read window has been received and the channel is still open
+    private boolean nextReadWindow() throws IOException {
+        long nextBase = readBase + readBuffer.capacity();
+        if (file == null || readBuffer.readable() || nextBase >= fileSize) {
+            return false;
+        }
+
+        mapReadWindow(nextBase);
+        return true;
+    }
+
+    void mapFile() throws IOException {
+        FileChannelAddress address = (FileChannelAddress) getLocalAddress();
+        File location = toFile(address.getLocation());
+        String mode = address.mode();
+        long size = address.size();
 
         if (!location.exists()) {
             if (mode.equals("r")) {
@@ -131,7 +250,6 @@ public final class FileChannel extends AbstractChannel<FileChannelConfig> {
             }
         }
 
-        MapMode mapMode;
         switch (mode) {
             case "r":
                 mapMode = READ_ONLY;
@@ -146,15 +264,118 @@ public final class FileChannel extends AbstractChannel<FileChannelConfig> {
                 throw new IllegalArgumentException(String.format("Unknown mode = %s for file = %s", mode, location));
         }
 
-        try (RandomAccessFile file = new RandomAccessFile(location, mode);
-             java.nio.channels.FileChannel channel = file.getChannel()) {
-
+        RandomAccessFile randomAccessFile = new RandomAccessFile(location, mode);
+        try {
             if (size == 0) {
-                size = channel.size();
+                size = randomAccessFile.length();
+            } else if (mapMode == READ_WRITE && randomAccessFile.length() < size) {
+                randomAccessFile.setLength(size);
+            }
+
+            file = randomAccessFile.getChannel();
+            fileSize = size;
+            windowSize = address.window();
+            force = address.force() && mapMode == READ_WRITE;
+
+            mapReadWindow(0L);
+            mapWriteWindow(0L);
+
+            long position = address.position();
+            if (position >= 0) {
+                if (position > fileSize - Long.BYTES) {
+                    String msg = String.format("Position offset = %d is outside file = %s", position, location);
+                    throw new IllegalArgumentException(msg);
+                }
+                positionWindow = file.map(mapMode, position, Long.BYTES);
+                readBuffer.setIndex(0, 0);
+            }
+        } catch (IOException | RuntimeException e) {
+            closeFile();
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    private void mapReadWindow(long offset) throws IOException {
+        boolean shared = writeWindow != null && writeBase == offset;
+        MappedByteBuffer window = shared ? writeWindow : mapWindow(offset);
+        releaseWindow(readWindow, writeWindow, true);
+        writeWindowRead |= shared;
+        readWindow = window;
+        readBase = offset;
+        readBuffer = ChannelBuffers.wrappedBuffer(window);
+        if (isTailing()) {
+            readBuffer.setIndex(0, 0);
+        }
+    }
+
+    private void mapWriteWindow(long offset) throws IOException {
+        boolean shared = readWindow != null && readBase == offset;
+        MappedByteBuffer window = shared ? readWindow : mapWindow(offset);
+        releaseWindow(writeWindow, readWindow, writeWindowRead);
+        writeWindowRead = shared;
+        writeWindow = window;
+        writeBase = offset;
+        writeBuffer = ChannelBuffers.wrappedBuffer(window);
+        writeBuffer.writerIndex(0);
+    }
+
+    private MappedByteBuffer mapWindow(long offset) throws IOException {
+        if (offset < 0 || offset > fileSize) {
+            String msg = String.format("Offset = %d is outside file = %s size = %d", offset, getLocalAddress(), fileSize);
+            throw new IndexOutOfBoundsException(msg);
+        }
+        return file.map(mapMode, offset, Math.min(windowSize, fileSize - offset));
+    }
+
+    private void releaseWindow(MappedByteBuffer window, MappedByteBuffer sharedWindow, boolean read) {
+        if (window != null && window != sharedWindow) {
+            if (force) {
+                window.force();
+            }
+
+            if (read) {
+                sink.retire(window);
+            } else {
+                FileMappings.unmap(window);
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (file == null) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    private synchronized void closeFile() {
+        releaseWindow(readWindow, writeWindow, true);
+        releaseWindow(writeWindow, null, writeWindowRead);
+        if (positionWindow != null) {
+            // only read while tailing, which stops once the read window is closed
+            FileMappings.unmap(positionWindow);
+        }
+        readWindow = null;
+        writeWindow = null;
+        positionWindow = null;
+
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // ignore, mappings are released separately
             }
+            file = null;
+        }
+    }
 
-            return channel.map(mapMode, 0, size);
+    private static File toFile(URI fileAddress) {
+        if (fileAddress.isOpaque()) {
+            // robot scripts specify relative file uri as opaque !
+            URI currentDir = new File(".").toURI();
+            fileAddress = currentDir.resolve(fileAddress.getSchemeSpecificPart());
         }
+        return new File(fileAddress);
     }
 
 }
@@ -28,10 +28,12 @@ public class FileChannelFactory implements ChannelFactory {
 
     @Override
     public void shutdown() {
+        fileChannelSink.shutdown();
     }
 
     @Override
     public void releaseExternalResources() {
+        shutdown();
     }
 
 }
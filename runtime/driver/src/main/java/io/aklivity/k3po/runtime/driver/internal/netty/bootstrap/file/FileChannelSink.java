@@ -27,12 +27,21 @@ import org.jboss.netty.logging.InternalLoggerFactory;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.channel.AbstractChannelSink;
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
 
+import java.nio.MappedByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 import static org.jboss.netty.channel.Channels.fireChannelBound;
 
 public class FileChannelSink extends AbstractChannelSink {
 
     private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(FileChannelSink.class);
 
+    private final FileTailer tailer = new FileTailer();
+
+    // mappings that may still be referenced by received messages and decoders, unmapped on shutdown
+    private final Queue<MappedByteBuffer> retiredMappings = new ConcurrentLinkedQueue<>();
+
     @Override
     protected void connectRequested(ChannelPipeline pipeline, ChannelStateEvent evt) throws Exception {
         if (LOGGER.isDebugEnabled()) {
@@ -59,9 +68,14 @@ public class FileChannelSink extends AbstractChannelSink {
         fileChannel.setConnected();
         Channels.fireChannelConnected(fileChannel, fileAddress);
 
-        // Send a read event using memory mapped buffer contents so that reads in the
-        // scripts can be matched
-        fileChannel.fireMessageReceived(fileChannel, fileAddress);
+        if (fileChannel.isTailing()) {
+            // Send read events as the producer advances its position, starting with any bytes already produced
+            tailer.register(fileChannel);
+        } else {
+            // Send a read event using memory mapped buffer contents so that reads in the
+            // scripts can be matched
+            fileChannel.fireMessageReceived(fileChannel, fileAddress);
+        }
     }
 
     @Override
@@ -87,8 +101,25 @@ public class FileChannelSink extends AbstractChannelSink {
         }
         FileChannel fileChannel = (FileChannel) evt.getChannel();
         ChannelFuture closeFuture = evt.getFuture();
+        tailer.unregister(fileChannel);
         fileChannel.setClosed();
         closeFuture.setSuccess();
     }
 
+    /**
+     * Unmaps the given mapping once the channels of this sink can no longer access it, when the sink is shut down
+     * after the script pipelines have been torn down.
+     */
+    void retire(MappedByteBuffer mapping) {
+        retiredMappings.add(mapping);
+    }
+
+    void shutdown() {
+        tailer.close();
+
+        for (MappedByteBuffer mapping = retiredMappings.poll(); mapping != null; mapping = retiredMappings.poll()) {
+            FileMappings.unmap(mapping);
+        }
+    }
+
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.file;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+
+import org.jboss.netty.logging.InternalLogger;
+import org.jboss.netty.logging.InternalLoggerFactory;
+
+/**
+ * Releases memory mappings deterministically, rather than waiting for the mapped buffers to be garbage collected,
+ * and reads values shared with other processes through a mapping with ordered memory semantics.
+ *
+ * A released mapping must no longer be accessed, including through any duplicates or slices.
+ */
+final class FileMappings {
+
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(FileMappings.class);
+
+    private static final Unmapper UNMAPPER = newUnmapper();
+    private static final LongReader LONG_READER = newLongReader();
+
+    private FileMappings() {
+        // utility
+    }
+
+    static void unmap(MappedByteBuffer mapping) {
+        try {
+            UNMAPPER.unmap(mapping);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Unable to unmap file, mapping released when garbage collected", e);
+            }
+        }
+    }
+
+    /**
+     * Reads the little-endian long at the given index of the mapping with volatile semantics, so that bytes
+     * stored before the writer released the value with an ordered store are visible once the value is observed.
+     *
+     * Falls back to a plain read when {@code sun.misc.Unsafe} is not available.
+     */
+    static long getLongVolatile(MappedByteBuffer mapping, int index) {
+        try {
+            return LONG_READER.getLongVolatile(mapping, index);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Unable to read mapped long with volatile semantics, using plain read", e);
+            }
+            return mapping.duplicate().order(LITTLE_ENDIAN).getLong(index);
+        }
+    }
+
+    private static LongReader newLongReader() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            Method objectFieldOffset = unsafeClass.getMethod("objectFieldOffset", Field.class);
+            long addressOffset = (long) objectFieldOffset.invoke(unsafe, Buffer.class.getDeclaredField("address"));
+            Method getLong = unsafeClass.getMethod("getLong", Object.class, long.class);
+            Method getLongVolatile = unsafeClass.getMethod("getLongVolatile", Object.class, long.class);
+            boolean swapBytes = ByteOrder.nativeOrder() != LITTLE_ENDIAN;
+            return (mapping, index) -> {
+                long address = (long) getLong.invoke(unsafe, mapping, addressOffset);
+                long value = (long) getLongVolatile.invoke(unsafe, null, address + index);
+                return swapBytes ? Long.reverseBytes(value) : value;
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return (mapping, index) -> mapping.duplicate().order(LITTLE_ENDIAN).getLong(index);
+        }
+    }
+
+    private static Unmapper newUnmapper() {
+        try {
+            // Java 9+
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", java.nio.ByteBuffer.class);
+            return mapping -> invokeCleaner.invoke(unsafe, mapping);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            try {
+                // Java 8
+                Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+                return mapping -> clean.invoke(cleaner.invoke(mapping));
+            } catch (ReflectiveOperationException | RuntimeException e2) {
+                return mapping -> { };
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Unmapper {
+        void unmap(MappedByteBuffer mapping) throws ReflectiveOperationException;
+    }
+
+    @FunctionalInterface
+    private interface LongReader {
+        long getLongVolatile(MappedByteBuffer mapping, int index) throws ReflectiveOperationException;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.file;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.jboss.netty.channel.Channels.fireExceptionCaught;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Polls tailing file channels for producer progress on a single thread.
+ *
+ * The thread runs only while at least one channel is tailing. When no producer has advanced, it backs off
+ * from spinning, to yielding, to parking for exponentially longer periods, so that a quiet file costs little
+ * while progress is still observed with low latency shortly after the producer becomes active.
+ *
+ * Messages for the bytes produced are fired on the tailer thread, since file channels have no I/O worker.
+ */
+final class FileTailer implements Runnable {
+
+    private static final int MAX_SPINS = 20;
+    private static final int MAX_YIELDS = 50;
+    private static final long MIN_PARK_NANOS = MICROSECONDS.toNanos(1);
+    private static final long MAX_PARK_NANOS = MILLISECONDS.toNanos(1);
+
+    private final Set<FileChannel> channels;
+
+    private Thread thread;
+    private volatile boolean closed;
+
+    FileTailer() {
+        this.channels = new CopyOnWriteArraySet<>();
+    }
+
+    synchronized void register(FileChannel channel) {
+        if (closed) {
+            throw new IllegalStateException("File tailer closed");
+        }
+
+        channels.add(channel);
+
+        if (thread == null) {
+            thread = new Thread(this, "k3po-file-tailer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    void unregister(FileChannel channel) {
+        channels.remove(channel);
+    }
+
+    void close() {
+        Thread thread;
+        synchronized (this) {
+            closed = true;
+            channels.clear();
+            thread = this.thread;
+        }
+
+        if (thread != null && thread != Thread.currentThread()) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        int idleCount = 0;
+        long parkNanos = MIN_PARK_NANOS;
+
+        while (!isIdle()) {
+            boolean progress = false;
+            for (FileChannel channel : channels) {
+                try {
+                    progress |= channel.tail();
+                } catch (RuntimeException e) {
+                    channels.remove(channel);
+                    fireExceptionCaught(channel, e);
+                }
+            }
+
+            if (progress) {
+                idleCount = 0;
+                parkNanos = MIN_PARK_NANOS;
+            } else if (idleCount < MAX_SPINS) {
+                idleCount++;
+            } else if (idleCount < MAX_SPINS + MAX_YIELDS) {
+                idleCount++;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(this, parkNanos);
+                parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS);
+            }
+        }
+    }
+
+    private boolean isIdle() {
+        if (!closed && !channels.isEmpty()) {
+            return false;
+        }
+
+        synchronized (this) {
+            if (closed || channels.isEmpty()) {
+                // registering another channel starts a new thread
+                thread = null;
+                return true;
+            }
+            return false;
+        }
+    }
+}
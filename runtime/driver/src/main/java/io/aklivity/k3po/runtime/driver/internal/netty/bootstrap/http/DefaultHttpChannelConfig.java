@@ -37,6 +37,7 @@ public class DefaultHttpChannelConfig extends DefaultChannelConfig implements Ht
     private QueryStringDecoder readQuery;
     private QueryStringEncoder writeQuery;
     private HttpHeaders writeTrailers;
+    private boolean keepAlive;
 
     @Override
     public void setMethod(HttpMethod method) {
@@ -149,4 +150,25 @@ public class DefaultHttpChannelConfig extends DefaultChannelConfig implements Ht
         }
         return readHeaders;
     }
+
+    @Override
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    @Override
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    @Override
+    protected boolean setOption0(String key, Object value) {
+        if ("keepalive".equals(key)) {
+            keepAlive = Boolean.valueOf(value.toString());
+        } else {
+            return super.setOption0(key, value);
+        }
+
+        return true;
+    }
 }
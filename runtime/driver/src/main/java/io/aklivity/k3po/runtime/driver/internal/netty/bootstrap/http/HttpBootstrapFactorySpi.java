@@ -69,7 +69,8 @@ public class HttpBootstrapFactorySpi extends BootstrapFactorySpi {
 
     @Override
     public void shutdown() {
-        // ignore, no external resources to shutdown as it always runs on top of another transport (tcp)
+        // close client transports, including any kept alive for reuse, as the underlying transport may be shared
+        clientChannelSinkFactory.shutdown();
     }
 
     @Override
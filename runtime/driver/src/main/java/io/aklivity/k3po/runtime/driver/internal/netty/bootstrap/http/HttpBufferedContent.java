@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.http;
+
+import static org.jboss.netty.buffer.ChannelBuffers.EMPTY_BUFFER;
+import static org.jboss.netty.buffer.ChannelBuffers.wrappedBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelLocal;
+
+/**
+ * Accumulates HTTP content written before the content length is known.
+ *
+ * Each write is appended without copying, and the content is materialized once as a composite buffer
+ * when the message is flushed, so buffering content written in many parts costs time linear in its length.
+ */
+public final class HttpBufferedContent {
+
+    private static final ChannelLocal<AtomicLong> BUFFERED_BYTES = new ChannelLocal<AtomicLong>(true) {
+        @Override
+        protected AtomicLong initialValue(Channel channel) {
+            return new AtomicLong();
+        }
+    };
+
+    private final Channel channel;
+    private final int maximumLength;
+    private final List<ChannelBuffer> buffers;
+    private int readableBytes;
+
+    HttpBufferedContent(Channel channel, int maximumLength) {
+        this.channel = channel;
+        this.maximumLength = maximumLength;
+        this.buffers = new ArrayList<>();
+    }
+
+    /**
+     * Returns the number of bytes of HTTP content currently buffered for the given stream to calculate
+     * the content length.
+     */
+    public static long getBufferedBytes(Channel channel) {
+        return BUFFERED_BYTES.get(channel).get();
+    }
+
+    int readableBytes() {
+        return readableBytes;
+    }
+
+    /**
+     * Appends the readable bytes of the buffer, without copying.
+     *
+     * @return false if the buffered content would exceed the maximum length, leaving the content unchanged
+     */
+    boolean append(ChannelBuffer buffer) {
+        int bufferBytes = buffer.readableBytes();
+        if (bufferBytes > maximumLength - readableBytes) {
+            return false;
+        }
+
+        if (bufferBytes != 0) {
+            buffers.add(buffer);
+            readableBytes += bufferBytes;
+            BUFFERED_BYTES.get(channel).addAndGet(bufferBytes);
+        }
+
+        return true;
+    }
+
+    /**
+     * Materializes the buffered content, releasing it from this buffer and from the buffered bytes of the stream.
+     */
+    ChannelBuffer toChannelBuffer() {
+        ChannelBuffer content;
+        switch (buffers.size()) {
+        case 0:
+            content = EMPTY_BUFFER;
+            break;
+        case 1:
+            content = buffers.get(0);
+            break;
+        default:
+            content = wrappedBuffer(buffers.toArray(new ChannelBuffer[buffers.size()]));
+            break;
+        }
+
+        if (readableBytes != 0) {
+            BUFFERED_BYTES.get(channel).addAndGet(-readableBytes);
+        }
+        buffers.clear();
+
+        return content;
+    }
+}
@@ -65,4 +65,8 @@ public interface HttpChannelConfig extends ChannelConfig {
     HttpHeaders getWriteTrailers();
 
     HttpHeaders getReadTrailers();
+
+    void setKeepAlive(boolean keepAlive);
+
+    boolean isKeepAlive();
 }
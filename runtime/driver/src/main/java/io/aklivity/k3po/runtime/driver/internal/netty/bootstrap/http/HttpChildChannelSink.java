@@ -25,7 +25,6 @@ import static io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.http.Http
 import static io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.http.HttpChildChannel.HttpWriteState.UPGRADED;
 import static java.util.Objects.requireNonNull;
 import static org.jboss.netty.buffer.ChannelBuffers.EMPTY_BUFFER;
-import static org.jboss.netty.buffer.ChannelBuffers.copiedBuffer;
 import static org.jboss.netty.channel.Channels.fireChannelClosed;
 import static org.jboss.netty.channel.Channels.fireChannelDisconnected;
 import static org.jboss.netty.channel.Channels.fireChannelUnbound;
@@ -68,6 +67,7 @@ public class HttpChildChannelSink extends AbstractChannelSink {
 
     private final Channel transport;
     private HttpResponse httpBufferedResponse;
+    private HttpBufferedContent httpBufferedContent;
 
     public HttpChildChannelSink(Channel transport) {
         this.transport = requireNonNull(transport);
@@ -140,7 +140,9 @@ public class HttpChildChannelSink extends AbstractChannelSink {
             }
             else if (httpChildConfig.getMaximumBufferedContentLength() >= httpReadableBytes) {
                 // automatically calculate content-length
-                httpResponse.setContent(httpContent);
+                httpBufferedContent = new HttpBufferedContent(httpChildChannel,
+                        httpChildConfig.getMaximumBufferedContentLength());
+                httpBufferedContent.append(httpContent);
                 httpBufferedResponse = httpResponse;
                 httpChildChannel.writeState(CONTENT_BUFFERED);
                 httpFuture.setSuccess();
@@ -150,10 +152,7 @@ public class HttpChildChannelSink extends AbstractChannelSink {
             }
             break;
         case CONTENT_BUFFERED:
-            ChannelBuffer httpBufferedContent = httpBufferedResponse.getContent();
-            int httpBufferedBytes = httpBufferedContent.readableBytes();
-            if (httpChildConfig.getMaximumBufferedContentLength() >= httpBufferedBytes + httpReadableBytes) {
-                httpBufferedResponse.setContent(copiedBuffer(httpBufferedContent, httpContent));
+            if (httpBufferedContent.append(httpContent)) {
                 httpFuture.setSuccess();
             }
             else {
@@ -337,8 +336,11 @@ public class HttpChildChannelSink extends AbstractChannelSink {
             HttpResponse httpBufferedResponse = this.httpBufferedResponse;
             this.httpBufferedResponse = null;
 
-            ChannelBuffer httpBufferedContent = httpBufferedResponse.getContent();
+            HttpBufferedContent httpBufferedContent = this.httpBufferedContent;
+            this.httpBufferedContent = null;
+
             int httpReadableBytes = httpBufferedContent.readableBytes();
+            httpBufferedResponse.setContent(httpBufferedContent.toChannelBuffer());
             setContentLength(httpBufferedResponse, httpReadableBytes);
             ChannelFuture future = transport.write(httpBufferedResponse);
             httpChildChannel.writeState(CONTENT_COMPLETE);
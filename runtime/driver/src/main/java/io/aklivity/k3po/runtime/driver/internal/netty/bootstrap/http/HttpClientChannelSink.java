@@ -25,7 +25,6 @@ import static io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.http.Http
 import static io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.http.HttpRequestForm.ABSOLUTE_FORM;
 import static io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.http.HttpRequestForm.ORIGIN_FORM;
 import static java.lang.String.format;
-import static org.jboss.netty.buffer.ChannelBuffers.copiedBuffer;
 import static org.jboss.netty.channel.Channels.fireChannelBound;
 import static org.jboss.netty.channel.Channels.fireChannelClosed;
 import static org.jboss.netty.channel.Channels.fireChannelConnected;
@@ -57,10 +56,12 @@ import org.jboss.netty.handler.codec.http.DefaultHttpRequest;
 import org.jboss.netty.handler.codec.http.HttpChunk;
 import org.jboss.netty.handler.codec.http.HttpHeaders;
 import org.jboss.netty.handler.codec.http.HttpHeaders.Names;
+import org.jboss.netty.handler.codec.http.HttpHeaders.Values;
 
 import io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.http.QueryStringEncoder;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.BootstrapFactory;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.channel.AbstractChannelSink;
+import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.http.HttpClientConnectionPool.Key;
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.FlushEvent;
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.ShutdownOutputEvent;
@@ -75,17 +76,29 @@ public class HttpClientChannelSink extends AbstractChannelSink {
     private final ChannelPipelineFactory pipelineFactory;
     private final BootstrapFactory bootstrapFactory;
 
+    private final HttpClientConnectionPool connectionPool;
+
     private Channel transport;
     private HttpRequest httpBufferedRequest;
+    private HttpBufferedContent httpBufferedContent;
 
     public HttpClientChannelSink(BootstrapFactory bootstrapFactory, ChannelPipelineFactory pipelineFactory) {
+        this(bootstrapFactory, pipelineFactory, new HttpClientConnectionPool());
+    }
+
+    HttpClientChannelSink(
+        BootstrapFactory bootstrapFactory,
+        ChannelPipelineFactory pipelineFactory,
+        HttpClientConnectionPool connectionPool) {
         this.bootstrapFactory = bootstrapFactory;
         this.pipelineFactory = pipelineFactory;
+        this.connectionPool = connectionPool;
     }
 
     @Override
     public ChannelFuture execute(ChannelPipeline httpPipeline, Runnable task) {
 
+        Channel transport = this.transport;
         if (transport != null) {
             ChannelPipeline pipeline = transport.getPipeline();
             ChannelFuture future = pipeline.execute(task);
@@ -128,37 +141,29 @@ public class HttpClientChannelSink extends AbstractChannelSink {
         String schemeName = address.getLocation().getScheme();
         String httpSchemeName = httpRemoteAddress.getLocation().getScheme();
 
+        final Key transportKey = new Key(address, httpConnectConfig.getTransportOptions());
+
+        if (httpConnectConfig.isKeepAlive()) {
+            Channel transport = connectionPool.lease(transportKey);
+            if (transport != null) {
+                handleTransportConnected(httpConnectChannel, httpConnectFuture, httpRemoteAddress, transportKey, transport);
+                return;
+            }
+        }
+
         ClientBootstrap bootstrap = bootstrapFactory.newClientBootstrap(schemeName);
         bootstrap.setPipelineFactory(pipelineFactory);
         bootstrap.setOptions(httpConnectConfig.getTransportOptions());
         bootstrap.setOption(format("%s.nextProtocol", schemeName), httpSchemeName);
 
-        // TODO: reuse connections with keep-alive
         ChannelFuture connectFuture = bootstrap.connect(address);
         connectFuture.addListener(new ChannelFutureListener() {
             @Override
             public void operationComplete(ChannelFuture connectFuture) throws Exception {
                 if (connectFuture.isSuccess()) {
-                    transport = connectFuture.getChannel();
-                    transport.getConfig().setBufferFactory(httpConnectConfig.getBufferFactory());
-
-                    ChannelPipeline pipeline = transport.getPipeline();
-                    ChannelHandlerContext ctx = pipeline.getContext(HttpClientChannelSource.class);
-                    HttpClientChannelSource channelSource = (HttpClientChannelSource) ctx.getHandler();
-
-                    if (!httpConnectChannel.isBound()) {
-                        ChannelAddress httpLocalAddress = httpRemoteAddress;
-                        httpConnectChannel.setLocalAddress(httpLocalAddress);
-                        httpConnectChannel.setBound();
-                        fireChannelBound(httpConnectChannel, httpLocalAddress);
-                    }
-
-                    channelSource.setHttpChannel(httpConnectChannel);
-                    httpConnectChannel.setRemoteAddress(httpRemoteAddress);
-                    httpConnectChannel.setConnected();
-
-                    httpConnectFuture.setSuccess();
-                    fireChannelConnected(httpConnectChannel, httpRemoteAddress);
+                    Channel transport = connectFuture.getChannel();
+                    connectionPool.add(transport);
+                    handleTransportConnected(httpConnectChannel, httpConnectFuture, httpRemoteAddress, transportKey, transport);
                 } else {
                     httpConnectFuture.setFailure(connectFuture.getCause());
                 }
@@ -166,6 +171,61 @@ public class HttpClientChannelSink extends AbstractChannelSink {
         });
     }
 
+    private void handleTransportConnected(
+        final HttpClientChannel httpConnectChannel,
+        ChannelFuture httpConnectFuture,
+        ChannelAddress httpRemoteAddress,
+        final Key transportKey,
+        final Channel transport) {
+
+        final HttpChannelConfig httpConnectConfig = httpConnectChannel.getConfig();
+
+        this.transport = transport;
+        transport.getConfig().setBufferFactory(httpConnectConfig.getBufferFactory());
+
+        ChannelPipeline pipeline = transport.getPipeline();
+        ChannelHandlerContext ctx = pipeline.getContext(HttpClientChannelSource.class);
+        final HttpClientChannelSource channelSource = (HttpClientChannelSource) ctx.getHandler();
+
+        if (!httpConnectChannel.isBound()) {
+            ChannelAddress httpLocalAddress = httpRemoteAddress;
+            httpConnectChannel.setLocalAddress(httpLocalAddress);
+            httpConnectChannel.setBound();
+            fireChannelBound(httpConnectChannel, httpLocalAddress);
+        }
+
+        channelSource.setHttpChannel(httpConnectChannel);
+        httpConnectChannel.setRemoteAddress(httpRemoteAddress);
+        httpConnectChannel.setConnected();
+
+        if (httpConnectConfig.isKeepAlive()) {
+            channelSource.getResponseFuture().addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(ChannelFuture future) throws Exception {
+                    // reuse the transport only after both request and response are complete,
+                    // and before the script observes the response as closed
+                    if (httpConnectChannel.writeState() == CONTENT_COMPLETE &&
+                        channelSource.isPersistent() &&
+                        !isConnectionClose(httpConnectConfig) &&
+                        transport.isConnected()) {
+                        // once pooled, the transport may be leased by another stream
+                        releaseTransport(transport);
+                        connectionPool.release(transportKey, transport);
+                    }
+                }
+            });
+        }
+
+        httpConnectFuture.setSuccess();
+        fireChannelConnected(httpConnectChannel, httpRemoteAddress);
+    }
+
+    private void releaseTransport(Channel transport) {
+        if (this.transport == transport) {
+            this.transport = null;
+        }
+    }
+
     @Override
     protected void writeRequested(ChannelPipeline pipeline, MessageEvent e) throws Exception {
 
@@ -212,7 +272,9 @@ public class HttpClientChannelSink extends AbstractChannelSink {
                 chainWriteCompletes(future, httpFuture, httpReadableBytes);
             } else if (httpClientConfig.getMaximumBufferedContentLength() >= httpReadableBytes) {
                 // automatically calculate content-length
-                httpRequest.setContent(httpContent);
+                httpBufferedContent = new HttpBufferedContent(httpClientChannel,
+                        httpClientConfig.getMaximumBufferedContentLength());
+                httpBufferedContent.append(httpContent);
                 httpBufferedRequest = httpRequest;
                 httpClientChannel.writeState(CONTENT_BUFFERED);
                 httpFuture.setSuccess();
@@ -221,10 +283,7 @@ public class HttpClientChannelSink extends AbstractChannelSink {
             }
             break;
         case CONTENT_BUFFERED:
-            ChannelBuffer httpBufferedContent = httpBufferedRequest.getContent();
-            int httpBufferedBytes = httpBufferedContent.readableBytes();
-            if (httpClientConfig.getMaximumBufferedContentLength() >= httpBufferedBytes + httpReadableBytes) {
-                httpBufferedRequest.setContent(copiedBuffer(httpBufferedContent, httpContent));
+            if (httpBufferedContent.append(httpContent)) {
                 httpFuture.setSuccess();
             } else {
                 throw new IllegalStateException("Exceeded maximum buffered content to calculate content length");
@@ -277,8 +336,14 @@ public class HttpClientChannelSink extends AbstractChannelSink {
 
             @Override
             public void operationComplete(ChannelFuture future) throws Exception {
-                ChannelFuture disconnect = transport.disconnect();
-                chainFutures(disconnect, evt.getFuture());
+                Channel transport = HttpClientChannelSink.this.transport;
+                if (transport != null) {
+                    ChannelFuture disconnect = transport.disconnect();
+                    chainFutures(disconnect, evt.getFuture());
+                } else {
+                    // transport already released to the connection pool
+                    evt.getFuture().setSuccess();
+                }
             }
         });
     };
@@ -291,7 +356,10 @@ public class HttpClientChannelSink extends AbstractChannelSink {
 
         switch (httpClientChannel.writeState()) {
         case UPGRADEABLE:
-            transport.close();
+            Channel transport = this.transport;
+            if (transport != null) {
+                transport.close();
+            }
             break;
         default:
             ChannelFuture inputShutdown = future(httpClientChannel);
@@ -383,8 +451,11 @@ public class HttpClientChannelSink extends AbstractChannelSink {
             HttpRequest httpBufferedRequest = this.httpBufferedRequest;
             this.httpBufferedRequest = null;
             if (httpBufferedRequest != null) {
-                ChannelBuffer httpBufferedContent = httpBufferedRequest.getContent();
+                HttpBufferedContent httpBufferedContent = this.httpBufferedContent;
+                this.httpBufferedContent = null;
+
                 int httpReadableBytes = httpBufferedContent.readableBytes();
+                httpBufferedRequest.setContent(httpBufferedContent.toChannelBuffer());
                 setContentLength(httpBufferedRequest, httpReadableBytes);
                 ChannelFuture future = transport.write(httpBufferedRequest);
                 httpClientChannel.writeState(CONTENT_COMPLETE);
@@ -403,6 +474,11 @@ public class HttpClientChannelSink extends AbstractChannelSink {
         }
     }
 
+    private static boolean isConnectionClose(HttpChannelConfig httpClientConfig) {
+        return httpClientConfig.hasWriteHeaders() &&
+                httpClientConfig.getWriteHeaders().getAll(Names.CONNECTION).contains(Values.CLOSE);
+    }
+
     private static String getTargetURI(HttpClientChannel httpClientChannel) throws URISyntaxException {
 
         HttpChannelConfig httpClientConfig = httpClientChannel.getConfig();
@@ -20,10 +20,12 @@ import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.BootstrapFactory
 public class HttpClientChannelSinkFactory {
 
     private final HttpClientChannelPipelineFactory pipelineFactory;
+    private final HttpClientConnectionPool connectionPool;
     private BootstrapFactory bootstrapFactory;
 
     public HttpClientChannelSinkFactory() {
         pipelineFactory = new HttpClientChannelPipelineFactory();
+        connectionPool = new HttpClientConnectionPool();
     }
 
     public void setBootstrapFactory(BootstrapFactory bootstrapFactory) {
@@ -31,6 +33,13 @@ public class HttpClientChannelSinkFactory {
     }
 
     public HttpClientChannelSink newChannelSink() {
-        return new HttpClientChannelSink(bootstrapFactory, pipelineFactory);
+        return new HttpClientChannelSink(bootstrapFactory, pipelineFactory, connectionPool);
+    }
+
+    /**
+     * Closes the transports opened by client channels, including idle transports kept alive for reuse.
+     */
+    public void shutdown() {
+        connectionPool.close().awaitUninterruptibly();
     }
 }
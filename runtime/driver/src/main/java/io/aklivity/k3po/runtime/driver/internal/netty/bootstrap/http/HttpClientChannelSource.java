@@ -25,10 +25,12 @@ import static org.jboss.netty.channel.Channels.fireChannelInterestChanged;
 import static org.jboss.netty.channel.Channels.fireChannelUnbound;
 import static org.jboss.netty.channel.Channels.fireExceptionCaught;
 import static org.jboss.netty.channel.Channels.fireMessageReceived;
+import static org.jboss.netty.handler.codec.http.HttpHeaders.isKeepAlive;
 import static org.jboss.netty.handler.codec.http.HttpResponseStatus.SWITCHING_PROTOCOLS;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelHandler;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.channel.ChannelPipeline;
@@ -51,10 +53,31 @@ import io.aklivity.k3po.runtime.driver.internal.netty.channel.ShutdownInputEvent
 public class HttpClientChannelSource extends HttpChannelHandler {
 
     private HttpClientChannel httpClientChannel;
+    private boolean keepAlive;
+    private boolean persistent;
+    private ChannelFuture responseFuture;
 
     public void setHttpChannel(HttpClientChannel httpClientChannel) {
         assert this.httpClientChannel == null;
         this.httpClientChannel = httpClientChannel;
+        this.keepAlive = false;
+        this.persistent = false;
+        this.responseFuture = Channels.future(httpClientChannel);
+    }
+
+    /**
+     * Returns true if the last response was completely received and allows the connection to be reused.
+     */
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    /**
+     * Returns a future that succeeds when the response is completely received, before input shutdown
+     * is fired on the HTTP channel.
+     */
+    public ChannelFuture getResponseFuture() {
+        return responseFuture;
     }
 
     @Override
@@ -82,6 +105,8 @@ public class HttpClientChannelSource extends HttpChannelHandler {
             httpDecoder.replace(format("%s.noop", httpDecoderCtx.getName()), NOOP_HANDLER);
         }
         else {
+            keepAlive = isKeepAlive(httpResponse);
+
             ChannelBuffer content = httpResponse.getContent();
             boolean readable = httpClientChannel.isReadable();
             if (!readable) {
@@ -96,6 +121,8 @@ public class HttpClientChannelSource extends HttpChannelHandler {
             if (!httpResponse.isChunked()) {
                 HttpClientChannel httpClientChannel = this.httpClientChannel;
                 this.httpClientChannel = null;
+                this.persistent = keepAlive;
+                responseFuture.setSuccess();
                 fireInputShutdown(httpClientChannel);
 
                 boolean wasConnected = httpClientChannel.isConnected();
@@ -128,6 +155,8 @@ public class HttpClientChannelSource extends HttpChannelHandler {
                 httpClientChannel.getConfig().getReadTrailers().set(trailingHeaders);
             }
             this.httpClientChannel = null;
+            this.persistent = keepAlive;
+            responseFuture.setSuccess();
             fireInputShutdown(httpClientChannel);
 
             if (httpClientChannel.setClosed()) {
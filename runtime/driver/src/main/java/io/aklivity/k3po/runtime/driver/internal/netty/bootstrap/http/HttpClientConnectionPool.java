@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.http;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.group.ChannelGroup;
+import org.jboss.netty.channel.group.ChannelGroupFuture;
+import org.jboss.netty.channel.group.DefaultChannelGroup;
+
+import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
+
+/**
+ * Transport connections opened by HTTP client streams of the same script.
+ *
+ * Every transport is tracked so it can be closed when the script is disposed. Streams that opt in with
+ * {@code option http:keepalive true} release their transport once the request and a persistent response
+ * are complete, and later streams to the same transport address with the same transport options lease
+ * the idle transport instead of connecting again.
+ */
+final class HttpClientConnectionPool {
+
+    private final ChannelGroup transports;
+    private final Map<Key, Deque<Channel>> idleTransportsByKey;
+
+    HttpClientConnectionPool() {
+        this.transports = new DefaultChannelGroup("http-client");
+        this.idleTransportsByKey = new HashMap<>();
+    }
+
+    /**
+     * Tracks a newly connected transport, so that it is closed with the pool.
+     */
+    void add(Channel transport) {
+        transports.add(transport);
+    }
+
+    /**
+     * Leases an idle, still connected transport for the given key.
+     *
+     * @return the leased transport, or null if none is idle
+     */
+    synchronized Channel lease(Key key) {
+        Deque<Channel> idleTransports = idleTransportsByKey.get(key);
+        if (idleTransports != null) {
+            Channel transport;
+            while ((transport = idleTransports.pollFirst()) != null) {
+                if (transport.isConnected()) {
+                    return transport;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a transport to the pool, to be leased by a later stream with the same key.
+     */
+    synchronized void release(Key key, Channel transport) {
+        Deque<Channel> idleTransports = idleTransportsByKey.get(key);
+        if (idleTransports == null) {
+            idleTransports = new ArrayDeque<>();
+            idleTransportsByKey.put(key, idleTransports);
+        }
+
+        // discard transports closed while idle
+        idleTransports.removeIf(idleTransport -> !idleTransport.isConnected());
+        idleTransports.offerLast(transport);
+    }
+
+    ChannelGroupFuture close() {
+        synchronized (this) {
+            idleTransportsByKey.clear();
+        }
+        return transports.close();
+    }
+
+    static final class Key {
+
+        private final ChannelAddress address;
+        private final Map<String, Object> options;
+
+        Key(ChannelAddress address, Map<String, Object> options) {
+            this.address = address;
+            this.options = new HashMap<>(options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(address, options);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key that = (Key) o;
+            return Objects.equals(this.address, that.address) &&
+                    Objects.equals(this.options, that.options);
+        }
+    }
+}
@@ -19,45 +19,41 @@ import static io.aklivity.k3po.runtime.driver.internal.channel.Channels.toInetSo
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
-import java.util.Collection;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.Executor;
 
 import javax.annotation.Resource;
 
-import org.jboss.netty.channel.ChannelFactory;
 import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.socket.ClientSocketChannelFactory;
 import org.jboss.netty.channel.socket.ServerSocketChannelFactory;
-import org.jboss.netty.channel.socket.nio.NioClientBossPool;
 import org.jboss.netty.channel.socket.nio.NioClientSocketChannelFactory;
-import org.jboss.netty.channel.socket.nio.NioServerBossPool;
 import org.jboss.netty.channel.socket.nio.NioServerSocketChannelFactory;
-import org.jboss.netty.channel.socket.nio.NioWorkerPool;
 import org.jboss.netty.util.ExternalResourceReleasable;
 
 import io.aklivity.k3po.runtime.driver.internal.executor.ExecutorServiceFactory;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.BootstrapFactorySpi;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.ClientBootstrap;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.ServerBootstrap;
+import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.TransportRuntime;
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
 
 public final class TcpBootstrapFactorySpi extends BootstrapFactorySpi implements ExternalResourceReleasable {
 
-    private final Collection<ChannelFactory> channelFactories;
     private ExecutorServiceFactory executorServiceFactory;
+    private TransportRuntime transportRuntime;
+    private volatile TransportRuntime unsharedTransportRuntime;
     private NioClientSocketChannelFactory clientChannelFactory;
     private NioServerSocketChannelFactory serverChannelFactory;
 
-    public TcpBootstrapFactorySpi() {
-        channelFactories = new ConcurrentLinkedDeque<>();
-    }
-
     @Resource
     public void setExecutorServiceFactory(ExecutorServiceFactory executorServiceFactory) {
         this.executorServiceFactory = executorServiceFactory;
     }
 
+    @Resource
+    public void setTransportRuntime(TransportRuntime transportRuntime) {
+        this.transportRuntime = transportRuntime;
+    }
+
     @Resource
     public void setNioClientSocketChannelFactory(NioClientSocketChannelFactory clientChannelFactory) {
         this.clientChannelFactory = clientChannelFactory;
@@ -78,15 +74,17 @@ public final class TcpBootstrapFactorySpi extends BootstrapFactorySpi implements
 
     @Override
     public void shutdown() {
-        for (ChannelFactory channelFactory : channelFactories) {
-            channelFactory.shutdown();
+        TransportRuntime unsharedTransportRuntime = this.unsharedTransportRuntime;
+        if (unsharedTransportRuntime != null) {
+            unsharedTransportRuntime.shutdown();
         }
     }
 
     @Override
     public void releaseExternalResources() {
-        for (ChannelFactory channelFactory : channelFactories) {
-            channelFactory.releaseExternalResources();
+        TransportRuntime unsharedTransportRuntime = this.unsharedTransportRuntime;
+        if (unsharedTransportRuntime != null) {
+            unsharedTransportRuntime.releaseExternalResources();
         }
     }
 
@@ -99,14 +97,7 @@ public final class TcpBootstrapFactorySpi extends BootstrapFactorySpi implements
         ClientSocketChannelFactory clientChannelFactory = this.clientChannelFactory;
 
         if (clientChannelFactory == null) {
-            Executor bossExecutor = executorServiceFactory.newExecutorService("boss.client");
-            NioClientBossPool bossPool = new NioClientBossPool(bossExecutor, 1);
-            Executor workerExecutor = executorServiceFactory.newExecutorService("worker.client");
-            NioWorkerPool workerPool = new NioWorkerPool(workerExecutor, 1);
-            clientChannelFactory = new NioClientSocketChannelFactory(bossPool, workerPool);
-
-            // unshared
-            channelFactories.add(clientChannelFactory);
+            clientChannelFactory = transportRuntime().getTcpClientChannelFactory();
         }
 
         return new ClientBootstrap(clientChannelFactory) {
@@ -128,14 +119,7 @@ public final class TcpBootstrapFactorySpi extends BootstrapFactorySpi implements
         ServerSocketChannelFactory serverChannelFactory = this.serverChannelFactory;
 
         if (serverChannelFactory == null) {
-            Executor bossExecutor = executorServiceFactory.newExecutorService("boss.server");
-            NioServerBossPool bossPool = new NioServerBossPool(bossExecutor, 1);
-            Executor workerExecutor = executorServiceFactory.newExecutorService("worker.server");
-            NioWorkerPool workerPool = new NioWorkerPool(workerExecutor, 1);
-            serverChannelFactory = new NioServerSocketChannelFactory(bossPool, workerPool);
-
-            // unshared
-            channelFactories.add(serverChannelFactory);
+            serverChannelFactory = transportRuntime().getTcpServerChannelFactory();
         }
 
         return new ServerBootstrap(serverChannelFactory) {
@@ -148,4 +132,11 @@ public final class TcpBootstrapFactorySpi extends BootstrapFactorySpi implements
         };
     }
 
+    private TransportRuntime transportRuntime() {
+        if (transportRuntime == null) {
+            // unshared
+            transportRuntime = unsharedTransportRuntime = new TransportRuntime(executorServiceFactory);
+        }
+        return transportRuntime;
+    }
 }
@@ -21,16 +21,15 @@ import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelPipeline;
 import org.jboss.netty.channel.ChannelPipelineException;
 import org.jboss.netty.channel.socket.nio.NioDatagramChannelFactory;
-import org.jboss.netty.channel.socket.nio.NioDatagramWorkerPool;
 import org.jboss.netty.handler.timeout.IdleStateHandler;
 import org.jboss.netty.util.ExternalResourceReleasable;
-import org.jboss.netty.util.HashedWheelTimer;
 import org.jboss.netty.util.Timer;
 
 import io.aklivity.k3po.runtime.driver.internal.executor.ExecutorServiceFactory;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.BootstrapFactorySpi;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.ClientBootstrap;
 import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.ServerBootstrap;
+import io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.TransportRuntime;
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.udp.UdpChannelAddress;
 
@@ -38,29 +37,26 @@ import javax.annotation.Resource;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.URI;
-import java.util.Collection;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 public final class UdpBootstrapFactorySpi extends BootstrapFactorySpi implements ExternalResourceReleasable {
 
-    private final Collection<ChannelFactory> channelFactories;
     private ExecutorServiceFactory executorServiceFactory;
+    private TransportRuntime transportRuntime;
+    private volatile TransportRuntime unsharedTransportRuntime;
     private NioDatagramChannelFactory clientChannelFactory;
     private UdpServerChannelFactory serverChannelFactory;
-    private final Timer timer;
-
-    public UdpBootstrapFactorySpi() {
-        channelFactories = new ConcurrentLinkedDeque<>();
-        timer = new HashedWheelTimer();
-    }
 
     @Resource
     public void setExecutorServiceFactory(ExecutorServiceFactory executorServiceFactory) {
         this.executorServiceFactory = executorServiceFactory;
     }
 
+    @Resource
+    public void setTransportRuntime(TransportRuntime transportRuntime) {
+        this.transportRuntime = transportRuntime;
+    }
+
     /**
      * Returns the name of the transport provided by factories using this service provider.
      */
@@ -71,17 +67,18 @@ public final class UdpBootstrapFactorySpi extends BootstrapFactorySpi implements
 
     @Override
     public void shutdown() {
-        for (ChannelFactory channelFactory : channelFactories) {
-            channelFactory.shutdown();
+        TransportRuntime unsharedTransportRuntime = this.unsharedTransportRuntime;
+        if (unsharedTransportRuntime != null) {
+            unsharedTransportRuntime.shutdown();
         }
     }
 
     @Override
     public void releaseExternalResources() {
-        for (ChannelFactory channelFactory : channelFactories) {
-            channelFactory.releaseExternalResources();
+        TransportRuntime unsharedTransportRuntime = this.unsharedTransportRuntime;
+        if (unsharedTransportRuntime != null) {
+            unsharedTransportRuntime.releaseExternalResources();
         }
-        timer.stop();
     }
 
     /**
@@ -91,15 +88,10 @@ public final class UdpBootstrapFactorySpi extends BootstrapFactorySpi implements
     public synchronized ClientBootstrap newClientBootstrap() throws Exception {
 
         if (clientChannelFactory == null) {
-            Executor workerExecutor = executorServiceFactory.newExecutorService("worker.client");
-            NioDatagramWorkerPool workerPool = new NioDatagramWorkerPool(workerExecutor, 1);
-            clientChannelFactory = new NioDatagramChannelFactory(workerPool);
-
-            // unshared
-            channelFactories.add(clientChannelFactory);
+            clientChannelFactory = new NioDatagramChannelFactory(transportRuntime().getUdpClientWorkerPool());
         }
 
-        return new UdpClientBootstrap(clientChannelFactory, timer);
+        return new UdpClientBootstrap(clientChannelFactory, transportRuntime().getTimer());
     }
 
     /**
@@ -108,17 +100,22 @@ public final class UdpBootstrapFactorySpi extends BootstrapFactorySpi implements
     @Override
     public synchronized ServerBootstrap newServerBootstrap() throws Exception {
         if (serverChannelFactory == null) {
-            Executor workerExecutor = executorServiceFactory.newExecutorService("worker.server");
-            NioDatagramWorkerPool workerPool = new NioDatagramWorkerPool(workerExecutor, 1);
-            serverChannelFactory = new UdpServerChannelFactory(workerPool, timer);
-
-            // unshared
-            channelFactories.add(serverChannelFactory);
+            TransportRuntime transportRuntime = transportRuntime();
+            serverChannelFactory = new UdpServerChannelFactory(transportRuntime.getUdpServerWorkerPool(),
+                    transportRuntime.getTimer());
         }
 
         return new ServerBootstrap(serverChannelFactory);
     }
 
+    private TransportRuntime transportRuntime() {
+        if (transportRuntime == null) {
+            // unshared
+            transportRuntime = unsharedTransportRuntime = new TransportRuntime(executorServiceFactory);
+        }
+        return transportRuntime;
+    }
+
     private static InetSocketAddress toInetSocketAddress(ChannelAddress channelAddress) {
         if (channelAddress == null) {
             return null;
@@ -20,14 +20,21 @@ import java.net.URI;
 import java.util.Map;
 import java.util.Objects;
 
+import org.jboss.netty.channel.ChannelException;
+
 import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
 
 public class FileChannelAddress extends ChannelAddress {
 
     private static final long serialVersionUID = 1L;
 
+    public static final long DEFAULT_WINDOW = Integer.MAX_VALUE;
+
     private final String mode;
     private final long size;
+    private final long position;
+    private final long window;
+    private final boolean force;
 
     public FileChannelAddress(URI location, Map<String, Object> options) {
         super(location);
@@ -37,6 +44,19 @@ public class FileChannelAddress extends ChannelAddress {
 
         Long size = (Long) options.get("size");
         this.size = size == null ? 0L : size;
+
+        Long position = (Long) options.get("position");
+        this.position = position == null ? -1L : position;
+
+        Long window = (Long) options.get("window");
+        this.window = window == null ? DEFAULT_WINDOW : window;
+        if (this.window <= 0 || this.window > Integer.MAX_VALUE) {
+            throw new ChannelException(String.format("file window %d must be between 1 and %d", this.window,
+                    Integer.MAX_VALUE));
+        }
+
+        Object force = options.get("force");
+        this.force = force != null && Boolean.valueOf(force.toString());
     }
 
     public String mode() {
@@ -47,6 +67,27 @@ public class FileChannelAddress extends ChannelAddress {
         return size;
     }
 
+    /**
+     * Returns the offset of the position advanced by the producer when tailing the file, or -1 if not tailing.
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Returns the maximum number of bytes mapped at once, reading or writing beyond which maps the next window.
+     */
+    public long window() {
+        return window;
+    }
+
+    /**
+     * Returns true if changes to the file are forced to storage when its windows are replaced or the file is closed.
+     */
+    public boolean force() {
+        return force;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -55,14 +96,15 @@ public class FileChannelAddress extends ChannelAddress {
 
         if (o instanceof FileChannelAddress) {
             FileChannelAddress that = (FileChannelAddress) o;
-            return Objects.equals(mode, that.mode) && this.size == that.size && super.equals(o);
+            return Objects.equals(mode, that.mode) && this.size == that.size && this.position == that.position &&
+                    this.window == that.window && this.force == that.force && super.equals(o);
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return (int) (super.hashCode() + mode.hashCode() + size);
+        return (int) (super.hashCode() + mode.hashCode() + size + position + window + (force ? 1 : 0));
     }
 
 }
@@ -44,18 +44,20 @@ public class ClientBootstrapResolver {
     private final Supplier<URI> locationResolver;
     private final Barrier awaitBarrier;
     private final OptionsResolver optionsResolver;
+    private final RegionInfo regionInfo;
 
     private ClientBootstrap bootstrap;
 
     public ClientBootstrapResolver(BootstrapFactory bootstrapFactory, ChannelAddressFactory addressFactory,
             ChannelPipelineFactory pipelineFactory, Supplier<URI> locationResolver,
-            OptionsResolver optionsResolver, Barrier awaitBarrier) {
+            OptionsResolver optionsResolver, Barrier awaitBarrier, RegionInfo regionInfo) {
         this.bootstrapFactory = bootstrapFactory;
         this.addressFactory = addressFactory;
         this.pipelineFactory = pipelineFactory;
         this.locationResolver = locationResolver;
         this.optionsResolver = optionsResolver;
         this.awaitBarrier = awaitBarrier;
+        this.regionInfo = regionInfo;
     }
 
     public ClientBootstrap resolve() throws Exception {
@@ -76,4 +78,8 @@ public class ClientBootstrapResolver {
     public Barrier getAwaitBarrier() {
         return this.awaitBarrier;
     }
+
+    public RegionInfo getRegionInfo() {
+        return regionInfo;
+    }
 }
@@ -43,7 +43,7 @@ public class ServerBootstrapResolver {
 
     private final BootstrapFactory bootstrapFactory;
     private final ChannelAddressFactory addressFactory;
-    private final Iterator<ChannelPipeline> pipelinesIterator;
+    private final Iterator<? extends Supplier<ChannelPipeline>> streamsIterator;
     private final ChannelPipelineFactory pipelineFactory;
     private final Supplier<URI> locationResolver;
     private final OptionsResolver optionsResolver;
@@ -52,18 +52,19 @@ public class ServerBootstrapResolver {
     private ServerBootstrap bootstrap;
 
     public ServerBootstrapResolver(BootstrapFactory bootstrapFactory, ChannelAddressFactory addressFactory,
-            List<ChannelPipeline> pipelines, Supplier<URI> locationResolver,
+            List<? extends Supplier<ChannelPipeline>> streams, Supplier<URI> locationResolver,
             OptionsResolver optionsResolver, Barrier notifyBarrier) {
         this.bootstrapFactory = bootstrapFactory;
         this.addressFactory = addressFactory;
-        this.pipelinesIterator = pipelines.iterator();
+        this.streamsIterator = streams.iterator();
         this.locationResolver = locationResolver;
         this.optionsResolver = optionsResolver;
         this.notifyBarrier = notifyBarrier;
         this.pipelineFactory = new ChannelPipelineFactory() {
             @Override
             public ChannelPipeline getPipeline() {
-                return pipelinesIterator.hasNext() ? pipelinesIterator.next() : pipeline();
+                // each accepted stream supplies its pipeline as its child channel opens
+                return streamsIterator.hasNext() ? streamsIterator.next().get() : pipeline();
             }
         };
     }
@@ -73,7 +74,7 @@ public class ServerBootstrapResolver {
     }
 
     public boolean canAccept() {
-        return pipelinesIterator.hasNext();
+        return streamsIterator.hasNext();
     }
 
     // TODO: asynchronous, triggered by awaitBarrier
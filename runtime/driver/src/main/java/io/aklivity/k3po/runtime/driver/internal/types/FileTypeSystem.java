@@ -31,6 +31,9 @@ public final class FileTypeSystem implements TypeSystemSpi
     public static final TypeInfo<String> OPTION_MODE = new TypeInfo<>("mode", String.class);
     public static final TypeInfo<Long> OPTION_SIZE = new TypeInfo<>("size", long.class);
     public static final TypeInfo<Long> OPTION_OFFSET = new TypeInfo<>("offset", long.class);
+    public static final TypeInfo<Long> OPTION_POSITION = new TypeInfo<>("position", long.class);
+    public static final TypeInfo<Long> OPTION_WINDOW = new TypeInfo<>("window", long.class);
+    public static final TypeInfo<Boolean> OPTION_FORCE = new TypeInfo<>("force", Boolean.class);
 
     private final Set<TypeInfo<?>> acceptOptions;
     private final Set<TypeInfo<?>> connectOptions;
@@ -51,6 +54,9 @@ public final class FileTypeSystem implements TypeSystemSpi
         Set<TypeInfo<?>> connectOptions = new LinkedHashSet<>();
         connectOptions.add(OPTION_MODE);
         connectOptions.add(OPTION_SIZE);
+        connectOptions.add(OPTION_POSITION);
+        connectOptions.add(OPTION_WINDOW);
+        connectOptions.add(OPTION_FORCE);
         this.connectOptions = unmodifiableSet(connectOptions);
 
         this.readOptions = singleton(OPTION_OFFSET);
@@ -33,6 +33,7 @@ public final class HttpTypeSystem implements TypeSystemSpi
 {
     public static final TypeInfo<URI> OPTION_TRANSPORT = new TypeInfo<>("transport", URI.class);
     public static final TypeInfo<String> OPTION_CHUNK_EXT = new TypeInfo<>("chunkExtension", String.class);
+    public static final TypeInfo<Boolean> OPTION_KEEPALIVE = new TypeInfo<>("keepalive", Boolean.class);
 
     public static final StructuredTypeInfo CONFIG_METHOD = new StructuredTypeInfo("http", "method", emptyList(), 1);
     public static final StructuredTypeInfo CONFIG_HEADER = new StructuredTypeInfo("http", "header", singletonList(new TypeInfo<>("name", String.class)), Integer.MAX_VALUE);
@@ -56,7 +57,7 @@ public final class HttpTypeSystem implements TypeSystemSpi
     public HttpTypeSystem()
     {
         this.acceptOptions = singleton(OPTION_TRANSPORT);
-        this.connectOptions = singleton(OPTION_TRANSPORT);
+        this.connectOptions = new LinkedHashSet<>(asList(OPTION_TRANSPORT, OPTION_KEEPALIVE));
         this.readOptions = singleton(OPTION_CHUNK_EXT);
         this.writeOptions = singleton(OPTION_CHUNK_EXT);
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.jboss.netty.channel.Channels.future;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+
+import org.jboss.netty.channel.ChannelFuture;
+import org.junit.Test;
+
+import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
+
+public class AddressLocksTest {
+
+    private final AddressLocks locks = new AddressLocks();
+
+    @Test
+    public void shouldLockDisjointAddressesConcurrently() throws Exception {
+        ChannelFuture released1 = future(null);
+        ChannelFuture released2 = future(null);
+
+        ChannelFuture locked1 = locks.lock(singletonList(URI.create("tcp://localhost:8001")), released1);
+        ChannelFuture locked2 = locks.lock(singletonList(URI.create("tcp://localhost:8002")), released2);
+
+        assertTrue(locked1.isSuccess());
+        assertTrue(locked2.isSuccess());
+    }
+
+    @Test
+    public void shouldQueueOverlappingAddressesUntilReleased() throws Exception {
+        ChannelFuture released1 = future(null);
+        ChannelFuture released2 = future(null);
+
+        ChannelFuture locked1 = locks.lock(singletonList(URI.create("tcp://localhost:8001")), released1);
+        ChannelFuture locked2 = locks.lock(asList(URI.create("tcp://localhost:8002"),
+                                                  URI.create("tcp://localhost:8001")), released2);
+
+        assertTrue(locked1.isSuccess());
+        assertFalse(locked2.isDone());
+
+        released1.setSuccess();
+
+        assertTrue(locked2.isSuccess());
+    }
+
+    @Test
+    public void shouldCancelLockWhenReleasedBeforeLocked() throws Exception {
+        ChannelFuture released1 = future(null);
+        ChannelFuture released2 = future(null);
+        ChannelFuture released3 = future(null);
+
+        locks.lock(singletonList(URI.create("tcp://localhost:8001")), released1);
+        ChannelFuture locked2 = locks.lock(singletonList(URI.create("tcp://localhost:8001")), released2);
+
+        released2.setSuccess();
+        assertTrue(locked2.isCancelled());
+
+        released1.setSuccess();
+
+        ChannelFuture locked3 = locks.lock(singletonList(URI.create("tcp://localhost:8001")), released3);
+        assertTrue(locked3.isSuccess());
+    }
+
+    @Test
+    public void shouldLockInnermostTransportAddress() throws Exception {
+        ChannelAddress transport = new ChannelAddress(URI.create("tcp://localhost:8080"));
+        ChannelAddress address = new ChannelAddress(URI.create("http://localhost:8080/path"), transport);
+
+        assertEquals(URI.create("tcp://localhost:8080"), AddressLocks.lockAddress(address));
+    }
+}
@@ -15,6 +15,9 @@
  */
 package io.aklivity.k3po.runtime.driver.internal;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.regex.Pattern.compile;
 import static org.junit.Assert.assertArrayEquals;
@@ -31,7 +34,12 @@ import java.io.OutputStreamWriter;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,6 +54,8 @@ import org.junit.rules.TestRule;
 import org.junit.rules.Timeout;
 
 import io.aklivity.k3po.runtime.driver.internal.Robot;
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings;
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings.StepTiming;
 import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParseException;
 
 public class RobotIT {
@@ -142,6 +152,75 @@ public class RobotIT {
         assertEquals(-1, client.getInputStream().read());
     }
 
+    @Test
+    public void shouldReleaseAddressAndResetConnectionWhenDisposed() throws Exception {
+        // @formatter:off
+        String script =
+            "accept 'tcp://localhost:8080'\n" +
+            "accepted\n" +
+            "connected\n" +
+            "write notify CONNECTED\n" +
+            "read 'hello'\n";
+        // @formatter:on
+
+        System.setProperty(Robot.DISPOSE_LINGER_PROPERTY, "0");
+        try {
+            robot.prepareAndStart(script).await();
+
+            client.connect(new InetSocketAddress("localhost", 8080));
+
+            robot.awaitBarrier("CONNECTED").await();
+            robot.dispose().await();
+        } finally {
+            System.clearProperty(Robot.DISPOSE_LINGER_PROPERTY);
+        }
+
+        assertTrue(robot.getReleasedFuture().isSuccess());
+
+        server.bind(new InetSocketAddress("localhost", 8080));
+
+        thrown.expect(SocketException.class);
+        client.getInputStream().read();
+    }
+
+    @Test
+    public void shouldRecordTimingsWhenRequested() throws Exception {
+        // @formatter:off
+        String script =
+            "connect 'tcp://localhost:8080'\n" +
+            "connected\n" +
+            "read 'hello'\n" +
+            "close\n" +
+            "closed\n";
+        // @formatter:on
+
+        server.bind(new InetSocketAddress("localhost", 8080));
+
+        ScriptTimings timings = new ScriptTimings();
+        robot.setTimings(timings);
+        robot.prepareAndStart(script).await();
+
+        accepted = server.accept();
+        accepted.getOutputStream().write("hello".getBytes(UTF_8));
+
+        // timings are complete when notified after the script has finished, as for the FINISHED event
+        CountDownLatch finished = new CountDownLatch(1);
+        robot.finish().addListener(future -> finished.countDown());
+        finished.await();
+
+        assertEquals(script, robot.getObservedScript());
+
+        Set<String> steps = new HashSet<>();
+        for (StepTiming timing : timings.getTimings()) {
+            assertTrue(timing.isSuccess());
+            assertTrue(timing.getDurationNanos() >= 0L);
+            steps.add(timing.getStep());
+        }
+        // implicit steps, such as opened and bound, are timed too
+        assertTrue(steps.containsAll(asList("parse", "prepare", "script", "stream", "connect", "connected",
+                "first byte", "read", "close", "closed")));
+    }
+
     @Test
     public void shouldConnectThenCloseOK() throws Exception {
         // @formatter:off
@@ -167,6 +246,233 @@ public class RobotIT {
         assertEquals(-1, accepted.getInputStream().read());
     }
 
+    @Test
+    public void shouldConnectRepeatedWithinConcurrency() throws Exception {
+        // @formatter:off
+        String script =
+            "connect 'tcp://localhost:8080'\n" +
+            "        option repeat 5\n" +
+            "        option concurrency 2\n" +
+            "connected\n" +
+            "read \"Hello\\n\"\n" +
+            "close\n" +
+            "closed\n";
+
+        String expected = script;
+        // @formatter:on
+
+        server.bind(new InetSocketAddress("localhost", 8080));
+
+        robot.prepareAndStart(script).await();
+
+        int remaining = 5;
+        while (remaining > 0) {
+            int concurrent = Math.min(remaining, 2);
+            Socket[] connections = new Socket[concurrent];
+            for (int i = 0; i < concurrent; i++) {
+                connections[i] = server.accept();
+            }
+
+            // no further connections until an instance in flight completes
+            server.setSoTimeout(250);
+            try {
+                accepted = server.accept();
+                throw new AssertionError("Connected beyond concurrency");
+            } catch (SocketTimeoutException e) {
+                server.setSoTimeout(0);
+            }
+
+            for (Socket connection : connections) {
+                OutputStream out = connection.getOutputStream();
+                out.write("Hello\n".getBytes(UTF_8));
+                out.flush();
+                assertEquals(-1, connection.getInputStream().read());
+                connection.close();
+            }
+            remaining -= concurrent;
+        }
+
+        robot.finish().await();
+
+        assertEquals(expected, robot.getObservedScript());
+    }
+
+    @Test
+    public void shouldConnectRepeatedAtRate() throws Exception {
+        // @formatter:off
+        String script =
+            "connect 'tcp://localhost:8080'\n" +
+            "        option repeat 3\n" +
+            "        option rate 10\n" +
+            "connected\n" +
+            "close\n" +
+            "closed\n";
+
+        String expected = script;
+        // @formatter:on
+
+        server.bind(new InetSocketAddress("localhost", 8080));
+
+        robot.prepareAndStart(script).await();
+
+        accepted = server.accept();
+        long firstConnectedAt = System.nanoTime();
+        accepted.close();
+        for (int i = 1; i < 3; i++) {
+            accepted = server.accept();
+            accepted.close();
+        }
+        long lastConnectedAt = System.nanoTime();
+
+        robot.finish().await();
+
+        assertEquals(expected, robot.getObservedScript());
+        assertTrue(lastConnectedAt - firstConnectedAt >= MILLISECONDS.toNanos(150));
+    }
+
+    @Test
+    public void shouldConnectRepeatedAtRateAfterConcurrencyReleased() throws Exception {
+        // @formatter:off
+        String script =
+            "connect 'tcp://localhost:8080'\n" +
+            "        option repeat 4\n" +
+            "        option concurrency 2\n" +
+            "        option rate 10\n" +
+            "connected\n" +
+            "read \"Hello\\n\"\n" +
+            "close\n" +
+            "closed\n";
+
+        String expected = script;
+        // @formatter:on
+
+        server.bind(new InetSocketAddress("localhost", 8080));
+
+        robot.prepareAndStart(script).await();
+
+        Socket[] connections = { server.accept(), server.accept() };
+
+        // falls behind the rate schedule while held at the concurrency limit
+        Thread.sleep(500);
+
+        for (Socket connection : connections) {
+            OutputStream out = connection.getOutputStream();
+            out.write("Hello\n".getBytes(UTF_8));
+            out.flush();
+            assertEquals(-1, connection.getInputStream().read());
+            connection.close();
+        }
+
+        connections[0] = server.accept();
+        long thirdConnectedAt = System.nanoTime();
+        connections[1] = server.accept();
+        long fourthConnectedAt = System.nanoTime();
+
+        for (Socket connection : connections) {
+            OutputStream out = connection.getOutputStream();
+            out.write("Hello\n".getBytes(UTF_8));
+            out.flush();
+            assertEquals(-1, connection.getInputStream().read());
+            connection.close();
+        }
+
+        robot.finish().await();
+
+        assertEquals(expected, robot.getObservedScript());
+        assertTrue(fourthConnectedAt - thirdConnectedAt >= MILLISECONDS.toNanos(75));
+    }
+
+    @Test
+    public void shouldCompleteConnectRepeatedZeroTimes() throws Exception {
+        // @formatter:off
+        String script =
+            "connect 'tcp://localhost:8080'\n" +
+            "        option repeat 0\n" +
+            "connected\n" +
+            "close\n" +
+            "closed\n";
+
+        String expected = script;
+        // @formatter:on
+
+        server.bind(new InetSocketAddress("localhost", 8080));
+
+        robot.prepareAndStart(script).await();
+
+        robot.finish().await();
+
+        server.setSoTimeout(250);
+        try {
+            accepted = server.accept();
+            throw new AssertionError("Connected although repeated zero times");
+        } catch (SocketTimeoutException e) {
+            server.setSoTimeout(0);
+        }
+
+        assertEquals(expected, robot.getObservedScript());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidRepeatedConnectWhenPrepared() throws Exception {
+        // @formatter:off
+        String script =
+            "connect 'tcp://localhost:8080'\n" +
+            "        option repeat 5\n" +
+            "        option concurrency 0\n" +
+            "connected\n" +
+            "close\n" +
+            "closed\n";
+        // @formatter:on
+
+        robot.prepare(script);
+    }
+
+    @Test
+    public void shouldFailInvalidRepeatedConnectWhenStarted() throws Exception {
+        // @formatter:off
+        String script =
+            "property repeat -1\n" +
+            "\n" +
+            "connect 'tcp://localhost:8080'\n" +
+            "        option repeat ${repeat}\n" +
+            "connected\n" +
+            "close\n" +
+            "closed\n";
+        // @formatter:on
+
+        server.bind(new InetSocketAddress("localhost", 8080));
+
+        robot.prepareAndStart(script).await();
+
+        robot.finish().await();
+
+        assertNotEquals(script, robot.getObservedScript());
+    }
+
+    @Test
+    public void shouldAbortRepeatedConnect() throws Exception {
+        // @formatter:off
+        String script =
+            "connect 'tcp://localhost:8080'\n" +
+            "        option repeat 100\n" +
+            "        option concurrency 2\n" +
+            "connected\n" +
+            "read \"Hello\\n\"\n" +
+            "close\n" +
+            "closed\n";
+        // @formatter:on
+
+        server.bind(new InetSocketAddress("localhost", 8080));
+
+        robot.prepareAndStart(script).await();
+
+        accepted = server.accept();
+
+        robot.abort().await();
+
+        assertNotEquals(script, robot.getObservedScript());
+    }
+
     @Test
     public void shouldAbortConnectOK() throws Exception {
 
@@ -269,6 +575,71 @@ public class RobotIT {
         assertEquals(expected, observedScript);
     }
 
+    @Test
+    public void shouldAcceptDeferredThenCloseOK() throws Exception {
+
+        // @formatter:off
+        String script =
+            "accept 'tcp://localhost:8080'\n" +
+            "accepted\n" +
+            "connected\n" +
+            "read \"Hello\\n\"\n" +
+            "close\n" +
+            "closed\n" +
+            "\n" +
+            "accepted\n" +
+            "connected\n" +
+            "close\n" +
+            "closed\n";
+
+        String expected = script;
+        // @formatter:on
+
+        robot.setAcceptDeferred(true);
+        robot.prepareAndStart(script).await();
+
+        client.connect(new InetSocketAddress("localhost", 8080));
+        OutputStream out = client.getOutputStream();
+        out.write("Hello\n".getBytes(UTF_8));
+        out.flush();
+        assertEquals(-1, client.getInputStream().read());
+
+        try (Socket client2 = new Socket()) {
+            client2.connect(new InetSocketAddress("localhost", 8080));
+            assertEquals(-1, client2.getInputStream().read());
+        }
+
+        robot.finish().await();
+
+        assertEquals(expected, robot.getObservedScript());
+    }
+
+    @Test
+    public void shouldAbortAcceptDeferredNoConnectionsOK() throws Exception {
+
+        // @formatter:off
+        String script =
+            "accept 'tcp://localhost:8080'\n" +
+            "accepted\n" +
+            "connected\n" +
+            "close\n" +
+            "closed\n";
+
+        String expected =
+                "accept 'tcp://localhost:8080'\n" +
+                "\n";
+        // @formatter:on
+
+        robot.setAcceptDeferred(true);
+        robot.prepareAndStart(script).await();
+
+        robot.abort().await();
+
+        String observedScript = robot.getObservedScript();
+
+        assertEquals(expected, observedScript);
+    }
+
     @Test
     public void shouldAbortPreparedNotStartedOK() throws Exception {
 
@@ -15,11 +15,15 @@
  */
 package io.aklivity.k3po.runtime.driver.internal.behavior;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
 
 import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptProgress;
+import io.aklivity.k3po.runtime.driver.internal.behavior.parser.PropertyOverrides;
 import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
 import io.aklivity.k3po.runtime.lang.internal.ast.AstRegion;
 import io.aklivity.k3po.runtime.lang.internal.ast.AstScriptNode;
@@ -1420,4 +1424,109 @@ public class ScriptProgressTest {
 
     }
 
+    @Test
+    public void observedDiffsEmptyOnSuccess() throws Exception {
+        // @formatter:off
+        String script =
+                "connect 'tcp://localhost:8080'\n" +
+                "connected\n" +
+                "close\n" +
+                "closed\n";
+        // @formatter:on
+
+        ScriptParser parser = new ScriptParserImpl();
+        AstScriptNode scriptAST = parser.parse(script);
+
+        RegionInfo scriptInfo = scriptAST.getRegionInfo();
+
+        ScriptProgress progress = new ScriptProgress(scriptInfo, script);
+
+        assertEquals(emptyList(), progress.getObservedDiffs());
+    }
+
+    @Test
+    public void observedDiffsReplaceFailedRegions() throws Exception {
+        // @formatter:off
+        String script =
+                "connect 'tcp://localhost:8080'\n" +
+                "connected\n" +
+                "read \"M\"\n" +
+                "close\n" +
+                "closed\n" +
+                "\n" +
+                "connect 'tcp://localhost:8081'\n" +
+                "connected\n" +
+                "close\n" +
+                "closed\n";
+        // @formatter:on
+
+        ScriptParser parser = new ScriptParserImpl();
+        AstScriptNode scriptAST = parser.parse(script);
+        AstStreamNode connectAST = scriptAST.getStreams().get(0);
+        AstRegion readAST = connectAST.getStreamables().get(1);
+        AstStreamNode connect2AST = scriptAST.getStreams().get(1);
+        AstRegion closedAST = connect2AST.getStreamables().get(2);
+
+        RegionInfo scriptInfo = scriptAST.getRegionInfo();
+
+        ScriptProgress progress = new ScriptProgress(scriptInfo, script);
+        progress.addScriptFailure(readAST.getRegionInfo(), "closed");
+        progress.addScriptFailure(closedAST.getRegionInfo(), "OPEN");
+
+        String observedScript = progress.getObservedScript();
+        RegionInfo readInfo = readAST.getRegionInfo();
+        RegionInfo closedInfo = closedAST.getRegionInfo();
+
+        assertEquals(asList(
+                new ScriptDiff(readInfo.start, connectAST.getRegionInfo().end, "closed"),
+                new ScriptDiff(closedInfo.start, closedInfo.end, "OPEN")),
+                progress.getObservedDiffs());
+        assertEquals(observedScript, ScriptDiff.apply(script, progress.getObservedDiffs()));
+    }
+
+    @Test
+    public void observedDiffsWithPropertyOverrides() throws Exception {
+        // @formatter:off
+        String script =
+                "property greeting \"Hello\"\n" +
+                "\n" +
+                "connect 'tcp://localhost:8080'\n" +
+                "connected\n" +
+                "write ${greeting}\n" +
+                "read \"M\"\n" +
+                "close\n" +
+                "closed\n";
+        // @formatter:on
+
+        ScriptParserImpl parser = new ScriptParserImpl();
+        AstScriptNode scriptAST = parser.parse(script);
+        AstStreamNode connectAST = scriptAST.getStreams().get(0);
+        AstRegion readAST = connectAST.getStreamables().get(2);
+
+        String override = "property greeting \"Hello, world\"";
+        PropertyOverrides overrides = PropertyOverrides.apply(parser, scriptAST, singletonList(override));
+
+        RegionInfo scriptInfo = scriptAST.getRegionInfo();
+
+        ScriptProgress progress = new ScriptProgress(scriptInfo, script, overrides);
+        progress.addScriptFailure(readAST.getRegionInfo(), "closed");
+
+        String expectedScript = script.replace("property greeting \"Hello\"", override);
+        String observedScript = progress.getObservedScript();
+
+        // @formatter:off
+        String expectedObservedScript =
+                "property greeting \"Hello, world\"\n" +
+                "\n" +
+                "connect 'tcp://localhost:8080'\n" +
+                "connected\n" +
+                "write ${greeting}\n" +
+                "closed\n";
+        // @formatter:on
+
+        assertEquals(expectedScript, progress.getExpectedScript());
+        assertEquals(expectedObservedScript, observedScript);
+        assertEquals(observedScript, ScriptDiff.apply(expectedScript, progress.getObservedDiffs()));
+    }
+
 }
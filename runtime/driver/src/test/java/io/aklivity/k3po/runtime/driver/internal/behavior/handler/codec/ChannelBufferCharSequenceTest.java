@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jboss.netty.buffer.ChannelBuffers.dynamicBuffer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.junit.Test;
+
+public class ChannelBufferCharSequenceTest {
+
+    @Test
+    public void shouldDecodeIncrementally() throws Exception {
+        ChannelBufferCharSequence sequence = new ChannelBufferCharSequence(UTF_8);
+        ChannelBuffer buffer = dynamicBuffer();
+        byte[] bytes = "aé€😂b".getBytes(UTF_8);
+
+        buffer.writeBytes(bytes, 0, 2);
+        assertTrue(sequence.decode(buffer, false));
+        assertEquals("a", sequence.toString());
+
+        buffer.writeBytes(bytes, 2, 3);
+        assertTrue(sequence.decode(buffer, false));
+        assertEquals("aé", sequence.toString());
+
+        buffer.writeBytes(bytes, 5, 3);
+        assertTrue(sequence.decode(buffer, false));
+        assertEquals("aé€", sequence.toString());
+
+        buffer.writeBytes(bytes, 8, 1);
+        assertFalse(sequence.decode(buffer, false));
+
+        buffer.writeBytes(bytes, 9, bytes.length - 9);
+        assertTrue(sequence.decode(buffer, false));
+        assertEquals("aé€😂b", sequence.toString());
+        assertEquals("€", sequence.subSequence(2, 3).toString());
+    }
+
+    @Test
+    public void shouldMapCharactersToBytes() throws Exception {
+        ChannelBufferCharSequence sequence = new ChannelBufferCharSequence(UTF_8);
+        ChannelBuffer buffer = dynamicBuffer();
+        buffer.writeBytes("aé€😂b".getBytes(UTF_8));
+
+        sequence.decode(buffer, false);
+
+        assertEquals(0, sequence.byteCount(0));
+        assertEquals(1, sequence.byteCount(1));
+        assertEquals(3, sequence.byteCount(2));
+        assertEquals(6, sequence.byteCount(3));
+        assertEquals(10, sequence.byteCount(5));
+        assertEquals(11, sequence.byteCount(6));
+    }
+
+    @Test
+    public void shouldReplaceIncompleteCharacterWhenLast() throws Exception {
+        ChannelBufferCharSequence sequence = new ChannelBufferCharSequence(UTF_8);
+        ChannelBuffer buffer = dynamicBuffer();
+        buffer.writeBytes("a€".getBytes(UTF_8), 0, 3);
+
+        sequence.decode(buffer, true);
+
+        assertEquals("a�", sequence.toString());
+        assertEquals(3, sequence.byteCount(2));
+    }
+
+    @Test
+    public void shouldViewSingleByteCharsetWithoutDecoding() throws Exception {
+        ChannelBufferCharSequence sequence = new ChannelBufferCharSequence(ISO_8859_1);
+        ChannelBuffer buffer = dynamicBuffer();
+        buffer.writeBytes("xxété".getBytes(ISO_8859_1));
+        buffer.skipBytes(2);
+
+        sequence.decode(buffer, false);
+
+        assertEquals(3, sequence.length());
+        assertEquals('é', sequence.charAt(0));
+        assertEquals("té", sequence.subSequence(1, 3).toString());
+        assertEquals(3, sequence.byteCount(3));
+    }
+}
@@ -16,7 +16,7 @@
 package io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec;
 
 import static io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.Maskers.newMasker;
-import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionFactoryUtils.synchronizedSupplier;
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionFactoryUtils.valueSupplier;
 import static org.jboss.netty.buffer.ChannelBuffers.wrappedBuffer;
 import static org.junit.Assert.assertEquals;
 
@@ -70,7 +70,7 @@ public class MaskerTest {
         ExpressionContext environment = new ExpressionContext();
         ExpressionFactory factory = ExpressionFactory.newInstance();
         ValueExpression expression = factory.createValueExpression(new byte[]{0x01, 0x02, 0x03, 0x04}, byte[].class);
-        Supplier<byte[]> supplier = synchronizedSupplier(expression, environment, byte[].class);
+        Supplier<byte[]> supplier = valueSupplier(expression, environment, byte[].class);
 
         Masker decoder = newMasker(supplier);
         ChannelBuffer originalBuf = wrappedBuffer(new byte[]{0x11, 0x12, 0x13, 0x14, 0x21, 0x22, 0x23, 0x24});
@@ -84,7 +84,7 @@ public class MaskerTest {
         ExpressionContext environment = new ExpressionContext();
         ExpressionFactory factory = ExpressionFactory.newInstance();
         ValueExpression expression = factory.createValueExpression(new byte[]{0x01, 0x02, 0x03, 0x04}, byte[].class);
-        Supplier<byte[]> supplier = synchronizedSupplier(expression, environment, byte[].class);
+        Supplier<byte[]> supplier = valueSupplier(expression, environment, byte[].class);
 
         Masker decoder = newMasker(supplier);
         ChannelBuffer originalBuf1 = wrappedBuffer(new byte[]{0x11, 0x12, 0x13, 0x14});
@@ -101,7 +101,7 @@ public class MaskerTest {
         ExpressionContext environment = new ExpressionContext();
         ExpressionFactory factory = ExpressionFactory.newInstance();
         ValueExpression expression = factory.createValueExpression(new byte[]{0x01, 0x02, 0x03, 0x04}, byte[].class);
-        Supplier<byte[]> supplier = synchronizedSupplier(expression, environment, byte[].class);
+        Supplier<byte[]> supplier = valueSupplier(expression, environment, byte[].class);
 
         Masker decoder = newMasker(supplier);
         ChannelBuffer originalBuf1 = wrappedBuffer(new byte[]{0x11, 0x12, 0x13, 0x14, 0x11});
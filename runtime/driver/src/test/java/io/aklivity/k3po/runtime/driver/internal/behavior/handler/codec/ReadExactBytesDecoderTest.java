@@ -16,8 +16,10 @@
 package io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec;
 
 import static org.jboss.netty.buffer.ChannelBuffers.copiedBuffer;
+import static org.jboss.netty.buffer.ChannelBuffers.wrappedBuffer;
 import static org.jboss.netty.channel.Channels.pipeline;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
@@ -84,4 +86,46 @@ public class ReadExactBytesDecoderTest {
         assertNotNull(remainingBuffer);
         assertEquals(copiedBuffer(new byte[]{0x04, 0x05}), remainingBuffer);
     }
+
+    @Test
+    public void completeMatchWithBytesLeftOverWithoutCopyOK() throws Exception {
+        MessageDecoder decoder = new ReadExactBytesDecoder(new byte[]{0x01, 0x02, 0x03});
+        ChannelBuffer buffer = wrappedBuffer(new byte[]{0x01, 0x02, 0x03, 0x04, 0x05});
+
+        ChannelBuffer remainingBuffer = decoder.decode(buffer);
+
+        assertEquals(wrappedBuffer(new byte[]{0x04, 0x05}), remainingBuffer);
+        assertFalse(buffer.readable());
+        assertEquals(0, decoder.getBytesCopied());
+    }
+
+    @Test
+    public void fragmentedMatchWithBytesLeftOverWithoutCopyOK() throws Exception {
+        MessageDecoder decoder = new ReadExactBytesDecoder(new byte[]{0x01, 0x02, 0x03});
+
+        assertNull(decoder.decode(wrappedBuffer(new byte[]{0x01})));
+        assertNull(decoder.decode(wrappedBuffer(new byte[]{0x02})));
+        ChannelBuffer remainingBuffer = decoder.decode(wrappedBuffer(new byte[]{0x03, 0x04}));
+
+        assertEquals(wrappedBuffer(new byte[]{0x04}), remainingBuffer);
+        assertEquals(0, decoder.getBytesCopied());
+    }
+
+    @Test
+    public void highlyFragmentedMatchOK() throws Exception {
+        byte[] expected = new byte[64];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) i;
+        }
+        MessageDecoder decoder = new ReadExactBytesDecoder(expected);
+
+        ChannelBuffer remainingBuffer = null;
+        for (int i = 0; i < expected.length; i++) {
+            remainingBuffer = decoder.decode(wrappedBuffer(expected, i, 1));
+        }
+
+        assertNotNull(remainingBuffer);
+        assertEquals(0, remainingBuffer.readableBytes());
+        assertEquals(expected.length, decoder.getBytesCopied());
+    }
 }
@@ -16,6 +16,7 @@
 package io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec;
 
 import static org.jboss.netty.buffer.ChannelBuffers.copiedBuffer;
+import static org.jboss.netty.buffer.ChannelBuffers.wrappedBuffer;
 import static org.jboss.netty.channel.Channels.pipeline;
 import static org.jboss.netty.util.CharsetUtil.UTF_8;
 import static org.junit.Assert.assertArrayEquals;
@@ -157,4 +158,61 @@ public class ReadRegexDecoderTest {
         ValueExpression expression = expressionFactory.createValueExpression(environment, "${var}", Object.class);
         assertEquals("Hello", expression.getValue(environment));
     }
+
+    @Test
+    public void fragmentedMultiByteMatchWithBytesLeftOverWithCaptureOK() throws Exception {
+        NamedGroupPattern pattern = NamedGroupPattern.compile("(?<var>H.*o)\\n");
+        MessageDecoder decoder = new ReadRegexDecoder(pattern, UTF_8, environment);
+        byte[] bytes = "H\u00e9\u20acllo\nW\u00f6rld".getBytes(UTF_8);
+
+        int newline = 1 + 2 + 3 + 3;
+        for (int i = 0; i < newline; i++) {
+            assertNull(decoder.decode(wrappedBuffer(bytes, i, 1)));
+        }
+
+        ChannelBuffer remainingBuffer = decoder.decode(wrappedBuffer(bytes, newline, bytes.length - newline));
+        assertNotNull(remainingBuffer);
+        assertEquals(copiedBuffer("W\u00f6rld", UTF_8), remainingBuffer);
+
+        ValueExpression expression = expressionFactory.createValueExpression(environment, "${var}", Object.class);
+        assertEquals("H\u00e9\u20acllo", expression.getValue(environment));
+    }
+
+    @Test
+    public void completeMatchAfterMatchWithBytesLeftOverOK() throws Exception {
+        NamedGroupPattern pattern = NamedGroupPattern.compile("H.*o\\n");
+        MessageDecoder decoder = new ReadRegexDecoder(pattern, UTF_8, environment);
+
+        ChannelBuffer remainingBuffer = decoder.decode(copiedBuffer("Hello\nWorld", UTF_8));
+        assertEquals(copiedBuffer("World", UTF_8), remainingBuffer);
+
+        remainingBuffer = decoder.decode(copiedBuffer("Hi", UTF_8));
+        assertNull(remainingBuffer);
+
+        remainingBuffer = decoder.decode(copiedBuffer("o\n", UTF_8));
+        assertEquals(0, remainingBuffer.readableBytes());
+    }
+
+    @Test
+    public void fragmentedLongMatchOneByteAtATimeOK() throws Exception {
+        NamedGroupPattern pattern = NamedGroupPattern.compile("(?<var>[^\\n]*)\\n");
+        MessageDecoder decoder = new ReadRegexDecoder(pattern, UTF_8, environment);
+
+        int length = 32768;
+        byte[] bytes = new byte[length + 1];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ('a' + i % 26);
+        }
+        bytes[length] = '\n';
+
+        for (int i = 0; i < length; i++) {
+            assertNull(decoder.decode(wrappedBuffer(bytes, i, 1)));
+        }
+
+        ChannelBuffer remainingBuffer = decoder.decode(wrappedBuffer(bytes, length, 1));
+        assertEquals(0, remainingBuffer.readableBytes());
+
+        ValueExpression expression = expressionFactory.createValueExpression(environment, "${var}", Object.class);
+        assertEquals(new String(bytes, 0, length, UTF_8), expression.getValue(environment));
+    }
 }
@@ -16,7 +16,7 @@
 package io.aklivity.k3po.runtime.driver.internal.behavior.handler.command;
 
 import static io.aklivity.k3po.runtime.driver.internal.behavior.handler.codec.Maskers.newMasker;
-import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionFactoryUtils.synchronizedSupplier;
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionFactoryUtils.valueSupplier;
 import static java.lang.Boolean.TRUE;
 import static java.util.Arrays.asList;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -126,7 +126,7 @@ public class WriteHandlerTest {
         ExpressionFactory expressionFactory = ExpressionFactory.newInstance();
         environment = new ExpressionContext();
         expression = expressionFactory.createValueExpression(environment, "${variable}", byte[].class);
-        Supplier<Object> supplier = synchronizedSupplier(expression, environment, Object.class);
+        Supplier<Object> supplier = valueSupplier(expression, environment, Object.class);
         encoders.add(new WriteExpressionEncoder(supplier, expression));
 
         masker = newMasker(maskingKey);
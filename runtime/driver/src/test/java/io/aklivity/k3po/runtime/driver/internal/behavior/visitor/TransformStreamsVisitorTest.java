@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.behavior.visitor;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import io.aklivity.k3po.runtime.lang.internal.ast.AstRegionException;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstScriptNode;
+import io.aklivity.k3po.runtime.lang.internal.parser.ScriptParserImpl;
+
+public class TransformStreamsVisitorTest {
+
+    @Test
+    public void shouldTransformStreamsAsSequentialVisitors()
+        throws Exception {
+
+        String script =
+            "accept \"tcp://localhost:8000\"\n" +
+            "accepted\n" +
+            "connected\n" +
+            "read \"Hello\"\n" +
+            "write \"World\"\n" +
+            "read \"again\"\n" +
+            "close\n" +
+            "closed\n" +
+            "\n" +
+            "accept \"tcp://localhost:8001\"\n" +
+            "rejected\n" +
+            "\n" +
+            "connect \"tcp://localhost:8000\"\n" +
+            "connected\n" +
+            "write \"Hello\"\n" +
+            "read \"World\"\n" +
+            "write \"again\"\n" +
+            "closed\n";
+
+        AstScriptNode inputScriptNode = new ScriptParserImpl().parse(script);
+
+        AstScriptNode expectedScriptNode = inputScriptNode;
+        expectedScriptNode = expectedScriptNode.accept(new InjectEventsVisitor(), new InjectEventsVisitor.State());
+        expectedScriptNode = expectedScriptNode.accept(new InjectBarriersVisitor(), new InjectBarriersVisitor.State());
+        expectedScriptNode = expectedScriptNode.accept(new InjectFlushVisitor(), new InjectFlushVisitor.State());
+        expectedScriptNode = expectedScriptNode.accept(new AssociateStreamsVisitor(), new AssociateStreamsVisitor.State());
+
+        TransformStreamsVisitor transformStreams = new TransformStreamsVisitor();
+        AstScriptNode actualScriptNode = inputScriptNode.accept(transformStreams, new TransformStreamsVisitor.State());
+
+        assertEquals(expectedScriptNode, actualScriptNode);
+    }
+
+    @Test(expected = AstRegionException.class)
+    public void shouldNotTransformAcceptedStreamWithoutAcceptStream()
+        throws Exception {
+
+        String script =
+            "accepted\n" +
+            "connected\n" +
+            "closed\n";
+
+        AstScriptNode inputScriptNode = new ScriptParserImpl().parse(script);
+
+        TransformStreamsVisitor transformStreams = new TransformStreamsVisitor();
+        inputScriptNode.accept(transformStreams, new TransformStreamsVisitor.State());
+    }
+
+}
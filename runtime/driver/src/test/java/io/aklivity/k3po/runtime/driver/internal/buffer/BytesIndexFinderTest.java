@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.buffer;
+
+import static org.jboss.netty.buffer.ChannelBuffers.directBuffer;
+import static org.jboss.netty.buffer.ChannelBuffers.wrappedBuffer;
+import static org.jboss.netty.util.CharsetUtil.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.junit.Test;
+
+public class BytesIndexFinderTest {
+
+    private static final String TEXT = "GET / HTTP/1.1\r\nHost: localhost:8080\r\nContent-Length: 12\r\n\r\nHello, World";
+
+    @Test
+    public void shouldFindPatternInArrayBuffer() throws Exception {
+        BytesIndexFinder finder = new BytesIndexFinder("\r\n\r\n".getBytes(UTF_8));
+        ChannelBuffer buffer = wrappedBuffer(TEXT.getBytes(UTF_8));
+
+        assertEquals(TEXT.indexOf("\r\n\r\n"), finder.indexOf(buffer));
+    }
+
+    @Test
+    public void shouldFindPatternInDirectBuffer() throws Exception {
+        BytesIndexFinder finder = new BytesIndexFinder("Content-Length".getBytes(UTF_8));
+        ChannelBuffer buffer = directBuffer(TEXT.length());
+        buffer.writeBytes(TEXT.getBytes(UTF_8));
+
+        assertEquals(TEXT.indexOf("Content-Length"), finder.indexOf(buffer));
+    }
+
+    @Test
+    public void shouldFindPatternAcrossCompositeBuffer() throws Exception {
+        BytesIndexFinder finder = new BytesIndexFinder("localhost".getBytes(UTF_8));
+        byte[] bytes = TEXT.getBytes(UTF_8);
+        int split = TEXT.indexOf("host:") + 2;
+        ChannelBuffer buffer = wrappedBuffer(wrappedBuffer(bytes, 0, split), wrappedBuffer(bytes, split, bytes.length - split));
+
+        assertEquals(TEXT.indexOf("localhost"), finder.indexOf(buffer));
+    }
+
+    @Test
+    public void shouldFindPatternInSlice() throws Exception {
+        BytesIndexFinder finder = new BytesIndexFinder("\r\n".getBytes(UTF_8));
+        ChannelBuffer buffer = wrappedBuffer(TEXT.getBytes(UTF_8));
+        int start = TEXT.indexOf("Host");
+        ChannelBuffer slice = buffer.slice(start, buffer.readableBytes() - start);
+
+        assertEquals(TEXT.indexOf("\r\n", start) - start, finder.indexOf(slice));
+    }
+
+    @Test
+    public void shouldFindPatternWithinRange() throws Exception {
+        BytesIndexFinder finder = new BytesIndexFinder("\r\n".getBytes(UTF_8));
+        ChannelBuffer buffer = wrappedBuffer(TEXT.getBytes(UTF_8));
+        int first = TEXT.indexOf("\r\n");
+
+        assertEquals(TEXT.indexOf("\r\n", first + 1), finder.indexOf(buffer, first + 1, buffer.writerIndex()));
+        assertEquals(-1, finder.indexOf(buffer, 0, first + 1));
+    }
+
+    @Test
+    public void shouldNotFindMissingPattern() throws Exception {
+        BytesIndexFinder finder = new BytesIndexFinder("HTTP/2".getBytes(UTF_8));
+        ChannelBuffer buffer = wrappedBuffer(TEXT.getBytes(UTF_8));
+
+        assertEquals(-1, finder.indexOf(buffer));
+    }
+
+    @Test
+    public void shouldFindEveryByteValue() throws Exception {
+        byte[] bytes = new byte[256 + 13];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+
+        for (int value = 0; value < 256; value++) {
+            BytesIndexFinder finder = new BytesIndexFinder(new byte[] { (byte) value });
+            assertEquals(value, finder.indexOf(bytes, 0, bytes.length));
+            assertEquals(value, finder.indexOf(direct, 0, bytes.length));
+            assertEquals(value < 13 ? value + 256 : -1, finder.indexOf(bytes, value + 1, bytes.length));
+        }
+    }
+
+    @Test
+    public void shouldFindAtGuessedIndex() throws Exception {
+        BytesIndexFinder finder = new BytesIndexFinder("World".getBytes(UTF_8));
+        ChannelBuffer buffer = wrappedBuffer(TEXT.getBytes(UTF_8));
+
+        assertEquals(TEXT.indexOf("World"), buffer.indexOf(0, buffer.writerIndex(), finder));
+        assertEquals(TEXT.indexOf("World"), buffer.bytesBefore(finder));
+    }
+}
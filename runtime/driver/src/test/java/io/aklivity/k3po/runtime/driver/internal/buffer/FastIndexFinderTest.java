@@ -26,6 +26,7 @@ import org.junit.Test;
 
 import io.aklivity.k3po.runtime.driver.internal.buffer.FastIndexFinder;
 
+@SuppressWarnings("deprecation")
 public class FastIndexFinderTest {
 
     @Test
@@ -112,6 +112,100 @@ public class ControlDecoderTest {
         context.assertIsSatisfied();
     }
 
+    @Test
+    public void shouldDecodePrepareMessageWithTimings() throws Exception {
+
+        String path = "io/aklivity/k3po/runtime/driver/control/handler/testScript.rpt";
+
+        final PrepareMessage expected = new PrepareMessage();
+        expected.setNames(singletonList(path));
+        expected.setTimings(true);
+
+        context.checking(new Expectations() {
+            {
+                oneOf(handler).handleUpstream(with(any(ChannelHandlerContext.class)), with(message(expected)));
+            }
+        });
+
+        // @formatter:off
+        ChannelBuffer buffer = copiedBuffer("PREPARE\n" +
+                                            "name:" + path + "\n" +
+                                            "timings:true\n" +
+                                            "\n", UTF_8);
+        // @formatter:on
+
+        ChannelFuture future = client.connect(new LocalAddress("test")).sync();
+        Channel channel = future.getChannel();
+        channel.write(buffer).sync();
+        channel.close().sync();
+
+        assertEquals(0, buffer.readableBytes());
+        context.assertIsSatisfied();
+    }
+
+    @Test
+    public void shouldDecodePrepareMessageWithAcceptDeferred() throws Exception {
+
+        String path = "io/aklivity/k3po/runtime/driver/control/handler/testScript.rpt";
+
+        final PrepareMessage expected = new PrepareMessage();
+        expected.setNames(singletonList(path));
+        expected.setAcceptDeferred(true);
+
+        context.checking(new Expectations() {
+            {
+                oneOf(handler).handleUpstream(with(any(ChannelHandlerContext.class)), with(message(expected)));
+            }
+        });
+
+        // @formatter:off
+        ChannelBuffer buffer = copiedBuffer("PREPARE\n" +
+                                            "name:" + path + "\n" +
+                                            "accept-deferred:true\n" +
+                                            "\n", UTF_8);
+        // @formatter:on
+
+        ChannelFuture future = client.connect(new LocalAddress("test")).sync();
+        Channel channel = future.getChannel();
+        channel.write(buffer).sync();
+        channel.close().sync();
+
+        assertEquals(0, buffer.readableBytes());
+        context.assertIsSatisfied();
+    }
+
+    @Test
+    public void shouldDecodePrepareMessageReceivedOneByteAtATime() throws Exception {
+
+        String path = "io/aklivity/k3po/runtime/driver/control/handler/testScript.rpt";
+
+        final PrepareMessage expected = new PrepareMessage();
+        expected.setVersion("2.0");
+        expected.setNames(singletonList(path));
+
+        context.checking(new Expectations() {
+            {
+                oneOf(handler).handleUpstream(with(any(ChannelHandlerContext.class)), with(message(expected)));
+            }
+        });
+
+        // @formatter:off
+        ChannelBuffer buffer = copiedBuffer("PREPARE\n" +
+                                            "version:2.0\n" +
+                                            "name:" + path + "\n" +
+                                            "\n", UTF_8);
+        // @formatter:on
+
+        ChannelFuture future = client.connect(new LocalAddress("test")).sync();
+        Channel channel = future.getChannel();
+        while (buffer.readable()) {
+            channel.write(buffer.readSlice(1)).sync();
+        }
+        channel.close().sync();
+
+        context.assertIsSatisfied();
+    }
+
     @Test
     public void shouldDecodeAbortMessage() throws Exception {
 
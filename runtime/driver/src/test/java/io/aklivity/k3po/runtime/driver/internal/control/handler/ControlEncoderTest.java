@@ -15,6 +15,7 @@
  */
 package io.aklivity.k3po.runtime.driver.internal.control.handler;
 
+import static java.util.Arrays.asList;
 import static org.jboss.netty.buffer.ChannelBuffers.copiedBuffer;
 import static org.jboss.netty.channel.Channels.pipeline;
 import static org.jboss.netty.util.CharsetUtil.UTF_8;
@@ -36,6 +37,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings.StepTiming;
 import io.aklivity.k3po.runtime.driver.internal.control.ErrorMessage;
 import io.aklivity.k3po.runtime.driver.internal.control.FinishedMessage;
 import io.aklivity.k3po.runtime.driver.internal.control.PreparedMessage;
@@ -201,4 +203,39 @@ public class ControlEncoderTest {
 
         context.assertIsSatisfied();
     }
+
+    @Test
+    public void shouldEncodeFinishedMessageWithTimings() throws Exception {
+
+        // @formatter:off
+        final ChannelBuffer expected = copiedBuffer("FINISHED\n" +
+                                                    "timing:0,29,1000,2000,ok,connect\n" +
+                                                    "timing:29,39,3000,4000,failed,connected\n" +
+                                                    "content-length:39\n" +
+                                                    "\n" +
+                                                    "connect tcp://localhost:8000\n" +
+                                                    "connected\n", UTF_8);
+        // @formatter:on
+
+        context.checking(new Expectations() {
+            {
+                oneOf(handler).handleDownstream(with(any(ChannelHandlerContext.class)), with(message(expected)));
+            }
+        });
+
+        // @formatter:off
+        FinishedMessage finishedMessage = new FinishedMessage();
+        finishedMessage.setScript("connect tcp://localhost:8000\n" +
+                                  "connected\n");
+        finishedMessage.setTimings(asList(new StepTiming("connect", 0, 29, 1000L, 2000L, true),
+                                          new StepTiming("connected", 29, 39, 3000L, 4000L, false)));
+        // @formatter:on
+
+        ChannelFuture future = client.connect(new LocalAddress("test")).sync();
+        Channel channel = future.getChannel();
+        channel.write(finishedMessage).sync();
+        channel.close().sync();
+
+        context.assertIsSatisfied();
+    }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.control.handler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.DisableOnDebug;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+
+import io.aklivity.k3po.runtime.driver.internal.RobotServer;
+
+public class ControlServerHandlerIT {
+
+    private static final String SCRIPT_PATH = "io/aklivity/k3po/runtime/driver/internal/control/handler";
+
+    @Rule
+    public final TestRule timeout = new DisableOnDebug(new Timeout(5, SECONDS));
+
+    private RobotServer robot;
+    private Socket control;
+    private Writer out;
+    private BufferedReader in;
+
+    @Before
+    public void setupRobot() throws Exception {
+        robot = new RobotServer(URI.create("tcp://localhost:9080"), false, getClass().getClassLoader());
+        robot.start();
+
+        control = new Socket();
+        control.connect(new InetSocketAddress("localhost", 9080));
+        out = new OutputStreamWriter(control.getOutputStream(), UTF_8);
+        in = new BufferedReader(new InputStreamReader(control.getInputStream(), UTF_8));
+    }
+
+    @After
+    public void shutdownRobot() throws Exception {
+        control.close();
+        robot.stop();
+    }
+
+    @Test
+    public void shouldPrepareStartAndFinishPipelinedScripts() throws Exception {
+        // both PREPAREs are sent before the first script has been started
+        out.append("PREPARE\n");
+        out.append("version:2.1\n");
+        out.append("name:" + SCRIPT_PATH + "/pipelined.first\n");
+        out.append("\n");
+        out.append("PREPARE\n");
+        out.append("version:2.1\n");
+        out.append("name:" + SCRIPT_PATH + "/pipelined.second\n");
+        out.append("\n");
+        out.flush();
+
+        assertPreparedStartedAndFinished("property first \"first\"\n");
+        assertPreparedStartedAndFinished("property second \"second\"\n");
+    }
+
+    @Test
+    public void shouldReportTimingsInOverriddenScript() throws Exception {
+        // the overridden property value is longer, so every step after it moves in the prepared script
+        String override = "property location \"tcp://localhost:12345\"";
+        out.append("PREPARE\n");
+        out.append("version:2.1\n");
+        out.append("name:" + SCRIPT_PATH + "/timings.overridden\n");
+        out.append("timings:true\n");
+        out.append("content-length:" + override.length() + "\n");
+        out.append("\n");
+        out.append(override);
+        out.flush();
+
+        ControlMessage prepared = readMessage();
+        assertEquals("PREPARED", prepared.kind);
+        String preparedScript = prepared.content;
+        assertTrue(preparedScript, preparedScript.contains(override));
+
+        out.append("START\n");
+        out.append("\n");
+        out.flush();
+
+        ControlMessage started = readMessage();
+        assertEquals("STARTED", started.kind);
+
+        ControlMessage finished = readMessage();
+        assertEquals("FINISHED", finished.kind);
+        assertEquals("", finished.content);
+
+        Set<String> steps = new HashSet<>();
+        for (String timing : finished.timings) {
+            String[] fields = timing.split(",", 6);
+            int start = Integer.parseInt(fields[0]);
+            int end = Integer.parseInt(fields[1]);
+            String step = fields[5];
+            if ("read".equals(step) || "write".equals(step)) {
+                assertEquals(step + " \"hello\"", preparedScript.substring(start, end));
+            }
+            steps.add(step);
+        }
+        assertTrue(steps.toString(), steps.containsAll(asList("read", "write")));
+    }
+
+    private void assertPreparedStartedAndFinished(String scriptSuffix) throws Exception {
+        ControlMessage prepared = readMessage();
+        assertEquals("PREPARED", prepared.kind);
+        assertTrue(prepared.content, prepared.content.endsWith(scriptSuffix));
+
+        out.append("START\n");
+        out.append("\n");
+        out.flush();
+
+        ControlMessage started = readMessage();
+        assertEquals("STARTED", started.kind);
+
+        ControlMessage finished = readMessage();
+        assertEquals("FINISHED", finished.kind);
+        assertEquals("", finished.content);
+    }
+
+    private ControlMessage readMessage() throws Exception {
+        ControlMessage message = new ControlMessage();
+        message.kind = in.readLine();
+
+        for (String header = in.readLine(); !header.isEmpty(); header = in.readLine()) {
+            int colonAt = header.indexOf(':');
+            String name = header.substring(0, colonAt);
+            String value = header.substring(colonAt + 1);
+            if ("timing".equals(name)) {
+                message.timings.add(value);
+            }
+            else {
+                message.headers.put(name, value);
+            }
+        }
+
+        String contentLength = message.headers.get("content-length");
+        if (contentLength != null) {
+            char[] content = new char[Integer.parseInt(contentLength)];
+            for (int offset = 0; offset < content.length;) {
+                offset += in.read(content, offset, content.length - offset);
+            }
+            message.content = new String(content);
+        }
+
+        return message;
+    }
+
+    private static final class ControlMessage {
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private final List<String> timings = new ArrayList<>();
+        private String kind;
+        private String content = "";
+    }
+}
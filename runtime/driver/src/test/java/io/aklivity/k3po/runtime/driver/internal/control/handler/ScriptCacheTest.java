@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.control.handler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.aklivity.k3po.runtime.driver.internal.behavior.ScriptTimings;
+import io.aklivity.k3po.runtime.driver.internal.control.handler.ScriptCache.CompiledScript;
+import io.aklivity.k3po.runtime.driver.internal.control.handler.ScriptCache.Key;
+import io.aklivity.k3po.runtime.lang.internal.ast.AstPropertyNode;
+
+public class ScriptCacheTest {
+
+    private static final String SCRIPT = "property x 0\nconnect \"tcp://localhost:8080\"\nconnected\n";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path scriptPath;
+    private List<URL> resources;
+    private Key key;
+
+    @Before
+    public void setUp() throws Exception {
+        File scriptFile = folder.newFile("script.rpt");
+        scriptPath = scriptFile.toPath();
+        Files.write(scriptPath, SCRIPT.getBytes(UTF_8));
+        resources = singletonList(scriptFile.toURI().toURL());
+        key = new Key(singletonList("script"), null, emptyList());
+    }
+
+    @Test
+    public void shouldHitAfterRelease() throws Exception {
+        ScriptCache cache = new ScriptCache();
+
+        assertNull(cache.lease(key, resources));
+        CompiledScript compiled = cache.compile(key, resources, SCRIPT);
+        cache.release(compiled);
+
+        assertSame(compiled, cache.lease(key, resources));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void shouldNotLeaseWhileLeased() throws Exception {
+        ScriptCache cache = new ScriptCache();
+
+        CompiledScript compiled = cache.compile(key, resources, SCRIPT);
+
+        assertNull(cache.lease(key, resources));
+        assertNotSame(compiled, cache.compile(key, resources, SCRIPT));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void shouldInvalidateWhenModified() throws Exception {
+        ScriptCache cache = new ScriptCache();
+
+        CompiledScript compiled = cache.compile(key, resources, SCRIPT);
+        cache.release(compiled);
+
+        String modifiedScript = SCRIPT + "close\nclosed\n";
+        Files.write(scriptPath, modifiedScript.getBytes(UTF_8));
+        Files.setLastModifiedTime(scriptPath, FileTime.fromMillis(System.currentTimeMillis() + 60000L));
+
+        assertNull(cache.lease(key, resources));
+        CompiledScript recompiled = cache.compile(key, resources, modifiedScript);
+
+        assertNotNull(recompiled);
+        assertNotSame(compiled, recompiled);
+        assertEquals(modifiedScript, recompiled.getScript());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void shouldReuseWhenTouchedButUnchanged() throws Exception {
+        ScriptCache cache = new ScriptCache();
+
+        CompiledScript compiled = cache.compile(key, resources, SCRIPT);
+        cache.release(compiled);
+
+        Files.setLastModifiedTime(scriptPath, FileTime.fromMillis(System.currentTimeMillis() + 60000L));
+
+        assertNull(cache.lease(key, resources));
+        assertSame(compiled, cache.compile(key, resources, SCRIPT));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void shouldRecordParseTimingOnlyWhenCompiled() throws Exception {
+        ScriptCache cache = new ScriptCache();
+
+        ScriptTimings timings = new ScriptTimings();
+        CompiledScript compiled = cache.compile(key, resources, SCRIPT, timings);
+        cache.release(compiled);
+
+        assertEquals(1, timings.getTimings().size());
+        assertEquals("parse", timings.getTimings().get(0).getStep());
+
+        ScriptTimings cachedTimings = new ScriptTimings();
+        assertSame(compiled, cache.compile(key, resources, SCRIPT, cachedTimings));
+        assertTrue(cachedTimings.getTimings().isEmpty());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() throws Exception {
+        ScriptCache cache = new ScriptCache(1);
+        Key otherKey = new Key(singletonList("script"), null, singletonList("property x 1"));
+
+        cache.release(cache.compile(key, resources, SCRIPT));
+        cache.release(cache.compile(otherKey, resources, SCRIPT));
+
+        assertEquals(1, cache.size());
+        assertNull(cache.lease(key, resources));
+    }
+
+    @Test
+    public void shouldOverridePropertiesWithoutRewritingScript() throws Exception {
+        ScriptCache cache = new ScriptCache();
+        Key overrideKey = new Key(singletonList("script"), null, singletonList("property x 1"));
+
+        CompiledScript compiled = cache.compile(overrideKey, resources, SCRIPT);
+        AstPropertyNode property = compiled.getScriptAST().getProperties().get(0);
+
+        assertSame(SCRIPT, compiled.getScript());
+        assertEquals(1, property.resolve());
+        assertEquals(SCRIPT.replace("property x 0", "property x 1"),
+                compiled.getPropertyOverrides().override(compiled.getScript()));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.executor;
+
+import static io.aklivity.k3po.runtime.driver.internal.executor.ExecutorServiceFactory.THREADS_PROPERTY_PREFIX;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.aklivity.k3po.runtime.driver.internal.executor.spi.ExecutorServiceFactorySpi;
+
+public class ExecutorServiceFactoryTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Properties properties;
+
+    @Before
+    public void saveProperties() {
+        properties = (Properties) System.getProperties().clone();
+    }
+
+    @After
+    public void restoreProperties() {
+        System.setProperties(properties);
+    }
+
+    @Test
+    public void shouldDefaultThreadCounts() throws Exception {
+        ExecutorServiceFactory factory = ExecutorServiceFactory.newInstance();
+
+        assertEquals(1, factory.getThreadCount("boss.tcp.server"));
+        assertEquals(Runtime.getRuntime().availableProcessors(), factory.getThreadCount("worker.tcp.server"));
+    }
+
+    @Test
+    public void shouldConfigureThreadCountsByPrefix() throws Exception {
+        System.setProperty(THREADS_PROPERTY_PREFIX + "worker", "8");
+        System.setProperty(THREADS_PROPERTY_PREFIX + "worker.udp", "2");
+        System.setProperty(THREADS_PROPERTY_PREFIX + "boss.tcp.server", "3");
+
+        ExecutorServiceFactory factory = ExecutorServiceFactory.newInstance();
+
+        assertEquals(8, factory.getThreadCount("worker.tcp.client"));
+        assertEquals(2, factory.getThreadCount("worker.udp.server"));
+        assertEquals(3, factory.getThreadCount("boss.tcp.server"));
+        assertEquals(1, factory.getThreadCount("boss.tcp.client"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidThreadCount() throws Exception {
+        System.setProperty(THREADS_PROPERTY_PREFIX + "worker.tcp", "0");
+
+        ExecutorServiceFactory.newInstance().getThreadCount("worker.tcp.client");
+    }
+
+    @Test
+    public void shouldSelectExecutorByLegacyName() throws Exception {
+        File services = new File(folder.getRoot(), "META-INF/services");
+        services.mkdirs();
+        Files.write(new File(services, ExecutorServiceFactorySpi.class.getName()).toPath(),
+                LegacyExecutorServiceFactorySpi.class.getName().getBytes(UTF_8));
+
+        ClassLoader parent = getClass().getClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { folder.getRoot().toURI().toURL() }, parent)) {
+            ExecutorServiceFactory factory = ExecutorServiceFactory.newInstance(loader);
+
+            LegacyExecutorServiceFactorySpi.EXECUTOR_NAMES.clear();
+            factory.newExecutorService("worker.tcp.client").shutdown();
+            factory.newExecutorService("worker.udp.client").shutdown();
+
+            assertEquals(asList("worker.tcp.client", "worker.udp.client"), LegacyExecutorServiceFactorySpi.EXECUTOR_NAMES);
+        }
+    }
+
+    public static final class LegacyExecutorServiceFactorySpi extends ExecutorServiceFactorySpi {
+
+        static final List<String> EXECUTOR_NAMES = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String getName() {
+            return "worker.client";
+        }
+
+        @Override
+        protected ExecutorService newExecutorService0(String executorName) {
+            EXECUTOR_NAMES.add(executorName);
+            return Executors.newSingleThreadExecutor();
+        }
+    }
+}
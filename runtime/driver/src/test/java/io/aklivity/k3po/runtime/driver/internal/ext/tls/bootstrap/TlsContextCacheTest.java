@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.ext.tls.bootstrap;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.security.SecureRandom;
+
+import javax.net.ssl.SSLContext;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TlsContextCacheTest {
+
+    private static final char[] PASSWORD = "generated".toCharArray();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private TlsContextCache cache;
+    private File keyStoreFile;
+    private File trustStoreFile;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new TlsContextCache(new SecureRandom());
+        keyStoreFile = folder.newFile("localhost");
+        trustStoreFile = folder.newFile("cacerts");
+        Files.copy(new File("src/test/democa/localhost").toPath(), keyStoreFile.toPath(), REPLACE_EXISTING);
+        Files.copy(new File("src/test/democa/cacerts").toPath(), trustStoreFile.toPath(), REPLACE_EXISTING);
+    }
+
+    @Test
+    public void shouldReuseContextForSameStores() throws Exception {
+        SSLContext context = cache.getContext(keyStoreFile, PASSWORD, null, null);
+
+        assertSame(context, cache.getContext(keyStoreFile, "generated".toCharArray(), null, null));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void shouldReloadContextWhenStoreModified() throws Exception {
+        SSLContext context = cache.getContext(null, null, trustStoreFile, PASSWORD);
+
+        trustStoreFile.setLastModified(trustStoreFile.lastModified() - 60000L);
+
+        assertNotSame(context, cache.getContext(null, null, trustStoreFile, PASSWORD));
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void shouldNotShareContextAcrossDifferentStores() throws Exception {
+        SSLContext keysOnly = cache.getContext(keyStoreFile, PASSWORD, null, null);
+        SSLContext keysAndTrusts = cache.getContext(keyStoreFile, PASSWORD, trustStoreFile, PASSWORD);
+        SSLContext trustsOnly = cache.getContext(null, null, trustStoreFile, PASSWORD);
+
+        assertNotSame(keysOnly, keysAndTrusts);
+        assertNotSame(keysAndTrusts, trustsOnly);
+        assertNotSame(keysOnly, trustsOnly);
+        assertEquals(3, cache.getMisses());
+    }
+}
@@ -60,6 +60,14 @@ public class FileIT {
         k3po.finish();
     }
 
+    @Test
+    @TestSpecification({
+        "read.and.write.across.windows"
+    })
+    public void shouldReadAndWriteAcrossWindows() throws Exception {
+        k3po.finish();
+    }
+
     @Test
     @TestSpecification({
         "echo.back.to.sender/sender",
@@ -69,4 +77,13 @@ public class FileIT {
         k3po.finish();
     }
 
+    @Test
+    @TestSpecification({
+        "tail.as.producer.advances/producer",
+        "tail.as.producer.advances/consumer"
+    })
+    public void shouldTailAsProducerAdvances() throws Exception {
+        k3po.finish();
+    }
+
 }
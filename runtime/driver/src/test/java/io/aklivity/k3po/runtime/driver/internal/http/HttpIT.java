@@ -141,6 +141,22 @@ public class HttpIT {
         k3po.finish();
     }
 
+    @Test
+    @TestSpecification({
+        "http.connect.keepalive.reuses.connection",
+        "tcp.accept.keepalive.reuses.connection" })
+    public void shouldReuseConnectionWithKeepAlive() throws Exception {
+        k3po.finish();
+    }
+
+    @Test
+    @TestSpecification({
+        "http.connect.keepalive.abort.after.reuse",
+        "tcp.accept.keepalive.reuses.connection" })
+    public void shouldNotAbortPooledConnectionWithKeepAlive() throws Exception {
+        k3po.finish();
+    }
+
     @Test
     @TestSpecification({
         "http.connect.get.request.with.content.on.response",
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.netty.bootstrap;
+
+import static io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.BootstrapFactory.newBootstrapFactory;
+import static io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddressFactory.newChannelAddressFactory;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.jboss.netty.channel.Channels.pipeline;
+import static org.jboss.netty.channel.Channels.pipelineFactory;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.SimpleChannelHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.DisableOnDebug;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+
+import io.aklivity.k3po.runtime.driver.internal.netty.channel.ChannelAddress;
+
+public class TransportRuntimeTest {
+
+    @Rule
+    public final TestRule timeout = new DisableOnDebug(new Timeout(5, SECONDS));
+
+    private TransportRuntime transportRuntime;
+
+    @Before
+    public void createTransportRuntime() {
+        transportRuntime = new TransportRuntime();
+    }
+
+    @After
+    public void releaseTransportRuntime() {
+        transportRuntime.releaseExternalResources();
+    }
+
+    @Test
+    public void shouldShareChannelFactoriesAcrossBootstrapFactories() throws Exception {
+        BootstrapFactory bootstrapFactory1 = newBootstrapFactory(singletonMap(TransportRuntime.class, transportRuntime));
+        BootstrapFactory bootstrapFactory2 = newBootstrapFactory(singletonMap(TransportRuntime.class, transportRuntime));
+
+        assertSame(bootstrapFactory1.newClientBootstrap("tcp").getFactory(),
+                   bootstrapFactory2.newClientBootstrap("tcp").getFactory());
+        assertSame(bootstrapFactory1.newServerBootstrap("tcp").getFactory(),
+                   bootstrapFactory2.newServerBootstrap("tcp").getFactory());
+    }
+
+    @Test
+    public void shouldNotShareChannelFactoriesWithoutTransportRuntime() throws Exception {
+        BootstrapFactory bootstrapFactory1 = newBootstrapFactory();
+        BootstrapFactory bootstrapFactory2 = newBootstrapFactory();
+
+        try {
+            assertNotSame(bootstrapFactory1.newClientBootstrap("tcp").getFactory(),
+                          bootstrapFactory2.newClientBootstrap("tcp").getFactory());
+        } finally {
+            bootstrapFactory1.releaseExternalResources();
+            bootstrapFactory2.releaseExternalResources();
+        }
+    }
+
+    @Test
+    public void shouldBindAfterOtherBootstrapFactoryReleased() throws Exception {
+        BootstrapFactory bootstrapFactory1 = newBootstrapFactory(singletonMap(TransportRuntime.class, transportRuntime));
+        bootstrapFactory1.newServerBootstrap("tcp");
+        bootstrapFactory1.shutdown();
+        bootstrapFactory1.releaseExternalResources();
+
+        BootstrapFactory bootstrapFactory2 = newBootstrapFactory(singletonMap(TransportRuntime.class, transportRuntime));
+        ServerBootstrap server = bootstrapFactory2.newServerBootstrap("tcp");
+        server.setPipelineFactory(pipelineFactory(pipeline(new SimpleChannelHandler())));
+
+        ChannelAddress localAddress = newChannelAddressFactory().newChannelAddress(URI.create("tcp://localhost:8000"));
+        Channel channel = server.bindAsync(localAddress).syncUninterruptibly().getChannel();
+        channel.close().syncUninterruptibly();
+    }
+
+    @Test
+    public void shouldShutDownDisposeExecutorWhenReleased() throws Exception {
+        ScheduledExecutorService disposeExecutor = transportRuntime.getDisposeExecutor();
+        assertSame(disposeExecutor, transportRuntime.getDisposeExecutor());
+
+        transportRuntime.releaseExternalResources();
+
+        assertTrue(disposeExecutor.isShutdown());
+    }
+
+    @Test
+    public void shouldShutDownRampUpExecutorWhenReleased() throws Exception {
+        ScheduledExecutorService rampUpExecutor = transportRuntime.getRampUpExecutor();
+        assertSame(rampUpExecutor, transportRuntime.getRampUpExecutor());
+
+        transportRuntime.releaseExternalResources();
+
+        assertTrue(rampUpExecutor.isShutdown());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.netty.bootstrap.http;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jboss.netty.buffer.ChannelBuffers.copiedBuffer;
+import static org.jboss.netty.channel.Channels.pipeline;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelFactory;
+import org.jboss.netty.channel.SimpleChannelHandler;
+import org.jboss.netty.channel.local.DefaultLocalClientChannelFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HttpBufferedContentTest {
+
+    private ChannelFactory channelFactory;
+    private Channel channel;
+
+    @Before
+    public void createChannel() {
+        channelFactory = new DefaultLocalClientChannelFactory();
+        channel = channelFactory.newChannel(pipeline(new SimpleChannelHandler()));
+    }
+
+    @After
+    public void releaseChannel() {
+        channel.close().syncUninterruptibly();
+        channelFactory.releaseExternalResources();
+    }
+
+    @Test
+    public void shouldAppendContentInOrder() throws Exception {
+        HttpBufferedContent content = new HttpBufferedContent(channel, Integer.MAX_VALUE);
+
+        assertTrue(content.append(copiedBuffer("Hello", UTF_8)));
+        assertTrue(content.append(copiedBuffer("", UTF_8)));
+        assertTrue(content.append(copiedBuffer(", ", UTF_8)));
+        assertTrue(content.append(copiedBuffer("world", UTF_8)));
+
+        assertEquals(12, content.readableBytes());
+        assertEquals(12, HttpBufferedContent.getBufferedBytes(channel));
+        assertEquals("Hello, world", content.toChannelBuffer().toString(UTF_8));
+        assertEquals(0, HttpBufferedContent.getBufferedBytes(channel));
+    }
+
+    @Test
+    public void shouldTrackBufferedBytesPerChannel() throws Exception {
+        Channel otherChannel = channelFactory.newChannel(pipeline(new SimpleChannelHandler()));
+        try {
+            HttpBufferedContent content = new HttpBufferedContent(channel, Integer.MAX_VALUE);
+            HttpBufferedContent otherContent = new HttpBufferedContent(otherChannel, Integer.MAX_VALUE);
+
+            assertTrue(content.append(copiedBuffer("Hello", UTF_8)));
+            assertTrue(otherContent.append(copiedBuffer("world!", UTF_8)));
+
+            assertEquals(5, HttpBufferedContent.getBufferedBytes(channel));
+            assertEquals(6, HttpBufferedContent.getBufferedBytes(otherChannel));
+        } finally {
+            otherChannel.close().syncUninterruptibly();
+        }
+
+        assertEquals(0, HttpBufferedContent.getBufferedBytes(otherChannel));
+    }
+
+    @Test
+    public void shouldRejectContentExceedingMaximumLength() throws Exception {
+        HttpBufferedContent content = new HttpBufferedContent(channel, 8);
+
+        assertTrue(content.append(copiedBuffer("Hello", UTF_8)));
+        assertFalse(content.append(copiedBuffer(", world", UTF_8)));
+        assertTrue(content.append(copiedBuffer("!!!", UTF_8)));
+
+        assertEquals(8, content.readableBytes());
+        assertEquals("Hello!!!", content.toChannelBuffer().toString(UTF_8));
+    }
+
+    @Test
+    public void shouldMaterializeEmptyContent() throws Exception {
+        HttpBufferedContent content = new HttpBufferedContent(channel, 0);
+
+        assertEquals(0, content.readableBytes());
+        assertEquals(0, content.toChannelBuffer().readableBytes());
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.driver.internal.netty.channel.file;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.netty.channel.ChannelException;
+import org.junit.Test;
+
+public class FileChannelAddressFactorySpiTest {
+
+    @Test
+    public void shouldCreateChannelAddressWithDefaultWindow() throws Exception {
+        FileChannelAddress address = newChannelAddress(null);
+
+        assertEquals(FileChannelAddress.DEFAULT_WINDOW, address.window());
+    }
+
+    @Test
+    public void shouldCreateChannelAddressWithWindow() throws Exception {
+        FileChannelAddress address = newChannelAddress(16L);
+
+        assertEquals(16L, address.window());
+    }
+
+    @Test(expected = ChannelException.class)
+    public void shouldRejectZeroWindow() throws Exception {
+        newChannelAddress(0L);
+    }
+
+    @Test(expected = ChannelException.class)
+    public void shouldRejectNegativeWindow() throws Exception {
+        newChannelAddress(-1L);
+    }
+
+    @Test(expected = ChannelException.class)
+    public void shouldRejectWindowLargerThanSingleMapping() throws Exception {
+        newChannelAddress(Integer.MAX_VALUE + 1L);
+    }
+
+    private static FileChannelAddress newChannelAddress(Long window) {
+        Map<String, Object> options = new HashMap<>();
+        if (window != null) {
+            options.put("window", window);
+        }
+
+        FileChannelAddressFactorySpi channelAddressFactorySpi = new FileChannelAddressFactorySpi();
+        return (FileChannelAddress) channelAddressFactorySpi.newChannelAddress(URI.create("file:target/window.dat"),
+                options);
+    }
+}
@@ -15,6 +15,9 @@
  */
 package io.aklivity.k3po.runtime.maven.plugin.internal;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -28,6 +31,7 @@ import io.aklivity.k3po.runtime.driver.internal.RobotServer;
 public abstract class AbstractMojo extends org.apache.maven.plugin.AbstractMojo {
 
     private static final ThreadLocal<RobotServer> ROBOT_SERVER = new ThreadLocal<>();
+    private static final ThreadLocal<Map<String, String>> SYSTEM_PROPERTIES = new ThreadLocal<>();
 
     @Parameter(defaultValue = "${project}", readonly = true)
     protected MavenProject project;
@@ -64,4 +68,39 @@ public abstract class AbstractMojo extends org.apache.maven.plugin.AbstractMojo
         return ROBOT_SERVER.get();
     }
 
+    /**
+     * Sets a System property read by the server, remembering its previous value for {@link #restoreSystemProperties()}.
+     */
+    protected void setSystemProperty(String name, String value) {
+        Map<String, String> systemProperties = SYSTEM_PROPERTIES.get();
+        if (systemProperties == null) {
+            systemProperties = new HashMap<>();
+            SYSTEM_PROPERTIES.set(systemProperties);
+        }
+        if (!systemProperties.containsKey(name)) {
+            systemProperties.put(name, System.getProperty(name));
+        }
+        System.setProperty(name, value);
+    }
+
+    /**
+     * Restores the System properties set by {@link #setSystemProperty(String, String)} to their previous values.
+     */
+    protected void restoreSystemProperties() {
+        Map<String, String> systemProperties = SYSTEM_PROPERTIES.get();
+        if (systemProperties != null) {
+            for (Map.Entry<String, String> entry : systemProperties.entrySet()) {
+                String name = entry.getKey();
+                String value = entry.getValue();
+                if (value == null) {
+                    System.clearProperty(name);
+                }
+                else {
+                    System.setProperty(name, value);
+                }
+            }
+            SYSTEM_PROPERTIES.remove();
+        }
+    }
+
 }
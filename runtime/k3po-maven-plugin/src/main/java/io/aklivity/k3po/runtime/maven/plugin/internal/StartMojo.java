@@ -15,6 +15,7 @@
  */
 package io.aklivity.k3po.runtime.maven.plugin.internal;
 
+import static io.aklivity.k3po.runtime.driver.internal.executor.ExecutorServiceFactory.THREADS_PROPERTY_PREFIX;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.lang.Thread.currentThread;
@@ -60,6 +61,27 @@ public class StartMojo extends AbstractMojo {
     @Parameter(defaultValue = "false", property = "maven.k3po.verbose")
     private boolean verbose;
 
+    @Parameter(defaultValue = "false", property = "maven.k3po.concurrent")
+    private boolean concurrent;
+
+    /**
+     * Number of boss threads for each transport, defaults to 1.
+     */
+    @Parameter(property = "maven.k3po.boss.threads")
+    private Integer bossThreads;
+
+    /**
+     * Number of worker threads for each transport, defaults to the number of available processors.
+     */
+    @Parameter(property = "maven.k3po.worker.threads")
+    private Integer workerThreads;
+
+    /**
+     * Thread counts by executor name prefix, such as {@code worker.tcp} or {@code worker.udp.server}.
+     */
+    @Parameter
+    private Map<String, Integer> threads;
+
     @Parameter(property = "basedir")
     private File workingDirectory;
 
@@ -83,9 +105,17 @@ public class StartMojo extends AbstractMojo {
             }
             System.setProperty("user.dir", workingDirectory.getAbsolutePath());
 
+            setThreadCount("boss", bossThreads);
+            setThreadCount("worker", workerThreads);
+            if (threads != null) {
+                for (Map.Entry<String, Integer> entry : threads.entrySet()) {
+                    setThreadCount(entry.getKey(), entry.getValue());
+                }
+            }
+
             ClassLoader testClassLoader = createTestClassLoader();
 
-            RobotServer server = new RobotServer(getControl(), verbose, testClassLoader);
+            RobotServer server = new RobotServer(getControl(), verbose, testClassLoader, concurrent);
 
             Map<?, ?> pluginsAsMap = project.getBuild().getPluginsAsMap();
             Plugin plugin = (Plugin) pluginsAsMap.get("io.aklivity.k3po:k3po-maven-plugin");
@@ -141,6 +171,7 @@ public class StartMojo extends AbstractMojo {
             }
         }
         catch (Exception e) {
+            restoreSystemProperties();
             throw new MojoExecutionException("K3PO failed to start", e);
         }
         finally
@@ -149,6 +180,16 @@ public class StartMojo extends AbstractMojo {
         }
     }
 
+    private void setThreadCount(String executorName, Integer threadCount) {
+        if (threadCount != null) {
+            Log log = getLog();
+            if (log.isDebugEnabled()) {
+                log.debug(format("Setting %s thread count to %d", executorName, threadCount));
+            }
+            setSystemProperty(THREADS_PROPERTY_PREFIX + executorName, threadCount.toString());
+        }
+    }
+
     private ClassLoader createTestClassLoader()
             throws DependencyResolutionRequiredException, MalformedURLException {
         List<URL> scriptPath = new LinkedList<>();
@@ -47,6 +47,9 @@ public class StopMojo extends AbstractMojo {
             catch (Exception e) {
                 throw new MojoExecutionException(format("K3PO [%08x] failed to stop", identityHashCode(server)), e);
             }
+            finally {
+                restoreSystemProperties();
+            }
         }
     }
 }
@@ -18,6 +18,7 @@ package io.aklivity.k3po.runtime.lang.internal.ast;
 import static io.aklivity.k3po.runtime.lang.internal.ast.util.AstUtil.equivalent;
 import static java.lang.String.format;
 
+import javax.el.ELContext;
 import javax.el.ELResolver;
 
 import io.aklivity.k3po.runtime.lang.internal.ast.value.AstValue;
@@ -56,11 +57,9 @@ public class AstPropertyNode extends AstNode {
 
     public Object resolve() {
         Object value = propertyValue.getValue();
-        ELResolver resolver = environment.getELResolver();
-        // ELResolver.setValue is not thread-safe
-        synchronized (environment) {
-            resolver.setValue(environment, null, propertyName, value);
-        }
+        ELContext context = environment.newEvaluationContext();
+        ELResolver resolver = context.getELResolver();
+        resolver.setValue(context, null, propertyName, value);
         return value;
     }
 
@@ -16,7 +16,6 @@
 package io.aklivity.k3po.runtime.lang.internal.ast.value;
 
 import static io.aklivity.k3po.runtime.lang.internal.ast.util.AstUtil.equivalent;
-import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionFactoryUtils.synchronizedValue;
 import static java.lang.String.format;
 
 import javax.el.ValueExpression;
@@ -40,11 +39,12 @@ public final class AstExpressionValue<T> extends AstValue<T> {
     @Override
     @SuppressWarnings("unchecked")
     public T getValue() {
-        return (T) synchronizedValue(expression, environment, expression.getExpectedType());
+        return (T) expression.getValue(environment.newEvaluationContext());
     }
 
+    @SuppressWarnings("unchecked")
     public <R> R getValue(Class<R> expectedType) {
-        return synchronizedValue(expression, environment, expectedType);
+        return (R) expression.getValue(environment.newEvaluationContext());
     }
 
     public ValueExpression getExpression() {
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.lang.internal.el;
+
+import java.beans.FeatureDescriptor;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.el.ELContext;
+import javax.el.ELResolver;
+import javax.el.PropertyNotFoundException;
+
+/**
+ * Resolves top-level identifiers, such as properties and captured values, from a concurrent map.
+ *
+ * Equivalent to the JUEL root property resolver, except that values may be set and resolved concurrently
+ * by streams running on different I/O threads without locking the expression context.
+ */
+public final class ConcurrentRootPropertyResolver extends ELResolver {
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final ConcurrentMap<String, Object> properties = new ConcurrentHashMap<>();
+
+    @Override
+    public Class<?> getCommonPropertyType(ELContext context, Object base) {
+        return base == null ? String.class : null;
+    }
+
+    @Override
+    public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+        return null;
+    }
+
+    @Override
+    public Class<?> getType(ELContext context, Object base, Object property) {
+        return resolve(context, base, property) ? Object.class : null;
+    }
+
+    @Override
+    public Object getValue(ELContext context, Object base, Object property) {
+        if (resolve(context, base, property)) {
+            Object value = properties.get(property);
+            if (value == null) {
+                throw new PropertyNotFoundException("Cannot find property " + property);
+            }
+            return value != NULL_VALUE ? value : null;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context, Object base, Object property) {
+        resolve(context, base, property);
+        return false;
+    }
+
+    @Override
+    public void setValue(ELContext context, Object base, Object property, Object value) {
+        if (resolve(context, base, property)) {
+            setProperty((String) property, value);
+        }
+    }
+
+    @Override
+    public Object invoke(ELContext context, Object base, Object method, Class<?>[] paramTypes, Object[] params) {
+        if (resolve(context, base, method)) {
+            throw new NullPointerException("Cannot invoke method " + method + " on null");
+        }
+        return null;
+    }
+
+    public Object getProperty(String property) {
+        Object value = properties.get(property);
+        return value != NULL_VALUE ? value : null;
+    }
+
+    public void setProperty(String property, Object value) {
+        properties.put(property, value != null ? value : NULL_VALUE);
+    }
+
+    public boolean isProperty(String property) {
+        return properties.containsKey(property);
+    }
+
+    private boolean resolve(ELContext context, Object base, Object property) {
+        boolean resolved = base == null && property instanceof String;
+        if (resolved && context != null) {
+            context.setPropertyResolved(true);
+        }
+        return resolved;
+    }
+}
@@ -16,21 +16,39 @@
 package io.aklivity.k3po.runtime.lang.internal.el;
 
 import java.lang.reflect.Method;
+import java.util.Locale;
 
+import javax.el.ArrayELResolver;
+import javax.el.BeanELResolver;
+import javax.el.CompositeELResolver;
+import javax.el.ELContext;
+import javax.el.ELResolver;
 import javax.el.FunctionMapper;
+import javax.el.ListELResolver;
+import javax.el.MapELResolver;
+import javax.el.ResourceBundleELResolver;
 import javax.el.ValueExpression;
 import javax.el.VariableMapper;
 
 import de.odysseus.el.util.SimpleContext;
 
+/**
+ * Expression context shared by all streams of a script.
+ *
+ * Values are stored in a concurrent root property resolver, and each evaluation tracks whether a property was
+ * resolved in its own {@link #newEvaluationContext() evaluation context}, so expressions can be evaluated and values
+ * captured concurrently without locking this context.
+ */
 public class ExpressionContext extends SimpleContext {
 
+    private static final ELResolver DEFAULT_RESOLVER = newDefaultResolver();
+
     protected FunctionMapper functionMapper;
     protected VariableMapper variableMapper;
 
     public ExpressionContext() {
-        super();
-        this.functionMapper = io.aklivity.k3po.runtime.lang.el.FunctionMapper.newFunctionMapper();
+        super(newResolver());
+        this.functionMapper = ExpressionRuntime.getExpressionRuntime().getFunctionMapper();
         this.variableMapper = new io.aklivity.k3po.runtime.lang.internal.el.VariableMapper();
     }
 
@@ -53,4 +71,71 @@ public class ExpressionContext extends SimpleContext {
     public ValueExpression setVariable(String name, ValueExpression expr) {
         return variableMapper.setVariable(name, expr);
     }
+
+    /**
+     * Returns a context for a single evaluation on the calling stack, sharing the values, functions and variables
+     * of this context with its own property resolved flag.
+     */
+    public ELContext newEvaluationContext() {
+        return new EvaluationContext(this);
+    }
+
+    /**
+     * Discards all values resolved in this context, such as properties and captured values,
+     * so that expressions parsed against this context can be evaluated again from scratch.
+     */
+    public void reset() {
+        setELResolver(newResolver());
+    }
+
+    private static ELResolver newResolver() {
+        CompositeELResolver resolver = new CompositeELResolver();
+        resolver.add(new ConcurrentRootPropertyResolver());
+        resolver.add(DEFAULT_RESOLVER);
+        return resolver;
+    }
+
+    private static final class EvaluationContext extends ELContext {
+
+        private final ExpressionContext context;
+
+        EvaluationContext(ExpressionContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public ELResolver getELResolver() {
+            return context.getELResolver();
+        }
+
+        @Override
+        public FunctionMapper getFunctionMapper() {
+            return context.getFunctionMapper();
+        }
+
+        @Override
+        public VariableMapper getVariableMapper() {
+            return context.getVariableMapper();
+        }
+
+        @Override
+        public Object getContext(Class<?> key) {
+            return context.getContext(key);
+        }
+
+        @Override
+        public Locale getLocale() {
+            return context.getLocale();
+        }
+    }
+
+    private static ELResolver newDefaultResolver() {
+        CompositeELResolver resolver = new CompositeELResolver();
+        resolver.add(new ArrayELResolver(false));
+        resolver.add(new ListELResolver(false));
+        resolver.add(new MapELResolver(false));
+        resolver.add(new ResourceBundleELResolver());
+        resolver.add(new BeanELResolver(false));
+        return resolver;
+    }
 }
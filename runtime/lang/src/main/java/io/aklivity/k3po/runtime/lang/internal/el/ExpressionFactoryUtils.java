@@ -52,14 +52,7 @@ public final class ExpressionFactoryUtils {
     }
 
     @SuppressWarnings("unchecked")
-    public static <T> T synchronizedValue(ValueExpression expression, ExpressionContext environment, Class<T> expectedType) {
-        // ValueExpression.getValue(...) is not thread-safe
-        synchronized (environment) {
-            return (T) expression.getValue(environment);
-        }
-    }
-
-    public static <T> Supplier<T> synchronizedSupplier(ValueExpression expression, ExpressionContext environment, Class<T> expectedType) {
-        return () -> synchronizedValue(expression, environment, expectedType);
+    public static <T> Supplier<T> valueSupplier(ValueExpression expression, ExpressionContext environment, Class<T> expectedType) {
+        return () -> (T) expression.getValue(environment.newEvaluationContext());
     }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.lang.internal.el;
+
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionFactoryUtils.newExpressionFactory;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+import javax.el.ELContext;
+import javax.el.ExpressionFactory;
+import javax.el.MethodExpression;
+import javax.el.ValueExpression;
+
+import io.aklivity.k3po.runtime.lang.el.FunctionMapper;
+
+/**
+ * Expression factory and function mapper shared by all scripts loaded from the same class loader.
+ *
+ * Function mappers are resolved once per class loader, and value expressions parsed by the shared factory
+ * are cached by expression text and expected type, so only the variable scope is created for each script.
+ * The least recently used expressions are evicted once the cache is full.
+ * Values are never stored in an expression, they are resolved from the {@link ExpressionContext} at evaluation.
+ */
+public final class ExpressionRuntime {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final Map<ClassLoader, SoftReference<ExpressionRuntime>> RUNTIMES = new WeakHashMap<>();
+
+    private final FunctionMapper functionMapper;
+    private final ExpressionFactory expressionFactory;
+
+    ExpressionRuntime(FunctionMapper functionMapper, ExpressionFactory expressionFactory, int capacity) {
+        this.functionMapper = functionMapper;
+        this.expressionFactory = new CachingExpressionFactory(expressionFactory, capacity);
+    }
+
+    /**
+     * Returns the expression runtime for the current thread context class loader, creating it if necessary.
+     */
+    public static ExpressionRuntime getExpressionRuntime() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        synchronized (RUNTIMES) {
+            SoftReference<ExpressionRuntime> runtimeRef = RUNTIMES.get(classLoader);
+            ExpressionRuntime runtime = (runtimeRef != null) ? runtimeRef.get() : null;
+            if (runtime == null) {
+                runtime = new ExpressionRuntime(FunctionMapper.newFunctionMapper(), newExpressionFactory(), DEFAULT_CAPACITY);
+                RUNTIMES.put(classLoader, new SoftReference<>(runtime));
+            }
+            return runtime;
+        }
+    }
+
+    public FunctionMapper getFunctionMapper() {
+        return functionMapper;
+    }
+
+    public ExpressionFactory getExpressionFactory() {
+        return expressionFactory;
+    }
+
+    private final class CachingExpressionFactory extends ExpressionFactory {
+
+        private final ExpressionFactory delegate;
+        private final Map<ExpressionKey, ValueExpression> expressions;
+
+        CachingExpressionFactory(ExpressionFactory delegate, final int capacity) {
+            this.delegate = delegate;
+            this.expressions = new LinkedHashMap<ExpressionKey, ValueExpression>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ExpressionKey, ValueExpression> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        @Override
+        public Object coerceToType(Object obj, Class<?> targetType) {
+            return delegate.coerceToType(obj, targetType);
+        }
+
+        @Override
+        public MethodExpression createMethodExpression(ELContext context, String expression, Class<?> expectedReturnType,
+                Class<?>[] expectedParamTypes) {
+            return delegate.createMethodExpression(context, expression, expectedReturnType, expectedParamTypes);
+        }
+
+        @Override
+        public ValueExpression createValueExpression(ELContext context, String expression, Class<?> expectedType) {
+            // functions and variables are bound when parsed, so only share expressions bound the same way
+            if (context.getFunctionMapper() != functionMapper || !isEmpty(context.getVariableMapper())) {
+                return delegate.createValueExpression(context, expression, expectedType);
+            }
+
+            ExpressionKey key = new ExpressionKey(expression, expectedType);
+            ValueExpression valueExpression;
+            synchronized (expressions) {
+                valueExpression = expressions.get(key);
+            }
+
+            if (valueExpression == null) {
+                // parse outside the lock, keeping the first expression cached if parsed concurrently
+                ValueExpression newValueExpression = delegate.createValueExpression(context, expression, expectedType);
+                synchronized (expressions) {
+                    valueExpression = expressions.putIfAbsent(key, newValueExpression);
+                }
+                if (valueExpression == null) {
+                    valueExpression = newValueExpression;
+                }
+            }
+            return valueExpression;
+        }
+
+        @Override
+        public ValueExpression createValueExpression(Object instance, Class<?> expectedType) {
+            return delegate.createValueExpression(instance, expectedType);
+        }
+
+        private boolean isEmpty(javax.el.VariableMapper variableMapper) {
+            return variableMapper == null ||
+                    (variableMapper instanceof VariableMapper && ((VariableMapper) variableMapper).isEmpty());
+        }
+    }
+
+    private static final class ExpressionKey {
+
+        private final String expression;
+        private final Class<?> expectedType;
+
+        ExpressionKey(String expression, Class<?> expectedType) {
+            this.expression = expression;
+            this.expectedType = expectedType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(expression, expectedType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof ExpressionKey)) {
+                return false;
+            }
+
+            ExpressionKey that = (ExpressionKey) o;
+            return Objects.equals(this.expression, that.expression) &&
+                    Objects.equals(this.expectedType, that.expectedType);
+        }
+    }
+}
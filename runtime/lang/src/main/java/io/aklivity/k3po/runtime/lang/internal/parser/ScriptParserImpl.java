@@ -17,7 +17,7 @@ package io.aklivity.k3po.runtime.lang.internal.parser;
 
 import static io.aklivity.k3po.runtime.lang.internal.RegionInfo.newParallel;
 import static io.aklivity.k3po.runtime.lang.internal.RegionInfo.newSequential;
-import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionFactoryUtils.newExpressionFactory;
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionRuntime.getExpressionRuntime;
 import static io.aklivity.k3po.runtime.lang.internal.parser.ScriptParseStrategy.SCRIPT;
 import static java.lang.String.format;
 
@@ -32,6 +32,8 @@ import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.NoViableAltException;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
 
 import io.aklivity.k3po.runtime.lang.internal.RegionInfo;
@@ -47,7 +49,7 @@ public class ScriptParserImpl implements ScriptParser {
     private final ExpressionContext context;
 
     public ScriptParserImpl() {
-        this(newExpressionFactory(), new ExpressionContext());
+        this(getExpressionRuntime().getExpressionFactory(), new ExpressionContext());
     }
 
     public ScriptParserImpl(ExpressionFactory factory, ExpressionContext context) {
@@ -86,7 +88,7 @@ public class ScriptParserImpl implements ScriptParser {
         parser.setErrorHandler(new BailErrorStrategy());
 
         try {
-            result = strategy.parse(parser, factory, context);
+            result = parseWithPrediction(parser, tokens, strategy);
             RegionInfo regionInfo = result.getRegionInfo();
             List<RegionInfo> newChildren = regionInfo.children;
             switch (regionInfo.kind) {
@@ -115,6 +117,25 @@ public class ScriptParserImpl implements ScriptParser {
         return result;
     }
 
+    private <T extends AstRegion> T parseWithPrediction(RobotParser parser, CommonTokenStream tokens,
+            ScriptParseStrategy<T> strategy) throws RecognitionException {
+
+        ParserATNSimulator interpreter = parser.getInterpreter();
+
+        try {
+            // SLL prediction is sufficient for almost all scripts, and reuses the DFA shared across parsers
+            interpreter.setPredictionMode(PredictionMode.SLL);
+            return strategy.parse(parser, factory, context);
+        }
+        catch (ParseCancellationException pce) {
+            // retry with full LL prediction, to either parse the input or report the syntax error
+            tokens.seek(0);
+            parser.reset();
+            interpreter.setPredictionMode(PredictionMode.LL);
+            return strategy.parse(parser, factory, context);
+        }
+    }
+
     private ScriptParseException createScriptParseException(RobotParser parser,
                                                             RecognitionException re) {
 
@@ -15,9 +15,12 @@
  */
 package io.aklivity.k3po.runtime.lang.internal.parser.types;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
+import static java.util.Collections.unmodifiableSet;
 
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import io.aklivity.k3po.runtime.lang.types.StructuredTypeInfo;
@@ -27,6 +30,9 @@ import io.aklivity.k3po.runtime.lang.types.TypeSystemSpi;
 public final class DefaultTypeSystem implements TypeSystemSpi
 {
     public static final TypeInfo<byte[]> OPTION_MASK = new TypeInfo<>("mask", byte[].class);
+    public static final TypeInfo<Integer> OPTION_REPEAT = new TypeInfo<>("repeat", int.class);
+    public static final TypeInfo<Integer> OPTION_CONCURRENCY = new TypeInfo<>("concurrency", int.class);
+    public static final TypeInfo<Integer> OPTION_RATE = new TypeInfo<>("rate", int.class);
 
     private final Set<TypeInfo<?>> acceptOptions;
     private final Set<TypeInfo<?>> connectOptions;
@@ -40,7 +46,7 @@ public final class DefaultTypeSystem implements TypeSystemSpi
     DefaultTypeSystem()
     {
         this.acceptOptions = emptySet();
-        this.connectOptions = emptySet();
+        this.connectOptions = unmodifiableSet(new LinkedHashSet<>(asList(OPTION_REPEAT, OPTION_CONCURRENCY, OPTION_RATE)));
         this.readOptions = singleton(OPTION_MASK);
         this.writeOptions = singleton(OPTION_MASK);
         this.readConfigs = emptySet();
@@ -22,4 +22,6 @@ public interface NamedGroupMatchResult {
     Set<String> groupNames();
 
     String group(String name);
+
+    int end();
 }
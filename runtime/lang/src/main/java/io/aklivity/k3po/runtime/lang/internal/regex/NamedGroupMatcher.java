@@ -53,6 +53,7 @@ public class NamedGroupMatcher implements NamedGroupMatchResult {
 //        return matcher.start(group);
 //    }
 //
+    @Override
     public int end() {
         return matcher.end();
     }
@@ -93,10 +93,12 @@ public class NamedGroupPattern {
 
     private final Pattern pattern;
     private final List<String> groupNames;
+    private final StreamProgram program;
 
     NamedGroupPattern(Pattern pattern, List<String> groupNames) {
         this.pattern = pattern;
         this.groupNames = groupNames;
+        this.program = StreamProgram.compile(pattern.pattern());
         int groupNamesSize = groupNames.size();
         if (groupNamesSize != 0 && (pattern.matcher("").groupCount() != groupNamesSize)) {
             throw new PatternSyntaxException(
@@ -109,6 +111,14 @@ public class NamedGroupPattern {
         return new NamedGroupMatcher(pattern.matcher(input), groupNames);
     }
 
+    /**
+     * Returns a matcher that resumes from the input already matched as more input arrives,
+     * or null if the pattern uses constructs that can only be matched by {@link #matcher(CharSequence)}.
+     */
+    public NamedGroupStreamMatcher streamMatcher() {
+        return program != null ? new NamedGroupStreamMatcher(program, groupNames) : null;
+    }
+
     @Override
     public int hashCode() {
         return pattern.hashCode() ^ groupNames.hashCode();
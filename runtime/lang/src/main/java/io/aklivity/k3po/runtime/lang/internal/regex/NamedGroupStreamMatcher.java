@@ -0,0 +1,249 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.lang.internal.regex;
+
+import static io.aklivity.k3po.runtime.lang.internal.regex.StreamProgram.BEGIN;
+import static io.aklivity.k3po.runtime.lang.internal.regex.StreamProgram.CHAR;
+import static io.aklivity.k3po.runtime.lang.internal.regex.StreamProgram.JUMP;
+import static io.aklivity.k3po.runtime.lang.internal.regex.StreamProgram.MATCH;
+import static io.aklivity.k3po.runtime.lang.internal.regex.StreamProgram.SAVE;
+import static io.aklivity.k3po.runtime.lang.internal.regex.StreamProgram.SPLIT;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Matches a pattern against input that grows over time, resuming from the characters already matched.
+ *
+ * Every thread of the pattern advances together over each new character, in priority order, so the matching
+ * cost is linear in the input rather than repeated for each attempt. After each character, the result is what
+ * {@link java.util.regex.Matcher#matches()}, or failing that {@link java.util.regex.Matcher#lookingAt()}, would
+ * return for the input so far.
+ *
+ * Only patterns in the subset supported by {@link StreamProgram} can be matched this way, and supplementary
+ * characters in the input are not supported, see {@link #advance(CharSequence)}.
+ */
+public final class NamedGroupStreamMatcher implements NamedGroupMatchResult {
+
+    private final StreamProgram program;
+    private final Set<String> groupNames;
+    private final int[] visited;
+
+    private int[] pcs;
+    private int[][] saves;
+    private int count;
+    private int[] nextPcs;
+    private int[][] nextSaves;
+    private int nextCount;
+
+    // threads before this index have priority over the best prefix match
+    private int preferred;
+    private int[] prefixMatch;
+    private int[] inputMatch;
+    private int waiting;
+
+    private int generation;
+    private int position;
+    private boolean unsupported;
+    private CharSequence input;
+
+    NamedGroupStreamMatcher(StreamProgram program, List<String> groupNames) {
+        this.program = program;
+        this.groupNames = new HashSet<>(groupNames);
+
+        int size = program.ops.length;
+        this.visited = new int[size];
+        this.pcs = new int[size];
+        this.saves = new int[size][];
+        this.nextPcs = new int[size];
+        this.nextSaves = new int[size][];
+
+        reset();
+    }
+
+    /**
+     * Discards the input matched so far.
+     */
+    public void reset() {
+        position = 0;
+        unsupported = false;
+        input = null;
+        prefixMatch = null;
+
+        int[] initial = new int[(program.groupCount + 1) << 1];
+        Arrays.fill(initial, -1);
+
+        nextCount = 0;
+        generation++;
+        follow(0, initial);
+        swap(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Matches the characters of the input after those already matched.
+     *
+     * The input must begin with the characters already matched, and is reset if shorter.
+     *
+     * @return false if the input cannot be matched incrementally, until reset
+     */
+    public boolean advance(CharSequence input) {
+        if (input.length() < position) {
+            reset();
+        }
+
+        while (!unsupported && position < input.length()) {
+            char ch = input.charAt(position);
+            if (Character.isSurrogate(ch)) {
+                // matched as one code point by java.util.regex
+                unsupported = true;
+                break;
+            }
+            step(ch);
+        }
+
+        this.input = input;
+        return !unsupported;
+    }
+
+    /**
+     * Returns true if all of the input matched so far, or a prefix of it, matches the pattern.
+     */
+    public boolean matched() {
+        return inputMatch != null || prefixMatch != null;
+    }
+
+    /**
+     * Returns true if more input could still match the pattern.
+     */
+    public boolean hitEnd() {
+        return waiting != 0;
+    }
+
+    @Override
+    public int end() {
+        return match()[1];
+    }
+
+    @Override
+    public Set<String> groupNames() {
+        return groupNames;
+    }
+
+    @Override
+    public String group(String name) {
+        Integer index = program.groupIndexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("No group with name <" + name + ">");
+        }
+
+        int[] match = match();
+        int start = match[index << 1];
+        int end = match[(index << 1) + 1];
+        return start != -1 && end != -1 ? input.subSequence(start, end).toString() : null;
+    }
+
+    private int[] match() {
+        int[] match = inputMatch != null ? inputMatch : prefixMatch;
+        if (match == null) {
+            throw new IllegalStateException("No match found");
+        }
+        return match;
+    }
+
+    private void step(char ch) {
+        nextCount = 0;
+        generation++;
+        position++;
+
+        int nextPreferred = 0;
+        for (int i = 0; i < count; i++) {
+            int pc = pcs[i];
+            if (program.ops[pc] == CHAR && program.predicates[program.args[pc]].test(ch)) {
+                follow(pc + 1, saves[i]);
+            }
+            if (i < preferred) {
+                nextPreferred = nextCount;
+            }
+        }
+
+        swap(nextPreferred);
+    }
+
+    private void swap(int nextPreferred) {
+        int[] pcs = this.pcs;
+        int[][] saves = this.saves;
+        Arrays.fill(saves, 0, count, null);
+        this.pcs = nextPcs;
+        this.saves = nextSaves;
+        this.count = nextCount;
+        this.nextPcs = pcs;
+        this.nextSaves = saves;
+
+        preferred = Math.min(nextPreferred, count);
+        inputMatch = null;
+        waiting = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (program.ops[this.pcs[i]] == MATCH) {
+                if (inputMatch == null) {
+                    inputMatch = this.saves[i];
+                }
+                if (i < preferred) {
+                    // lower priority threads can no longer improve on this prefix match
+                    prefixMatch = this.saves[i];
+                    preferred = i;
+                }
+            }
+            else {
+                waiting++;
+            }
+        }
+    }
+
+    private void follow(int pc, int[] save) {
+        if (visited[pc] == generation) {
+            return;
+        }
+        visited[pc] = generation;
+
+        switch (program.ops[pc]) {
+        case SPLIT:
+            follow(program.args[pc], save);
+            follow(program.alts[pc], save);
+            break;
+        case JUMP:
+            follow(program.args[pc], save);
+            break;
+        case SAVE:
+            int[] saved = save.clone();
+            saved[program.args[pc]] = position;
+            follow(pc + 1, saved);
+            break;
+        case BEGIN:
+            if (position == 0) {
+                follow(pc + 1, save);
+            }
+            break;
+        default:
+            nextPcs[nextCount] = pc;
+            nextSaves[nextCount] = save;
+            nextCount++;
+            break;
+        }
+    }
+}
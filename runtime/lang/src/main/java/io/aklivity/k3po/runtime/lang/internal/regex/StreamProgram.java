@@ -0,0 +1,592 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.lang.internal.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles the subset of regular expressions that can be matched one character at a time into a program for
+ * {@link NamedGroupStreamMatcher}.
+ *
+ * The subset covers literals, character classes, {@code .}, a leading {@code ^}, alternation, capturing and
+ * non-capturing groups, and greedy or reluctant quantifiers. Each character class or literal is compiled on its
+ * own with {@link Pattern}, so single characters are matched exactly as in the full pattern. Lookaround,
+ * back references, boundaries, {@code $}, inline flags, possessive quantifiers and quantified expressions that
+ * can match empty input are not supported, and {@link #compile(String)} returns null for them.
+ */
+final class StreamProgram {
+
+    static final int CHAR = 0;
+    static final int SPLIT = 1;
+    static final int JUMP = 2;
+    static final int SAVE = 3;
+    static final int BEGIN = 4;
+    static final int MATCH = 5;
+
+    private static final int MAX_INSTRUCTIONS = 2048;
+    private static final int MAX_REPEAT = 256;
+
+    final int[] ops;
+    final int[] args;
+    final int[] alts;
+    final CharPredicate[] predicates;
+    final int groupCount;
+    final Map<String, Integer> groupIndexes;
+
+    private StreamProgram(Compiler compiler, int groupCount, Map<String, Integer> groupIndexes) {
+        this.ops = compiler.ops;
+        this.args = compiler.args;
+        this.alts = compiler.alts;
+        this.predicates = compiler.predicates.toArray(new CharPredicate[0]);
+        this.groupCount = groupCount;
+        this.groupIndexes = groupIndexes;
+    }
+
+    /**
+     * Returns the program matching the regular expression, or null if it is not in the supported subset.
+     */
+    static StreamProgram compile(String regex) {
+        try {
+            Parser parser = new Parser(regex);
+            Node node = parser.parse();
+
+            Compiler compiler = new Compiler();
+            compiler.emit(SAVE, 0, 0);
+            compiler.compile(node);
+            compiler.emit(SAVE, 1, 0);
+            compiler.emit(MATCH, 0, 0);
+
+            return new StreamProgram(compiler, parser.groupCount, parser.groupIndexes);
+        }
+        catch (UnsupportedOperationException | PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    static final class CharPredicate {
+
+        private final Pattern pattern;
+        private final boolean[] latin1;
+
+        CharPredicate(String atom) {
+            this.pattern = Pattern.compile(atom);
+            this.latin1 = new boolean[256];
+            for (int ch = 0; ch < latin1.length; ch++) {
+                latin1[ch] = pattern.matcher(String.valueOf((char) ch)).matches();
+            }
+        }
+
+        boolean test(char ch) {
+            return ch < latin1.length ? latin1[ch] : pattern.matcher(String.valueOf(ch)).matches();
+        }
+    }
+
+    private abstract static class Node {
+
+        abstract boolean nullable();
+    }
+
+    private static final class AtomNode extends Node {
+
+        private final String atom;
+
+        AtomNode(String atom) {
+            this.atom = atom;
+        }
+
+        @Override
+        boolean nullable() {
+            return false;
+        }
+    }
+
+    private static final class BeginNode extends Node {
+
+        @Override
+        boolean nullable() {
+            return true;
+        }
+    }
+
+    private static final class GroupNode extends Node {
+
+        private final int index;
+        private final Node body;
+
+        GroupNode(int index, Node body) {
+            this.index = index;
+            this.body = body;
+        }
+
+        @Override
+        boolean nullable() {
+            return body.nullable();
+        }
+    }
+
+    private static final class SequenceNode extends Node {
+
+        private final List<Node> nodes;
+
+        SequenceNode(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        boolean nullable() {
+            return nodes.stream().allMatch(Node::nullable);
+        }
+    }
+
+    private static final class AlternationNode extends Node {
+
+        private final List<Node> nodes;
+
+        AlternationNode(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        boolean nullable() {
+            return nodes.stream().anyMatch(Node::nullable);
+        }
+    }
+
+    private static final class RepeatNode extends Node {
+
+        private final Node body;
+        private final int min;
+        private final int max;
+        private final boolean greedy;
+
+        RepeatNode(Node body, int min, int max, boolean greedy) {
+            this.body = body;
+            this.min = min;
+            this.max = max;
+            this.greedy = greedy;
+        }
+
+        @Override
+        boolean nullable() {
+            return min == 0 || body.nullable();
+        }
+    }
+
+    private static final class Parser {
+
+        private final String regex;
+        private final Map<String, Integer> groupIndexes = new HashMap<>();
+
+        private int index;
+        private int groupCount;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        Node parse() {
+            Node node = parseAlternation();
+            if (index != regex.length()) {
+                throw new UnsupportedOperationException();
+            }
+            return node;
+        }
+
+        private Node parseAlternation() {
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(parseSequence());
+            while (peek() == '|') {
+                index++;
+                nodes.add(parseSequence());
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new AlternationNode(nodes);
+        }
+
+        private Node parseSequence() {
+            List<Node> nodes = new ArrayList<>();
+            for (int ch = peek(); ch != -1 && ch != '|' && ch != ')'; ch = peek()) {
+                nodes.add(parseQuantifier(parseAtom()));
+            }
+            return new SequenceNode(nodes);
+        }
+
+        private Node parseQuantifier(Node atom) {
+            int min;
+            int max;
+            switch (peek()) {
+            case '*':
+                index++;
+                min = 0;
+                max = -1;
+                break;
+            case '+':
+                index++;
+                min = 1;
+                max = -1;
+                break;
+            case '?':
+                index++;
+                min = 0;
+                max = 1;
+                break;
+            case '{':
+                index++;
+                min = parseNumber();
+                max = min;
+                if (peek() == ',') {
+                    index++;
+                    max = peek() == '}' ? -1 : parseNumber();
+                }
+                expect('}');
+                break;
+            default:
+                return atom;
+            }
+
+            boolean greedy = true;
+            if (peek() == '?') {
+                index++;
+                greedy = false;
+            }
+
+            int next = peek();
+            if (next == '+' || next == '*' || next == '?' || next == '{') {
+                // possessive or repeated quantifiers
+                throw new UnsupportedOperationException();
+            }
+
+            if (min > MAX_REPEAT || max > MAX_REPEAT || max != -1 && max < min || (min != 0 || max != 1) && atom.nullable()) {
+                // empty iterations are not matched the same way as java.util.regex
+                throw new UnsupportedOperationException();
+            }
+
+            return new RepeatNode(atom, min, max, greedy);
+        }
+
+        private Node parseAtom() {
+            int start = index;
+            char ch = regex.charAt(index++);
+            switch (ch) {
+            case '(':
+                return parseGroup();
+            case '[':
+                return new AtomNode(regex.substring(start, parseClass()));
+            case '\\':
+                return new AtomNode(regex.substring(start, parseEscape()));
+            case '^':
+                if (start != 0) {
+                    throw new UnsupportedOperationException();
+                }
+                return new BeginNode();
+            case '.':
+                return new AtomNode(".");
+            case '$':
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                throw new UnsupportedOperationException();
+            default:
+                if (Character.isSurrogate(ch)) {
+                    throw new UnsupportedOperationException();
+                }
+                return new AtomNode(Pattern.quote(String.valueOf(ch)));
+            }
+        }
+
+        private Node parseGroup() {
+            int groupIndex = -1;
+            if (peek() == '?') {
+                index++;
+                int kind = peek();
+                index++;
+                if (kind == '<' && Character.isLetter(peek())) {
+                    int nameAt = index;
+                    while (Character.isLetterOrDigit(peek())) {
+                        index++;
+                    }
+                    String name = regex.substring(nameAt, index);
+                    expect('>');
+                    groupIndex = ++groupCount;
+                    groupIndexes.put(name, groupIndex);
+                }
+                else if (kind != ':') {
+                    // lookaround, atomic groups and inline flags
+                    throw new UnsupportedOperationException();
+                }
+            }
+            else {
+                groupIndex = ++groupCount;
+            }
+
+            Node body = parseAlternation();
+            expect(')');
+            return new GroupNode(groupIndex, body);
+        }
+
+        private int parseClass() {
+            if (peek() == '^') {
+                index++;
+            }
+            if (peek() == ']') {
+                throw new UnsupportedOperationException();
+            }
+
+            int depth = 1;
+            while (depth > 0) {
+                if (index >= regex.length()) {
+                    throw new UnsupportedOperationException();
+                }
+                char ch = regex.charAt(index++);
+                switch (ch) {
+                case '\\':
+                    if (peek() == 'Q') {
+                        throw new UnsupportedOperationException();
+                    }
+                    index++;
+                    break;
+                case '[':
+                    depth++;
+                    break;
+                case ']':
+                    depth--;
+                    break;
+                default:
+                    break;
+                }
+            }
+            return index;
+        }
+
+        private int parseEscape() {
+            if (index >= regex.length()) {
+                throw new UnsupportedOperationException();
+            }
+
+            char ch = regex.charAt(index++);
+            switch (ch) {
+            case '0':
+                // \0n, \0nn or \0mnn where m is at most 3
+                int digits = 0;
+                while (digits < 3 && isOctal(peek()) && (digits < 2 || regex.charAt(index - 2) <= '3')) {
+                    index++;
+                    digits++;
+                }
+                break;
+            case 'x':
+                if (peek() == '{') {
+                    skipPast('}');
+                }
+                else {
+                    index += 2;
+                }
+                break;
+            case 'u':
+                index += 4;
+                break;
+            case 'c':
+                index++;
+                break;
+            case 'p':
+            case 'P':
+                if (peek() == '{') {
+                    skipPast('}');
+                }
+                else {
+                    index++;
+                }
+                break;
+            case 't':
+            case 'n':
+            case 'r':
+            case 'f':
+            case 'a':
+            case 'e':
+            case 'd':
+            case 'D':
+            case 's':
+            case 'S':
+            case 'w':
+            case 'W':
+            case 'h':
+            case 'H':
+            case 'v':
+            case 'V':
+                break;
+            default:
+                if (Character.isLetterOrDigit(ch) || Character.isSurrogate(ch)) {
+                    // boundaries, back references, quoting and multi-character escapes
+                    throw new UnsupportedOperationException();
+                }
+                break;
+            }
+
+            if (index > regex.length()) {
+                throw new UnsupportedOperationException();
+            }
+            return index;
+        }
+
+        private int parseNumber() {
+            int start = index;
+            while (Character.isDigit(peek())) {
+                index++;
+            }
+            if (start == index || index - start > 4) {
+                throw new UnsupportedOperationException();
+            }
+            return Integer.parseInt(regex.substring(start, index));
+        }
+
+        private void skipPast(char ch) {
+            int end = regex.indexOf(ch, index);
+            if (end == -1) {
+                throw new UnsupportedOperationException();
+            }
+            index = end + 1;
+        }
+
+        private void expect(char ch) {
+            if (peek() != ch) {
+                throw new UnsupportedOperationException();
+            }
+            index++;
+        }
+
+        private int peek() {
+            return index < regex.length() ? regex.charAt(index) : -1;
+        }
+
+        private static boolean isOctal(int ch) {
+            return ch >= '0' && ch <= '7';
+        }
+    }
+
+    private static final class Compiler {
+
+        private final List<CharPredicate> predicates = new ArrayList<>();
+        private final Map<String, Integer> predicateIndexes = new HashMap<>();
+
+        private int[] ops = new int[16];
+        private int[] args = new int[16];
+        private int[] alts = new int[16];
+        private int size;
+
+        void compile(Node node) {
+            if (node instanceof AtomNode) {
+                emit(CHAR, predicate(((AtomNode) node).atom), 0);
+            }
+            else if (node instanceof BeginNode) {
+                emit(BEGIN, 0, 0);
+            }
+            else if (node instanceof GroupNode) {
+                GroupNode group = (GroupNode) node;
+                if (group.index != -1) {
+                    emit(SAVE, group.index << 1, 0);
+                }
+                compile(group.body);
+                if (group.index != -1) {
+                    emit(SAVE, (group.index << 1) + 1, 0);
+                }
+            }
+            else if (node instanceof SequenceNode) {
+                for (Node child : ((SequenceNode) node).nodes) {
+                    compile(child);
+                }
+            }
+            else if (node instanceof AlternationNode) {
+                compileAlternation(((AlternationNode) node).nodes);
+            }
+            else {
+                compileRepeat((RepeatNode) node);
+            }
+        }
+
+        private void compileAlternation(List<Node> nodes) {
+            List<Integer> jumps = new ArrayList<>();
+            for (int i = 0; i < nodes.size() - 1; i++) {
+                int split = emit(SPLIT, size + 1, 0);
+                compile(nodes.get(i));
+                jumps.add(emit(JUMP, 0, 0));
+                alts[split] = size;
+            }
+            compile(nodes.get(nodes.size() - 1));
+            for (int jump : jumps) {
+                args[jump] = size;
+            }
+        }
+
+        private void compileRepeat(RepeatNode repeat) {
+            for (int i = 0; i < repeat.min; i++) {
+                compile(repeat.body);
+            }
+
+            if (repeat.max == -1) {
+                int split = emit(SPLIT, 0, 0);
+                compile(repeat.body);
+                emit(JUMP, split, 0);
+                branch(split, split + 1, size, repeat.greedy);
+            }
+            else {
+                List<Integer> splits = new ArrayList<>();
+                for (int i = repeat.min; i < repeat.max; i++) {
+                    int split = emit(SPLIT, 0, 0);
+                    splits.add(split);
+                    compile(repeat.body);
+                }
+                for (int split : splits) {
+                    branch(split, split + 1, size, repeat.greedy);
+                }
+            }
+        }
+
+        private void branch(int split, int body, int exit, boolean greedy) {
+            args[split] = greedy ? body : exit;
+            alts[split] = greedy ? exit : body;
+        }
+
+        private int predicate(String atom) {
+            Integer index = predicateIndexes.get(atom);
+            if (index == null) {
+                index = predicates.size();
+                predicates.add(new CharPredicate(atom));
+                predicateIndexes.put(atom, index);
+            }
+            return index;
+        }
+
+        private int emit(int op, int arg, int alt) {
+            if (size == MAX_INSTRUCTIONS) {
+                throw new UnsupportedOperationException();
+            }
+            if (size == ops.length) {
+                ops = Arrays.copyOf(ops, size << 1);
+                args = Arrays.copyOf(args, size << 1);
+                alts = Arrays.copyOf(alts, size << 1);
+            }
+            ops[size] = op;
+            args[size] = arg;
+            alts[size] = alt;
+            return size++;
+        }
+    }
+}
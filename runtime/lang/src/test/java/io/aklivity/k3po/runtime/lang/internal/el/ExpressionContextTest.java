@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.lang.internal.el;
+
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionRuntime.getExpressionRuntime;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.el.ELContext;
+import javax.el.ExpressionFactory;
+import javax.el.PropertyNotFoundException;
+import javax.el.ValueExpression;
+
+import org.junit.Test;
+
+public class ExpressionContextTest {
+
+    @Test
+    public void shouldResolveNullValue() throws Exception {
+        ExpressionFactory factory = getExpressionRuntime().getExpressionFactory();
+        ExpressionContext context = new ExpressionContext();
+        context.getELResolver().setValue(context, null, "nothing", null);
+
+        ValueExpression expression = factory.createValueExpression(context, "${nothing}", Object.class);
+
+        assertNull(expression.getValue(context));
+        assertTrue(context.isPropertyResolved());
+    }
+
+    @Test(expected = PropertyNotFoundException.class)
+    public void shouldDiscardValuesWhenReset() throws Exception {
+        ExpressionContext context = new ExpressionContext();
+        context.getELResolver().setValue(context, null, "value", 42);
+
+        context.reset();
+
+        context.getELResolver().getValue(context, null, "value");
+    }
+
+    @Test
+    public void shouldCaptureAndEvaluateConcurrently() throws Exception {
+        final ExpressionFactory factory = getExpressionRuntime().getExpressionFactory();
+        final ExpressionContext context = new ExpressionContext();
+        final int threads = 4;
+        final int iterations = 10000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final String name = "var" + i;
+                final ValueExpression expression = factory.createValueExpression(context, "${" + name + "}", Integer.class);
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        int matched = 0;
+                        for (int j = 0; j < iterations; j++) {
+                            ELContext capture = context.newEvaluationContext();
+                            capture.getELResolver().setValue(capture, null, name, j);
+                            if (((Integer) expression.getValue(context.newEvaluationContext())) == j) {
+                                matched++;
+                            }
+                        }
+                        return matched;
+                    }
+                }));
+            }
+
+            for (Future<Integer> result : results) {
+                assertEquals(iterations, result.get(10, SECONDS).intValue());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldTrackPropertyResolvedPerEvaluation() throws Exception {
+        ExpressionFactory factory = getExpressionRuntime().getExpressionFactory();
+        ExpressionContext context = new ExpressionContext();
+        context.getELResolver().setValue(context, null, "value", 42);
+
+        ValueExpression expression = factory.createValueExpression(context, "${value}", Integer.class);
+        ELContext evaluation = context.newEvaluationContext();
+
+        assertEquals(42, expression.getValue(evaluation));
+        assertTrue(evaluation.isPropertyResolved());
+        assertFalse(context.newEvaluationContext().isPropertyResolved());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.lang.internal.el;
+
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionFactoryUtils.newExpressionFactory;
+import static io.aklivity.k3po.runtime.lang.internal.el.ExpressionRuntime.getExpressionRuntime;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import javax.el.ExpressionFactory;
+import javax.el.ValueExpression;
+
+import org.junit.Test;
+
+public class ExpressionRuntimeTest {
+
+    @Test
+    public void shouldShareRuntimePerClassLoader() throws Exception {
+        ExpressionRuntime runtime = getExpressionRuntime();
+
+        assertSame(runtime, getExpressionRuntime());
+        assertSame(runtime.getFunctionMapper(), new ExpressionContext().getFunctionMapper());
+
+        Thread currentThread = Thread.currentThread();
+        ClassLoader contextClassLoader = currentThread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[0], contextClassLoader)) {
+            currentThread.setContextClassLoader(classLoader);
+            assertNotSame(runtime, getExpressionRuntime());
+        }
+        finally {
+            currentThread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @Test
+    public void shouldShareValueExpressionsAcrossContexts() throws Exception {
+        ExpressionFactory factory = getExpressionRuntime().getExpressionFactory();
+        ExpressionContext context1 = new ExpressionContext();
+        ExpressionContext context2 = new ExpressionContext();
+
+        ValueExpression expression1 = factory.createValueExpression(context1, "${custom:add2(x, 3)}", Integer.class);
+        ValueExpression expression2 = factory.createValueExpression(context2, "${custom:add2(x, 3)}", Integer.class);
+
+        assertSame(expression1, expression2);
+
+        context1.getELResolver().setValue(context1, null, "x", 1);
+        context2.getELResolver().setValue(context2, null, "x", 5);
+
+        assertEquals(2, expression1.getValue(context1));
+        assertEquals(10, expression2.getValue(context2));
+    }
+
+    @Test
+    public void shouldNotShareValueExpressionsByExpectedType() throws Exception {
+        ExpressionFactory factory = getExpressionRuntime().getExpressionFactory();
+        ExpressionContext context = new ExpressionContext();
+
+        ValueExpression expression1 = factory.createValueExpression(context, "${x}", Integer.class);
+        ValueExpression expression2 = factory.createValueExpression(context, "${x}", Object.class);
+
+        assertNotSame(expression1, expression2);
+    }
+
+    @Test
+    public void shouldNotShareValueExpressionsWithBoundVariables() throws Exception {
+        ExpressionFactory factory = getExpressionRuntime().getExpressionFactory();
+        ExpressionContext context = new ExpressionContext();
+
+        ValueExpression expression1 = factory.createValueExpression(context, "${y}", Integer.class);
+        context.setVariable("y", factory.createValueExpression(42, Integer.class));
+        ValueExpression expression2 = factory.createValueExpression(context, "${y}", Integer.class);
+
+        assertNotSame(expression1, expression2);
+        assertEquals(42, expression2.getValue(context));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedValueExpressions() throws Exception {
+        ExpressionRuntime runtime = getExpressionRuntime();
+        ExpressionFactory factory =
+                new ExpressionRuntime(runtime.getFunctionMapper(), newExpressionFactory(), 2).getExpressionFactory();
+        ExpressionContext context = new ExpressionContext();
+
+        ValueExpression a = factory.createValueExpression(context, "${a}", Integer.class);
+        ValueExpression b = factory.createValueExpression(context, "${b}", Integer.class);
+
+        assertSame(a, factory.createValueExpression(context, "${a}", Integer.class));
+
+        ValueExpression c = factory.createValueExpression(context, "${c}", Integer.class);
+
+        assertSame(a, factory.createValueExpression(context, "${a}", Integer.class));
+        assertSame(c, factory.createValueExpression(context, "${c}", Integer.class));
+        assertNotSame(b, factory.createValueExpression(context, "${b}", Integer.class));
+    }
+}
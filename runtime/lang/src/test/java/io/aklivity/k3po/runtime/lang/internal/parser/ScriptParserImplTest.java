@@ -49,7 +49,10 @@ import static io.aklivity.k3po.runtime.lang.internal.parser.ScriptParseStrategy.
 import static io.aklivity.k3po.runtime.lang.internal.parser.ScriptParseStrategy.WRITE_CONFIG;
 import static io.aklivity.k3po.runtime.lang.internal.parser.ScriptParseStrategy.WRITE_NOTIFY;
 import static io.aklivity.k3po.runtime.lang.internal.parser.ScriptParseStrategy.WRITE_OPTION;
+import static io.aklivity.k3po.runtime.lang.internal.parser.types.DefaultTypeSystem.OPTION_CONCURRENCY;
 import static io.aklivity.k3po.runtime.lang.internal.parser.types.DefaultTypeSystem.OPTION_MASK;
+import static io.aklivity.k3po.runtime.lang.internal.parser.types.DefaultTypeSystem.OPTION_RATE;
+import static io.aklivity.k3po.runtime.lang.internal.parser.types.DefaultTypeSystem.OPTION_REPEAT;
 import static io.aklivity.k3po.runtime.lang.internal.parser.types.TestTypeSystem.ADVISORY_ADVICE;
 import static io.aklivity.k3po.runtime.lang.internal.parser.types.TestTypeSystem.CONFIG_CONFIG;
 import static io.aklivity.k3po.runtime.lang.internal.parser.types.TestTypeSystem.OPTION_BYTES;
@@ -60,6 +63,7 @@ import static io.aklivity.k3po.runtime.lang.internal.parser.types.TestTypeSystem
 import static io.aklivity.k3po.runtime.lang.internal.regex.NamedGroupPattern.compile;
 import static io.aklivity.k3po.runtime.lang.internal.test.junit.Assert.assertEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import java.net.URI;
 import java.util.Arrays;
@@ -1708,6 +1712,37 @@ public class ScriptParserImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void shouldParseConnectScriptWithTemplateOptions() throws Exception {
+
+        String script =
+                "connect 'tcp://localhost:8000'\n" +
+                "       option repeat 1000\n" +
+                "       option concurrency 100\n" +
+                "       option rate 50\n" +
+                "connected\n" +
+                "close\n" +
+                "closed\n";
+
+        ScriptParserImpl parser = new ScriptParserImpl();
+        AstScriptNode actual = parser.parseWithStrategy(script, SCRIPT);
+        AstValue<URI> location = new AstLiteralURIValue(URI.create("tcp://localhost:8000"));
+
+        AstScriptNode expected = new AstScriptNodeBuilder()
+                .addConnectStream()
+                    .setLocation(location)
+                    .setOption(OPTION_REPEAT, new AstLiteralIntegerValue(1000))
+                    .setOption(OPTION_CONCURRENCY, new AstLiteralIntegerValue(100))
+                    .setOption(OPTION_RATE, new AstLiteralIntegerValue(50))
+                    .addConnectedEvent().done()
+                    .addCloseCommand().done()
+                    .addClosedEvent().done()
+                .done()
+        .done();
+
+        assertEquals(expected, actual);
+    }
+
     @Test
     public void shouldParseAcceptScript() throws Exception {
 
@@ -2308,4 +2343,30 @@ public class ScriptParserImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void shouldParseScriptAfterSyntaxError() throws Exception {
+
+        String script =
+            "connect \"tcp://localhost:8000\"\n" +
+            "connected\n" +
+            "write \"Hello\"\n" +
+            "read \"World\"\n" +
+            "close\n" +
+            "closed\n";
+
+        ScriptParserImpl parser = new ScriptParserImpl();
+        AstScriptNode expected = parser.parseWithStrategy(script, SCRIPT);
+
+        try {
+            parser.parseWithStrategy(script.replace("read", "written"), SCRIPT);
+            fail("Expected ScriptParseException");
+        } catch (ScriptParseException e) {
+            // expected, reported after full LL prediction
+        }
+
+        AstScriptNode actual = parser.parseWithStrategy(script, SCRIPT);
+
+        assertEquals(expected, actual);
+    }
+
 }
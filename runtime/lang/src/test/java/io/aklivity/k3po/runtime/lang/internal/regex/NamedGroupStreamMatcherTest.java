@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.k3po.runtime.lang.internal.regex;
+
+import static java.lang.String.format;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class NamedGroupStreamMatcherTest {
+
+    @Test
+    public void shouldMatchOneCharacterAtATime() {
+        NamedGroupStreamMatcher matcher = NamedGroupPattern.compile("(?<var>H.*o)\\n").streamMatcher();
+        StringBuilder input = new StringBuilder();
+
+        for (char ch : "Hello".toCharArray()) {
+            input.append(ch);
+            assertTrue(matcher.advance(input));
+            assertFalse(matcher.matched());
+            assertTrue(matcher.hitEnd());
+        }
+
+        input.append("\nWorld");
+        assertTrue(matcher.advance(input));
+        assertTrue(matcher.matched());
+        assertEquals(6, matcher.end());
+        assertEquals("Hello", matcher.group("var"));
+    }
+
+    @Test
+    public void shouldNotMatchAfterMismatch() {
+        NamedGroupStreamMatcher matcher = NamedGroupPattern.compile("Hello").streamMatcher();
+
+        assertTrue(matcher.advance("Help"));
+        assertFalse(matcher.matched());
+        assertFalse(matcher.hitEnd());
+    }
+
+    @Test
+    public void shouldResetWhenInputIsShorter() {
+        NamedGroupStreamMatcher matcher = NamedGroupPattern.compile("(?<var>[a-z]+);").streamMatcher();
+
+        assertTrue(matcher.advance("abc;"));
+        assertEquals("abc", matcher.group("var"));
+
+        assertTrue(matcher.advance("x;"));
+        assertTrue(matcher.matched());
+        assertEquals("x", matcher.group("var"));
+    }
+
+    @Test
+    public void shouldNotAdvanceOverSupplementaryCharacters() {
+        NamedGroupStreamMatcher matcher = NamedGroupPattern.compile(".+;").streamMatcher();
+
+        assertFalse(matcher.advance("a😀;"));
+    }
+
+    @Test
+    public void shouldNotSupportPatternsBeyondSubset() {
+        assertNull(NamedGroupPattern.compile("(?!^[a-zA-Z0-9+/=]{24}$).*").streamMatcher());
+        assertNull(NamedGroupPattern.compile("ab$").streamMatcher());
+        assertNull(NamedGroupPattern.compile("(?i)ab").streamMatcher());
+        assertNull(NamedGroupPattern.compile("a*+b").streamMatcher());
+        assertNull(NamedGroupPattern.compile("(?:a*)*b").streamMatcher());
+    }
+
+    @Test
+    public void shouldMatchLikePattern() {
+        String[] regexes = {
+            "H.*o\\n",
+            "(?<var>H.*o)\\n",
+            "(?<left>.*):(?<right>.*)",
+            "(?<hello>\\D+)(?<goodbye>\\d+)",
+            "(?<hello>\\p{javaWhitespace}{1,6})hello",
+            "(?<name>[a-f\\d]{8}(?:-[a-f\\d]{4}){3}-[a-f\\d]{12})",
+            "(?<hello>HTTP\\/1.1\\s401\\s(?<reason>.*)\\r\\n\\r\\n)",
+            "^a|ab",
+            "a|ab|abc",
+            "(?<x>a*)(?<y>a*)b",
+            "(?<x>(?:ab)*?)(?<y>[ab]*)",
+            "(?<x>[ab]+?)(?<y>b*)",
+            "(?<x>(?:ab|a)*)(?<y>b*):",
+            "(?<x>[ab]{2,3}?)(?<y>[ab]{0,2})",
+            "(a|b)*\\x41",
+            "[^\\n]*\\n\\n",
+            "[a-c&&[^b]]+\\0101",
+            "(?<x>(?<y>a)|b)+:",
+        };
+        String alphabet = "abcdefA01 :\n\r";
+
+        Random random = new Random(0x5eed);
+        for (String regex : regexes) {
+            NamedGroupPattern pattern = NamedGroupPattern.compile(regex);
+            assertNotNull(regex, pattern.streamMatcher());
+
+            for (int n = 0; n < 200; n++) {
+                StringBuilder input = new StringBuilder();
+                int length = random.nextInt(16);
+                for (int i = 0; i < length; i++) {
+                    input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                assertMatchesLikePattern(pattern, input.toString());
+            }
+        }
+    }
+
+    private static void assertMatchesLikePattern(NamedGroupPattern pattern, String input) {
+        Pattern expected = Pattern.compile(pattern.pattern());
+        NamedGroupStreamMatcher matcher = pattern.streamMatcher();
+
+        for (int length = 0; length <= input.length(); length++) {
+            String observed = input.substring(0, length);
+            String message = format("/%s/ \"%s\"", pattern, observed);
+
+            Matcher expectedMatcher = expected.matcher(observed);
+            boolean matched = expectedMatcher.matches() || expectedMatcher.lookingAt();
+
+            assertTrue(message, matcher.advance(observed));
+            assertEquals(message, matched, matcher.matched());
+            if (matched) {
+                assertEquals(message, expectedMatcher.end(), matcher.end());
+                for (String name : matcher.groupNames()) {
+                    assertEquals(message, expectedMatcher.group(name), matcher.group(name));
+                }
+            }
+            else {
+                assertEquals(message, expectedMatcher.hitEnd(), matcher.hitEnd());
+            }
+        }
+    }
+}